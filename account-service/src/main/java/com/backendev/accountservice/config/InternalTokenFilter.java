@@ -0,0 +1,64 @@
+package com.backendev.accountservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates service-to-service calls under {@code /internal/} by the shared token in
+ * {@code X-Internal-Token}. The token is required: the service does not start without one, since
+ * every balance sync from transaction-service would otherwise be rejected.
+ */
+@Component
+@Slf4j
+public class InternalTokenFilter extends OncePerRequestFilter {
+
+    public static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private static final String INTERNAL_PATH_PREFIX = "/internal/";
+    private static final String UNAUTHORIZED_ERROR = "{\"error\":\"Unauthorized\",\"message\":\"Invalid internal token\"}";
+
+    private final byte[] token;
+
+    public InternalTokenFilter(@Value("${account.internal.token:}") String token) {
+        if (token.isBlank()) {
+            throw new IllegalStateException("account.internal.token (INTERNAL_API_TOKEN) must be set");
+        }
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(INTERNAL_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(INTERNAL_TOKEN_HEADER);
+        if (presented == null
+                || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected internal call to {}", request.getRequestURI());
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write(UNAUTHORIZED_ERROR);
+            return;
+        }
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "internal", null, List.of(new SimpleGrantedAuthority("ROLE_INTERNAL"))));
+        filterChain.doFilter(request, response);
+    }
+}
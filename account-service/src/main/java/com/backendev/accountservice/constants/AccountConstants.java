@@ -8,4 +8,7 @@ public final class AccountConstants {
 
     public static final String ACCOUNT_NOT_FOUND = "Account not found for the account number: ";
 
+    // Tells caches about a change without notifying the customer; notification-service skips it
+    public static final String ACCOUNT_STATUS_CHANGED = "ACCOUNT STATUS CHANGED";
+
 }
@@ -0,0 +1,48 @@
+package com.backendev.accountservice.controller;
+
+import com.backendev.accountservice.dto.AccountBalanceEntry;
+import com.backendev.accountservice.dto.AccountRange;
+import com.backendev.accountservice.dto.RangeDigest;
+import com.backendev.accountservice.service.BalanceDigestService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Balance reconciliation endpoints for transaction-service. Authenticated with the shared
+ * internal token rather than a user JWT (see {@code InternalTokenFilter}).
+ */
+@RestController
+@RequestMapping("/internal/accounts/balances")
+public class InternalBalanceController {
+
+    private final BalanceDigestService balanceDigestService;
+
+    public InternalBalanceController(BalanceDigestService balanceDigestService) {
+        this.balanceDigestService = balanceDigestService;
+    }
+
+    @PostMapping("/digests")
+    public ResponseEntity<List<RangeDigest>> digestBalances(@RequestParam long step,
+                                                            @Valid @RequestBody List<AccountRange> ranges) {
+        return new ResponseEntity<>(balanceDigestService.digest(ranges, step), HttpStatus.OK);
+    }
+
+    @PostMapping("/search")
+    public ResponseEntity<List<AccountBalanceEntry>> findBalances(@Valid @RequestBody List<AccountRange> ranges) {
+        return new ResponseEntity<>(balanceDigestService.findBalances(ranges), HttpStatus.OK);
+    }
+
+    @PutMapping
+    public ResponseEntity<Integer> updateBalances(@Valid @RequestBody List<AccountBalanceEntry> balances) {
+        return new ResponseEntity<>(balanceDigestService.updateBalances(balances), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,31 @@
+package com.backendev.accountservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * An account's balance. In a balance update, a non-null {@code expectedBalance} makes the write
+ * conditional: it only applies while the account still holds that balance. Without it the
+ * balance is set unconditionally.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBalanceEntry {
+
+    @NotNull
+    private Long accountNumber;
+
+    @NotNull
+    private BigDecimal balance;
+
+    private BigDecimal expectedBalance;
+
+    public AccountBalanceEntry(Long accountNumber, BigDecimal balance) {
+        this(accountNumber, balance, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.backendev.accountservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Account numbers from {@code from} (inclusive) to {@code to} (exclusive).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountRange {
+
+    @NotNull
+    private Long from;
+
+    @NotNull
+    private Long to;
+}
@@ -18,4 +18,5 @@ public class NotificationEvent {
     private String email;
     private String subject;
     private String message;
+    private Long accountNumber;
 }
@@ -67,4 +67,11 @@ public class GlobalExceptionHandler {
         HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.BAD_REQUEST, message, "Validation failed.");
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(httpErrorResponse);
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<HttpErrorResponse> handleIllegalArgumentException(IllegalArgumentException exception) {
+        HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.BAD_REQUEST,
+                exception.getMessage(), "Invalid request.");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(httpErrorResponse);
+    }
 }
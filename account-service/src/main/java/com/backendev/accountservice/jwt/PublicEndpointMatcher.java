@@ -14,6 +14,8 @@ public class PublicEndpointMatcher {
 
     private final Set<String> publicPrefixes = Set.of(
             "/api/public",
+            // No JWT here; authenticated by InternalTokenFilter
+            "/internal/",
             "/actuator",
             "/v3/api-docs",
             "/swagger-ui"
@@ -1,11 +1,17 @@
 package com.backendev.accountservice.repository;
 
+import com.backendev.accountservice.dto.AccountBalanceEntry;
 import com.backendev.accountservice.entity.Account;
 import com.backendev.accountservice.enums.AccountType;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +31,50 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(Long accountNumber);
 
     boolean existsByAccountNumberAndUserId(@NotNull Long accountNumber, String userId);
+
+    /**
+     * Digests the non-zero balances in [from, to) per sub-range of {@code step} account numbers.
+     * Sub-ranges without such balances are not returned. The hash must match the one
+     * transaction-service computes for its own balances.
+     */
+    @Query(value = """
+            SELECT :from + (account_number - :from) / :step * :step AS rangeFrom,
+                   COUNT(*) AS accounts,
+                   SUM(hashtextextended(CAST(account_number AS text) || ':' || CAST(ROUND(balance, 2) AS text), 0)) AS hash
+            FROM account
+            WHERE account_number >= :from AND account_number < :to AND balance <> 0
+            GROUP BY 1
+            """, nativeQuery = true)
+    List<BucketDigest> digestBalances(@Param("from") Long from, @Param("to") Long to, @Param("step") Long step);
+
+    @Query("""
+            SELECT new com.backendev.accountservice.dto.AccountBalanceEntry(a.accountNumber, a.balance)
+            FROM Account a
+            WHERE a.accountNumber >= :from AND a.accountNumber < :to AND a.balance <> 0
+            ORDER BY a.accountNumber
+            """)
+    List<AccountBalanceEntry> findBalances(@Param("from") Long from, @Param("to") Long to);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = :balance, a.updatedAt = :updatedAt WHERE a.accountNumber = :accountNumber")
+    int updateBalance(@Param("accountNumber") Long accountNumber, @Param("balance") BigDecimal balance,
+                      @Param("updatedAt") Instant updatedAt);
+
+    @Modifying
+    @Query("""
+            UPDATE Account a SET a.balance = :balance, a.updatedAt = :updatedAt
+            WHERE a.accountNumber = :accountNumber AND a.balance = :expectedBalance
+            """)
+    int updateBalanceIfUnchanged(@Param("accountNumber") Long accountNumber, @Param("balance") BigDecimal balance,
+                                 @Param("expectedBalance") BigDecimal expectedBalance,
+                                 @Param("updatedAt") Instant updatedAt);
+
+    interface BucketDigest {
+
+        Long getRangeFrom();
+
+        Long getAccounts();
+
+        BigDecimal getHash();
+    }
 }
@@ -55,7 +55,7 @@ public class AccountService {
 
         AccountDto accountDto = accountMapper.toAccountDto(saved);
 
-        publishNotificationEvent("Account created","Account created successfully",userId, accountDto.getEmail(),
+        publishNotificationEvent("Account created","Account created successfully", saved.getAccountNumber(), userId, accountDto.getEmail(),
                 accountDto.getAccountName()+" created",
                 "Your account has been created. Your account number is: "+ accountDto.getAccountNumber());
 
@@ -103,7 +103,7 @@ public class AccountService {
 
         AccountResponse accountResponse = new AccountResponse("DELETED", "Account deleted successfully");
 
-        publishNotificationEvent("ACCOUNT DELETED","Your account has been deleted successfully", account.getUserId(), account.getEmail(),
+        publishNotificationEvent("ACCOUNT DELETED","Your account has been deleted successfully", accountNumber, account.getUserId(), account.getEmail(),
                 "Account Deleted" ,
                 "Your account with account number "+ accountNumber +" has been deleted.");
 
@@ -123,6 +123,15 @@ public class AccountService {
         Account account = fetchAccountFromAccountNumber(accountNumber);
         account.setStatus(AccountStatus.FROZEN);
         accountRepository.save(account);
+
+        // Only for the caches of other services: freezing never emailed the customer
+        accountEventPublisher.publishAccountEvent(NotificationEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(AccountConstants.ACCOUNT_STATUS_CHANGED)
+                .status(AccountStatus.FROZEN.name())
+                .accountNumber(accountNumber)
+                .build());
+
         return accountMapper.toAccountDto(account);
     }
 
@@ -152,7 +161,7 @@ public class AccountService {
                 .orElseThrow(() -> new AccountNotFoundException(AccountConstants.ACCOUNT_NOT_FOUND + fromAccountNumber));
     }
 
-    private void publishNotificationEvent(String eventType, String status, String userId, String email, String subject, String message){
+    private void publishNotificationEvent(String eventType, String status, Long accountNumber, String userId, String email, String subject, String message){
         NotificationEvent event = NotificationEvent.builder()
                 .eventId(UUID.randomUUID().toString())
                 .eventType(eventType)
@@ -161,6 +170,7 @@ public class AccountService {
                 .email(email)
                 .subject(subject)
                 .message(message)
+                .accountNumber(accountNumber)
                 .build();
         accountEventPublisher.publishAccountEvent(event);
     }
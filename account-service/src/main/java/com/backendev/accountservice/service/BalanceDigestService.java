@@ -0,0 +1,78 @@
+package com.backendev.accountservice.service;
+
+import com.backendev.accountservice.dto.AccountBalanceEntry;
+import com.backendev.accountservice.dto.AccountRange;
+import com.backendev.accountservice.dto.RangeDigest;
+import com.backendev.accountservice.repository.AccountRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves transaction-service's balance reconciliation: digests of balance ranges, the balances
+ * in ranges whose digests differ, and batched repairs.
+ */
+@Service
+@Slf4j
+@AllArgsConstructor
+public class BalanceDigestService {
+
+    private final AccountRepository accountRepository;
+
+    @Transactional(readOnly = true)
+    public List<RangeDigest> digest(List<AccountRange> ranges, long step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be positive");
+        }
+        List<RangeDigest> digests = new ArrayList<>();
+        for (AccountRange range : ranges) {
+            validate(range);
+            for (AccountRepository.BucketDigest bucket : accountRepository.digestBalances(range.getFrom(), range.getTo(), step)) {
+                digests.add(new RangeDigest(bucket.getRangeFrom(), Math.min(range.getTo(), bucket.getRangeFrom() + step),
+                        bucket.getAccounts(), bucket.getHash().toPlainString()));
+            }
+        }
+        return digests;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountBalanceEntry> findBalances(List<AccountRange> ranges) {
+        List<AccountBalanceEntry> balances = new ArrayList<>();
+        for (AccountRange range : ranges) {
+            validate(range);
+            balances.addAll(accountRepository.findBalances(range.getFrom(), range.getTo()));
+        }
+        return balances;
+    }
+
+    /**
+     * Writes the balances in one transaction. Entries with an expected balance are compare-and-set:
+     * they are skipped when the account's balance has changed since the caller read it, so a
+     * repair never overwrites a newer balance. Accounts that no longer exist are skipped too;
+     * returns how many were updated.
+     */
+    @Transactional
+    public int updateBalances(List<AccountBalanceEntry> balances) {
+        Instant now = Instant.now();
+        int updated = 0;
+        for (AccountBalanceEntry entry : balances) {
+            updated += entry.getExpectedBalance() == null
+                    ? accountRepository.updateBalance(entry.getAccountNumber(), entry.getBalance(), now)
+                    : accountRepository.updateBalanceIfUnchanged(entry.getAccountNumber(), entry.getBalance(),
+                            entry.getExpectedBalance(), now);
+        }
+        log.info("Updated {} of {} balances", updated, balances.size());
+        return updated;
+    }
+
+    private static void validate(AccountRange range) {
+        if (range.getFrom() == null || range.getTo() == null || range.getFrom() >= range.getTo()) {
+            throw new IllegalArgumentException("Invalid account range: " + range.getFrom() + " to " + range.getTo());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.backendev.accountservice.integration.repository;
 
+import com.backendev.accountservice.dto.AccountBalanceEntry;
 import com.backendev.accountservice.entity.Account;
 import com.backendev.accountservice.enums.AccountStatus;
 import com.backendev.accountservice.enums.AccountType;
@@ -123,4 +124,27 @@ class AccountRepositoryIT {
         assertFalse(repository.existsByAccountNumberAndUserId(ACC_NUM_1, "other-user"));
         assertFalse(repository.existsByAccountNumberAndUserId(999999999L, USER_ID));
     }
+
+    @Test
+    void testFindBalancesAndUpdateBalance() {
+        repository.save(new Account(null, ACC_NUM_1, USER_ID, EMAIL_ID, BigDecimal.valueOf(5000),
+                "Savings Account", AccountType.SAVINGS, AccountStatus.ACTIVE, Instant.now(), null));
+        repository.save(new Account(null, ACC_NUM_1 + 1, USER_ID, EMAIL_ID, BigDecimal.ZERO,
+                "Checking Account", AccountType.CHECKING, AccountStatus.ACTIVE, Instant.now(), null));
+        repository.save(new Account(null, ACC_NUM_2, USER_ID, EMAIL_ID, BigDecimal.valueOf(100),
+                "Savings Account", AccountType.SAVINGS, AccountStatus.ACTIVE, Instant.now(), null));
+
+        List<AccountBalanceEntry> balances = repository.findBalances(ACC_NUM_1, ACC_NUM_1 + 10);
+        assertEquals(1, balances.size());
+        assertEquals(ACC_NUM_1, balances.get(0).getAccountNumber());
+
+        assertEquals(1, repository.updateBalance(ACC_NUM_1 + 1, new BigDecimal("25.00"), Instant.now()));
+        assertEquals(0, repository.updateBalance(999999999L, new BigDecimal("25.00"), Instant.now()));
+        assertEquals(2, repository.findBalances(ACC_NUM_1, ACC_NUM_1 + 10).size());
+
+        assertEquals(0, repository.updateBalanceIfUnchanged(ACC_NUM_1, new BigDecimal("10.00"), new BigDecimal("4000.00"),
+                Instant.now()));
+        assertEquals(1, repository.updateBalanceIfUnchanged(ACC_NUM_1, new BigDecimal("10.00"), new BigDecimal("5000.00"),
+                Instant.now()));
+    }
 }
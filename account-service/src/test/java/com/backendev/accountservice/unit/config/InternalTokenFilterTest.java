@@ -0,0 +1,78 @@
+package com.backendev.accountservice.unit.config;
+
+import com.backendev.accountservice.config.InternalTokenFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class InternalTokenFilterTest {
+
+    private final FilterChain filterChain = mock(FilterChain.class);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateInternalCallWithMatchingToken() throws Exception {
+        MockHttpServletRequest request = internalRequest("secret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new InternalTokenFilter("secret").doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_INTERNAL");
+    }
+
+    @Test
+    void shouldRejectInternalCallWithWrongOrMissingToken() throws Exception {
+        MockHttpServletResponse wrongToken = new MockHttpServletResponse();
+        MockHttpServletResponse missingToken = new MockHttpServletResponse();
+
+        new InternalTokenFilter("secret").doFilter(internalRequest("guess"), wrongToken, filterChain);
+        new InternalTokenFilter("secret").doFilter(internalRequest(null), missingToken, filterChain);
+
+        assertThat(wrongToken.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+        assertThat(missingToken.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void shouldRefuseToStartWithoutToken() {
+        assertThatThrownBy(() -> new InternalTokenFilter(" "))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldLeaveOtherPathsAlone() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new InternalTokenFilter("secret").doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static MockHttpServletRequest internalRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal/accounts/balances/digests");
+        if (token != null) {
+            request.addHeader(InternalTokenFilter.INTERNAL_TOKEN_HEADER, token);
+        }
+        return request;
+    }
+}
@@ -1,5 +1,6 @@
 package com.backendev.accountservice.unit.service;
 
+import com.backendev.accountservice.constants.AccountConstants;
 import com.backendev.accountservice.dto.AccountDetailsDto;
 import com.backendev.accountservice.dto.AccountDto;
 import com.backendev.accountservice.dto.AccountResponse;
@@ -338,12 +339,17 @@ class AccountServiceTest {
             assertNotNull(result);
             verify(accountRepository).save(account);
             assertEquals(AccountStatus.FROZEN, account.getStatus());
+            verify(accountEventPublisher).publishAccountEvent(argThat(event ->
+                    AccountConstants.ACCOUNT_STATUS_CHANGED.equals(event.getEventType())
+                            && accountNumber.equals(event.getAccountNumber())
+                            && event.getEmail() == null && event.getSubject() == null));
         }
 
         @Test
         void shouldThrowException_whenAccountNotFoundForFreezing() {
             when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.empty());
             assertThrows(AccountNotFoundException.class, () -> accountService.markAccountFrozen(accountNumber));
+            verify(accountEventPublisher, never()).publishAccountEvent(any());
         }
     }
 
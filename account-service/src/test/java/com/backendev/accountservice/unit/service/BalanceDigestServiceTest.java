@@ -0,0 +1,113 @@
+package com.backendev.accountservice.unit.service;
+
+import com.backendev.accountservice.dto.AccountBalanceEntry;
+import com.backendev.accountservice.dto.AccountRange;
+import com.backendev.accountservice.dto.RangeDigest;
+import com.backendev.accountservice.repository.AccountRepository;
+import com.backendev.accountservice.service.BalanceDigestService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceDigestServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private BalanceDigestService balanceDigestService;
+
+    @Test
+    void digest_MapsBucketsToSubRangesClippedToTheRange() {
+        when(accountRepository.digestBalances(1000L, 1250L, 100L)).thenReturn(List.of(
+                bucket(1000L, 3L, "12345"), bucket(1200L, 1L, "-678")));
+
+        List<RangeDigest> digests = balanceDigestService.digest(List.of(new AccountRange(1000L, 1250L)), 100L);
+
+        assertEquals(List.of(new RangeDigest(1000L, 1100L, 3, "12345"), new RangeDigest(1200L, 1250L, 1, "-678")), digests);
+    }
+
+    @Test
+    void digest_InvalidRangeOrStep_Throws() {
+        List<AccountRange> empty = List.of(new AccountRange(1000L, 1000L));
+        List<AccountRange> valid = List.of(new AccountRange(1000L, 2000L));
+
+        assertThrows(IllegalArgumentException.class, () -> balanceDigestService.digest(empty, 10L));
+        assertThrows(IllegalArgumentException.class, () -> balanceDigestService.digest(valid, 0L));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void findBalances_ConcatenatesRanges() {
+        AccountBalanceEntry first = new AccountBalanceEntry(1001L, new BigDecimal("10.00"));
+        AccountBalanceEntry second = new AccountBalanceEntry(3005L, new BigDecimal("20.00"));
+        when(accountRepository.findBalances(1000L, 1100L)).thenReturn(List.of(first));
+        when(accountRepository.findBalances(3000L, 3100L)).thenReturn(List.of(second));
+
+        List<AccountBalanceEntry> balances = balanceDigestService.findBalances(
+                List.of(new AccountRange(1000L, 1100L), new AccountRange(3000L, 3100L)));
+
+        assertEquals(List.of(first, second), balances);
+    }
+
+    @Test
+    void updateBalances_CountsOnlyExistingAccounts() {
+        when(accountRepository.updateBalance(eq(1001L), eq(new BigDecimal("10.00")), any(Instant.class))).thenReturn(1);
+        when(accountRepository.updateBalance(eq(1002L), eq(BigDecimal.ZERO), any(Instant.class))).thenReturn(0);
+
+        int updated = balanceDigestService.updateBalances(List.of(
+                new AccountBalanceEntry(1001L, new BigDecimal("10.00")),
+                new AccountBalanceEntry(1002L, BigDecimal.ZERO)));
+
+        assertEquals(1, updated);
+    }
+
+    @Test
+    void updateBalances_WithExpectedBalance_OnlyWritesUnchangedAccounts() {
+        when(accountRepository.updateBalanceIfUnchanged(eq(1001L), eq(new BigDecimal("15.00")), eq(new BigDecimal("10.00")),
+                any(Instant.class))).thenReturn(0);
+        when(accountRepository.updateBalance(eq(1002L), eq(new BigDecimal("5.00")), any(Instant.class))).thenReturn(1);
+
+        int updated = balanceDigestService.updateBalances(List.of(
+                new AccountBalanceEntry(1001L, new BigDecimal("15.00"), new BigDecimal("10.00")),
+                new AccountBalanceEntry(1002L, new BigDecimal("5.00"))));
+
+        assertEquals(1, updated);
+        verify(accountRepository, never()).updateBalance(eq(1001L), any(), any());
+    }
+
+    private static AccountRepository.BucketDigest bucket(Long rangeFrom, Long accounts, String hash) {
+        return new AccountRepository.BucketDigest() {
+            @Override
+            public Long getRangeFrom() {
+                return rangeFrom;
+            }
+
+            @Override
+            public Long getAccounts() {
+                return accounts;
+            }
+
+            @Override
+            public BigDecimal getHash() {
+                return new BigDecimal(hash);
+            }
+        };
+    }
+}
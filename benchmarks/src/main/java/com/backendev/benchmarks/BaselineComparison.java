@@ -0,0 +1,109 @@
+package com.backendev.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result against the baseline published from {@code main} and exits with 1 if
+ * any benchmark allocates more per operation than the allowed percentage above the baseline.
+ * Allocation per operation is deterministic enough to gate on; timings on shared CI runners are
+ * not, so their changes are only reported. Benchmarks missing from either side are listed but
+ * never fail the comparison.
+ *
+ * <pre>java -cp benchmarks.jar com.backendev.benchmarks.BaselineComparison baseline.json jmh-result.json 10</pre>
+ *
+ * The arguments are the baseline, the new result and the allowed allocation regression in percent.
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> <max-alloc-regression-%>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+        double maxAllocationRegression = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("NEW   %s: %.3f %s%n", entry.getKey(), after.score(), after.unit());
+                continue;
+            }
+            // Throughput regresses when it drops, every other mode when the time grows
+            double timeChange = after.higherIsBetter()
+                    ? percentChange(after.score(), before.score())
+                    : percentChange(before.score(), after.score());
+            double allocationChange = before.allocation() == null || after.allocation() == null
+                    ? 0 : percentChange(before.allocation(), after.allocation());
+            boolean regressed = allocationChange > maxAllocationRegression;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%s %s: %.3f -> %.3f %s (%+.1f%% slower), %s -> %s B/op (%+.1f%%)%n",
+                    regressed ? "FAIL " : "OK   ", entry.getKey(), before.score(), after.score(), after.unit(),
+                    timeChange, format(before.allocation()), format(after.allocation()), allocationChange);
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("GONE  %s%n", key));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmarks allocate more than %.0f%% above the baseline%n",
+                    regressions, maxAllocationRegression);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            JsonNode primary = result.path("primaryMetric");
+            JsonNode allocation = allocation(result.path("secondaryMetrics"));
+            scores.put(key(result), new Score(primary.path("score").asDouble(), primary.path("scoreUnit").asText(),
+                    "thrpt".equals(result.path("mode").asText()),
+                    allocation == null ? null : allocation.path("score").asDouble()));
+        }
+        return scores;
+    }
+
+    // Older JMH versions prefix profiler metrics with a middle dot
+    private static JsonNode allocation(JsonNode secondaryMetrics) {
+        for (Map.Entry<String, JsonNode> metric : secondaryMetrics.properties()) {
+            if (metric.getKey().replace("\u00b7", "").equals(ALLOCATION)) {
+                return metric.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String key(JsonNode result) {
+        Map<String, String> params = new LinkedHashMap<>();
+        result.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+        return result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString())
+                + " [" + result.path("mode").asText() + "]";
+    }
+
+    private static double percentChange(double from, double to) {
+        return from == 0 ? 0 : (to - from) / from * 100;
+    }
+
+    private static String format(Double allocation) {
+        return allocation == null ? "-" : String.format("%.0f", allocation);
+    }
+
+    private record Score(double score, String unit, boolean higherIsBetter, Double allocation) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.backendev.benchmarks.transaction;
+
+import com.backendev.transactionservice.dto.AccountBalanceInfo;
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.mapper.AccountBalanceMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance conversions. {@code instantToString} builds its formatter on every call;
+ * {@code sharedFormatter} formats the same way with one formatter, as the reference for what
+ * that costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBalanceMapperBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a");
+
+    private final AccountBalanceMapper mapper = Mappers.getMapper(AccountBalanceMapper.class);
+
+    private final Instant lastUpdated = Instant.parse("2025-06-01T10:00:00Z");
+    private final BigDecimal amount = new BigDecimal("1250.00");
+    private final AccountBalance accountBalance = new AccountBalance(1000000001L, amount, lastUpdated);
+
+    @Benchmark
+    public String instantToString() {
+        return mapper.instantToString(lastUpdated);
+    }
+
+    @Benchmark
+    public String sharedFormatter() {
+        return lastUpdated.atZone(ZoneId.systemDefault()).format(FORMATTER);
+    }
+
+    @Benchmark
+    public AccountBalanceInfo toAccountBalanceInfo() {
+        return mapper.toAccountBalanceInfo(accountBalance);
+    }
+
+    @Benchmark
+    public AccountBalance createAccountBalance() {
+        return mapper.createAccountBalance(1000000001L, amount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.backendev.benchmarks.transaction;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.service.BalanceManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance reads and the locked transfer path, between two funded accounts. Transfers alternate
+ * direction so the balances never run out.
+ *
+ * <p>{@code credit} and {@code debit} are single Postgres statements (an upsert and an update
+ * with {@code RETURNING}) that H2 cannot run, so they are not covered here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceManagerBenchmark {
+
+    private static final Long FIRST_ACCOUNT = 1000000001L;
+    private static final Long SECOND_ACCOUNT = 1000000002L;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("25.00");
+
+    private ConfigurableApplicationContext context;
+    private BalanceManager balanceManager;
+    private boolean reverse;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = TransactionServiceContext.start();
+        balanceManager = context.getBean(BalanceManager.class);
+        AccountBalanceRepository accountBalanceRepository = context.getBean(AccountBalanceRepository.class);
+        accountBalanceRepository.save(new AccountBalance(FIRST_ACCOUNT, OPENING_BALANCE, Instant.now()));
+        accountBalanceRepository.save(new AccountBalance(SECOND_ACCOUNT, OPENING_BALANCE, Instant.now()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public BalanceManager.TransferBalances transfer() {
+        reverse = !reverse;
+        return reverse
+                ? balanceManager.transfer(SECOND_ACCOUNT, FIRST_ACCOUNT, AMOUNT)
+                : balanceManager.transfer(FIRST_ACCOUNT, SECOND_ACCOUNT, AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal getBalance() {
+        return balanceManager.getBalance(FIRST_ACCOUNT);
+    }
+
+    @Benchmark
+    public void validateSufficientFunds() {
+        balanceManager.validateSufficientFunds(FIRST_ACCOUNT, AMOUNT);
+    }
+}
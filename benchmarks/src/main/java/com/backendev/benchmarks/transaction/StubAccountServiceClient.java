@@ -0,0 +1,58 @@
+package com.backendev.benchmarks.transaction;
+
+import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.dto.AccountBalanceEntry;
+import com.backendev.transactionservice.dto.AccountRange;
+import com.backendev.transactionservice.dto.AccountResponse;
+import com.backendev.transactionservice.dto.RangeDigest;
+import com.backendev.transactionservice.dto.TransferValidationResponse;
+import com.backendev.transactionservice.dto.UpdateAccountBalanceRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Answers every account-service call locally with an active account, so no benchmark waits on
+ * the network or on a running account-service.
+ */
+public class StubAccountServiceClient implements AccountServiceClient {
+
+    private static final String USER_ID = "benchmark-user";
+
+    @Override
+    public ResponseEntity<AccountResponse> getAccount(Long accountNumber) {
+        return ResponseEntity.ok(account(accountNumber));
+    }
+
+    @Override
+    public ResponseEntity<TransferValidationResponse> validateTransfer(Long fromAccountNumber, Long toAccountNumber,
+                                                                       String userId) {
+        return ResponseEntity.ok(new TransferValidationResponse(account(fromAccountNumber), account(toAccountNumber)));
+    }
+
+    @Override
+    public ResponseEntity<AccountResponse> updateAccountBalance(Long accountNumber,
+                                                                UpdateAccountBalanceRequest updateRequest) {
+        return ResponseEntity.ok(account(accountNumber));
+    }
+
+    @Override
+    public ResponseEntity<List<RangeDigest>> digestBalances(String internalToken, long step, List<AccountRange> ranges) {
+        return ResponseEntity.ok(List.of());
+    }
+
+    @Override
+    public ResponseEntity<List<AccountBalanceEntry>> findBalances(String internalToken, List<AccountRange> ranges) {
+        return ResponseEntity.ok(List.of());
+    }
+
+    @Override
+    public ResponseEntity<Integer> updateBalances(String internalToken, List<AccountBalanceEntry> balances) {
+        return ResponseEntity.ok(balances.size());
+    }
+
+    private static AccountResponse account(Long accountNumber) {
+        return new AccountResponse(accountNumber, USER_ID, "SAVINGS", "ACTIVE", Instant.EPOCH);
+    }
+}
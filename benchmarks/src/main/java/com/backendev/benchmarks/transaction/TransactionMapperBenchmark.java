@@ -0,0 +1,88 @@
+package com.backendev.benchmarks.transaction;
+
+import com.backendev.transactionservice.dto.TransactionInfo;
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.dto.TransferRequest;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.mapper.TransactionMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversions every deposit, transfer and history page goes through. The list conversion
+ * maps one default-sized history page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMapperBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final TransactionMapper mapper = Mappers.getMapper(TransactionMapper.class);
+
+    private final TransactionRequest deposit = new TransactionRequest(1000000001L, new BigDecimal("25.00"), "Deposit");
+    private final TransferRequest transfer = new TransferRequest(1000000001L, 1000000002L, new BigDecimal("25.00"), "Transfer");
+    private final BigDecimal balance = new BigDecimal("1250.00");
+    private final Transaction transaction = transaction(0);
+    private final List<Transaction> page = page();
+
+    @Benchmark
+    public Transaction fromDepositRequest() {
+        return mapper.fromDepositRequest(deposit);
+    }
+
+    @Benchmark
+    public Transaction fromTransferRequest() {
+        return mapper.fromTransferRequest(transfer);
+    }
+
+    @Benchmark
+    public TransactionResponse toResponseWithBalance() {
+        return mapper.toResponseWithBalance(transaction, balance);
+    }
+
+    @Benchmark
+    public TransactionInfo toTransactionInfo() {
+        return mapper.toTransactionInfo(transaction);
+    }
+
+    @Benchmark
+    public List<TransactionInfo> toTransactionInfoList() {
+        return mapper.toTransactionInfoList(page);
+    }
+
+    private static List<Transaction> page() {
+        List<Transaction> transactions = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            transactions.add(transaction(i));
+        }
+        return transactions;
+    }
+
+    private static Transaction transaction(int i) {
+        Instant createdAt = Instant.parse("2025-06-01T10:00:00Z").minusSeconds(i * 3600L);
+        return new Transaction("TXN" + String.format("%019d", i), 1000000001L, 1000000002L, new BigDecimal("25.00"),
+                TransactionType.TRANSFER, TransactionStatus.COMPLETED, "Transfer", createdAt, createdAt);
+    }
+}
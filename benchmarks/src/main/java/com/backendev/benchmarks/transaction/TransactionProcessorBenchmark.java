@@ -0,0 +1,72 @@
+package com.backendev.benchmarks.transaction;
+
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.TransferRequest;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.service.TransactionProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating and inserting a pending transaction through the Spring proxy, database transaction
+ * and Hibernate included. The table is emptied after every iteration so it does not grow across
+ * the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionProcessorBenchmark {
+
+    private final TransactionRequest deposit = new TransactionRequest(1000000001L, new BigDecimal("25.00"), "Deposit");
+    private final TransferRequest transfer = new TransferRequest(1000000001L, 1000000002L, new BigDecimal("25.00"), "Transfer");
+
+    private ConfigurableApplicationContext context;
+    private TransactionProcessor transactionProcessor;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = TransactionServiceContext.start();
+        transactionProcessor = context.getBean(TransactionProcessor.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTransactions() {
+        jdbcTemplate.update("DELETE FROM transactions");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction createDeposit() {
+        return transactionProcessor.createAndSaveTransaction(deposit, TransactionType.DEPOSIT);
+    }
+
+    @Benchmark
+    public Transaction createTransfer() {
+        return transactionProcessor.createAndSaveTransaction(transfer, TransactionType.TRANSFER);
+    }
+}
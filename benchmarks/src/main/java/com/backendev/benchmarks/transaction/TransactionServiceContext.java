@@ -0,0 +1,36 @@
+package com.backendev.benchmarks.transaction;
+
+import com.backendev.transactionservice.TransactionServiceApplication;
+import com.backendev.transactionservice.client.AccountServiceClient;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Starts transaction-service in the benchmark JVM with the {@code benchmark} profile: in-memory
+ * H2 instead of Postgres, no Eureka, no Kafka listeners, background jobs pushed out of the
+ * measurement window and account-service replaced by {@link StubAccountServiceClient}.
+ */
+public final class TransactionServiceContext {
+
+    private TransactionServiceContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TransactionServiceApplication.class, StubClients.class)
+                .profiles("benchmark")
+                .run();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class StubClients {
+
+        @Bean
+        @Primary
+        AccountServiceClient accountServiceClient() {
+            return new StubAccountServiceClient();
+        }
+    }
+}
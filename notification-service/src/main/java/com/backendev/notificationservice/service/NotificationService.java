@@ -15,12 +15,20 @@ import java.time.Instant;
 @AllArgsConstructor
 public class NotificationService {
 
+    // Published by account-service for other services' caches, not for the customer
+    static final String ACCOUNT_STATUS_CHANGED = "ACCOUNT STATUS CHANGED";
+
     private final EmailService emailService;
     private final ProcessedEventRepository processedEventRepository;
 
     @Transactional
     public void processNotification(NotificationEvent event) {
 
+        if (ACCOUNT_STATUS_CHANGED.equals(event.getEventType())) {
+            log.debug("Skipping {} event, nothing to notify", event.getEventType());
+            return;
+        }
+
         if(event.getEventId() != null && processedEventRepository.existsByEventId(event.getEventId())) {
             log.warn("Duplicate event skipped! Event with id {} with event type {} already exists", event.getEventId(), event.getEventType());
             return;
@@ -81,6 +81,24 @@ class NotificationServiceTest {
         }
     }
 
+    @Nested
+    class CacheOnlyEvents {
+
+        @Test
+        void shouldSkipEmail_whenAccountStatusChanged() {
+            NotificationEvent statusChanged = NotificationEvent.builder()
+                    .eventId("EVT-002")
+                    .eventType("ACCOUNT STATUS CHANGED")
+                    .status("FROZEN")
+                    .build();
+
+            notificationService.processNotification(statusChanged);
+
+            verify(emailService, never()).sendEmail(any());
+            verify(processedEventRepository, never()).save(any());
+        }
+    }
+
     @Nested
     class Idempotency {
 
@@ -0,0 +1,175 @@
+package com.backendev.transactionservice.archive;
+
+import com.backendev.transactionservice.dto.HistoryCursor;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Serves transactions of archived months from their segment files. Every segment in the archive
+ * directory is mapped at startup, and the directory is scanned again every
+ * {@code rescan-interval-ms} for segments other instances published since, or replaced. The
+ * archiver only drops a month's partition well after publishing its segment, so every instance
+ * has picked the segment up by then. Each instance serves only the segments in its own directory,
+ * so instances need a shared directory or a copy of every segment.
+ */
+@Slf4j
+@Component
+public class ColdSegmentStore {
+
+    private static final String SUFFIX = ".seg";
+
+    private final NavigableMap<YearMonth, Segment> segments = new ConcurrentSkipListMap<>();
+    // Modification time of the file each month's segment was opened from
+    private final Map<YearMonth, FileTime> versions = new ConcurrentHashMap<>();
+
+    @Value("${transaction.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.archive.directory:archive}")
+    private String directory;
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path root = Files.createDirectories(Path.of(directory));
+        scan(root);
+        log.info("Serving {} archived months from {}", segments.size(), root);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.archive.rescan-interval-ms:60000}",
+            initialDelayString = "${transaction.archive.rescan-interval-ms:60000}")
+    public void rescan() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int added = scan(Path.of(directory));
+            if (added > 0) {
+                log.info("Picked up {} new or replaced segments, serving {} archived months", added, segments.size());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.error("Rescanning segments in {} failed", directory, e);
+        }
+    }
+
+    // Opens segments that are new or whose file changed since it was opened; returns how many
+    private int scan(Path root) throws IOException {
+        int added = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Optional<YearMonth> month = TransactionPartitions.monthOf(name.substring(0, name.length() - SUFFIX.length()));
+                if (month.isEmpty()) {
+                    log.warn("Ignoring {}, not named after a month", file);
+                } else if (!Files.getLastModifiedTime(file).equals(versions.get(month.get()))) {
+                    register(month.get(), file);
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path pathOf(YearMonth month) {
+        return Path.of(directory).resolve(TransactionPartitions.name(month) + SUFFIX);
+    }
+
+    public void register(YearMonth month, Path file) {
+        try {
+            FileTime version = Files.getLastModifiedTime(file);
+            segments.put(month, Segment.open(file));
+            versions.put(month, version);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open segment " + file, e);
+        }
+    }
+
+    public boolean isArchived(Instant createdAt) {
+        return !segments.isEmpty() && createdAt != null
+                && segments.containsKey(TransactionPartitions.monthOf(createdAt));
+    }
+
+    /**
+     * Archived counterpart of {@code TransactionRepository#findHistoryPage}: up to {@code limit}
+     * of the account's transactions in [from, to) below the cursor, newest first.
+     */
+    public List<Transaction> findHistory(Long accountNumber, Collection<String> types, Instant from, Instant to,
+                                         HistoryCursor position, int limit) {
+        if (segments.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Instant newest = to.isBefore(position.getCreatedAt()) ? to : position.getCreatedAt();
+        YearMonth oldest = TransactionPartitions.monthOf(from);
+        List<Transaction> rows = new ArrayList<>();
+        for (Map.Entry<YearMonth, Segment> month
+                : segments.headMap(TransactionPartitions.monthOf(newest), true).descendingMap().entrySet()) {
+            if (month.getKey().isBefore(oldest)) {
+                break;
+            }
+            for (Transaction transaction : month.getValue().read(accountNumber)) {
+                if (transaction.getType() != null && types.contains(transaction.getType().name())
+                        && within(transaction, from, to) && isBelow(transaction, position)) {
+                    rows.add(transaction);
+                    if (rows.size() == limit) {
+                        return rows;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The account's archived transactions in [from, to), oldest first, read one month at a time.
+     */
+    public Stream<Transaction> streamStatement(Long accountNumber, Instant from, Instant to) {
+        if (segments.isEmpty()) {
+            return Stream.empty();
+        }
+        return segments.subMap(TransactionPartitions.monthOf(from), true, TransactionPartitions.monthOf(to), true)
+                .values().stream()
+                .flatMap(segment -> {
+                    List<Transaction> rows = segment.read(accountNumber);
+                    Collections.reverse(rows);
+                    return rows.stream().filter(transaction -> within(transaction, from, to));
+                });
+    }
+
+    private static boolean within(Transaction transaction, Instant from, Instant to) {
+        return !transaction.getCreatedAt().isBefore(from) && transaction.getCreatedAt().isBefore(to);
+    }
+
+    private static boolean isBelow(Transaction transaction, HistoryCursor position) {
+        int byTime = transaction.getCreatedAt().compareTo(position.getCreatedAt());
+        return byTime < 0 || byTime == 0 && transaction.getTransactionId().compareTo(position.getTransactionId()) < 0;
+    }
+}
@@ -0,0 +1,212 @@
+package com.backendev.transactionservice.archive;
+
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An immutable, memory-mapped file of archived transactions, one month per file. Rows are sorted
+ * by account and then newest first, so an account's history is one contiguous run; a transfer is
+ * stored under both of its accounts.
+ *
+ * <p>Layout: a header, then deflate-compressed blocks of up to {@code block-rows} rows, then a
+ * sparse index holding each block's first and last account, offset and lengths, then a footer
+ * pointing at the index. Inside a block the rows are stored column by column, so a lookup decodes
+ * the account column first and reads the other columns only for the matching rows. The index is
+ * searched in the mapping itself and blocks are inflated straight from it; nothing is read into
+ * the heap before it is known to be needed.
+ */
+public final class Segment {
+
+    static final int MAGIC = 0x54585347;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 6;
+    static final int INDEX_ENTRY_BYTES = 32;
+    static final int FOOTER_BYTES = 20;
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final byte DESCRIPTION_NULL = 1;
+
+    private static final int LONG_COLUMNS = 6;
+    private static final int BYTE_COLUMNS = 4;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int indexStart;
+    private final int blocks;
+    private final long rows;
+
+    private Segment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        int footer = buffer.capacity() - FOOTER_BYTES;
+        if (buffer.capacity() < HEADER_BYTES + FOOTER_BYTES || buffer.getInt(0) != MAGIC
+                || buffer.getShort(4) != VERSION || buffer.getInt(footer + 16) != MAGIC) {
+            throw new IOException("Not a version " + VERSION + " segment: " + path);
+        }
+        long indexOffset = buffer.getLong(footer);
+        this.rows = buffer.getLong(footer + 8);
+        this.blocks = buffer.getInt((int) indexOffset);
+        this.indexStart = (int) indexOffset + 4;
+    }
+
+    public static Segment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping outlives the channel
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * The account's transactions in this segment, newest first.
+     */
+    public List<Transaction> read(long accountNumber) {
+        List<Transaction> result = new ArrayList<>();
+        for (int block = firstBlockEndingAtOrAfter(accountNumber);
+             block < blocks && firstAccount(block) <= accountNumber; block++) {
+            readBlock(block, accountNumber, result);
+        }
+        return result;
+    }
+
+    private int firstBlockEndingAtOrAfter(long accountNumber) {
+        int low = 0;
+        int high = blocks;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(entry(mid) + 8) < accountNumber) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void readBlock(int block, long accountNumber, List<Transaction> result) {
+        ByteBuffer raw = inflate(block);
+        int n = raw.getInt(0);
+        int accountsAt = 4;
+        int first = firstRow(raw, accountsAt, n, accountNumber);
+        int stringsAt = 4 + n * (LONG_COLUMNS * Long.BYTES + BYTE_COLUMNS);
+        int descriptionsAt = stringsAt + (n + 1) * Integer.BYTES + raw.getInt(stringsAt + n * Integer.BYTES);
+        for (int row = first; row < n && raw.getLong(accountsAt + row * Long.BYTES) == accountNumber; row++) {
+            result.add(decode(raw, n, row, stringsAt, descriptionsAt));
+        }
+    }
+
+    private ByteBuffer inflate(int block) {
+        int entry = entry(block);
+        int offset = (int) buffer.getLong(entry + 16);
+        int compressed = buffer.getInt(entry + 24);
+        ByteBuffer raw = ByteBuffer.allocate(buffer.getInt(entry + 28));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressed));
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && inflater.needsInput()) {
+                    break;
+                }
+            }
+            if (raw.hasRemaining()) {
+                throw new IllegalStateException("Truncated block " + block + " in segment " + path);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int firstRow(ByteBuffer raw, int accountsAt, int n, long accountNumber) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (raw.getLong(accountsAt + mid * Long.BYTES) < accountNumber) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Transaction decode(ByteBuffer raw, int n, int row, int stringsAt, int descriptionsAt) {
+        int longs = 4 + row * Long.BYTES;
+        int column = n * Long.BYTES;
+        int bytes = 4 + LONG_COLUMNS * column + row;
+        int type = raw.get(bytes + n);
+        int status = raw.get(bytes + 2 * n);
+        boolean noDescription = raw.get(bytes + 3 * n) == DESCRIPTION_NULL;
+        return new Transaction(
+                string(raw, stringsAt, n, row),
+                fromNull(raw.getLong(longs + 3 * column)),
+                fromNull(raw.getLong(longs + 4 * column)),
+                BigDecimal.valueOf(raw.getLong(longs + 5 * column), raw.get(bytes)),
+                type < 0 ? null : TYPES[type],
+                status < 0 ? null : STATUSES[status],
+                noDescription ? null : string(raw, descriptionsAt, n, row),
+                fromMicros(raw.getLong(longs + column)),
+                fromMicros(raw.getLong(longs + 2 * column)));
+    }
+
+    private static String string(ByteBuffer raw, int at, int n, int row) {
+        int start = raw.getInt(at + row * Integer.BYTES);
+        int end = raw.getInt(at + (row + 1) * Integer.BYTES);
+        int data = at + (n + 1) * Integer.BYTES;
+        return new String(raw.array(), data + start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private int entry(int block) {
+        return indexStart + block * INDEX_ENTRY_BYTES;
+    }
+
+    private long firstAccount(int block) {
+        return buffer.getLong(entry(block));
+    }
+
+    /**
+     * Size of a block of {@code n} rows without the bytes of its strings.
+     */
+    static int blockBytes(int n) {
+        return 4 + n * (LONG_COLUMNS * Long.BYTES + BYTE_COLUMNS) + 2 * (n + 1) * Integer.BYTES;
+    }
+
+    static long toMicros(Instant instant) {
+        return instant == null ? NULL_LONG : instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return micros == NULL_LONG ? null
+                : Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static Long fromNull(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+}
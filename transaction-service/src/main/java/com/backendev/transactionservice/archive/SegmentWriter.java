@@ -0,0 +1,206 @@
+package com.backendev.transactionservice.archive;
+
+import com.backendev.transactionservice.entity.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one segment file, see {@link Segment} for the layout. Rows must be appended in segment
+ * order: by account, then newest first. The file is written under a temporary name and only
+ * moved into place by {@link #finish}, so a segment that exists is always complete.
+ */
+public class SegmentWriter implements Closeable {
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final int blockRows;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+    private final long[] accounts;
+    private final List<Transaction> block;
+    private final List<long[]> index = new ArrayList<>();
+    private long rows;
+    private boolean finished;
+
+    public SegmentWriter(Path target, int blockRows) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.blockRows = blockRows;
+        this.accounts = new long[blockRows];
+        this.block = new ArrayList<>(blockRows);
+
+        ByteBuffer header = ByteBuffer.allocate(Segment.HEADER_BYTES);
+        header.putInt(Segment.MAGIC).putShort(Segment.VERSION).flip();
+        write(header);
+    }
+
+    /**
+     * Adds the transaction to the history of {@code accountNumber}; a transfer between two
+     * accounts is appended once for each.
+     */
+    public void append(long accountNumber, Transaction transaction) throws IOException {
+        if (!block.isEmpty() && accountNumber < accounts[block.size() - 1]) {
+            throw new IllegalArgumentException("Rows must be appended by ascending account number");
+        }
+        accounts[block.size()] = accountNumber;
+        block.add(transaction);
+        if (block.size() == blockRows) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the index, syncs the file to disk and moves it into place. Returns the rows written.
+     */
+    public long finish() throws IOException {
+        flushBlock();
+        long indexOffset = channel.position();
+        ByteBuffer indexBuffer = ByteBuffer.allocate(4 + index.size() * Segment.INDEX_ENTRY_BYTES);
+        indexBuffer.putInt(index.size());
+        index.forEach(entry -> indexBuffer.putLong(entry[0]).putLong(entry[1]).putLong(entry[2])
+                .putInt((int) entry[3]).putInt((int) entry[4]));
+        write(indexBuffer.flip());
+
+        ByteBuffer footer = ByteBuffer.allocate(Segment.FOOTER_BYTES);
+        footer.putLong(indexOffset).putLong(rows).putInt(Segment.MAGIC).flip();
+        write(footer);
+        if (channel.position() > Integer.MAX_VALUE) {
+            // One mapping covers at most 2 GB
+            throw new IOException("Segment " + target + " exceeds 2 GB");
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        int n = block.size();
+        if (n == 0) {
+            return;
+        }
+        byte[][] ids = new byte[n][];
+        byte[][] descriptions = new byte[n][];
+        int stringBytes = 0;
+        for (int i = 0; i < n; i++) {
+            Transaction transaction = block.get(i);
+            ids[i] = transaction.getTransactionId().getBytes(StandardCharsets.UTF_8);
+            String description = transaction.getDescription();
+            descriptions[i] = description == null ? new byte[0] : description.getBytes(StandardCharsets.UTF_8);
+            stringBytes += ids[i].length + descriptions[i].length;
+        }
+
+        ByteBuffer raw = ByteBuffer.allocate(Segment.blockBytes(n) + stringBytes);
+        raw.putInt(n);
+        for (int i = 0; i < n; i++) {
+            raw.putLong(accounts[i]);
+        }
+        for (Transaction transaction : block) {
+            raw.putLong(Segment.toMicros(transaction.getCreatedAt()));
+        }
+        for (Transaction transaction : block) {
+            raw.putLong(Segment.toMicros(transaction.getUpdatedAt()));
+        }
+        for (Transaction transaction : block) {
+            raw.putLong(orNull(transaction.getFromAccountNumber()));
+        }
+        for (Transaction transaction : block) {
+            raw.putLong(orNull(transaction.getToAccountNumber()));
+        }
+        for (Transaction transaction : block) {
+            raw.putLong(unscaled(transaction.getAmount()));
+        }
+        for (Transaction transaction : block) {
+            raw.put((byte) transaction.getAmount().scale());
+        }
+        for (Transaction transaction : block) {
+            raw.put(ordinal(transaction.getType()));
+        }
+        for (Transaction transaction : block) {
+            raw.put(ordinal(transaction.getStatus()));
+        }
+        for (Transaction transaction : block) {
+            raw.put(transaction.getDescription() == null ? Segment.DESCRIPTION_NULL : 0);
+        }
+        putStrings(raw, ids);
+        putStrings(raw, descriptions);
+
+        byte[] compressed = deflate(raw.array());
+        index.add(new long[]{accounts[0], accounts[n - 1], channel.position(), compressed.length, raw.capacity()});
+        write(ByteBuffer.wrap(compressed));
+        rows += n;
+        block.clear();
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    // Offsets first so the reader can jump to any row's string
+    private static void putStrings(ByteBuffer raw, byte[][] values) {
+        int offset = 0;
+        raw.putInt(offset);
+        for (byte[] value : values) {
+            offset += value.length;
+            raw.putInt(offset);
+        }
+        for (byte[] value : values) {
+            raw.put(value);
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long orNull(Long value) {
+        return value == null ? Segment.NULL_LONG : value;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? -1 : (byte) value.ordinal();
+    }
+
+    private static long unscaled(BigDecimal amount) {
+        if (amount.unscaledValue().bitLength() > 63) {
+            throw new IllegalArgumentException("Amount " + amount + " does not fit a segment");
+        }
+        return amount.unscaledValue().longValue();
+    }
+}
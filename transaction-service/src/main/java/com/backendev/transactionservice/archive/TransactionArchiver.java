@@ -0,0 +1,253 @@
+package com.backendev.transactionservice.archive;
+
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.partition.TransactionPartitionManager;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Moves months older than {@code archive-after-months} out of Postgres into segment files. A
+ * month's partition is written to a temporary file, the file is read back and its row count
+ * checked against the partition, and only then is it renamed into place as the month's segment.
+ * The partition is dropped on a later run, once the segment has been published for at least
+ * {@code drop-delay-ms} and still matches the partition: every instance rescans the segment
+ * directory more often than that, so none of them loses the month in between. Months are
+ * archived oldest first, so the archived months always precede the months still in the database.
+ *
+ * <p>Works on monthly partitions only, see {@link TransactionPartitionManager}; while the table is
+ * not partitioned nothing is archived. Enable it on one instance only, with segments being
+ * served as well ({@code transaction.archive.enabled}).
+ */
+@Slf4j
+@Component
+public class TransactionArchiver {
+
+    // Every row once under its source account, transfers once more under their destination, in segment order
+    private static final String MONTH_QUERY = """
+            SELECT from_account_number AS account_number, t.* FROM %1$s t
+            UNION ALL
+            SELECT to_account_number AS account_number, t.* FROM %1$s t
+            WHERE to_account_number IS NOT NULL AND to_account_number IS DISTINCT FROM from_account_number
+            ORDER BY account_number, created_at DESC, transaction_id DESC
+            """;
+
+    private static final String COUNT_QUERY = """
+            SELECT COUNT(*) + COUNT(*) FILTER (WHERE to_account_number IS NOT NULL
+                                                 AND to_account_number IS DISTINCT FROM from_account_number)
+            FROM %s
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionPartitionManager partitionManager;
+    private final ColdSegmentStore coldSegmentStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${transaction.archive.writer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.archive.writer.archive-after-months:18}")
+    private int archiveAfterMonths;
+
+    @Value("${transaction.archive.writer.block-rows:1024}")
+    private int blockRows;
+
+    @Value("${transaction.archive.writer.drop-delay-ms:300000}")
+    private long dropDelayMillis;
+
+    public TransactionArchiver(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               TransactionPartitionManager partitionManager, ColdSegmentStore coldSegmentStore,
+                               MeterRegistry meterRegistry,
+                               @Value("${transaction.archive.writer.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // With a fetch size, and inside a transaction, the driver reads the month through a cursor
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.partitionManager = partitionManager;
+        this.coldSegmentStore = coldSegmentStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.archive.writer.interval-ms:86400000}",
+            initialDelayString = "${transaction.archive.writer.initial-delay-ms:60000}")
+    public void archiveOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveExpired();
+        } catch (DataAccessException | IllegalStateException | UncheckedIOException e) {
+            // A month is dropped only after its segment checked out, so a failed month is simply retried
+            log.error("Archiving old transactions failed", e);
+        }
+    }
+
+    /**
+     * Publishes a segment for every month older than {@code archive-after-months} that has none
+     * yet, and drops the partitions of months whose segment is old enough. Returns how many
+     * partitions were dropped.
+     */
+    public int archiveExpired() {
+        if (!coldSegmentStore.isEnabled()) {
+            // The archived months would disappear from history at the next restart
+            log.warn("Segments are not being served, not archiving");
+            return 0;
+        }
+        if (!partitionManager.isPartitioned(TransactionPartitions.TABLE)) {
+            log.debug("{} is not partitioned, nothing to archive", TransactionPartitions.TABLE);
+            return 0;
+        }
+        YearMonth firstKept = YearMonth.now(ZoneOffset.UTC).minusMonths(archiveAfterMonths);
+        int dropped = 0;
+        for (YearMonth month : partitionManager.attachedMonths(TransactionPartitions.TABLE).headSet(firstKept)) {
+            if (Files.exists(coldSegmentStore.pathOf(month))) {
+                dropped += dropArchived(month) ? 1 : 0;
+            } else {
+                archive(month);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Writes the month to its segment and publishes it, leaving the partition in place. Returns
+     * how many rows were written.
+     */
+    public long archive(YearMonth month) {
+        long start = System.nanoTime();
+        String partition = TransactionPartitions.name(month);
+        Path file = coldSegmentStore.pathOf(month);
+        Path pending = file.resolveSibling(file.getFileName() + ".tmp");
+        transactionTemplate.executeWithoutResult(status -> writeSegment(partition, pending));
+        long written = readBack(pending);
+        long expected = countRows(partition);
+        if (written != expected) {
+            deleteQuietly(pending);
+            throw new IllegalStateException("Segment " + pending + " holds " + written + " rows, " + partition
+                    + " has " + expected + "; keeping the partition");
+        }
+        try {
+            // Other instances only ever see a complete segment under the month's name
+            Files.move(pending, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(pending);
+            throw new UncheckedIOException("Cannot publish segment " + file, e);
+        }
+
+        coldSegmentStore.register(month, file);
+        meterRegistry.counter("transactions.archived.rows").increment(written);
+        log.info("Archived {} rows of {} to {} in {} ms", written, partition, file,
+                (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    /**
+     * Drops the month's partition if its segment was published at least {@code drop-delay-ms}
+     * ago and still holds every row of it. A segment that no longer matches is written again,
+     * which restarts the delay.
+     */
+    public boolean dropArchived(YearMonth month) {
+        String partition = TransactionPartitions.name(month);
+        Path file = coldSegmentStore.pathOf(month);
+        Instant published;
+        try {
+            published = Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read segment " + file, e);
+        }
+        if (published.plusMillis(dropDelayMillis).isAfter(Instant.now())) {
+            log.debug("Segment {} was published at {}, waiting for every instance to load it", file, published);
+            return false;
+        }
+        long rows = readBack(file);
+        long expected = countRows(partition);
+        if (rows != expected) {
+            log.warn("Segment {} holds {} rows, {} now has {}; archiving the month again", file, rows, partition, expected);
+            archive(month);
+            return false;
+        }
+        partitionManager.expire(month, true);
+        log.info("Dropped {}, served from {} since {}", partition, file, published);
+        return true;
+    }
+
+    private long countRows(String partition) {
+        Long count = jdbcTemplate.queryForObject(COUNT_QUERY.formatted(partition), Long.class);
+        if (count == null) {
+            throw new IllegalStateException("Cannot count the rows of " + partition);
+        }
+        return count;
+    }
+
+    private void writeSegment(String partition, Path file) {
+        try (SegmentWriter writer = new SegmentWriter(file, blockRows)) {
+            jdbcTemplate.query(MONTH_QUERY.formatted(partition), (ResultSet rs) -> {
+                try {
+                    writer.append(rs.getLong("account_number"), toTransaction(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write segment " + file, e);
+        }
+    }
+
+    private static long readBack(Path file) {
+        try {
+            return Segment.open(file).rows();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read back segment " + file, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete rejected segment {}", file, e);
+        }
+    }
+
+    private static Transaction toTransaction(ResultSet rs) throws SQLException {
+        return new Transaction(
+                rs.getString("transaction_id"),
+                rs.getObject("from_account_number", Long.class),
+                rs.getObject("to_account_number", Long.class),
+                rs.getBigDecimal("amount"),
+                rs.getString("type") == null ? null : TransactionType.valueOf(rs.getString("type")),
+                rs.getString("status") == null ? null : TransactionStatus.valueOf(rs.getString("status")),
+                rs.getString("description"),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("updated_at")));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
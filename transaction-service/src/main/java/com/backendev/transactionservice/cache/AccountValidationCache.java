@@ -0,0 +1,160 @@
+package com.backendev.transactionservice.cache;
+
+import com.backendev.transactionservice.dto.AccountResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Near-cache of account-service account lookups, keyed by account number. Accounts that do not
+ * exist are cached too, for a shorter time. Entries expire after their TTL and are dropped
+ * early when account-service publishes an event for the account.
+ *
+ * <p>Eviction follows W-TinyLFU: new entries land in a small LRU window, and an entry leaving the
+ * window only displaces the main region's LRU entry if the frequency sketch has seen it more
+ * often. A burst of one-off lookups therefore cannot flush the accounts that are hit all day.
+ *
+ * <p>Expired entries are not served by {@link #get} but stay stored until they are reloaded or
+ * evicted, so {@link #getStale} can still answer while account-service is unreachable, for up to
+ * {@code max-stale-ms} after they were loaded.
+ */
+@Slf4j
+@Component
+public class AccountValidationCache {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final long maxStaleNanos;
+    private final FrequencySketch sketch;
+    private final Map<Long, CachedAccount> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, CachedAccount> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long invalidations;
+
+    public AccountValidationCache(MeterRegistry meterRegistry,
+                                  @Value("${transaction.account-cache.maximum-size:10000}") int maximumSize,
+                                  @Value("${transaction.account-cache.ttl-ms:300000}") long ttlMillis,
+                                  @Value("${transaction.account-cache.negative-ttl-ms:30000}") long negativeTtlMillis,
+                                  @Value("${transaction.account-cache.max-stale-ms:900000}") long maxStaleMillis) {
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = Math.max(1, maximumSize - windowCapacity);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.maxStaleNanos = TimeUnit.MILLISECONDS.toNanos(maxStaleMillis);
+        this.sketch = new FrequencySketch(maximumSize);
+        this.hits = meterRegistry.counter("account.validation.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("account.validation.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("account.validation.cache.evictions");
+        meterRegistry.gauge("account.validation.cache.size", this, AccountValidationCache::size);
+        meterRegistry.gauge("account.validation.cache.hit.ratio", this, AccountValidationCache::hitRatio);
+    }
+
+    /**
+     * Returns the cached account, or loads it with {@code loader} and caches the result. An empty
+     * result means account-service does not know the account. Exceptions from the loader are
+     * passed through and nothing is cached.
+     */
+    public Optional<AccountResponse> get(Long accountNumber, Function<Long, Optional<AccountResponse>> loader) {
+        long invalidationsBeforeLoad;
+        synchronized (this) {
+            sketch.increment(accountNumber);
+            CachedAccount cached = lookup(accountNumber);
+            if (cached != null) {
+                hits.increment();
+                return Optional.ofNullable(cached.account());
+            }
+            invalidationsBeforeLoad = invalidations;
+        }
+        misses.increment();
+
+        Optional<AccountResponse> loaded = loader.apply(accountNumber);
+        long ttl = loaded.isPresent() ? ttlNanos : negativeTtlNanos;
+        synchronized (this) {
+            // An invalidation during the load may describe a change the loaded value predates
+            if (invalidations == invalidationsBeforeLoad) {
+                long now = System.nanoTime();
+                put(accountNumber, new CachedAccount(loaded.orElse(null), now, now + ttl));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the last known state of an existing account, ignoring its TTL but not
+     * {@code max-stale-ms}. Accounts cached as unknown and invalidated accounts are never returned.
+     */
+    public synchronized Optional<AccountResponse> getStale(Long accountNumber) {
+        CachedAccount cached = main.containsKey(accountNumber) ? main.get(accountNumber) : window.get(accountNumber);
+        if (cached == null || System.nanoTime() - cached.loadedAt() > maxStaleNanos) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cached.account());
+    }
+
+    public synchronized void invalidate(Long accountNumber) {
+        invalidations++;
+        window.remove(accountNumber);
+        main.remove(accountNumber);
+    }
+
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    public double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0.0 : hits.count() / requests;
+    }
+
+    private CachedAccount lookup(Long accountNumber) {
+        Map<Long, CachedAccount> region = main.containsKey(accountNumber) ? main : window;
+        CachedAccount cached = region.get(accountNumber);
+        if (cached != null && cached.expiresAt() - System.nanoTime() <= 0) {
+            return null;
+        }
+        return cached;
+    }
+
+    private void put(Long accountNumber, CachedAccount account) {
+        if (main.containsKey(accountNumber)) {
+            main.put(accountNumber, account);
+            return;
+        }
+        window.put(accountNumber, account);
+        if (window.size() <= windowCapacity) {
+            return;
+        }
+
+        Iterator<Map.Entry<Long, CachedAccount>> windowEldest = window.entrySet().iterator();
+        Map.Entry<Long, CachedAccount> candidate = windowEldest.next();
+        windowEldest.remove();
+        if (main.size() < mainCapacity) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+
+        Iterator<Map.Entry<Long, CachedAccount>> mainEldest = main.entrySet().iterator();
+        Map.Entry<Long, CachedAccount> victim = mainEldest.next();
+        evictions.increment();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+            mainEldest.remove();
+            main.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private record CachedAccount(AccountResponse account, long loadedAt, long expiresAt) {
+    }
+}
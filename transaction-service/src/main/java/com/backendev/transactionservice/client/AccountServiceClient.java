@@ -1,19 +1,29 @@
 package com.backendev.transactionservice.client;
 
 import com.backendev.transactionservice.config.FeignConfig;
+import com.backendev.transactionservice.dto.AccountBalanceEntry;
+import com.backendev.transactionservice.dto.AccountRange;
 import com.backendev.transactionservice.dto.AccountResponse;
+import com.backendev.transactionservice.dto.RangeDigest;
 import com.backendev.transactionservice.dto.TransferValidationResponse;
 import com.backendev.transactionservice.dto.UpdateAccountBalanceRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 @FeignClient(name = "account-service", configuration = FeignConfig.class, primary = false)
 public interface AccountServiceClient {
 
+    String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
     @GetMapping("/api/v1/accounts/{accountNumber}")
     ResponseEntity<AccountResponse> getAccount(
             @PathVariable Long accountNumber);
@@ -27,5 +37,18 @@ public interface AccountServiceClient {
     ResponseEntity<AccountResponse> updateAccountBalance(@PathVariable Long accountNumber,
                                                          UpdateAccountBalanceRequest updateRequest);
 
+    // Internal endpoints, authenticated with the shared internal token instead of a user JWT
+
+    @PostMapping("/internal/accounts/balances/digests")
+    ResponseEntity<List<RangeDigest>> digestBalances(@RequestHeader(INTERNAL_TOKEN_HEADER) String internalToken,
+                                                     @RequestParam long step,
+                                                     @RequestBody List<AccountRange> ranges);
+
+    @PostMapping("/internal/accounts/balances/search")
+    ResponseEntity<List<AccountBalanceEntry>> findBalances(@RequestHeader(INTERNAL_TOKEN_HEADER) String internalToken,
+                                                           @RequestBody List<AccountRange> ranges);
 
+    @PutMapping("/internal/accounts/balances")
+    ResponseEntity<Integer> updateBalances(@RequestHeader(INTERNAL_TOKEN_HEADER) String internalToken,
+                                           @RequestBody List<AccountBalanceEntry> balances);
 }
@@ -0,0 +1,185 @@
+package com.backendev.transactionservice.client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feign transport on the JDK HTTP client. Connections are kept alive and reused, and over HTTP/2
+ * concurrent calls to one instance are multiplexed on a single connection, so TCP and TLS setup
+ * is paid once per instance instead of once per call. Calls in flight per route (instance
+ * host:port) are capped; a call that cannot lease a slot within the lease timeout fails with an
+ * {@link IOException}, which Feign surfaces as retryable.
+ *
+ * <p>Timeouts come from the {@link Request.Options} of each call, so per-method options apply.
+ * Calls with a different connect timeout run on a separate JDK client and connection pool.
+ *
+ * <p>Exports {@code feign.client.lease} (time to lease a slot), {@code feign.client.requests}
+ * (latency by method, route and status) and {@code feign.client.inflight} (calls in flight by route).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "transaction.feign.transport", havingValue = "pooled", matchIfMissing = true)
+public class PooledFeignClient implements Client {
+
+    // Set by the JDK client itself; it rejects requests that carry them
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final MeterRegistry meterRegistry;
+    private final HttpClient.Version version;
+    private final int maxConcurrentPerRoute;
+    private final long leaseTimeoutNanos;
+    private final Map<ClientKey, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public PooledFeignClient(MeterRegistry meterRegistry,
+                             @Value("${transaction.feign.http-version:HTTP_2}") HttpClient.Version version,
+                             @Value("${transaction.feign.max-concurrent-per-route:64}") int maxConcurrentPerRoute,
+                             @Value("${transaction.feign.lease-timeout-ms:1000}") long leaseTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.version = version;
+        this.maxConcurrentPerRoute = maxConcurrentPerRoute;
+        this.leaseTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        URI uri = URI.create(request.url());
+        Route route = routes.computeIfAbsent(uri.getHost() + ":" + port(uri), Route::new);
+        lease(route);
+
+        String status = "IO_ERROR";
+        long start = System.nanoTime();
+        route.inflight.incrementAndGet();
+        try {
+            HttpResponse<byte[]> response = client(options).send(toHttpRequest(request, uri, options),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            status = String.valueOf(response.statusCode());
+            return toResponse(request, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + uri);
+        } finally {
+            route.inflight.decrementAndGet();
+            route.permits.release();
+            meterRegistry.timer("feign.client.requests",
+                            "method", methodName(request), "route", route.name, "status", status)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void lease(Route route) throws IOException {
+        long start = System.nanoTime();
+        boolean leased;
+        try {
+            leased = route.permits.tryAcquire(leaseTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + route.name);
+        }
+        meterRegistry.timer("feign.client.lease", "route", route.name, "outcome", leased ? "leased" : "timeout")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!leased) {
+            log.warn("No connection to {} could be leased within {} ms", route.name,
+                    TimeUnit.NANOSECONDS.toMillis(leaseTimeoutNanos));
+            throw new IOException("Connection pool for " + route.name + " exhausted");
+        }
+    }
+
+    private HttpClient client(Request.Options options) {
+        ClientKey key = new ClientKey(options.connectTimeoutMillis(), options.isFollowRedirects());
+        return clients.computeIfAbsent(key, k -> HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofMillis(k.connectTimeoutMillis()))
+                .followRedirects(k.followRedirects() ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER)
+                .build());
+    }
+
+    private static HttpRequest toHttpRequest(Request request, URI uri, Request.Options options) {
+        byte[] body = request.body();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .method(request.httpMethod().name(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (options.readTimeoutMillis() > 0) {
+            builder.timeout(Duration.ofMillis(options.readTimeoutMillis()));
+        }
+        request.headers().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder.build();
+    }
+
+    private static Response toResponse(Request request, HttpResponse<byte[]> response) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        return Response.builder()
+                .status(response.statusCode())
+                .headers(headers)
+                .request(request)
+                .protocolVersion(response.version() == HttpClient.Version.HTTP_2
+                        ? Request.ProtocolVersion.HTTP_2
+                        : Request.ProtocolVersion.HTTP_1_1)
+                .body(response.body())
+                .build();
+    }
+
+    private static String methodName(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        MethodMetadata metadata = template == null ? null : template.methodMetadata();
+        return metadata == null ? request.httpMethod().name() : metadata.method().getName();
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private record ClientKey(int connectTimeoutMillis, boolean followRedirects) {
+    }
+
+    private final class Route {
+
+        private final String name;
+        private final Semaphore permits = new Semaphore(maxConcurrentPerRoute);
+        private final AtomicInteger inflight = new AtomicInteger();
+
+        private Route(String name) {
+            this.name = name;
+            meterRegistry.gauge("feign.client.inflight", Tags.of("route", name), inflight);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.backendev.transactionservice.config;
+
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
+import com.backendev.transactionservice.resilience.Bulkhead;
+import com.backendev.transactionservice.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead budgets for calls to account-service. Request-path validation
+ * and the background balance sync get separate bulkheads; every Feign method gets its own
+ * breaker with the settings below.
+ */
+@Configuration
+public class AccountServiceResilienceConfig {
+
+    @Value("${transaction.account-service.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${transaction.account-service.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${transaction.account-service.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${transaction.account-service.circuit-breaker.slow-call-threshold-ms:2000}")
+    private long slowCallThresholdMillis;
+
+    @Value("${transaction.account-service.circuit-breaker.open-duration-ms:10000}")
+    private long openDurationMillis;
+
+    @Value("${transaction.account-service.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${transaction.account-service.bulkhead.validation.max-concurrent:50}")
+    private int validationMaxConcurrent;
+
+    @Value("${transaction.account-service.bulkhead.validation.max-wait-ms:100}")
+    private long validationMaxWaitMillis;
+
+    @Value("${transaction.account-service.bulkhead.balance-sync.max-concurrent:10}")
+    private int balanceSyncMaxConcurrent;
+
+    @Value("${transaction.account-service.bulkhead.balance-sync.max-wait-ms:1000}")
+    private long balanceSyncMaxWaitMillis;
+
+    @Bean
+    public AccountServiceGuard accountServiceGuard(MeterRegistry meterRegistry) {
+        CircuitBreaker.Settings breakerSettings = new CircuitBreaker.Settings(windowSize, minimumCalls,
+                failureRateThreshold, Duration.ofMillis(slowCallThresholdMillis),
+                Duration.ofMillis(openDurationMillis), halfOpenCalls);
+        return new AccountServiceGuard(
+                new Bulkhead("validation", validationMaxConcurrent,
+                        Duration.ofMillis(validationMaxWaitMillis), meterRegistry),
+                new Bulkhead("balance-sync", balanceSyncMaxConcurrent,
+                        Duration.ofMillis(balanceSyncMaxWaitMillis), meterRegistry),
+                breakerSettings, meterRegistry);
+    }
+}
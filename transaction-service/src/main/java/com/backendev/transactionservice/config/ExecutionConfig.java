@@ -0,0 +1,20 @@
+package com.backendev.transactionservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Threading for request work handed off the servlet thread. Whether Tomcat, the scheduler and
+ * the application task executor use platform or virtual threads is switched with
+ * {@code spring.threads.virtual.enabled}; the decorator below is applied to the task executor
+ * in both modes.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return new RequestContextTaskDecorator();
+    }
+}
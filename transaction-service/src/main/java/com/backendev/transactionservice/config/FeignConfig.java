@@ -1,14 +1,69 @@
 package com.backendev.transactionservice.config;
 
+import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.client.PooledFeignClient;
+import feign.Client;
+import feign.Request;
 import feign.RequestInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
 
 @Configuration
 public class FeignConfig {
 
+    private static final String METHOD_PROPERTY_PREFIX = "transaction.feign.methods.";
+
+    @Value("${transaction.feign.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${transaction.feign.read-timeout-ms:5000}")
+    private long readTimeoutMillis;
+
     @Bean
     public RequestInterceptor jwtRequestInterceptor() {
         return new FeignJwtRequestInterceptor();
     }
+
+    /**
+     * Default timeouts plus per-method overrides from
+     * {@code transaction.feign.methods.<method>.connect-timeout-ms|read-timeout-ms}.
+     */
+    @Bean
+    public Request.Options feignRequestOptions(Environment environment) {
+        Request.Options options = new Request.Options(
+                Duration.ofMillis(connectTimeoutMillis), Duration.ofMillis(readTimeoutMillis), true);
+        for (Method method : AccountServiceClient.class.getMethods()) {
+            String prefix = METHOD_PROPERTY_PREFIX + method.getName();
+            long connectTimeout = environment.getProperty(prefix + ".connect-timeout-ms", Long.class, connectTimeoutMillis);
+            long readTimeout = environment.getProperty(prefix + ".read-timeout-ms", Long.class, readTimeoutMillis);
+            options.setMethodOptions(method.getName(), new Request.Options(
+                    Duration.ofMillis(connectTimeout), Duration.ofMillis(readTimeout), true));
+        }
+        return options;
+    }
+
+    /**
+     * Runs load-balanced Feign calls on the pooled transport. With
+     * {@code transaction.feign.transport=default} this bean backs off and Spring Cloud's default
+     * client is used instead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "transaction.feign.transport", havingValue = "pooled", matchIfMissing = true)
+    public Client feignClient(PooledFeignClient pooledFeignClient, LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              ObjectProvider<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(pooledFeignClient, loadBalancerClient,
+                loadBalancerClientFactory, transformers.orderedStream().toList());
+    }
 }
@@ -3,6 +3,9 @@ package com.backendev.transactionservice.config;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -10,21 +13,35 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Component
 public class FeignJwtRequestInterceptor implements RequestInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Override
     public void apply(RequestTemplate requestTemplate) {
+        String authorizationHeader = resolveAuthorizationHeader();
+        if (authorizationHeader != null) {
+            // Forward it to the outgoing Feign request
+            requestTemplate.header(HttpHeaders.AUTHORIZATION, authorizationHeader);
+        }
+    }
+
+    private String resolveAuthorizationHeader() {
         // Simply forward the Authorization header from the incoming request
         RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
-
         if (requestAttributes instanceof ServletRequestAttributes attrs) {
             HttpServletRequest request = attrs.getRequest();
-
-            // Get the Authorization header from the incoming request
-            String authorizationHeader = request.getHeader("Authorization");
-
+            String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
             if (authorizationHeader != null) {
-                // Forward it to the outgoing Feign request
-                requestTemplate.header("Authorization", authorizationHeader);
+                return authorizationHeader;
             }
         }
+
+        // Off the request thread (task executors, virtual threads) fall back to the token the
+        // JWT filter kept on the propagated security context
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof String token && !token.isBlank()) {
+            return BEARER_PREFIX + token;
+        }
+        return null;
     }
 }
@@ -0,0 +1,79 @@
+package com.backendev.transactionservice.config;
+
+import com.backendev.transactionservice.routing.ReplicaPositionTracker;
+import com.backendev.transactionservice.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * With {@code transaction.datasource.replica.enabled}, replaces the auto-configured pool with a
+ * primary pool, a read-only replica pool and the routing data source in front of them (see
+ * {@link ReplicaRoutingDataSource}). The primary pool keeps its {@code spring.datasource.hikari}
+ * settings; the replica pool takes {@code transaction.datasource.replica.hikari}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transaction.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("transaction.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${transaction.datasource.replica.url}") String url,
+                                              @Value("${transaction.datasource.replica.username}") String username,
+                                              @Value("${transaction.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPositionTracker replicaPositionTracker(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${transaction.datasource.replica.position-query:SELECT pg_last_wal_replay_lsn()}") String positionQuery,
+            MeterRegistry meterRegistry) {
+        ReplicaPositionTracker tracker = new ReplicaPositionTracker(replicaDataSource, positionQuery, meterRegistry);
+        tracker.refresh();
+        return tracker;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaPositionTracker replicaPositionTracker, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaPositionTracker, meterRegistry));
+        // Pool defaults, given up front so the proxy never borrows a connection just to detect them
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}
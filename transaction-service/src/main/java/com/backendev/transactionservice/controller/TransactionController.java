@@ -1,30 +1,47 @@
 package com.backendev.transactionservice.controller;
 
 import com.backendev.transactionservice.dto.AccountBalanceInfo;
+import com.backendev.transactionservice.dto.BatchTransactionRequest;
+import com.backendev.transactionservice.dto.BatchTransactionResponse;
+import com.backendev.transactionservice.dto.TransactionHistoryPage;
 import com.backendev.transactionservice.dto.TransactionInfo;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.dto.TransactionSummary;
 import com.backendev.transactionservice.dto.TransferRequest;
+import com.backendev.transactionservice.enums.StatementFormat;
+import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.service.TransactionService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @Slf4j
 @RequestMapping("/api/v1/transactions")
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TransactionService transactionService;
 
     public TransactionController(TransactionService transactionService) {
@@ -32,29 +49,73 @@ public class TransactionController {
     }
 
     @PostMapping("/deposit")
-    public ResponseEntity<TransactionResponse> depositMoney(@Valid @RequestBody TransactionRequest request) {
-        TransactionResponse response = transactionService.deposit(request);
+    public ResponseEntity<TransactionResponse> depositMoney(@Valid @RequestBody TransactionRequest request,
+                                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        TransactionResponse response = transactionService.deposit(request, idempotencyKey);
         return new ResponseEntity<>(response,HttpStatus.CREATED);
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<TransactionResponse> withdrawMoney(@Valid @RequestBody TransactionRequest request) {
-        TransactionResponse response = transactionService.withdraw(request);
+    public ResponseEntity<TransactionResponse> withdrawMoney(@Valid @RequestBody TransactionRequest request,
+                                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        TransactionResponse response = transactionService.withdraw(request, idempotencyKey);
         return new ResponseEntity<>(response,HttpStatus.CREATED);
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionResponse> transferMoney(@Valid @RequestBody TransferRequest request) {
-        TransactionResponse response = transactionService.transfer(request);
+    public ResponseEntity<TransactionResponse> transferMoney(@Valid @RequestBody TransferRequest request,
+                                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        TransactionResponse response = transactionService.transfer(request, idempotencyKey);
         return new ResponseEntity<>(response,HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponse> submitBatch(@Valid @RequestBody BatchTransactionRequest request) {
+        BatchTransactionResponse response = transactionService.submitBatch(request);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/account/{accountNumber}")
     public ResponseEntity<List<TransactionInfo>> fetchTransactionsByAccount(@PathVariable @NotNull Long accountNumber){
         List<TransactionInfo> transactionInfo = transactionService.fetchTransactionsByAccount(accountNumber);
         return new ResponseEntity<>(transactionInfo,HttpStatus.OK);
     }
 
+    @GetMapping("/account/{accountNumber}/history")
+    public ResponseEntity<TransactionHistoryPage> fetchTransactionHistory(
+            @PathVariable @NotNull Long accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<TransactionType> type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        TransactionHistoryPage page = transactionService.fetchTransactionHistory(accountNumber, cursor, limit, type, from, to);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/account/{accountNumber}/summary")
+    public ResponseEntity<TransactionSummary> fetchTransactionSummary(
+            @PathVariable @NotNull Long accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        TransactionSummary summary = transactionService.fetchTransactionSummary(accountNumber, from, to);
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    @GetMapping("/account/{accountNumber}/export")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable @NotNull Long accountNumber,
+            @RequestParam(defaultValue = "NDJSON") StatementFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        StreamingResponseBody body = out -> transactionService.exportStatement(accountNumber, format, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"statement-" + accountNumber + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/balance/{accountNumber}")
     public ResponseEntity<AccountBalanceInfo> fetchAccountBalance(@PathVariable @NotNull Long accountNumber){
         AccountBalanceInfo accountBalance = transactionService.fetchAccountBalance(accountNumber);
@@ -0,0 +1,25 @@
+package com.backendev.transactionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * An account's balance. When sent to account-service, a non-null {@code expectedBalance} makes
+ * the write conditional: it only applies while account-service still holds that balance.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBalanceEntry {
+
+    private Long accountNumber;
+    private BigDecimal balance;
+    private BigDecimal expectedBalance;
+
+    public AccountBalanceEntry(Long accountNumber, BigDecimal balance) {
+        this(accountNumber, balance, null);
+    }
+}
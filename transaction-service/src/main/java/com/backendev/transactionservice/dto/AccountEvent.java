@@ -0,0 +1,19 @@
+package com.backendev.transactionservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The part of an account-service {@code account-events} message this service reads.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEvent {
+
+    private String eventType;
+    private Long accountNumber;
+}
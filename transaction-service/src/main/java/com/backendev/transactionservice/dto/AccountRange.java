@@ -0,0 +1,17 @@
+package com.backendev.transactionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Account numbers from {@code from} (inclusive) to {@code to} (exclusive).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountRange {
+
+    private Long from;
+    private Long to;
+}
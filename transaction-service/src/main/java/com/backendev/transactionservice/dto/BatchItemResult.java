@@ -0,0 +1,26 @@
+package com.backendev.transactionservice.dto;
+
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResult {
+
+    private int index;
+    private String transactionId;   // null when the item was rejected before a transaction was recorded
+    private Long accountNumber;
+    private TransactionType type;
+    private BigDecimal amount;
+    private TransactionStatus status;
+    private BigDecimal accountBalance;  // Balance right after this item was applied
+    private String error;
+}
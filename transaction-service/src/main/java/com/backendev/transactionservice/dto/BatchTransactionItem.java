@@ -0,0 +1,35 @@
+package com.backendev.transactionservice.dto;
+
+import com.backendev.transactionservice.enums.TransactionType;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransactionItem {
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    @NotNull(message = "Account number is required")
+    private Long accountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    @NotNull(message = "Please provide description")
+    private String description;
+
+    @AssertTrue(message = "Only DEPOSIT and WITHDRAWAL are supported in a batch")
+    private boolean isSupportedType() {
+        return type != TransactionType.TRANSFER;
+    }
+}
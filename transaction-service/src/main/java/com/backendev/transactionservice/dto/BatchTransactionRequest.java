@@ -0,0 +1,20 @@
+package com.backendev.transactionservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransactionRequest {
+
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = 10000, message = "Batch cannot contain more than 10000 items")
+    private List<@Valid BatchTransactionItem> items;
+}
@@ -0,0 +1,18 @@
+package com.backendev.transactionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchTransactionResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+}
@@ -0,0 +1,48 @@
+package com.backendev.transactionservice.dto;
+
+import com.backendev.transactionservice.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an account's history: the (createdAt, transactionId) of the last row returned.
+ * Clients treat the encoded form as opaque.
+ */
+@Data
+@AllArgsConstructor
+public class HistoryCursor {
+
+    /** Sorts after every stored row, so it stands in for "start from the newest". */
+    public static final HistoryCursor START = new HistoryCursor(Instant.parse("9999-12-31T23:59:59Z"), "");
+
+    private static final String SEPARATOR = "|";
+
+    private Instant createdAt;
+    private String transactionId;
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return new HistoryCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+    }
+}
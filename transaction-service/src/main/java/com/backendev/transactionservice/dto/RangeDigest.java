@@ -0,0 +1,20 @@
+package com.backendev.transactionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fingerprint of the non-zero balances in an account range: how many there are and the sum of
+ * a hash of each (account number, balance) pair. Equal digests mean equal balances.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RangeDigest {
+
+    private Long from;
+    private Long to;
+    private long accounts;
+    private String hash;
+}
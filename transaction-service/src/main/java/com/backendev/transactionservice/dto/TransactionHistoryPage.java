@@ -0,0 +1,17 @@
+package com.backendev.transactionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionHistoryPage {
+
+    private List<TransactionInfo> items;
+    private String nextCursor;  // null on the last page
+    private boolean hasMore;
+}
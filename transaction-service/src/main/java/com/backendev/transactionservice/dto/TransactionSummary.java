@@ -0,0 +1,19 @@
+package com.backendev.transactionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSummary {
+
+    private Long accountNumber;
+    private LocalDate from;  // inclusive, UTC
+    private LocalDate to;    // inclusive, UTC
+    private List<TransactionTypeTotals> totals;  // only types with at least one completed transaction
+}
@@ -0,0 +1,19 @@
+package com.backendev.transactionservice.dto;
+
+import com.backendev.transactionservice.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionTypeTotals {
+
+    private TransactionType type;
+    private long count;
+    private BigDecimal amountIn;   // deposits and incoming transfers
+    private BigDecimal amountOut;  // withdrawals and outgoing transfers
+}
@@ -0,0 +1,27 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Part of a hot account's balance. The account's balance is its {@code account_balances} row plus
+ * all of its slots; credits land on a random slot so they do not queue on one row.
+ */
+@Entity
+@Table(name = "balance_slots")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceSlot {
+
+    @EmbeddedId
+    private BalanceSlotId id;
+
+    private BigDecimal balance;
+}
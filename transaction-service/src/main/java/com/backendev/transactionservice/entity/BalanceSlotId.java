@@ -0,0 +1,19 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceSlotId implements Serializable {
+
+    private Long accountNumber;
+
+    private Integer slot;
+}
@@ -0,0 +1,36 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Latest checkpoint of an account's ledger: the balance after applying entries 1 to
+ * {@code sequenceNumber}. The current balance is this plus the entries after it.
+ * {@code openingBalance} is what the account held before entry 1, carried over from
+ * {@code account_balances} when its ledger started.
+ */
+@Entity
+@Table(name = "balance_snapshots")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceSnapshot {
+
+    @Id
+    private Long accountNumber;
+
+    private Long sequenceNumber;
+
+    private BigDecimal balance;
+
+    private Instant takenAt;
+
+    private BigDecimal openingBalance;
+}
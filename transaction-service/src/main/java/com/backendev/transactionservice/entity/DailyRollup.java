@@ -0,0 +1,36 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Completed transactions of one account, one UTC day and one type, counted and summed. Money into
+ * the account (deposits, incoming transfers) and out of it (withdrawals, outgoing transfers) are
+ * kept apart so a transfer between two accounts adds to both of them.
+ *
+ * <p>A day can be split over several stripes: hot accounts spread their writes over
+ * {@code transaction.hot-accounts.slots} rows, and totals backfilled from before the rollups
+ * existed sit in a stripe of their own. Readers sum the stripes.
+ */
+@Entity
+@Table(name = "daily_rollups")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyRollup {
+
+    @EmbeddedId
+    private DailyRollupId id;
+
+    private long transactionCount;
+
+    private BigDecimal amountIn;
+
+    private BigDecimal amountOut;
+}
@@ -0,0 +1,28 @@
+package com.backendev.transactionservice.entity;
+
+import com.backendev.transactionservice.enums.TransactionType;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyRollupId implements Serializable {
+
+    private Long accountNumber;
+
+    private LocalDate rollupDate;  // UTC day the transactions were created on
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    private Integer stripe;  // 0, a random slot for hot accounts, or -1 for backfilled totals
+}
@@ -0,0 +1,45 @@
+package com.backendev.transactionservice.entity;
+
+import com.backendev.transactionservice.enums.IdempotencyStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    private String id;  // "<userId>:<Idempotency-Key>"
+
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    private IdempotencyStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String response;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+    // Lease of the instance running the request; an IN_PROGRESS key whose lease lapsed can be claimed again
+    private String lockOwner;
+
+    private Instant lockedUntil;
+}
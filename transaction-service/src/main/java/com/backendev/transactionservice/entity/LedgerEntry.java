@@ -0,0 +1,42 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One balance change, appended and never updated. Entries of an account are numbered 1, 2, 3...
+ * without gaps; the unique key makes two writers that picked the same number fail instead of
+ * both succeeding.
+ */
+@Entity
+@Table(name = "ledger_entries", uniqueConstraints =
+        @UniqueConstraint(name = "uk_ledger_entries_account_sequence", columnNames = {"account_number", "sequence_number"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_seq")
+    @SequenceGenerator(name = "ledger_entry_seq", sequenceName = "ledger_entry_seq", allocationSize = 50)
+    private Long id;
+
+    private Long accountNumber;
+
+    private Long sequenceNumber;
+
+    private BigDecimal amount;  // signed: credits positive, debits negative
+
+    private Instant createdAt;
+}
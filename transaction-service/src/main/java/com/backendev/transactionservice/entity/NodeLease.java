@@ -0,0 +1,29 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A transaction id node number held by one running instance (see
+ * {@link com.backendev.transactionservice.id.NodeIdLease}).
+ */
+@Entity
+@Table(name = "id_node_leases")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NodeLease {
+
+    @Id
+    private Integer nodeId;
+
+    private String owner;
+
+    private Instant leasedUntil;
+}
@@ -0,0 +1,46 @@
+package com.backendev.transactionservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One leg of a double-entry movement: a debit (negative amount) or credit (positive amount) on
+ * an account. The legs of a transaction sum to zero, so all postings together do as well.
+ */
+@Entity
+@Table(name = "postings", indexes = {
+        @Index(name = "idx_postings_transaction", columnList = "transaction_id"),
+        @Index(name = "idx_postings_account", columnList = "account_number, id"),
+        @Index(name = "idx_postings_created_at", columnList = "created_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Posting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posting_seq")
+    @SequenceGenerator(name = "posting_seq", sequenceName = "posting_seq", allocationSize = 50)
+    private Long id;
+
+    private String transactionId;
+
+    private Long accountNumber;
+
+    private BigDecimal amount;  // signed: credits positive, debits negative
+
+    private BigDecimal balanceAfter;  // running balance of the account including this leg
+
+    private Instant createdAt;
+}
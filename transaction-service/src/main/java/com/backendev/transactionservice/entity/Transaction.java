@@ -6,18 +6,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_from_created", columnList = "from_account_number, created_at, transaction_id"),
+        @Index(name = "idx_transactions_to_created", columnList = "to_account_number, created_at, transaction_id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -40,6 +45,8 @@ public class Transaction {
 
     private String description;
 
+    // Updates also match on created_at, so they touch only the row's monthly partition
+    @PartitionKey
     @CreationTimestamp
     private Instant createdAt;
 
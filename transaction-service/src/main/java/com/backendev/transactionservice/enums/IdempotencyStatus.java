@@ -0,0 +1,6 @@
+package com.backendev.transactionservice.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
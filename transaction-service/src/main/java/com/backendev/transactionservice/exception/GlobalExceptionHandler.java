@@ -1,6 +1,7 @@
 package com.backendev.transactionservice.exception;
 
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,10 +31,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(httpErrorResponse);
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<HttpErrorResponse> handleIdempotencyConflictException(IdempotencyConflictException exception){
+        HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.CONFLICT, exception.getMessage(), "Idempotency key conflict.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(httpErrorResponse);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<HttpErrorResponse> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException exception){
+        HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), "Invalid idempotency key.");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(httpErrorResponse);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<HttpErrorResponse> handleInvalidCursorException(InvalidCursorException exception){
+        HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), "Invalid page cursor.");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(httpErrorResponse);
+    }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<HttpErrorResponse> handleInvalidDateRangeException(InvalidDateRangeException exception){
+        HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), "Invalid date range.");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(httpErrorResponse);
+    }
+
     @ExceptionHandler(ServiceUnavailableException.class)
     public ResponseEntity<HttpErrorResponse> handleServiceUnavailable(ServiceUnavailableException exception) {
         HttpErrorResponse httpErrorResponse = new HttpErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage(), "Service unavailable.");
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(httpErrorResponse);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (exception.getRetryAfterSeconds() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        }
+        return response.body(httpErrorResponse);
 
     }
     @ExceptionHandler(Exception.class)
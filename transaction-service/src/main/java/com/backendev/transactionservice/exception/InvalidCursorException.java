@@ -0,0 +1,12 @@
+package com.backendev.transactionservice.exception;
+
+public class InvalidCursorException extends RuntimeException{
+
+    public InvalidCursorException(String message){
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable ex){
+        super(message, ex);
+    }
+}
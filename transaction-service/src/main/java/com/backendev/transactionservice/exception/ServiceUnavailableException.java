@@ -1,8 +1,19 @@
 package com.backendev.transactionservice.exception;
 
+import lombok.Getter;
+
+@Getter
 public class ServiceUnavailableException extends RuntimeException {
 
+    /** Seconds the client should wait before retrying, or {@code null} when unknown. */
+    private final Long retryAfterSeconds;
+
     public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, Long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 }
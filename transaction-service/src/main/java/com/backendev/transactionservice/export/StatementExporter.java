@@ -0,0 +1,160 @@
+package com.backendev.transactionservice.export;
+
+import com.backendev.transactionservice.archive.ColdSegmentStore;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.StatementFormat;
+import com.backendev.transactionservice.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes an account statement straight from a forward-only database cursor to the response,
+ * after the rows of any archived months. Each row is written and detached before the next one is
+ * read, so memory use does not grow with the size of the statement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatementExporter {
+
+    private static final String CSV_HEADER =
+            "transactionId,fromAccountNumber,toAccountNumber,amount,type,status,description,createdAt,updatedAt\n";
+
+    private final TransactionRepository transactionRepository;
+    private final ColdSegmentStore coldSegmentStore;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${transaction.export.flush-every:1000}")
+    private int flushEvery;
+
+    @Transactional(readOnly = true)
+    public long export(Long accountNumber, Instant from, Instant to, StatementFormat format, OutputStream out) throws IOException {
+        // Archived months come first; a month being archived can briefly be in both places, its segment wins
+        Stream<Transaction> recent = transactionRepository.streamStatement(accountNumber, from, to)
+                .filter(transaction -> !coldSegmentStore.isArchived(transaction.getCreatedAt()));
+        try (Stream<Transaction> rows = Stream.concat(coldSegmentStore.streamStatement(accountNumber, from, to), recent)) {
+            long written = format == StatementFormat.CSV
+                    ? writeCsv(rows.iterator(), out)
+                    : writeNdjson(rows.iterator(), out);
+            log.info("Exported {} rows for account {} as {}", written, accountNumber, format);
+            return written;
+        }
+    }
+
+    private long writeNdjson(Iterator<Transaction> rows, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (rows.hasNext()) {
+                Transaction transaction = rows.next();
+                generator.writeStartObject();
+                generator.writeStringField("transactionId", transaction.getTransactionId());
+                writeNumberOrNull(generator, "fromAccountNumber", transaction.getFromAccountNumber());
+                writeNumberOrNull(generator, "toAccountNumber", transaction.getToAccountNumber());
+                generator.writeNumberField("amount", transaction.getAmount());
+                generator.writeStringField("type", nameOf(transaction.getType()));
+                generator.writeStringField("status", nameOf(transaction.getStatus()));
+                generator.writeStringField("description", transaction.getDescription());
+                generator.writeStringField("createdAt", toTextOrNull(transaction.getCreatedAt()));
+                generator.writeStringField("updatedAt", toTextOrNull(transaction.getUpdatedAt()));
+                generator.writeEndObject();
+                entityManager.detach(transaction);
+                // Flush the first row right away so the client starts receiving immediately
+                if (++written == 1 || written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+
+    private long writeCsv(Iterator<Transaction> rows, OutputStream out) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.flush();
+        while (rows.hasNext()) {
+            Transaction transaction = rows.next();
+            writer.write(transaction.getTransactionId());
+            writer.write(',');
+            writer.write(toText(transaction.getFromAccountNumber()));
+            writer.write(',');
+            writer.write(toText(transaction.getToAccountNumber()));
+            writer.write(',');
+            writer.write(transaction.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(toText(nameOf(transaction.getType())));
+            writer.write(',');
+            writer.write(toText(nameOf(transaction.getStatus())));
+            writer.write(',');
+            writer.write(escapeCsv(transaction.getDescription()));
+            writer.write(',');
+            writer.write(toText(transaction.getCreatedAt()));
+            writer.write(',');
+            writer.write(toText(transaction.getUpdatedAt()));
+            writer.write('\n');
+            entityManager.detach(transaction);
+            if (++written % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static void writeNumberOrNull(JsonGenerator generator, String field, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static String toText(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String toTextOrNull(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Spreadsheets run cells starting with these as formulas; a leading quote keeps them text
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
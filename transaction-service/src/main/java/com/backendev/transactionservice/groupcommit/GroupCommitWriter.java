@@ -0,0 +1,250 @@
+package com.backendev.transactionservice.groupcommit;
+
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.mapper.TransactionMapper;
+import com.backendev.transactionservice.service.BalanceManager;
+import com.backendev.transactionservice.service.TransactionProcessor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Commits concurrent deposits together. Deposits arriving within {@code window-ms} of the first
+ * one, up to {@code max-items}, are written in a single database transaction: the transaction
+ * rows go out as one batched insert and each account's balance moves once by the group's total
+ * for it. Every caller is answered only after that transaction has committed, so a returned
+ * deposit is as durable as one committed on its own.
+ *
+ * <p>A caller that times out while its deposit is still queued cancels it, and the writer drops
+ * it; once a deposit is in a committing group the caller waits for that commit instead, so a
+ * timeout never hides a deposit that went through. If a group fails to commit, its deposits are
+ * retried one per transaction, so one bad deposit fails only itself.
+ * Enabled with {@code transaction.group-commit.enabled}.
+ */
+@Slf4j
+@Component
+public class GroupCommitWriter {
+
+    private final TransactionProcessor transactionProcessor;
+    private final BalanceManager balanceManager;
+    private final TransactionMapper transactionMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary groupSizes;
+
+    @Value("${transaction.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.group-commit.writers:2}")
+    private int writerCount;
+
+    @Value("${transaction.group-commit.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${transaction.group-commit.max-items:64}")
+    private int maxItems;
+
+    @Value("${transaction.group-commit.window-ms:2}")
+    private long windowMillis;
+
+    @Value("${transaction.group-commit.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private BlockingQueue<PendingDeposit> queue;
+    private Thread[] writers;
+    private volatile boolean running;
+
+    public GroupCommitWriter(TransactionProcessor transactionProcessor, BalanceManager balanceManager,
+                             TransactionMapper transactionMapper, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.transactionProcessor = transactionProcessor;
+        this.balanceManager = balanceManager;
+        this.transactionMapper = transactionMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.groupSizes = meterRegistry.summary("deposit.group.commit.size");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writers = new Thread[writerCount];
+        for (int i = 0; i < writerCount; i++) {
+            writers[i] = new Thread(this::run, "group-commit-" + i);
+            writers[i].setDaemon(true);
+            writers[i].start();
+        }
+        log.info("Group commit started with {} writers, up to {} deposits per {} ms", writerCount, maxItems, windowMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writers == null) {
+            return;
+        }
+        running = false;
+        for (Thread writer : writers) {
+            try {
+                writer.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the deposit for the next group and waits for that group to commit.
+     * {@code onCompleted} runs inside the group's database transaction.
+     */
+    public TransactionResponse deposit(TransactionRequest request, Consumer<TransactionResponse> onCompleted) {
+        if (queue == null) {
+            throw new IllegalStateException("Group commit is not running");
+        }
+        PendingDeposit deposit = new PendingDeposit(request, onCompleted, new CompletableFuture<>());
+        try {
+            if (!queue.offer(deposit, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Group commit queue is full");
+                throw new ServiceUnavailableException("Deposits are saturated. Please try again later.");
+            }
+            try {
+                return deposit.getResult().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (deposit.claim()) {
+                    throw e;
+                }
+                // A writer already took it into a group; its outcome is on the way
+                return deposit.getResult().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new TransactionProcessingException("Deposit failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransactionProcessingException("Timed out waiting for deposit to commit", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted waiting for deposit to commit", e);
+        }
+    }
+
+    private void run() {
+        List<PendingDeposit> group = new ArrayList<>(maxItems);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDeposit first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group);
+                // Drop deposits whose caller already gave up on them
+                group.removeIf(deposit -> !deposit.claim());
+                if (!group.isEmpty()) {
+                    commit(group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                group.forEach(deposit -> deposit.getResult().completeExceptionally(
+                        new TransactionProcessingException("Group commit stopped")));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    // Waits out the window for more deposits, returning early once the group is full
+    private void collect(List<PendingDeposit> group) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        while (group.size() < maxItems) {
+            queue.drainTo(group, maxItems - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxItems || remaining <= 0) {
+                return;
+            }
+            PendingDeposit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<PendingDeposit> group) {
+        Map<PendingDeposit, TransactionResponse> responses;
+        try {
+            responses = commitTogether(group);
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                log.error("Failed to commit deposit", e);
+                group.get(0).getResult().completeExceptionally(new TransactionProcessingException("Failed to commit deposit", e));
+                return;
+            }
+            log.warn("Failed to commit group of {} deposits, committing them one by one", group.size(), e);
+            group.forEach(deposit -> commit(List.of(deposit)));
+            return;
+        }
+        groupSizes.record(group.size());
+        group.forEach(deposit -> deposit.getResult().complete(responses.get(deposit)));
+    }
+
+    private Map<PendingDeposit, TransactionResponse> commitTogether(List<PendingDeposit> group) {
+        Map<PendingDeposit, TransactionResponse> responses = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            responses.clear();
+            Map<Long, List<BigDecimal>> deltasByAccount = new LinkedHashMap<>();
+            List<Transaction> transactions = new ArrayList<>(group.size());
+            for (PendingDeposit deposit : group) {
+                TransactionRequest request = deposit.getRequest();
+                deltasByAccount.computeIfAbsent(request.getAccountNumber(), key -> new ArrayList<>()).add(request.getAmount());
+                transactions.add(transactionProcessor.createCompletedTransaction(request, TransactionType.DEPOSIT));
+            }
+            Map<Long, List<BigDecimal>> balancesByAccount = balanceManager.applyBatch(deltasByAccount);
+            transactionProcessor.saveBatchTransactions(transactions);
+
+            Map<Long, Integer> positions = new HashMap<>();
+            for (int i = 0; i < group.size(); i++) {
+                PendingDeposit deposit = group.get(i);
+                Long accountNumber = deposit.getRequest().getAccountNumber();
+                int position = positions.merge(accountNumber, 1, Integer::sum) - 1;
+                TransactionResponse response = transactionMapper.toResponseWithBalance(transactions.get(i),
+                        balancesByAccount.get(accountNumber).get(position));
+                deposit.getOnCompleted().accept(response);
+                responses.put(deposit, response);
+            }
+        });
+        return responses;
+    }
+}
@@ -0,0 +1,34 @@
+package com.backendev.transactionservice.groupcommit;
+
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.TransactionResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A deposit waiting for the next group commit. The future completes with the response once the
+ * group's database transaction has committed.
+ *
+ * <p>The writer and a caller that gave up waiting race to claim the deposit: if the writer wins,
+ * the deposit is going into a group and the caller waits for its outcome; if the caller wins, the
+ * deposit is cancelled and the writer drops it.
+ */
+@Getter
+@AllArgsConstructor
+class PendingDeposit {
+
+    private final TransactionRequest request;
+    private final Consumer<TransactionResponse> onCompleted;
+    private final CompletableFuture<TransactionResponse> result;
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+}
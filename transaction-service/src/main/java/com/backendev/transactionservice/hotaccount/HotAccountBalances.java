@@ -0,0 +1,131 @@
+package com.backendev.transactionservice.hotaccount;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.entity.BalanceSlot;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.repository.BalanceSlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balances of accounts listed in {@code transaction.hot-accounts.accounts}, striped over
+ * {@code slots} rows in {@code balance_slots} next to the usual {@code account_balances} row. A
+ * credit adds to a random slot, so concurrent credits to one account mostly touch different rows
+ * and do not wait on each other. A debit is taken from the main row if it covers the amount, else
+ * from any one slot that does; only when the money is spread too thin are all slots locked and
+ * folded into the main row before debiting it. {@link SlotConsolidator} folds the slots back into
+ * the main row in the background.
+ *
+ * <p>Whoever locks several rows of one account takes the slots first, in slot order, and the main
+ * row last.
+ */
+@Slf4j
+@Component
+public class HotAccountBalances {
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final BalanceSlotRepository balanceSlotRepository;
+    private final Set<Long> hotAccounts;
+    private final int slots;
+    private final Counter aggregateDebits;
+
+    public HotAccountBalances(AccountBalanceRepository accountBalanceRepository,
+                              BalanceSlotRepository balanceSlotRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${transaction.hot-accounts.accounts:}") Set<Long> hotAccounts,
+                              @Value("${transaction.hot-accounts.slots:8}") int slots) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.hotAccounts = Set.copyOf(hotAccounts);
+        this.slots = slots;
+        this.aggregateDebits = meterRegistry.counter("balance.hot.aggregate.debits");
+    }
+
+    public boolean isHot(Long accountNumber) {
+        return hotAccounts.contains(accountNumber);
+    }
+
+    public Set<Long> getHotAccounts() {
+        return hotAccounts;
+    }
+
+    /**
+     * Adds the amount to a random slot and returns the account's balance after it.
+     */
+    @Transactional
+    public BigDecimal credit(Long accountNumber, BigDecimal amount) {
+        balanceSlotRepository.creditSlot(accountNumber, ThreadLocalRandom.current().nextInt(slots), amount);
+        return total(accountNumber);
+    }
+
+    /**
+     * Subtracts the amount if the account's total balance covers it and returns the balance
+     * after it; empty when it does not.
+     */
+    @Transactional
+    public Optional<BigDecimal> debitIfSufficient(Long accountNumber, BigDecimal amount) {
+        if (accountBalanceRepository.debitBalanceIfSufficient(accountNumber, amount).isPresent()
+                || balanceSlotRepository.debitAnySlotIfSufficient(accountNumber, amount).isPresent()) {
+            return Optional.of(total(accountNumber));
+        }
+
+        aggregateDebits.increment();
+        BigDecimal folded = accountBalanceRepository.creditBalance(accountNumber, drainSlots(accountNumber));
+        if (folded.compareTo(amount) < 0) {
+            return Optional.empty();
+        }
+        return accountBalanceRepository.debitBalanceIfSufficient(accountNumber, amount);
+    }
+
+    /**
+     * Moves everything in the account's slots into its main row. Returns the amount moved.
+     */
+    @Transactional
+    public BigDecimal consolidate(Long accountNumber) {
+        BigDecimal moved = drainSlots(accountNumber);
+        if (moved.signum() != 0) {
+            accountBalanceRepository.creditBalance(accountNumber, moved);
+        }
+        return moved;
+    }
+
+    /**
+     * The main row with the slots added on top; empty if the account has neither.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountBalance> find(Long accountNumber) {
+        BigDecimal slotTotal = balanceSlotRepository.sumByAccountNumber(accountNumber);
+        Optional<AccountBalance> main = accountBalanceRepository.findById(accountNumber);
+        if (main.isEmpty() && slotTotal.signum() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(main
+                .map(accountBalance -> new AccountBalance(accountNumber,
+                        accountBalance.getBalance().add(slotTotal), accountBalance.getLastUpdated()))
+                .orElseGet(() -> new AccountBalance(accountNumber, slotTotal, Instant.now())));
+    }
+
+    private BigDecimal total(Long accountNumber) {
+        return find(accountNumber).map(AccountBalance::getBalance).orElse(BigDecimal.ZERO);
+    }
+
+    // Locks every slot of the account and zeroes them; the caller adds the total to the main row
+    private BigDecimal drainSlots(Long accountNumber) {
+        BigDecimal slotTotal = BigDecimal.ZERO;
+        for (BalanceSlot slot : balanceSlotRepository.findAllForUpdate(accountNumber)) {
+            slotTotal = slotTotal.add(slot.getBalance());
+            slot.setBalance(BigDecimal.ZERO);
+        }
+        return slotTotal;
+    }
+}
@@ -0,0 +1,35 @@
+package com.backendev.transactionservice.hotaccount;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Periodically folds each hot account's slots into its main row, so debits usually find the
+ * money in one place and balance reads add up slots that are mostly zero.
+ */
+@Slf4j
+@Component
+public class SlotConsolidator {
+
+    private final HotAccountBalances hotAccountBalances;
+
+    public SlotConsolidator(HotAccountBalances hotAccountBalances) {
+        this.hotAccountBalances = hotAccountBalances;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.hot-accounts.consolidate-interval-ms:1000}")
+    public void consolidateAll() {
+        for (Long accountNumber : hotAccountBalances.getHotAccounts()) {
+            try {
+                BigDecimal moved = hotAccountBalances.consolidate(accountNumber);
+                log.debug("Consolidated {} from the slots of account {}", moved, accountNumber);
+            } catch (RuntimeException e) {
+                // Slots are left as they are and folded on the next run
+                log.error("Failed to consolidate slots of account {}", accountNumber, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.backendev.transactionservice.id;
+
+import com.backendev.transactionservice.repository.NodeLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leases this instance a node id no other running instance holds, from {@code id_node_leases},
+ * for {@link TransactionIdGenerator} when {@code transaction.id.node-id} is not set. The lease is
+ * renewed in the background. Ids may only be issued while the lease is known to be held: until
+ * half its length has passed since the last successful renewal, so a lease that lapsed during a
+ * database outage is never still in use when another instance takes the node id over.
+ */
+@Slf4j
+@Component
+public class NodeIdLease {
+
+    private static final int CLAIM_ATTEMPTS = 5;
+
+    private final NodeLeaseRepository nodeLeaseRepository;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Value("${transaction.id.lease-ms:60000}")
+    private long leaseMillis;
+
+    private volatile Integer nodeId;
+
+    // Epoch millis up to which ids may be issued under the lease
+    private volatile long validUntil;
+
+    public NodeIdLease(NodeLeaseRepository nodeLeaseRepository) {
+        this.nodeLeaseRepository = nodeLeaseRepository;
+    }
+
+    /**
+     * Leases the lowest free node id up to {@code maxNodeId}. Fails when every id is leased.
+     */
+    public int acquire(long maxNodeId) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            Instant now = Instant.now();
+            Optional<Integer> leased = nodeLeaseRepository.claimFree(owner, now, now.plusMillis(leaseMillis), maxNodeId);
+            if (leased.isPresent()) {
+                nodeId = leased.get();
+                validUntil = now.toEpochMilli() + leaseMillis / 2;
+                log.info("Leased transaction id node {}", nodeId);
+                return nodeId;
+            }
+        }
+        throw new IllegalStateException("No free transaction id node among " + (maxNodeId + 1)
+                + "; set transaction.id.node-id or wait for stale leases to lapse");
+    }
+
+    public long validUntil() {
+        return validUntil;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.id.lease-renew-interval-ms:10000}")
+    public void renew() {
+        if (nodeId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (nodeLeaseRepository.renew(nodeId, owner, now.plusMillis(leaseMillis)) == 1) {
+            validUntil = now.toEpochMilli() + leaseMillis / 2;
+        } else {
+            log.error("Lost the lease on transaction id node {}; no ids are issued until restart", nodeId);
+            validUntil = 0;
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (nodeId != null) {
+            validUntil = 0;
+            nodeLeaseRepository.release(nodeId, owner);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.backendev.transactionservice.id;
+
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style transaction ids: 41 bits of milliseconds since 2024-01-01, 10 bits of node id
+ * and a 12-bit per-millisecond sequence, rendered as "TXN" plus 19 zero-padded digits. The fixed
+ * width keeps string order equal to numeric order, so new rows land at the right-hand edge of
+ * the primary key index.
+ *
+ * <p>Ids are unique across instances only if their node ids are. {@code transaction.id.node-id}
+ * pins one; without it the instance leases a free one from the database (see {@link NodeIdLease})
+ * and stops issuing ids if it can no longer prove it holds that lease.
+ */
+@Slf4j
+@Component
+public class TransactionIdGenerator {
+
+    public static final String PREFIX = "TXN";
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int DIGITS = 19;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final LongSupplier validUntil;
+
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public TransactionIdGenerator(@Value("${transaction.id.node-id:-1}") long configuredNodeId, NodeIdLease nodeIdLease) {
+        this(configuredNodeId >= 0 ? configuredNodeId : nodeIdLease.acquire(MAX_NODE_ID), System::currentTimeMillis,
+                configuredNodeId >= 0 ? () -> Long.MAX_VALUE : nodeIdLease::validUntil);
+        log.info("Transaction id generator using {} node id {}", configuredNodeId >= 0 ? "configured" : "leased", nodeId);
+    }
+
+    public TransactionIdGenerator(long nodeId, LongSupplier clock) {
+        this(nodeId, clock, () -> Long.MAX_VALUE);
+    }
+
+    /**
+     * @param validUntil epoch millis up to which this instance may issue ids under {@code nodeId}
+     */
+    public TransactionIdGenerator(long nodeId, LongSupplier clock, LongSupplier validUntil) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.validUntil = validUntil;
+    }
+
+    public String nextId() {
+        return format(nextValue());
+    }
+
+    /**
+     * Lock-free: a CAS loop over the last (timestamp, sequence) pair. When the sequence runs out,
+     * or the wall clock steps backwards, the id borrows the next millisecond instead of waiting.
+     */
+    public long nextValue() {
+        long millis = clock.getAsLong();
+        if (millis >= validUntil.getAsLong()) {
+            throw new ServiceUnavailableException("Transaction ids are unavailable until the node id lease is renewed");
+        }
+        long now = millis - EPOCH_MILLIS;
+        while (true) {
+            long previous = lastState.get();
+            long next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    static String format(long value) {
+        char[] chars = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,305 @@
+package com.backendev.transactionservice.idempotency;
+
+import com.backendev.transactionservice.entity.IdempotencyRecord;
+import com.backendev.transactionservice.enums.IdempotencyStatus;
+import com.backendev.transactionservice.exception.IdempotencyConflictException;
+import com.backendev.transactionservice.exception.InvalidIdempotencyKeyException;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the first response for each (user, Idempotency-Key) pair so retried requests get
+ * that response back instead of being executed again. Lookups go to a bounded in-memory LRU
+ * first and the idempotency_keys table second. A duplicate that arrives while the original is
+ * still running waits for its result: on this instance through the in-flight future, on other
+ * instances by polling the claimed row.
+ *
+ * <p>A claimed key carries a lease that is renewed while the request runs, so the key of an
+ * instance that crashed mid-request can be claimed again once the lease lapses instead of
+ * blocking retries until it expires. The response is stored in the same database transaction as
+ * the request's own writes, and only while the lease is still held: a request either commits
+ * together with its response or leaves nothing behind. That only holds for actions that write on
+ * the calling thread; callers must not pass actions that hand their writes to another thread to
+ * commit. Checks that call other services run before that transaction is opened, so it does not
+ * hold a connection while they wait.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+    private final Map<String, CachedResponse> cache;
+
+    @Value("${transaction.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${transaction.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    @Value("${transaction.idempotency.poll-interval-ms:50}")
+    private long pollIntervalMillis;
+
+    @Value("${transaction.idempotency.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Value("${transaction.idempotency.lease-ms:30000}")
+    private long leaseMillis;
+
+    @Value("${transaction.idempotency.max-key-length:128}")
+    private int maxKeyLength;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${transaction.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action} once per key and returns its result, or the stored result of an earlier
+     * run with the same key. Without a key the action simply runs. Failed actions are not
+     * remembered, so the client can retry them with the same key.
+     */
+    public <T> T execute(String userId, String idempotencyKey, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        return execute(userId, idempotencyKey, operation, request, responseType, () -> { }, action);
+    }
+
+    /**
+     * Like {@link #execute(String, String, String, Object, Class, Supplier)}, but runs
+     * {@code prepare} first, outside the database transaction, once the key is claimed. A failing
+     * {@code prepare} releases the key like a failing action does.
+     */
+    public <T> T execute(String userId, String idempotencyKey, String operation, Object request,
+                         Class<T> responseType, Runnable prepare, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            prepare.run();
+            return action.get();
+        }
+        if (idempotencyKey.length() > maxKeyLength) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be at most " + maxKeyLength + " characters");
+        }
+        String id = userId + ":" + idempotencyKey;
+        String requestHash = hash(operation, request);
+
+        CachedResponse cached = cachedResponse(id);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            log.debug("Replaying cached response for idempotency key {}", id);
+            return fromJson(cached.response(), responseType);
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            log.debug("Waiting for in-flight request with idempotency key {}", id);
+            return fromJson(await(running.response()), responseType);
+        }
+
+        try {
+            return claimAndRun(id, requestHash, responseType, prepare, action, mine.response());
+        } catch (RuntimeException e) {
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.idempotency.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        if (!heldLeases.isEmpty()) {
+            idempotencyRecordRepository.renewLeases(Set.copyOf(heldLeases), Instant.now().plusMillis(leaseMillis));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = idempotencyRecordRepository.deleteExpired(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private <T> T claimAndRun(String id, String requestHash, Class<T> responseType, Runnable prepare,
+                              Supplier<T> action, CompletableFuture<String> response) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        while (true) {
+            Instant now = Instant.now();
+            Instant expiresAt = now.plus(Duration.ofHours(ttlHours));
+            String owner = UUID.randomUUID().toString();
+            if (idempotencyRecordRepository.claim(id, requestHash, owner, now, expiresAt, now.plusMillis(leaseMillis)) == 1) {
+                String[] json = new String[1];
+                T result = run(id, owner, prepare, () -> {
+                    T value = action.get();
+                    json[0] = toJson(value);
+                    if (idempotencyRecordRepository.complete(id, owner, json[0]) == 0) {
+                        // The lease lapsed and another instance took the key over: undo this run
+                        throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+                    }
+                    return value;
+                });
+                remember(id, new CachedResponse(requestHash, json[0], expiresAt));
+                response.complete(json[0]);
+                return result;
+            }
+
+            // Someone already holds the key: replay their response, or wait while another instance runs it
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(id);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                checkSameRequest(record.getRequestHash(), requestHash);
+                if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                    remember(id, new CachedResponse(requestHash, record.getResponse(), record.getExpiresAt()));
+                    response.complete(record.getResponse());
+                    return fromJson(record.getResponse(), responseType);
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            sleep(pollIntervalMillis);
+        }
+    }
+
+    private <T> T run(String id, String owner, Runnable prepare, Supplier<T> action) {
+        heldLeases.add(owner);
+        try {
+            prepare.run();
+            return transactionTemplate.execute(status -> action.get());
+        } catch (RuntimeException e) {
+            // Release the key so the client can retry the failed request
+            idempotencyRecordRepository.release(id, owner);
+            throw e;
+        } finally {
+            heldLeases.remove(owner);
+        }
+    }
+
+    private CachedResponse cachedResponse(String id) {
+        synchronized (cache) {
+            CachedResponse cached = cache.get(id);
+            if (cached != null && cached.expiresAt().isBefore(Instant.now())) {
+                cache.remove(id);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void remember(String id, CachedResponse response) {
+        synchronized (cache) {
+            cache.put(id, response);
+        }
+    }
+
+    private String await(CompletableFuture<String> response) {
+        try {
+            return response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new TransactionProcessingException("Original request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted waiting for original request", e);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted waiting for original request", e);
+        }
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new TransactionProcessingException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new TransactionProcessingException("Failed to serialize response", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new TransactionProcessingException("Failed to read stored response", e);
+        }
+    }
+
+    private record CachedResponse(String requestHash, String response, Instant expiresAt) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<String> response) {
+    }
+}
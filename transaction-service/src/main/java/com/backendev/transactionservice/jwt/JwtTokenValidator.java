@@ -54,9 +54,10 @@ public class JwtTokenValidator {
                 throw new JwtAuthenticationException("Invalid token: missing user information");
             }
 
-            // Create Spring Security authentication object
+            // Create Spring Security authentication object, keeping the raw token as credentials so
+            // outgoing Feign calls can forward it from threads that have no servlet request bound
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                    new UsernamePasswordAuthenticationToken(userId, token, authorities);
 
             // Store JWT claims for potential later use
             authentication.setDetails(claims);
@@ -0,0 +1,72 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps one row per account in {@code account_balances} and overwrites it with the new balance.
+ * The rows are locked for the batch, in account order, because transfers write them from request
+ * transactions as well.
+ */
+class AccountBalanceStore implements BalanceStore {
+
+    private final AccountBalanceRepository accountBalanceRepository;
+
+    AccountBalanceStore(AccountBalanceRepository accountBalanceRepository) {
+        this.accountBalanceRepository = accountBalanceRepository;
+    }
+
+    @Override
+    public Batch begin(Set<Long> accountNumbers) {
+        Map<Long, AccountBalance> balances = lock(accountNumbers);
+        if (balances.size() < accountNumbers.size()) {
+            // First change to these accounts: create their rows, then lock them as well
+            List<Long> missing = accountNumbers.stream().filter(accountNumber -> !balances.containsKey(accountNumber)).toList();
+            missing.forEach(accountBalanceRepository::createIfMissing);
+            balances.putAll(lock(missing));
+        }
+        Map<Long, AccountBalance> touched = new LinkedHashMap<>();
+
+        return new Batch() {
+            @Override
+            public BigDecimal balance(Long accountNumber) {
+                return balances.get(accountNumber).getBalance();
+            }
+
+            @Override
+            public void apply(Long accountNumber, BigDecimal delta, BigDecimal newBalance) {
+                AccountBalance accountBalance = balances.get(accountNumber);
+                accountBalance.setBalance(newBalance);
+                accountBalance.setLastUpdated(Instant.now());
+                touched.put(accountNumber, accountBalance);
+            }
+
+            @Override
+            public void flush() {
+                accountBalanceRepository.saveAll(touched.values());
+            }
+        };
+    }
+
+    private Map<Long, AccountBalance> lock(Collection<Long> accountNumbers) {
+        Map<Long, AccountBalance> balances = new HashMap<>();
+        accountBalanceRepository.findAllForUpdate(accountNumbers)
+                .forEach(accountBalance -> balances.put(accountBalance.getAccountNumber(), accountBalance));
+        return balances;
+    }
+
+    @Override
+    public Optional<AccountBalance> find(Long accountNumber) {
+        return accountBalanceRepository.findByAccountNumber(accountNumber);
+    }
+}
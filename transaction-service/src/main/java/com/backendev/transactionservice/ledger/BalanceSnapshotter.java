@@ -0,0 +1,58 @@
+package com.backendev.transactionservice.ledger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Checkpoints event-sourced balances in the background. An account is snapshotted once it has
+ * {@code every-entries} entries past its last snapshot, or its oldest such entry is older than
+ * {@code every-ms}, which bounds how many entries a balance read has to add up.
+ */
+@Slf4j
+@Component
+public class BalanceSnapshotter {
+
+    private final LedgerEngine ledgerEngine;
+    private final LedgerEntryStore ledgerEntryStore;
+    private final Counter snapshots;
+
+    @Value("${transaction.ledger.snapshot.every-entries:1000}")
+    private long everyEntries;
+
+    @Value("${transaction.ledger.snapshot.every-ms:60000}")
+    private long everyMillis;
+
+    @Value("${transaction.ledger.snapshot.batch-size:500}")
+    private int batchSize;
+
+    public BalanceSnapshotter(LedgerEngine ledgerEngine, LedgerEntryStore ledgerEntryStore, MeterRegistry meterRegistry) {
+        this.ledgerEngine = ledgerEngine;
+        this.ledgerEntryStore = ledgerEntryStore;
+        this.snapshots = meterRegistry.counter("ledger.snapshots");
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.ledger.snapshot.poll-interval-ms:1000}")
+    public void snapshotDueAccounts() {
+        if (!ledgerEngine.isEventSourced()) {
+            return;
+        }
+        List<Long> due = ledgerEntryStore.dueForSnapshot(everyEntries, Duration.ofMillis(everyMillis));
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> accountNumbers = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                snapshots.increment(ledgerEntryStore.snapshot(accountNumbers));
+            } catch (RuntimeException e) {
+                // The accounts stay due and are retried on the next run
+                log.error("Failed to snapshot {} accounts", accountNumbers.size(), e);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Where ledger shards keep balances. A shard opens one {@link Batch} per database transaction:
+ * it reads the balances of the accounts in its batch, records every change it applies in order,
+ * and flushes once at the end.
+ */
+interface BalanceStore {
+
+    Batch begin(Set<Long> accountNumbers);
+
+    Optional<AccountBalance> find(Long accountNumber);
+
+    interface Batch {
+
+        /** Balance including the changes applied so far in this batch; zero for new accounts. */
+        BigDecimal balance(Long accountNumber);
+
+        void apply(Long accountNumber, BigDecimal delta, BigDecimal newBalance);
+
+        void flush();
+    }
+}
@@ -0,0 +1,87 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.entity.Posting;
+import com.backendev.transactionservice.repository.PostingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records money movements as double-entry postings. The legs of a transaction are checked to net
+ * to zero once, up front, and are then inserted together. Each leg carries the account's balance
+ * after it, taken from the balance change it records. Postings are an audit trail kept next to
+ * the balances, not a replacement for them: every transfer pays for this insert on top of its
+ * balance updates.
+ *
+ * <p>Because every transaction nets to zero, the books reconcile when the sum of all postings is
+ * zero. That sum is kept as a running total: the first check after startup adds up everything
+ * posted so far, and each later check only adds the postings made since, exporting the total as
+ * {@code journal.trial.balance}. A check stops {@code transaction.journal.settle-ms} short of now,
+ * so postings still in an open transaction are counted next time rather than skipped.
+ */
+@Slf4j
+@Component
+public class Journal {
+
+    private final PostingRepository postingRepository;
+    private final AtomicReference<BigDecimal> trialBalance = new AtomicReference<>(BigDecimal.ZERO);
+
+    @Value("${transaction.journal.settle-ms:60000}")
+    private long settleMillis;
+
+    // Postings created before this instant are already in trialBalance
+    private Instant checkedUntil = Instant.EPOCH;
+
+    public Journal(PostingRepository postingRepository, MeterRegistry meterRegistry) {
+        this.postingRepository = postingRepository;
+        meterRegistry.gauge("journal.trial.balance", trialBalance, balance -> balance.get().doubleValue());
+    }
+
+    /**
+     * Debits {@code fromAccountNumber} and credits {@code toAccountNumber} with the amount.
+     */
+    @Transactional
+    public List<Posting> postTransfer(String transactionId, Long fromAccountNumber, BigDecimal fromBalance,
+                                      Long toAccountNumber, BigDecimal toBalance, BigDecimal amount) {
+        Instant now = Instant.now();
+        return post(transactionId, List.of(
+                new Posting(null, transactionId, fromAccountNumber, amount.negate(), fromBalance, now),
+                new Posting(null, transactionId, toAccountNumber, amount, toBalance, now)));
+    }
+
+    @Transactional
+    public List<Posting> post(String transactionId, List<Posting> legs) {
+        BigDecimal sum = legs.stream().map(Posting::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (legs.size() < 2 || sum.signum() != 0) {
+            throw new IllegalArgumentException("Postings of transaction " + transactionId + " do not balance: "
+                    + legs.size() + " legs summing to " + sum);
+        }
+        return postingRepository.saveAll(legs);
+    }
+
+    public BigDecimal trialBalance() {
+        return trialBalance.get();
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.journal.trial-balance-interval-ms:300000}")
+    public synchronized void checkTrialBalance() {
+        Instant until = Instant.now().minusMillis(settleMillis);
+        if (!until.isAfter(checkedUntil)) {
+            return;
+        }
+        BigDecimal balance = trialBalance.get().add(postingRepository.sumCreatedBetween(checkedUntil, until));
+        trialBalance.set(balance);
+        checkedUntil = until;
+        if (balance.signum() != 0) {
+            log.error("Trial balance is off by {}: postings no longer net to zero", balance);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.exception.InsufficientFundsException;
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Routes every balance mutation to a shard owned by a single thread, chosen by account number.
+ * Each shard applies its mutations in order and persists them in groups, so balance changes
+ * for one account never race each other and hot accounts do not serialize on row locks.
+ *
+ * <p>Shards keep balances either in {@code account_balances}, overwritten in place, or, with
+ * {@code transaction.ledger.store=entries}, as an append-only ledger (see {@link LedgerEntryStore}).
+ *
+ * <p>Transfers and transaction batches do not go through the shards: all their changes are
+ * written in the caller's transaction, so they commit or roll back together. Both stores lock
+ * the balances they write, so these writes and a shard batch on the same account queue behind
+ * each other instead of overwriting.
+ */
+@Component
+@Slf4j
+public class LedgerEngine {
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final LedgerEntryStore ledgerEntryStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.ledger.store:balances}")
+    private String store;
+
+    @Value("${transaction.ledger.shards:4}")
+    private int shardCount;
+
+    @Value("${transaction.ledger.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${transaction.ledger.batch-size:128}")
+    private int batchSize;
+
+    @Value("${transaction.ledger.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${transaction.ledger.started-timeout-ms:30000}")
+    private long startedTimeoutMillis;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${transaction.ledger.request-connections:4}")
+    private int requestConnections;
+
+    private BalanceStore balanceStore;
+    private LedgerShard[] shards;
+    private Thread[] workers;
+
+    public LedgerEngine(AccountBalanceRepository accountBalanceRepository, LedgerEntryStore ledgerEntryStore,
+                        PlatformTransactionManager transactionManager) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.ledgerEntryStore = ledgerEntryStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // Every shard holds a pooled connection while it commits; the rest is left to request threads
+        if (shardCount + requestConnections > poolSize) {
+            throw new IllegalStateException("Connection pool of " + poolSize + " cannot hold " + shardCount
+                    + " ledger shards plus " + requestConnections + " request connections; raise"
+                    + " spring.datasource.hikari.maximum-pool-size or lower transaction.ledger.shards");
+        }
+        balanceStore = isEventSourced() ? ledgerEntryStore : new AccountBalanceStore(accountBalanceRepository);
+        shards = new LedgerShard[shardCount];
+        workers = new Thread[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, queueCapacity, batchSize, balanceStore, transactionTemplate);
+            workers[i] = new Thread(shards[i], "ledger-shard-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        log.info("Ledger engine started with {} shards on the {} store", shardCount, store);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (shards == null) {
+            return;
+        }
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEventSourced() {
+        return enabled && "entries".equals(store);
+    }
+
+    /**
+     * Reads an account's balance from the store the shards write to.
+     */
+    public Optional<AccountBalance> findBalance(Long accountNumber) {
+        if (balanceStore == null) {
+            throw new IllegalStateException("Ledger engine is not running");
+        }
+        return balanceStore.find(accountNumber);
+    }
+
+    /**
+     * Applies a balance change on the owning shard and waits for it to be persisted.
+     *
+     * @param requireSufficientFunds reject the change if it would take the balance below zero
+     * @return the account balance after the change
+     */
+    public BigDecimal apply(Long accountNumber, BigDecimal delta, boolean requireSufficientFunds) {
+        return await(submit(accountNumber, delta, requireSufficientFunds));
+    }
+
+    /**
+     * Waits for a submitted change to be persisted, rethrowing the shard's failure as-is. A change
+     * still queued after {@code timeout-ms} is cancelled and never applied; one a shard has
+     * already started is waited for up to {@code started-timeout-ms} more, after which its outcome
+     * is reported as unknown.
+     */
+    public BigDecimal await(CompletableFuture<BigDecimal> result) {
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (TimeoutException e) {
+            if (result instanceof LedgerMutation.Result pending && !pending.claim()) {
+                log.warn("Balance update still running after {} ms, waiting for its outcome", timeoutMillis);
+                return awaitStarted(result);
+            }
+            TransactionProcessingException timeout = new TransactionProcessingException("Timed out waiting for balance update", e);
+            result.completeExceptionally(timeout);
+            throw timeout;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted waiting for balance update", e);
+        }
+    }
+
+    /**
+     * Moves the amount between two accounts in the caller's database transaction, so the debit
+     * and the credit commit or roll back together, along with everything else the caller writes.
+     *
+     * @return the balances after the transfer, by account number
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, BigDecimal> transfer(Long fromAccountNumber, Long toAccountNumber, BigDecimal amount) {
+        if (balanceStore == null) {
+            throw new IllegalStateException("Ledger engine is not running");
+        }
+        BalanceStore.Batch balances = balanceStore.begin(new TreeSet<>(List.of(fromAccountNumber, toAccountNumber)));
+        BigDecimal available = balances.balance(fromAccountNumber);
+        if (available.compareTo(amount) < 0) {
+            throw new InsufficientFundsException("Insufficient balance. Required: " + amount + ", Available: " + available);
+        }
+        BigDecimal fromBalance = available.subtract(amount);
+        balances.apply(fromAccountNumber, amount.negate(), fromBalance);
+        BigDecimal toBalance = balances.balance(toAccountNumber).add(amount);
+        balances.apply(toAccountNumber, amount, toBalance);
+        balances.flush();
+        return Map.of(fromAccountNumber, fromBalance, toAccountNumber, toBalance);
+    }
+
+    /**
+     * Applies each account's changes in order in the caller's database transaction. A debit that
+     * would overdraw the account is skipped and gets a {@code null} balance.
+     *
+     * @return the balance after each change, in the order of the changes, by account number
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, List<BigDecimal>> applyAll(Map<Long, List<BigDecimal>> deltasByAccount) {
+        if (balanceStore == null) {
+            throw new IllegalStateException("Ledger engine is not running");
+        }
+        BalanceStore.Batch balances = balanceStore.begin(new TreeSet<>(deltasByAccount.keySet()));
+        Map<Long, List<BigDecimal>> results = new LinkedHashMap<>();
+        deltasByAccount.forEach((accountNumber, deltas) -> {
+            List<BigDecimal> applied = new ArrayList<>(deltas.size());
+            for (BigDecimal delta : deltas) {
+                BigDecimal next = balances.balance(accountNumber).add(delta);
+                if (delta.signum() < 0 && next.signum() < 0) {
+                    applied.add(null);
+                    continue;
+                }
+                balances.apply(accountNumber, delta, next);
+                applied.add(next);
+            }
+            results.put(accountNumber, applied);
+        });
+        balances.flush();
+        return results;
+    }
+
+    public CompletableFuture<BigDecimal> submit(Long accountNumber, BigDecimal delta, boolean requireSufficientFunds) {
+        if (shards == null) {
+            throw new IllegalStateException("Ledger engine is not running");
+        }
+        LedgerMutation mutation = new LedgerMutation(accountNumber, delta, requireSufficientFunds, new LedgerMutation.Result());
+        try {
+            if (!shardFor(accountNumber).offer(mutation, timeoutMillis)) {
+                log.warn("Ledger shard for account {} is full", accountNumber);
+                throw new ServiceUnavailableException("Ledger is saturated. Please try again later.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted submitting balance update", e);
+        }
+        return mutation.getResult();
+    }
+
+    public int queueDepth() {
+        if (shards == null) {
+            return 0;
+        }
+        int depth = 0;
+        for (LedgerShard shard : shards) {
+            depth += shard.depth();
+        }
+        return depth;
+    }
+
+    private BigDecimal awaitStarted(CompletableFuture<BigDecimal> result) {
+        try {
+            return result.get(startedTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (TimeoutException e) {
+            log.error("Balance update still running after another {} ms, giving up on its outcome", startedTimeoutMillis);
+            throw new TransactionProcessingException("Balance update outcome unknown", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted waiting for balance update", e);
+        }
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new TransactionProcessingException("Balance update failed", e.getCause());
+    }
+
+    private LedgerShard shardFor(Long accountNumber) {
+        return shards[Math.floorMod(Long.hashCode(accountNumber), shards.length)];
+    }
+}
@@ -0,0 +1,151 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.entity.LedgerEntry;
+import com.backendev.transactionservice.repository.BalanceSnapshotRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository.LedgerHead;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event-sourced balances: every change is appended to {@code ledger_entries} and never updated,
+ * and an account's balance is its latest snapshot plus the entries after it. The snapshotter
+ * keeps that tail short, so reading a balance sums a bounded number of rows.
+ *
+ * <p>Entries are numbered per account by whoever writes them: the shard that owns the account, or
+ * a transfer in its request transaction. Writers lock the account's snapshot row first, so they
+ * append one after the other; the unique (account, sequence) key backs that up.
+ */
+@Slf4j
+@Component
+public class LedgerEntryStore implements BalanceStore {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    // Accounts this instance appended to since their last snapshot
+    private final Map<Long, Tail> tails = new ConcurrentHashMap<>();
+
+    public LedgerEntryStore(LedgerEntryRepository ledgerEntryRepository,
+                            BalanceSnapshotRepository balanceSnapshotRepository,
+                            MeterRegistry meterRegistry) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        meterRegistry.gauge("ledger.snapshot.pending.accounts", tails, Map::size);
+    }
+
+    @Override
+    public Batch begin(Set<Long> accountNumbers) {
+        Map<Long, LedgerHead> heads = loadHeads(accountNumbers);
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        Map<Long, Long> sequences = new HashMap<>();
+        heads.forEach((accountNumber, head) -> {
+            balances.put(accountNumber, head.getBalance());
+            sequences.put(accountNumber, head.getSequenceNumber());
+        });
+        List<LedgerEntry> entries = new ArrayList<>();
+
+        return new Batch() {
+            @Override
+            public BigDecimal balance(Long accountNumber) {
+                return balances.getOrDefault(accountNumber, BigDecimal.ZERO);
+            }
+
+            @Override
+            public void apply(Long accountNumber, BigDecimal delta, BigDecimal newBalance) {
+                long sequenceNumber = sequences.merge(accountNumber, 1L, Long::sum);
+                entries.add(new LedgerEntry(null, accountNumber, sequenceNumber, delta, Instant.now()));
+                balances.put(accountNumber, newBalance);
+            }
+
+            @Override
+            public void flush() {
+                ledgerEntryRepository.saveAll(entries);
+                Instant now = Instant.now();
+                Map<Long, Long> appended = new LinkedHashMap<>();
+                entries.forEach(entry -> appended.put(entry.getAccountNumber(), entry.getSequenceNumber()));
+                appended.forEach((accountNumber, sequenceNumber) -> {
+                    LedgerHead head = heads.get(accountNumber);
+                    long snapshotSequence = head == null ? 0L : head.getSnapshotSequenceNumber();
+                    tails.merge(accountNumber, new Tail(snapshotSequence, sequenceNumber, now),
+                            (existing, fresh) -> new Tail(Math.max(existing.snapshotSequence(), fresh.snapshotSequence()),
+                                    fresh.headSequence(), existing.since()));
+                });
+            }
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AccountBalance> find(Long accountNumber) {
+        return ledgerEntryRepository.findHeads(List.of(accountNumber)).stream()
+                .findFirst()
+                .map(head -> new AccountBalance(accountNumber, head.getBalance(), head.getLastUpdated()));
+    }
+
+    /**
+     * Accounts whose entries since the last snapshot number at least {@code maxEntries}, or
+     * have been waiting longer than {@code maxAge}.
+     */
+    public List<Long> dueForSnapshot(long maxEntries, Duration maxAge) {
+        Instant cutoff = Instant.now().minus(maxAge);
+        List<Long> due = new ArrayList<>();
+        tails.forEach((accountNumber, tail) -> {
+            if (tail.headSequence() - tail.snapshotSequence() >= maxEntries || tail.since().isBefore(cutoff)) {
+                due.add(accountNumber);
+            }
+        });
+        return due;
+    }
+
+    /**
+     * Checkpoints the accounts at their current head and returns how many snapshots moved.
+     */
+    @Transactional
+    public int snapshot(Collection<Long> accountNumbers) {
+        int taken = 0;
+        for (LedgerHead head : ledgerEntryRepository.findHeads(accountNumbers)) {
+            long sequenceNumber = head.getSequenceNumber();
+            if (sequenceNumber > head.getSnapshotSequenceNumber()) {
+                taken += balanceSnapshotRepository.upsert(head.getAccountNumber(), sequenceNumber, head.getBalance());
+            }
+            // Keep tracking the account if entries were appended after the head we just read
+            tails.computeIfPresent(head.getAccountNumber(), (accountNumber, tail) -> tail.headSequence() <= sequenceNumber
+                    ? null
+                    : new Tail(sequenceNumber, tail.headSequence(), Instant.now()));
+        }
+        return taken;
+    }
+
+    private Map<Long, LedgerHead> loadHeads(Set<Long> accountNumbers) {
+        List<Long> locked = balanceSnapshotRepository.lockAll(accountNumbers);
+        if (locked.size() < accountNumbers.size()) {
+            // First change to these accounts: start their ledger from their balance so far
+            List<Long> missing = accountNumbers.stream().filter(accountNumber -> !locked.contains(accountNumber)).toList();
+            missing.forEach(balanceSnapshotRepository::createIfMissing);
+            balanceSnapshotRepository.lockAll(missing);
+        }
+        Map<Long, LedgerHead> heads = new HashMap<>();
+        ledgerEntryRepository.findHeads(accountNumbers).forEach(head -> heads.put(head.getAccountNumber(), head));
+        return heads;
+    }
+
+    private record Tail(long snapshotSequence, long headSequence, Instant since) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.backendev.transactionservice.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single balance change queued on a ledger shard. The future completes with the
+ * account balance after the change once the shard has persisted it.
+ */
+@Getter
+@AllArgsConstructor
+class LedgerMutation {
+
+    private final Long accountNumber;
+    private final BigDecimal delta;
+    private final boolean requireSufficientFunds;
+    private final Result result;
+
+    /**
+     * Claimed exactly once: by the shard when it takes the mutation into a batch, or by the
+     * caller giving up on it. Whoever claims second knows the other one owns the outcome.
+     */
+    static final class Result extends CompletableFuture<BigDecimal> {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.entity.BalanceSnapshot;
+import com.backendev.transactionservice.entity.LedgerEntry;
+import com.backendev.transactionservice.repository.BalanceSnapshotRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuilds every account's snapshot by replaying its ledger from the first entry, starting from
+ * the opening balance the account's ledger was seeded with. Accounts are
+ * independent, so they are replayed in parallel. The replay doubles as an audit: gaps in an
+ * account's sequence and existing snapshots that disagree with the replayed balance are logged
+ * and counted.
+ *
+ * <p>Runs once at startup when {@code transaction.ledger.rebuild.on-startup} is set.
+ */
+@Slf4j
+@Component
+public class LedgerRebuilder implements ApplicationRunner {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.ledger.rebuild.on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${transaction.ledger.rebuild.parallelism:8}")
+    private int parallelism;
+
+    @Value("${transaction.ledger.rebuild.page-size:1000}")
+    private int pageSize;
+
+    public LedgerRebuilder(LedgerEntryRepository ledgerEntryRepository,
+                           BalanceSnapshotRepository balanceSnapshotRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuildOnStartup) {
+            rebuildAll(parallelism);
+        }
+    }
+
+    public RebuildResult rebuildAll(int threads) {
+        List<Long> accountNumbers = ledgerEntryRepository.findAllAccountNumbers();
+        log.info("Rebuilding snapshots of {} accounts on {} threads", accountNumbers.size(), threads);
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-rebuild-" + threadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<AccountReplay>> replays = new ArrayList<>(accountNumbers.size());
+            accountNumbers.forEach(accountNumber -> replays.add(executor.submit(() -> rebuild(accountNumber))));
+
+            long entries = 0;
+            int gaps = 0;
+            int mismatches = 0;
+            int failures = 0;
+            for (int i = 0; i < replays.size(); i++) {
+                try {
+                    AccountReplay replay = replays.get(i).get();
+                    entries += replay.entries();
+                    gaps += replay.gap() ? 1 : 0;
+                    mismatches += replay.snapshotMismatch() ? 1 : 0;
+                } catch (ExecutionException e) {
+                    failures++;
+                    log.error("Failed to rebuild account {}", accountNumbers.get(i), e.getCause());
+                }
+            }
+            RebuildResult result = new RebuildResult(accountNumbers.size(), entries, gaps, mismatches, failures);
+            log.info("Ledger rebuild finished: {}", result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger rebuild interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Replays one account's entries in sequence order and stores the result as its snapshot.
+     */
+    public AccountReplay rebuild(Long accountNumber) {
+        Optional<BalanceSnapshot> existing = balanceSnapshotRepository.findById(accountNumber);
+        BigDecimal balance = existing.map(BalanceSnapshot::getOpeningBalance).orElse(BigDecimal.ZERO);
+        long sequenceNumber = 0;
+        long entries = 0;
+        boolean gap = false;
+        boolean snapshotMismatch = false;
+
+        List<LedgerEntry> page;
+        do {
+            page = ledgerEntryRepository.findByAccountNumberAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(
+                    accountNumber, sequenceNumber, Limit.of(pageSize));
+            for (LedgerEntry entry : page) {
+                if (entry.getSequenceNumber() != sequenceNumber + 1) {
+                    log.warn("Account {} ledger jumps from entry {} to {}", accountNumber, sequenceNumber, entry.getSequenceNumber());
+                    gap = true;
+                }
+                balance = balance.add(entry.getAmount());
+                sequenceNumber = entry.getSequenceNumber();
+                entries++;
+                if (existing.isPresent() && existing.get().getSequenceNumber() == sequenceNumber
+                        && existing.get().getBalance().compareTo(balance) != 0) {
+                    log.warn("Account {} snapshot at entry {} holds {}, replay gives {}",
+                            accountNumber, sequenceNumber, existing.get().getBalance(), balance);
+                    snapshotMismatch = true;
+                }
+            }
+        } while (page.size() == pageSize);
+
+        long rebuiltSequence = sequenceNumber;
+        BigDecimal rebuiltBalance = balance;
+        transactionTemplate.executeWithoutResult(status ->
+                balanceSnapshotRepository.upsert(accountNumber, rebuiltSequence, rebuiltBalance));
+        return new AccountReplay(accountNumber, entries, gap, snapshotMismatch);
+    }
+
+    public record AccountReplay(Long accountNumber, long entries, boolean gap, boolean snapshotMismatch) {
+    }
+
+    public record RebuildResult(int accounts, long entries, int accountsWithGaps, int snapshotMismatches, int failures) {
+    }
+}
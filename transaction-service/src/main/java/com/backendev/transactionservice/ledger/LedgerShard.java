@@ -0,0 +1,124 @@
+package com.backendev.transactionservice.ledger;
+
+import com.backendev.transactionservice.exception.InsufficientFundsException;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns a subset of accounts and is the only writer for them. Mutations are taken from a
+ * bounded ring buffer, applied strictly in arrival order and persisted as one group per
+ * database transaction.
+ */
+@Slf4j
+class LedgerShard implements Runnable {
+
+    private final int id;
+    private final BlockingQueue<LedgerMutation> queue;
+    private final int batchSize;
+    private final BalanceStore balanceStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean running = true;
+
+    LedgerShard(int id, int capacity, int batchSize,
+                BalanceStore balanceStore,
+                TransactionTemplate transactionTemplate) {
+        this.id = id;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.balanceStore = balanceStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    boolean offer(LedgerMutation mutation, long timeoutMillis) throws InterruptedException {
+        return queue.offer(mutation, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    int depth() {
+        return queue.size();
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        List<LedgerMutation> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LedgerMutation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                // Mutations whose caller has given up are dropped; the rest can no longer be cancelled
+                batch.removeIf(mutation -> !mutation.getResult().claim());
+                if (!batch.isEmpty()) {
+                    applyBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("Ledger shard {} stopped", id);
+    }
+
+    void applyBatch(List<LedgerMutation> batch) {
+        Map<LedgerMutation, BigDecimal> results = new HashMap<>();
+        Map<LedgerMutation, RuntimeException> rejections = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                results.clear();
+                rejections.clear();
+                Set<Long> accountNumbers = new LinkedHashSet<>();
+                batch.forEach(mutation -> accountNumbers.add(mutation.getAccountNumber()));
+                BalanceStore.Batch balances = balanceStore.begin(accountNumbers);
+
+                for (LedgerMutation mutation : batch) {
+                    BigDecimal balance = balances.balance(mutation.getAccountNumber());
+                    BigDecimal newBalance = balance.add(mutation.getDelta());
+                    if (mutation.isRequireSufficientFunds() && newBalance.signum() < 0) {
+                        BigDecimal required = mutation.getDelta().negate();
+                        rejections.put(mutation, new InsufficientFundsException("Insufficient balance. Required: "
+                                + required + ", Available: " + balance));
+                        continue;
+                    }
+                    balances.apply(mutation.getAccountNumber(), mutation.getDelta(), newBalance);
+                    results.put(mutation, newBalance);
+                }
+                balances.flush();
+            });
+        } catch (RuntimeException e) {
+            log.error("Ledger shard {} failed to persist batch of {} mutations", id, batch.size(), e);
+            batch.forEach(mutation -> mutation.getResult().completeExceptionally(
+                    new TransactionProcessingException("Failed to persist balance change", e)));
+            return;
+        }
+
+        for (LedgerMutation mutation : batch) {
+            RuntimeException rejection = rejections.get(mutation);
+            if (rejection != null) {
+                mutation.getResult().completeExceptionally(rejection);
+            } else {
+                mutation.getResult().complete(results.get(mutation));
+            }
+        }
+    }
+}
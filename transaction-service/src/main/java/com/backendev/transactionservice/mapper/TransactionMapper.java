@@ -1,5 +1,6 @@
 package com.backendev.transactionservice.mapper;
 
+import com.backendev.transactionservice.dto.BatchTransactionItem;
 import com.backendev.transactionservice.dto.TransactionInfo;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
@@ -48,6 +49,14 @@ public interface TransactionMapper {
     @Mapping(target = "updatedAt", ignore = true)
     Transaction fromWithdrawalRequest(TransactionRequest request);
 
+    @Mapping(target = "transactionId", ignore = true)
+    @Mapping(target = "fromAccountNumber", source = "accountNumber")
+    @Mapping(target = "toAccountNumber", source = "accountNumber")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createdAt", expression = "java(java.time.Instant.now())")
+    @Mapping(target = "updatedAt", ignore = true)
+    Transaction fromBatchItem(BatchTransactionItem item);
+
     @Mapping(source = "createdAt", target = "createdAt", qualifiedByName = "instantToString")
     @Mapping(source = "updatedAt", target = "updatedAt", qualifiedByName = "instantToString")
     TransactionInfo toTransactionInfo(Transaction transactions);
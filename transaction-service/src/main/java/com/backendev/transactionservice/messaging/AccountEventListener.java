@@ -0,0 +1,44 @@
+package com.backendev.transactionservice.messaging;
+
+import com.backendev.transactionservice.cache.AccountValidationCache;
+import com.backendev.transactionservice.dto.AccountEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached account lookups when account-service reports a change to the account: freezes
+ * and deletions, and creations, which clear a cached "not found". Every instance reads the
+ * topic in its own consumer group because each one has its own cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountEventListener {
+
+    private final AccountValidationCache accountValidationCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "${transaction.account-cache.events.topic:account-events}",
+            groupId = "${transaction.account-cache.events.group-id}",
+            autoStartup = "${transaction.account-cache.events.enabled:true}",
+            properties = "auto.offset.reset=latest")
+    public void onAccountEvent(String message) {
+        AccountEvent event;
+        try {
+            event = objectMapper.readValue(message, AccountEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable account event: {}", e.getMessage());
+            return;
+        }
+        if (event.getAccountNumber() == null) {
+            log.debug("Ignoring account event {} without account number", event.getEventType());
+            return;
+        }
+        accountValidationCache.invalidate(event.getAccountNumber());
+        log.debug("Invalidated cached account {} after {}", event.getAccountNumber(), event.getEventType());
+    }
+}
@@ -0,0 +1,96 @@
+package com.backendev.transactionservice.messaging;
+
+import com.backendev.transactionservice.entity.OutboxEvent;
+import com.backendev.transactionservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox table to Kafka. Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}
+ * in its own transaction, so every instance can run the relay and each row is sent by only one
+ * of them. The batch is sent without waiting between records, and only the rows Kafka
+ * acknowledged are deleted before the locks are released. Delivery is at-least-once: a crash
+ * between the acknowledgement and the commit re-sends the batch on the next run.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transaction.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, KafkaTemplate<String, String> kafkaTemplate,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms:200}")
+    public void relay() {
+        // Delivered rows are deleted, so each claim starts at the lowest id still pending,
+        // including rows from transactions that committed late
+        boolean fullyDelivered;
+        do {
+            fullyDelivered = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } while (fullyDelivered);
+    }
+
+    /** Returns whether the claimed batch was non-empty and fully delivered. */
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        List<Long> delivered = sendBatch(batch);
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (delivered.size() < batch.size()) {
+            log.warn("Outbox relay delivered {} of {} events, retrying on next run", delivered.size(), batch.size());
+            return false;
+        }
+        return true;
+    }
+
+    private List<Long> sendBatch(List<OutboxEvent> batch) {
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            futures.add(kafkaTemplate.send(event.getTopic(), event.getPayload()));
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                futures.get(i).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                delivered.add(batch.get(i).getId());
+            } catch (ExecutionException | TimeoutException e) {
+                log.error("Failed to publish outbox event {}: {}", batch.get(i).getId(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return delivered;
+    }
+}
@@ -1,42 +1,42 @@
 package com.backendev.transactionservice.messaging;
 
 import com.backendev.transactionservice.dto.NotificationEvent;
+import com.backendev.transactionservice.entity.OutboxEvent;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.Instant;
 
+/**
+ * Records transaction events in the outbox table as part of the caller's database transaction.
+ * {@link OutboxRelay} delivers them to Kafka in the background.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TransactionEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
 
     @Value("${transaction.topic}")
     private String transactionTopic;
 
+    @Transactional
     public void publishTransactionEvent(NotificationEvent notificationEvent) {
         try {
             String json = objectMapper.writeValueAsString(notificationEvent);
-            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(transactionTopic, json);
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("Transaction event published successfully - Topic {} - Offset {}",
-                            result.getRecordMetadata().topic(), result.getRecordMetadata().offset());
-                }
-                else {
-                    log.error("Failed to publish transaction event: {}", ex.getMessage());
-                }
-            });
-        } catch (Exception e) {
-            log.error("Exception in trying to send transaction events: {}", e.getMessage());
+            outboxEventRepository.save(new OutboxEvent(null, transactionTopic, json, Instant.now()));
+            log.debug("Transaction event {} written to outbox", notificationEvent.getEventId());
+        } catch (JsonProcessingException e) {
+            throw new TransactionProcessingException("Failed to serialize transaction event", e);
         }
     }
 }
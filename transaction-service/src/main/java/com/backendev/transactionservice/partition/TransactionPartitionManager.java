@@ -0,0 +1,146 @@
+package com.backendev.transactionservice.partition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} ahead of the clock and retires old ones.
+ * Each run makes sure the current month and the next {@code premake-months} have a partition, so
+ * inserts never find their month missing, and detaches (or drops) the partitions that ended more
+ * than {@code retention-months} ago.
+ *
+ * <p>There is deliberately no default partition: with one, creating a partition would have to
+ * scan it, and partitions could not be detached concurrently. A row whose month has no partition
+ * is rejected instead, which the premade months keep from happening. Does nothing until the table
+ * has been partitioned, see {@link TransactionTableMigrator}.
+ */
+@Slf4j
+@Component
+public class TransactionPartitionManager {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${transaction.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${transaction.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${transaction.partitioning.expiry:detach}")
+    private String expiry;
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.partitioning.maintenance-interval-ms:3600000}")
+    public void maintainOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            maintain();
+        } catch (DataAccessException e) {
+            // Partitions created so far stay; the next run picks up where this one failed
+            log.error("Partition maintenance of {} failed", TransactionPartitions.TABLE, e);
+        }
+    }
+
+    public void maintain() {
+        if (!isPartitioned(TransactionPartitions.TABLE)) {
+            log.debug("{} is not partitioned yet, skipping partition maintenance", TransactionPartitions.TABLE);
+            return;
+        }
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        createPartitions(TransactionPartitions.TABLE, current, current.plusMonths(premakeMonths));
+        if (retentionMonths > 0) {
+            expirePartitions(current.minusMonths(retentionMonths));
+        }
+    }
+
+    public boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Months that currently have a partition attached to {@code table}, oldest first.
+     */
+    public TreeSet<YearMonth> attachedMonths(String table) {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                """, String.class, table);
+        TreeSet<YearMonth> months = new TreeSet<>();
+        names.stream()
+                .map(TransactionPartitions::monthOf)
+                .flatMap(Optional::stream)
+                .forEach(months::add);
+        return months;
+    }
+
+    /**
+     * Creates the missing partitions of {@code table} for every month in [from, to] and returns
+     * how many were created.
+     */
+    public int createPartitions(String table, YearMonth from, YearMonth to) {
+        TreeSet<YearMonth> attached = attachedMonths(table);
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (attached.contains(month)) {
+                continue;
+            }
+            String partition = TransactionPartitions.name(month);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table
+                    + " FOR VALUES " + TransactionPartitions.bounds(month));
+            meterRegistry.counter("transactions.partitions", "action", "created").increment();
+            log.info("Created partition {} of {}", partition, table);
+            created++;
+        }
+        return created;
+    }
+
+    // Months before the first kept one leave the table; detached partitions keep their data for archiving
+    private void expirePartitions(YearMonth firstKept) {
+        boolean drop = "drop".equalsIgnoreCase(expiry);
+        for (YearMonth month : attachedMonths(TransactionPartitions.TABLE).headSet(firstKept)) {
+            expire(month, drop);
+        }
+    }
+
+    /**
+     * Detaches the month's partition from {@code transactions}, and drops it if {@code drop} is set.
+     */
+    public void expire(YearMonth month, boolean drop) {
+        String partition = TransactionPartitions.name(month);
+        // Concurrent detach waits for queries using the partition instead of blocking the table.
+        // If it is interrupted, the partition stays "detach pending" until
+        // ALTER TABLE ... DETACH PARTITION ... FINALIZE is run.
+        jdbcTemplate.execute("ALTER TABLE " + TransactionPartitions.TABLE
+                + " DETACH PARTITION " + partition + " CONCURRENTLY");
+        if (drop) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        meterRegistry.counter("transactions.partitions", "action", drop ? "dropped" : "detached").increment();
+        log.info("{} expired partition {} of {}", drop ? "Dropped" : "Detached", partition, TransactionPartitions.TABLE);
+    }
+}
@@ -0,0 +1,59 @@
+package com.backendev.transactionservice.partition;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Naming and bounds of the monthly partitions of {@code transactions}. A month's partition holds
+ * the rows created from the first of that month (UTC) up to, not including, the first of the next.
+ */
+public final class TransactionPartitions {
+
+    public static final String TABLE = "transactions";
+
+    private static final String PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private TransactionPartitions() {
+    }
+
+    public static String name(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+
+    /**
+     * The month a partition covers, or empty for tables not named by {@link #name}.
+     */
+    public static Optional<YearMonth> monthOf(String partitionName) {
+        if (partitionName == null || !partitionName.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PREFIX.length()), SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static YearMonth monthOf(Instant instant) {
+        return YearMonth.from(instant.atZone(ZoneOffset.UTC));
+    }
+
+    /**
+     * First instant of the month, the inclusive lower bound of its partition.
+     */
+    public static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * The {@code FOR VALUES} clause of the month's partition.
+     */
+    public static String bounds(YearMonth month) {
+        return "FROM ('" + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')";
+    }
+}
@@ -0,0 +1,208 @@
+package com.backendev.transactionservice.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves a plain {@code transactions} table into a copy partitioned by month of
+ * {@code created_at}, while the service keeps writing to the original:
+ * <ol>
+ *     <li>creates {@code transactions_partitioned} with the same columns, a (transaction_id,
+ *     created_at) primary key and a partition for every month holding rows;</li>
+ *     <li>copies the rows in {@code chunk-size} keyset chunks, one short transaction each;</li>
+ *     <li>copies what was inserted or updated while it ran, first without and then under an
+ *     exclusive lock, and swaps the tables in that same transaction.</li>
+ * </ol>
+ * The original is kept as {@code transactions_legacy} until someone drops it. Every step is
+ * idempotent, so a migration that died part way resumes from the last copied row when started
+ * again. Rows are only caught up by their timestamps, so the catch-up looks back an extra
+ * {@code catch-up-margin-ms} to cover writes that committed late.
+ *
+ * <p>Runs once at startup when {@code transaction.partitioning.migration.on-startup} is set;
+ * enable it on one instance only.
+ */
+@Slf4j
+@Component
+public class TransactionTableMigrator implements ApplicationRunner {
+
+    static final String TARGET = TransactionPartitions.TABLE + "_partitioned";
+    static final String LEGACY = TransactionPartitions.TABLE + "_legacy";
+
+    // Keyset index over the original table, so each chunk is a range scan rather than a sort
+    private static final String SOURCE_INDEX = "idx_transactions_migration_created";
+
+    // The entity's indexes by name suffix; the target's carry its own name until the swap
+    private static final Map<String, String> INDEXES = Map.of(
+            "_from_created", "(from_account_number, created_at, transaction_id)",
+            "_to_created", "(to_account_number, created_at, transaction_id)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionPartitionManager partitionManager;
+
+    @Value("${transaction.partitioning.migration.on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @Value("${transaction.partitioning.migration.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${transaction.partitioning.migration.catch-up-margin-ms:600000}")
+    private long catchUpMarginMs;
+
+    @Value("${transaction.partitioning.migration.lock-timeout-ms:10000}")
+    private long lockTimeoutMs;
+
+    @Value("${transaction.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    public TransactionTableMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    TransactionPartitionManager partitionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionManager = partitionManager;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    /**
+     * Returns the number of rows copied, or 0 when the table was already partitioned.
+     */
+    public long migrate() {
+        if (partitionManager.isPartitioned(TransactionPartitions.TABLE)) {
+            log.info("{} is already partitioned, nothing to migrate", TransactionPartitions.TABLE);
+            return 0;
+        }
+        Instant copyStart = prepareTarget();
+        long copied = copyChunks();
+        createIndexes();
+        Instant catchUpStart = Instant.now();
+        copied += catchUp(copyStart);
+        copied += transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+            jdbcTemplate.execute("LOCK TABLE " + TransactionPartitions.TABLE + " IN ACCESS EXCLUSIVE MODE");
+            long caughtUp = catchUp(catchUpStart);
+            swap();
+            return caughtUp;
+        });
+        log.info("Partitioned {}: copied {} rows, the original is kept as {}",
+                TransactionPartitions.TABLE, copied, LEGACY);
+        return copied;
+    }
+
+    // Creates the target on the first run and returns when copying started, which later runs read back
+    private Instant prepareTarget() {
+        // Every row needs a month to land in
+        int undated = jdbcTemplate.update("UPDATE " + TransactionPartitions.TABLE
+                + " SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL");
+        if (undated > 0) {
+            log.warn("Dated {} transactions without created_at by their last update", undated);
+        }
+
+        Instant copyStart;
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, TARGET))) {
+            copyStart = Instant.parse(jdbcTemplate.queryForObject("SELECT obj_description(to_regclass(?), 'pg_class')",
+                    String.class, TARGET));
+            log.info("Resuming the migration of {} started at {}", TransactionPartitions.TABLE, copyStart);
+        } else {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + SOURCE_INDEX + " ON "
+                    + TransactionPartitions.TABLE + " (created_at, transaction_id)");
+            copyStart = Instant.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE TABLE " + TARGET + " (LIKE " + TransactionPartitions.TABLE
+                        + " INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)");
+                jdbcTemplate.execute("ALTER TABLE " + TARGET + " ADD PRIMARY KEY (transaction_id, created_at)");
+                // The comment marks when copying started, for the catch-up of a resumed run
+                jdbcTemplate.execute("COMMENT ON TABLE " + TARGET + " IS '" + copyStart + "'");
+            });
+        }
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM " + TransactionPartitions.TABLE,
+                Timestamp.class);
+        YearMonth current = TransactionPartitions.monthOf(Instant.now());
+        YearMonth first = oldest == null ? current : TransactionPartitions.monthOf(oldest.toInstant());
+        int created = partitionManager.createPartitions(TARGET, first, current.plusMonths(premakeMonths));
+        log.info("Copying {} into {}, created {} monthly partitions", TransactionPartitions.TABLE, TARGET, created);
+        return copyStart;
+    }
+
+    private long copyChunks() {
+        List<Object[]> last = jdbcTemplate.query("SELECT created_at, transaction_id FROM " + TARGET
+                        + " ORDER BY created_at DESC, transaction_id DESC LIMIT 1",
+                (rs, rowNum) -> new Object[]{rs.getTimestamp(1), rs.getString(2)});
+        Timestamp cursorCreatedAt = last.isEmpty() ? Timestamp.from(Instant.EPOCH) : (Timestamp) last.get(0)[0];
+        String cursorTransactionId = last.isEmpty() ? "" : (String) last.get(0)[1];
+
+        long copied = 0;
+        while (true) {
+            // Copies one chunk and returns its last key, in one statement and one transaction
+            List<Object[]> chunkEnd = jdbcTemplate.query("""
+                            WITH chunk AS (
+                                SELECT * FROM %s
+                                WHERE (created_at, transaction_id) > (?, ?)
+                                ORDER BY created_at, transaction_id
+                                LIMIT ?),
+                            copied AS (
+                                INSERT INTO %s SELECT * FROM chunk ON CONFLICT DO NOTHING)
+                            SELECT created_at, transaction_id, COUNT(*) OVER () FROM chunk
+                            ORDER BY created_at DESC, transaction_id DESC
+                            LIMIT 1
+                            """.formatted(TransactionPartitions.TABLE, TARGET),
+                    (rs, rowNum) -> new Object[]{rs.getTimestamp(1), rs.getString(2), rs.getLong(3)},
+                    cursorCreatedAt, cursorTransactionId, chunkSize);
+            if (chunkEnd.isEmpty()) {
+                return copied;
+            }
+            cursorCreatedAt = (Timestamp) chunkEnd.get(0)[0];
+            cursorTransactionId = (String) chunkEnd.get(0)[1];
+            copied += (Long) chunkEnd.get(0)[2];
+            log.debug("Copied {} transactions, up to {}", copied, cursorCreatedAt);
+        }
+    }
+
+    // Brings over rows created or changed since the given time, overwriting the copies of changed rows
+    private long catchUp(Instant since) {
+        Timestamp from = Timestamp.from(since.minusMillis(catchUpMarginMs));
+        return jdbcTemplate.update("""
+                INSERT INTO %s SELECT * FROM %s
+                WHERE created_at >= ? OR updated_at >= ?
+                ON CONFLICT (transaction_id, created_at) DO UPDATE
+                SET status = EXCLUDED.status, updated_at = EXCLUDED.updated_at, description = EXCLUDED.description
+                """.formatted(TARGET, TransactionPartitions.TABLE), from, from);
+    }
+
+    // Built on the target before the swap, so the exclusive lock is held for renames only
+    private void createIndexes() {
+        INDEXES.forEach((name, columns) -> jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS " + TARGET + name + " ON " + TARGET + " " + columns));
+    }
+
+    private void swap() {
+        String table = TransactionPartitions.TABLE;
+        jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + LEGACY);
+        jdbcTemplate.execute("ALTER INDEX IF EXISTS " + table + "_pkey RENAME TO " + LEGACY + "_pkey");
+        jdbcTemplate.execute("ALTER TABLE " + TARGET + " RENAME TO " + table);
+        jdbcTemplate.execute("ALTER INDEX " + TARGET + "_pkey RENAME TO " + table + "_pkey");
+        INDEXES.keySet().forEach(name -> {
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS idx_" + table + name + " RENAME TO idx_" + LEGACY + name);
+            jdbcTemplate.execute("ALTER INDEX " + TARGET + name + " RENAME TO idx_" + table + name);
+        });
+        jdbcTemplate.execute("COMMENT ON TABLE " + table + " IS NULL");
+    }
+}
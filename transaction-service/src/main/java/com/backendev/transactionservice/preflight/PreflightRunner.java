@@ -0,0 +1,98 @@
+package com.backendev.transactionservice.preflight;
+
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs independent validation checks side by side before a transaction starts, so the caller
+ * waits for the slowest check instead of the sum of all of them. All checks share one deadline;
+ * the first failure or the deadline cancels whatever is still running, and nothing outlives
+ * {@link #run}. Each check is timed in {@code transaction.preflight.check}, tagged with the
+ * operation, the check name and its outcome.
+ */
+@Slf4j
+@Component
+public class PreflightRunner {
+
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+
+    public PreflightRunner(@Qualifier("applicationTaskExecutor") Executor executor,
+                           MeterRegistry meterRegistry,
+                           @Value("${transaction.preflight.timeout-ms:3000}") long timeoutMillis) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs every check and returns once all of them passed. Rethrows the first check's exception
+     * as is, or throws {@link ServiceUnavailableException} when the deadline passes first.
+     */
+    public void run(String operation, Map<String, Runnable> checks) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> forks = new ArrayList<>(checks.size());
+        checks.forEach((name, check) -> forks.add(completion.submit(() -> {
+            timed(operation, name, check);
+            return null;
+        })));
+
+        try {
+            for (int remaining = forks.size(); remaining > 0; remaining--) {
+                Future<Void> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    log.warn("{} pre-flight checks did not finish within {} ms", operation, timeoutMillis);
+                    throw new ServiceUnavailableException("Validation timed out, please retry");
+                }
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new TransactionProcessingException("Pre-flight check failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted during pre-flight checks", e);
+        } finally {
+            // No-op when every check finished; otherwise stops the siblings of the failed or late one
+            forks.forEach(fork -> fork.cancel(true));
+        }
+    }
+
+    private void timed(String operation, String name, Runnable check) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            check.run();
+        } catch (RuntimeException e) {
+            outcome = Thread.currentThread().isInterrupted() ? "cancelled" : "failure";
+            throw e;
+        } finally {
+            Timer.builder("transaction.preflight.check")
+                    .tag("operation", operation)
+                    .tag("check", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.backendev.transactionservice.reconciliation;
+
+import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.dto.AccountBalanceEntry;
+import com.backendev.transactionservice.dto.AccountRange;
+import com.backendev.transactionservice.dto.RangeDigest;
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
+import com.backendev.transactionservice.sync.BalanceSyncQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds and repairs account-service balances that drifted from the balances kept here, for
+ * instance after a balance sync gave up. Both sides digest ranges of the account-number space
+ * (a count and an order-independent hash of the non-zero balances); only ranges whose digests
+ * differ are split into {@code fanout} sub-ranges and compared again, Merkle-style, until a range
+ * holds at most {@code leaf-size} accounts. Those ranges are compared account by account and the
+ * differences pushed to account-service in batches. Matching ranges cost one digest each, so a
+ * run over millions of accounts exchanges kilobytes when little has drifted.
+ *
+ * <p>The balances kept here are authoritative. Accounts with a sync still pending are skipped,
+ * since that sync repairs them anyway. A repair is a compare-and-set against the balance this run
+ * read from account-service, so a sync that lands in between is never overwritten by the older
+ * value; the account is left to that sync or the next run.
+ */
+@Slf4j
+@Component
+public class BalanceReconciler {
+
+    private final AccountServiceClient accountServiceClient;
+    private final AccountServiceGuard accountServiceGuard;
+    private final LocalBalanceReader localBalanceReader;
+    private final BalanceSyncQueue balanceSyncQueue;
+    private final Counter mismatches;
+    private final Counter repairs;
+    private final Timer runs;
+
+    @Value("${transaction.reconciliation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${transaction.reconciliation.range-start:1000000000}")
+    private long rangeStart;
+
+    @Value("${transaction.reconciliation.range-end:2000000000}")
+    private long rangeEnd;
+
+    @Value("${transaction.reconciliation.fanout:16}")
+    private int fanout;
+
+    @Value("${transaction.reconciliation.leaf-size:256}")
+    private int leafSize;
+
+    @Value("${transaction.reconciliation.ranges-per-call:256}")
+    private int rangesPerCall;
+
+    @Value("${transaction.reconciliation.repair-batch-size:500}")
+    private int repairBatchSize;
+
+    @Value("${transaction.account-service.internal-token:}")
+    private String internalToken;
+
+    public BalanceReconciler(AccountServiceClient accountServiceClient, AccountServiceGuard accountServiceGuard,
+                             LocalBalanceReader localBalanceReader, BalanceSyncQueue balanceSyncQueue,
+                             MeterRegistry meterRegistry) {
+        this.accountServiceClient = accountServiceClient;
+        this.accountServiceGuard = accountServiceGuard;
+        this.localBalanceReader = localBalanceReader;
+        this.balanceSyncQueue = balanceSyncQueue;
+        this.mismatches = meterRegistry.counter("balance.reconciliation.mismatches");
+        this.repairs = meterRegistry.counter("balance.reconciliation.repaired");
+        this.runs = meterRegistry.timer("balance.reconciliation.runs");
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.reconciliation.interval-ms:3600000}",
+            initialDelayString = "${transaction.reconciliation.interval-ms:3600000}")
+    public void reconcileOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            // Nothing is half-applied beyond the batches already repaired; the next run starts over
+            log.error("Balance reconciliation failed", e);
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        long start = System.nanoTime();
+        Run run = new Run();
+        long step = ceilDiv(rangeEnd - rangeStart, fanout);
+        List<AccountRange> level = List.of(new AccountRange(rangeStart, rangeEnd));
+        List<AccountRange> leaves = new ArrayList<>();
+        while (!level.isEmpty()) {
+            List<AccountRange> next = new ArrayList<>();
+            for (int from = 0; from < level.size(); from += rangesPerCall) {
+                List<AccountRange> chunk = level.subList(from, Math.min(from + rangesPerCall, level.size()));
+                compareDigests(chunk, step, run, next, leaves);
+            }
+            level = next;
+            step = ceilDiv(step, fanout);
+        }
+        for (int from = 0; from < leaves.size(); from += rangesPerCall) {
+            compareBalances(leaves.subList(from, Math.min(from + rangesPerCall, leaves.size())), run);
+        }
+        repair(run);
+
+        runs.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        ReconciliationReport report = new ReconciliationReport(run.rangesCompared, run.accountsCompared,
+                run.mismatches, run.repaired);
+        log.info("Balance reconciliation finished in {} ms: {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), report);
+        return report;
+    }
+
+    // Splits every range whose digests differ into the next level, or keeps it as a leaf once it is small enough
+    private void compareDigests(List<AccountRange> ranges, long step, Run run,
+                                List<AccountRange> next, List<AccountRange> leaves) {
+        List<RangeDigest> remoteDigests = accountServiceGuard.balanceSync("digestBalances",
+                () -> accountServiceClient.digestBalances(internalToken, step, ranges)).getBody();
+        Map<Long, RangeDigest> remote = byRangeStart(remoteDigests == null ? List.of() : remoteDigests);
+        Map<Long, RangeDigest> local = byRangeStart(localBalanceReader.digest(ranges, step));
+
+        TreeSet<Long> rangeStarts = new TreeSet<>(remote.keySet());
+        rangeStarts.addAll(local.keySet());
+        for (Long from : rangeStarts) {
+            run.rangesCompared++;
+            RangeDigest remoteDigest = remote.get(from);
+            RangeDigest localDigest = local.get(from);
+            if (remoteDigest != null && localDigest != null && remoteDigest.getAccounts() == localDigest.getAccounts()
+                    && Objects.equals(remoteDigest.getHash(), localDigest.getHash())) {
+                continue;
+            }
+            RangeDigest differing = localDigest != null ? localDigest : remoteDigest;
+            long accounts = Math.max(remoteDigest == null ? 0 : remoteDigest.getAccounts(),
+                    localDigest == null ? 0 : localDigest.getAccounts());
+            AccountRange range = new AccountRange(differing.getFrom(), differing.getTo());
+            if (step == 1 || accounts <= leafSize) {
+                leaves.add(range);
+            } else {
+                next.add(range);
+            }
+        }
+    }
+
+    private void compareBalances(List<AccountRange> ranges, Run run) {
+        List<AccountBalanceEntry> remoteEntries = accountServiceGuard.balanceSync("findBalances",
+                () -> accountServiceClient.findBalances(internalToken, ranges)).getBody();
+        Map<Long, BigDecimal> remote = new HashMap<>();
+        if (remoteEntries != null) {
+            remoteEntries.forEach(entry -> remote.put(entry.getAccountNumber(), entry.getBalance()));
+        }
+        Map<Long, BigDecimal> local = localBalanceReader.findBalances(ranges);
+
+        TreeSet<Long> accountNumbers = new TreeSet<>(remote.keySet());
+        accountNumbers.addAll(local.keySet());
+        for (Long accountNumber : accountNumbers) {
+            run.accountsCompared++;
+            BigDecimal localBalance = local.getOrDefault(accountNumber, BigDecimal.ZERO);
+            BigDecimal remoteBalance = remote.getOrDefault(accountNumber, BigDecimal.ZERO);
+            if (localBalance.compareTo(remoteBalance) == 0) {
+                continue;
+            }
+            run.mismatches++;
+            mismatches.increment();
+            if (balanceSyncQueue.isPending(accountNumber)) {
+                log.debug("Account {} is out of sync but has a sync pending, leaving it", accountNumber);
+                continue;
+            }
+            log.debug("Account {} is out of sync: {} here, {} in account-service", accountNumber, localBalance, remoteBalance);
+            run.repairs.add(new AccountBalanceEntry(accountNumber, localBalance, remoteBalance));
+            if (run.repairs.size() >= repairBatchSize) {
+                repair(run);
+            }
+        }
+    }
+
+    private void repair(Run run) {
+        if (run.repairs.isEmpty()) {
+            return;
+        }
+        List<AccountBalanceEntry> batch = List.copyOf(run.repairs);
+        run.repairs.clear();
+        Integer updated = accountServiceGuard.balanceSync("updateBalances",
+                () -> accountServiceClient.updateBalances(internalToken, batch)).getBody();
+        int repaired = updated == null ? 0 : updated;
+        run.repaired += repaired;
+        repairs.increment(repaired);
+        if (repaired < batch.size()) {
+            log.warn("{} of {} out-of-sync accounts changed or no longer exist in account-service, leaving them",
+                    batch.size() - repaired, batch.size());
+        }
+    }
+
+    private static Map<Long, RangeDigest> byRangeStart(List<RangeDigest> digests) {
+        Map<Long, RangeDigest> byStart = new HashMap<>();
+        digests.forEach(digest -> byStart.put(digest.getFrom(), digest));
+        return byStart;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return Math.max(1, (dividend + divisor - 1) / divisor);
+    }
+
+    private static final class Run {
+
+        private int rangesCompared;
+        private int accountsCompared;
+        private int mismatches;
+        private int repaired;
+        private final List<AccountBalanceEntry> repairs = new ArrayList<>();
+    }
+}
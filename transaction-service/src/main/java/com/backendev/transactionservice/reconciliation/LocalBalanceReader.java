@@ -0,0 +1,70 @@
+package com.backendev.transactionservice.reconciliation;
+
+import com.backendev.transactionservice.dto.AccountRange;
+import com.backendev.transactionservice.dto.RangeDigest;
+import com.backendev.transactionservice.ledger.LedgerEngine;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.repository.AccountBalanceRepository.BalanceRow;
+import com.backendev.transactionservice.repository.AccountBalanceRepository.BucketDigest;
+import com.backendev.transactionservice.repository.LedgerEntryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads this service's side of a reconciliation, from {@code account_balances} and hot-account
+ * slots or, when balances are event-sourced, from the ledger heads.
+ */
+@Component
+public class LocalBalanceReader {
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerEngine ledgerEngine;
+
+    public LocalBalanceReader(AccountBalanceRepository accountBalanceRepository,
+                              LedgerEntryRepository ledgerEntryRepository, LedgerEngine ledgerEngine) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerEngine = ledgerEngine;
+    }
+
+    /**
+     * Digests each range per sub-range of {@code step} account numbers, the same way
+     * account-service does. Sub-ranges without non-zero balances are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<RangeDigest> digest(List<AccountRange> ranges, long step) {
+        List<RangeDigest> digests = new ArrayList<>();
+        for (AccountRange range : ranges) {
+            List<BucketDigest> buckets = ledgerEngine.isEventSourced()
+                    ? ledgerEntryRepository.digestHeads(range.getFrom(), range.getTo(), step)
+                    : accountBalanceRepository.digestBalances(range.getFrom(), range.getTo(), step);
+            for (BucketDigest bucket : buckets) {
+                digests.add(new RangeDigest(bucket.getRangeFrom(), Math.min(range.getTo(), bucket.getRangeFrom() + step),
+                        bucket.getAccounts(), bucket.getHash().toPlainString()));
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Non-zero balances in the ranges, by account number.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> findBalances(List<AccountRange> ranges) {
+        Map<Long, BigDecimal> balances = new TreeMap<>();
+        for (AccountRange range : ranges) {
+            List<BalanceRow> rows = ledgerEngine.isEventSourced()
+                    ? ledgerEntryRepository.findHeadBalances(range.getFrom(), range.getTo())
+                    : accountBalanceRepository.findBalances(range.getFrom(), range.getTo());
+            rows.forEach(row -> balances.put(row.getAccountNumber(), row.getBalance()));
+        }
+        return balances;
+    }
+}
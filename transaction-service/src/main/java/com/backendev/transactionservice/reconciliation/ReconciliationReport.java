@@ -0,0 +1,8 @@
+package com.backendev.transactionservice.reconciliation;
+
+/**
+ * Outcome of one reconciliation run: digests compared, accounts compared one by one in ranges
+ * whose digests differed, accounts found out of sync and accounts repaired in account-service.
+ */
+public record ReconciliationReport(int rangesCompared, int accountsCompared, int mismatches, int repaired) {
+}
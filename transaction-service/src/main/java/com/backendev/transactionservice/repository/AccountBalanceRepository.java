@@ -1,12 +1,121 @@
 package com.backendev.transactionservice.repository;
 
 import com.backendev.transactionservice.entity.AccountBalance;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountBalanceRepository extends JpaRepository<AccountBalance, Long> {
     Optional<AccountBalance> findByAccountNumber(Long accountNumber);
+
+    /**
+     * Loads and row-locks the balances until the surrounding transaction ends. Rows are locked
+     * in account-number order so concurrent batches cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AccountBalance b WHERE b.accountNumber IN :accountNumbers ORDER BY b.accountNumber")
+    List<AccountBalance> findAllForUpdate(@Param("accountNumbers") Collection<Long> accountNumbers);
+
+    /**
+     * Adds the amount to the balance in one statement, creating the row for first-time accounts.
+     * The amount may be negative. Returns the balance after the change.
+     */
+    @Query(value = """
+            INSERT INTO account_balances (account_number, balance, last_updated)
+            VALUES (:accountNumber, :amount, CURRENT_TIMESTAMP)
+            ON CONFLICT (account_number) DO UPDATE
+            SET balance = account_balances.balance + EXCLUDED.balance,
+                last_updated = EXCLUDED.last_updated
+            RETURNING balance
+            """, nativeQuery = true)
+    BigDecimal creditBalance(@Param("accountNumber") Long accountNumber, @Param("amount") BigDecimal amount);
+
+    /**
+     * Creates a zero balance row if the account has none. Existing rows are left alone and not
+     * locked.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_balances (account_number, balance, last_updated)
+            VALUES (:accountNumber, 0, CURRENT_TIMESTAMP)
+            ON CONFLICT (account_number) DO NOTHING
+            """, nativeQuery = true)
+    int createIfMissing(@Param("accountNumber") Long accountNumber);
+
+    /**
+     * Subtracts the amount only if the current balance covers it. Returns the balance after the
+     * change, or empty when the account is missing or has insufficient funds.
+     */
+    @Query(value = """
+            UPDATE account_balances
+            SET balance = balance - :amount,
+                last_updated = CURRENT_TIMESTAMP
+            WHERE account_number = :accountNumber AND balance >= :amount
+            RETURNING balance
+            """, nativeQuery = true)
+    Optional<BigDecimal> debitBalanceIfSufficient(@Param("accountNumber") Long accountNumber,
+                                                  @Param("amount") BigDecimal amount);
+
+    /**
+     * Digests the non-zero balances in [from, to), slots of hot accounts included, per sub-range
+     * of {@code step} account numbers. Sub-ranges without such balances are not returned. The
+     * hash must match the one account-service computes for its copy of the balances.
+     */
+    @Query(value = """
+            SELECT :from + (b.account_number - :from) / :step * :step AS rangeFrom,
+                   COUNT(*) AS accounts,
+                   SUM(hashtextextended(CAST(b.account_number AS text) || ':' || CAST(ROUND(b.balance, 2) AS text), 0)) AS hash
+            FROM (SELECT p.account_number, SUM(p.balance) AS balance
+                  FROM (SELECT account_number, balance FROM account_balances
+                        WHERE account_number >= :from AND account_number < :to
+                        UNION ALL
+                        SELECT account_number, balance FROM balance_slots
+                        WHERE account_number >= :from AND account_number < :to) p
+                  GROUP BY p.account_number) b
+            WHERE b.balance <> 0
+            GROUP BY 1
+            """, nativeQuery = true)
+    List<BucketDigest> digestBalances(@Param("from") Long from, @Param("to") Long to, @Param("step") Long step);
+
+    /**
+     * The non-zero balances in [from, to), slots of hot accounts included.
+     */
+    @Query(value = """
+            SELECT p.account_number AS accountNumber, SUM(p.balance) AS balance
+            FROM (SELECT account_number, balance FROM account_balances
+                  WHERE account_number >= :from AND account_number < :to
+                  UNION ALL
+                  SELECT account_number, balance FROM balance_slots
+                  WHERE account_number >= :from AND account_number < :to) p
+            GROUP BY p.account_number
+            HAVING SUM(p.balance) <> 0
+            ORDER BY p.account_number
+            """, nativeQuery = true)
+    List<BalanceRow> findBalances(@Param("from") Long from, @Param("to") Long to);
+
+    interface BucketDigest {
+
+        Long getRangeFrom();
+
+        Long getAccounts();
+
+        BigDecimal getHash();
+    }
+
+    interface BalanceRow {
+
+        Long getAccountNumber();
+
+        BigDecimal getBalance();
+    }
 }
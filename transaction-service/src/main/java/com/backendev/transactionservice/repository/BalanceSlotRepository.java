@@ -0,0 +1,60 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.BalanceSlot;
+import com.backendev.transactionservice.entity.BalanceSlotId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSlotRepository extends JpaRepository<BalanceSlot, BalanceSlotId> {
+
+    /**
+     * Adds the amount to one slot, creating it on first use. Returns the slot's new balance.
+     */
+    @Query(value = """
+            INSERT INTO balance_slots (account_number, slot, balance)
+            VALUES (:accountNumber, :slot, :amount)
+            ON CONFLICT (account_number, slot) DO UPDATE
+            SET balance = balance_slots.balance + EXCLUDED.balance
+            RETURNING balance
+            """, nativeQuery = true)
+    BigDecimal creditSlot(@Param("accountNumber") Long accountNumber,
+                          @Param("slot") int slot,
+                          @Param("amount") BigDecimal amount);
+
+    /**
+     * Subtracts the amount from the fullest slot that covers it and is not locked by someone else.
+     * Returns the slot's new balance, or empty when no free slot holds enough on its own.
+     */
+    @Query(value = """
+            UPDATE balance_slots
+            SET balance = balance - :amount
+            WHERE account_number = :accountNumber
+              AND slot = (SELECT slot FROM balance_slots
+                          WHERE account_number = :accountNumber AND balance >= :amount
+                          ORDER BY balance DESC
+                          LIMIT 1
+                          FOR UPDATE SKIP LOCKED)
+            RETURNING balance
+            """, nativeQuery = true)
+    Optional<BigDecimal> debitAnySlotIfSufficient(@Param("accountNumber") Long accountNumber,
+                                                  @Param("amount") BigDecimal amount);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM BalanceSlot s WHERE s.id.accountNumber = :accountNumber")
+    BigDecimal sumByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+    /**
+     * Loads and row-locks every slot of the account, in slot order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceSlot s WHERE s.id.accountNumber = :accountNumber ORDER BY s.id.slot")
+    List<BalanceSlot> findAllForUpdate(@Param("accountNumber") Long accountNumber);
+}
@@ -0,0 +1,62 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Creates the snapshot at sequence 0 an account's ledger starts from, opening with the
+     * balance the account has in {@code account_balances}, or zero for a new account. This is
+     * what carries balances over when the ledger store is switched on. Existing snapshots are
+     * left alone.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_snapshots (account_number, sequence_number, balance, opening_balance, taken_at)
+            SELECT :accountNumber, 0, opening.balance, opening.balance, CURRENT_TIMESTAMP
+            FROM (SELECT COALESCE((SELECT balance FROM account_balances WHERE account_number = :accountNumber), 0)
+                         AS balance) opening
+            ON CONFLICT (account_number) DO NOTHING
+            """, nativeQuery = true)
+    int createIfMissing(@Param("accountNumber") Long accountNumber);
+
+    /**
+     * Locks the snapshot rows of the accounts, in account order, until the surrounding transaction
+     * ends. Writers take this lock before appending entries. Returns the accounts that have a row.
+     */
+    @Query(value = """
+            SELECT account_number FROM balance_snapshots
+            WHERE account_number IN (:accountNumbers)
+            ORDER BY account_number
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockAll(@Param("accountNumbers") Collection<Long> accountNumbers);
+
+    /**
+     * Stores a snapshot unless the account already has one further along, so a slow snapshot
+     * can never move an account back.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_snapshots (account_number, sequence_number, balance, taken_at)
+            VALUES (:accountNumber, :sequenceNumber, :balance, CURRENT_TIMESTAMP)
+            ON CONFLICT (account_number) DO UPDATE
+            SET sequence_number = EXCLUDED.sequence_number,
+                balance = EXCLUDED.balance,
+                taken_at = EXCLUDED.taken_at
+            WHERE balance_snapshots.sequence_number <= EXCLUDED.sequence_number
+            """, nativeQuery = true)
+    int upsert(@Param("accountNumber") Long accountNumber,
+               @Param("sequenceNumber") Long sequenceNumber,
+               @Param("balance") BigDecimal balance);
+}
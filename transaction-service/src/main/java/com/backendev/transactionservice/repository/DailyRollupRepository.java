@@ -0,0 +1,103 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.DailyRollup;
+import com.backendev.transactionservice.entity.DailyRollupId;
+import com.backendev.transactionservice.enums.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, DailyRollupId> {
+
+    /**
+     * Adds to the day's rollup in one statement, creating the row on the day's first transaction.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_rollups (account_number, rollup_date, transaction_type, stripe, transaction_count, amount_in, amount_out)
+            VALUES (:accountNumber, :rollupDate, :transactionType, :stripe, :transactionCount, :amountIn, :amountOut)
+            ON CONFLICT (account_number, rollup_date, transaction_type, stripe) DO UPDATE
+            SET transaction_count = daily_rollups.transaction_count + EXCLUDED.transaction_count,
+                amount_in = daily_rollups.amount_in + EXCLUDED.amount_in,
+                amount_out = daily_rollups.amount_out + EXCLUDED.amount_out
+            """, nativeQuery = true)
+    int addToRollup(@Param("accountNumber") Long accountNumber,
+                    @Param("rollupDate") LocalDate rollupDate,
+                    @Param("transactionType") String transactionType,
+                    @Param("stripe") int stripe,
+                    @Param("transactionCount") long transactionCount,
+                    @Param("amountIn") BigDecimal amountIn,
+                    @Param("amountOut") BigDecimal amountOut);
+
+    /**
+     * Recomputes the backfill stripe of every rollup touched by the completed transactions created
+     * in {@code [from, before)}, from the transactions themselves. Backfill rows are overwritten,
+     * not added to, so running the same window again gives the same result.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_rollups (account_number, rollup_date, transaction_type, stripe, transaction_count, amount_in, amount_out)
+            SELECT account_number, rollup_date, transaction_type, -1, COUNT(*), SUM(amount_in), SUM(amount_out)
+            FROM (
+                SELECT from_account_number AS account_number,
+                       CAST(created_at AT TIME ZONE 'UTC' AS DATE) AS rollup_date,
+                       type AS transaction_type,
+                       CASE WHEN type = 'DEPOSIT' THEN amount ELSE 0 END AS amount_in,
+                       CASE WHEN type = 'DEPOSIT' THEN 0 ELSE amount END AS amount_out
+                FROM transactions
+                WHERE status = 'COMPLETED' AND created_at >= :from AND created_at < :before
+                UNION ALL
+                SELECT to_account_number, CAST(created_at AT TIME ZONE 'UTC' AS DATE), type, amount, 0
+                FROM transactions
+                WHERE status = 'COMPLETED' AND type = 'TRANSFER' AND created_at >= :from AND created_at < :before
+            ) legs
+            GROUP BY account_number, rollup_date, transaction_type
+            ON CONFLICT (account_number, rollup_date, transaction_type, stripe) DO UPDATE
+            SET transaction_count = EXCLUDED.transaction_count,
+                amount_in = EXCLUDED.amount_in,
+                amount_out = EXCLUDED.amount_out
+            """, nativeQuery = true)
+    int backfill(@Param("from") Instant from, @Param("before") Instant before);
+
+    @Query(value = "SELECT MIN(created_at) FROM transactions WHERE created_at < :before", nativeQuery = true)
+    Optional<Instant> findFirstTransactionBefore(@Param("before") Instant before);
+
+    /**
+     * Totals per type over the days from {@code from} to {@code to}, both inclusive. Reads the
+     * stripes of each day and type from the primary key index.
+     */
+    @Query("""
+            SELECT r.id.transactionType AS transactionType,
+                   SUM(r.transactionCount) AS transactionCount,
+                   SUM(r.amountIn) AS amountIn,
+                   SUM(r.amountOut) AS amountOut
+            FROM DailyRollup r
+            WHERE r.id.accountNumber = :accountNumber
+              AND r.id.rollupDate >= :from AND r.id.rollupDate <= :to
+            GROUP BY r.id.transactionType
+            ORDER BY r.id.transactionType
+            """)
+    List<RollupTotals> sumByType(@Param("accountNumber") Long accountNumber,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    interface RollupTotals {
+
+        TransactionType getTransactionType();
+
+        Long getTransactionCount();
+
+        BigDecimal getAmountIn();
+
+        BigDecimal getAmountOut();
+    }
+}
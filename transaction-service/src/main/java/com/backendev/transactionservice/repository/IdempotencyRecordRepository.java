@@ -0,0 +1,82 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key for this request under a lease held by {@code owner}. An expired record, or
+     * one still IN_PROGRESS whose lease lapsed because its instance crashed, is taken over.
+     * Returns 1 when the caller owns the key and 0 when someone else already holds it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO idempotency_keys (id, request_hash, status, created_at, expires_at, lock_owner, locked_until)
+            VALUES (:id, :requestHash, 'IN_PROGRESS', :now, :expiresAt, :owner, :lockedUntil)
+            ON CONFLICT (id) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash,
+                status = EXCLUDED.status,
+                response = NULL,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at,
+                lock_owner = EXCLUDED.lock_owner,
+                locked_until = EXCLUDED.locked_until
+            WHERE idempotency_keys.expires_at < :now
+               OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < :now)
+            """, nativeQuery = true)
+    int claim(@Param("id") String id, @Param("requestHash") String requestHash, @Param("owner") String owner,
+              @Param("now") Instant now, @Param("expiresAt") Instant expiresAt,
+              @Param("lockedUntil") Instant lockedUntil);
+
+    /**
+     * Extends the leases of keys still being processed by these owners.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE idempotency_keys
+            SET locked_until = :lockedUntil
+            WHERE lock_owner IN (:owners) AND status = 'IN_PROGRESS'
+            """, nativeQuery = true)
+    int renewLeases(@Param("owners") Collection<String> owners, @Param("lockedUntil") Instant lockedUntil);
+
+    /**
+     * Stores the response, only while {@code owner} still holds the key. Joins the caller's
+     * transaction, so the response commits together with the work it describes.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE idempotency_keys
+            SET status = 'COMPLETED', response = :response, locked_until = NULL
+            WHERE id = :id AND lock_owner = :owner AND status = 'IN_PROGRESS'
+            """, nativeQuery = true)
+    int complete(@Param("id") String id, @Param("owner") String owner, @Param("response") String response);
+
+    /**
+     * Releases the key after a failed request, unless another owner took it over meanwhile.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE id = :id AND lock_owner = :owner", nativeQuery = true)
+    int release(@Param("id") String id, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM idempotency_keys
+            WHERE id IN (SELECT id FROM idempotency_keys WHERE expires_at < :now LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,91 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.LedgerEntry;
+import com.backendev.transactionservice.repository.AccountBalanceRepository.BalanceRow;
+import com.backendev.transactionservice.repository.AccountBalanceRepository.BucketDigest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * Current state of each account: its snapshot plus the sum of the entries after it. Snapshot
+     * and tail are read in one statement, so a snapshot taken concurrently cannot be counted
+     * twice. Accounts without a snapshot row are not returned.
+     */
+    @Query(value = """
+            SELECT s.account_number AS accountNumber,
+                   s.balance + COALESCE(SUM(e.amount), 0) AS balance,
+                   COALESCE(MAX(e.sequence_number), s.sequence_number) AS sequenceNumber,
+                   s.sequence_number AS snapshotSequenceNumber,
+                   COALESCE(MAX(e.created_at), s.taken_at) AS lastUpdated
+            FROM balance_snapshots s
+            LEFT JOIN ledger_entries e
+                   ON e.account_number = s.account_number AND e.sequence_number > s.sequence_number
+            WHERE s.account_number IN (:accountNumbers)
+            GROUP BY s.account_number, s.balance, s.sequence_number, s.taken_at
+            """, nativeQuery = true)
+    List<LedgerHead> findHeads(@Param("accountNumbers") Collection<Long> accountNumbers);
+
+    /**
+     * Event-sourced counterpart of {@link AccountBalanceRepository#digestBalances}: digests the
+     * non-zero heads in [from, to) per sub-range of {@code step} account numbers.
+     */
+    @Query(value = """
+            SELECT :from + (h.account_number - :from) / :step * :step AS rangeFrom,
+                   COUNT(*) AS accounts,
+                   SUM(hashtextextended(CAST(h.account_number AS text) || ':' || CAST(ROUND(h.balance, 2) AS text), 0)) AS hash
+            FROM (SELECT s.account_number, s.balance + COALESCE(SUM(e.amount), 0) AS balance
+                  FROM balance_snapshots s
+                  LEFT JOIN ledger_entries e
+                         ON e.account_number = s.account_number AND e.sequence_number > s.sequence_number
+                  WHERE s.account_number >= :from AND s.account_number < :to
+                  GROUP BY s.account_number, s.balance) h
+            WHERE h.balance <> 0
+            GROUP BY 1
+            """, nativeQuery = true)
+    List<BucketDigest> digestHeads(@Param("from") Long from, @Param("to") Long to, @Param("step") Long step);
+
+    /**
+     * The non-zero head balances in [from, to).
+     */
+    @Query(value = """
+            SELECT s.account_number AS accountNumber, s.balance + COALESCE(SUM(e.amount), 0) AS balance
+            FROM balance_snapshots s
+            LEFT JOIN ledger_entries e
+                   ON e.account_number = s.account_number AND e.sequence_number > s.sequence_number
+            WHERE s.account_number >= :from AND s.account_number < :to
+            GROUP BY s.account_number, s.balance
+            HAVING s.balance + COALESCE(SUM(e.amount), 0) <> 0
+            ORDER BY s.account_number
+            """, nativeQuery = true)
+    List<BalanceRow> findHeadBalances(@Param("from") Long from, @Param("to") Long to);
+
+    List<LedgerEntry> findByAccountNumberAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(
+            Long accountNumber, Long sequenceNumber, Limit limit);
+
+    @Query("SELECT DISTINCT e.accountNumber FROM LedgerEntry e")
+    List<Long> findAllAccountNumbers();
+
+    interface LedgerHead {
+
+        Long getAccountNumber();
+
+        BigDecimal getBalance();
+
+        Long getSequenceNumber();
+
+        Long getSnapshotSequenceNumber();
+
+        Instant getLastUpdated();
+    }
+}
@@ -0,0 +1,57 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.NodeLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface NodeLeaseRepository extends JpaRepository<NodeLease, Integer> {
+
+    /**
+     * Leases the lowest node id between 0 and {@code maxNodeId} that is unleased or whose lease
+     * lapsed, and returns it. Returns empty when every id is held, or when another instance took
+     * the chosen id at the same moment.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO id_node_leases (node_id, owner, leased_until)
+            SELECT candidate, :owner, :leasedUntil
+            FROM generate_series(0, :maxNodeId) AS candidate
+            WHERE NOT EXISTS (
+                SELECT 1 FROM id_node_leases held
+                WHERE held.node_id = candidate AND held.leased_until >= :now)
+            ORDER BY candidate
+            LIMIT 1
+            ON CONFLICT (node_id) DO UPDATE
+            SET owner = EXCLUDED.owner,
+                leased_until = EXCLUDED.leased_until
+            WHERE id_node_leases.leased_until < :now
+            RETURNING node_id
+            """, nativeQuery = true)
+    Optional<Integer> claimFree(@Param("owner") String owner, @Param("now") Instant now,
+                                @Param("leasedUntil") Instant leasedUntil, @Param("maxNodeId") long maxNodeId);
+
+    /**
+     * Extends the lease, only while {@code owner} still holds it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE id_node_leases
+            SET leased_until = :leasedUntil
+            WHERE node_id = :nodeId AND owner = :owner
+            """, nativeQuery = true)
+    int renew(@Param("nodeId") int nodeId, @Param("owner") String owner, @Param("leasedUntil") Instant leasedUntil);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM id_node_leases WHERE node_id = :nodeId AND owner = :owner", nativeQuery = true)
+    int release(@Param("nodeId") int nodeId, @Param("owner") String owner);
+}
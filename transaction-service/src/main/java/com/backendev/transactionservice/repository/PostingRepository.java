@@ -0,0 +1,24 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.Posting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PostingRepository extends JpaRepository<Posting, Long> {
+
+    List<Posting> findByTransactionIdOrderById(String transactionId);
+
+    /**
+     * Sum of the postings created in {@code [from, before)}. Both legs of a transaction share a
+     * creation time, so over any window the sum is zero unless a leg went missing or was altered.
+     */
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Posting p WHERE p.createdAt >= :from AND p.createdAt < :before")
+    BigDecimal sumCreatedBetween(@Param("from") Instant from, @Param("before") Instant before);
+}
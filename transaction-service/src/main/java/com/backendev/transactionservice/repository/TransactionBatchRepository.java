@@ -0,0 +1,22 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.Transaction;
+
+import java.util.List;
+
+public interface TransactionBatchRepository {
+
+    /**
+     * Inserts new transactions with plain persist calls so Hibernate can group them into
+     * JDBC batches. Unlike {@code saveAll}, this never issues a select per row to decide
+     * between insert and merge for the assigned ids.
+     */
+    void persistAll(List<Transaction> transactions);
+
+    /**
+     * Writes the transaction's status and update time, addressed by transaction id and creation
+     * time so only its monthly partition is touched. Unlike {@code save}, a detached transaction
+     * is never looked up by id first.
+     */
+    void updateStatus(Transaction transaction);
+}
@@ -0,0 +1,54 @@
+package com.backendev.transactionservice.repository;
+
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class TransactionBatchRepositoryImpl implements TransactionBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void persistAll(List<Transaction> transactions) {
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            // Flush per JDBC batch and detach, so the persistence context stays small
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Override
+    @Transactional
+    public void updateStatus(Transaction transaction) {
+        if (entityManager.contains(transaction)) {
+            // Still managed in this transaction: the flush updates it by id and partition key
+            return;
+        }
+        int updated = entityManager.createQuery("""
+                        UPDATE Transaction t SET t.status = :status, t.updatedAt = :updatedAt
+                        WHERE t.transactionId = :transactionId AND t.createdAt = :createdAt
+                        """)
+                .setParameter("status", transaction.getStatus())
+                .setParameter("updatedAt", transaction.getUpdatedAt())
+                .setParameter("transactionId", transaction.getTransactionId())
+                .setParameter("createdAt", transaction.getCreatedAt())
+                .executeUpdate();
+        if (updated != 1) {
+            throw new TransactionProcessingException("Transaction " + transaction.getTransactionId() + " not found");
+        }
+    }
+}
@@ -1,13 +1,83 @@
 package com.backendev.transactionservice.repository;
 
 import com.backendev.transactionservice.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, String> {
+public interface TransactionRepository extends JpaRepository<Transaction, String>, TransactionBatchRepository {
 
     List<Transaction> findAllByFromAccountNumberOrderByCreatedAtDesc(Long accountNumber);
+
+    /**
+     * One keyset page of an account's history, newest first, covering both legs: rows where the
+     * account is the source (deposits, withdrawals, outgoing transfers) and incoming transfers.
+     * Each leg is a bounded range scan on its own (account, created_at, transaction_id) index, so
+     * the cost depends on the page size rather than on the length of the history. The plain
+     * created_at bounds, the cursor's included, let a partitioned table skip the months outside
+     * [from, min(to, cursor)]; the row comparison alone would not.
+     */
+    @Query(value = """
+            (SELECT * FROM transactions
+             WHERE from_account_number = :accountNumber
+               AND type IN (:types)
+               AND created_at >= :from AND created_at < :to AND created_at <= :cursorCreatedAt
+               AND (created_at, transaction_id) < (:cursorCreatedAt, :cursorTransactionId)
+             ORDER BY created_at DESC, transaction_id DESC
+             LIMIT :limit)
+            UNION ALL
+            (SELECT * FROM transactions
+             WHERE to_account_number = :accountNumber
+               AND from_account_number IS DISTINCT FROM :accountNumber
+               AND type IN (:types)
+               AND created_at >= :from AND created_at < :to AND created_at <= :cursorCreatedAt
+               AND (created_at, transaction_id) < (:cursorCreatedAt, :cursorTransactionId)
+             ORDER BY created_at DESC, transaction_id DESC
+             LIMIT :limit)
+            ORDER BY created_at DESC, transaction_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Transaction> findHistoryPage(@Param("accountNumber") Long accountNumber,
+                                      @Param("types") Collection<String> types,
+                                      @Param("from") Instant from,
+                                      @Param("to") Instant to,
+                                      @Param("cursorCreatedAt") Instant cursorCreatedAt,
+                                      @Param("cursorTransactionId") String cursorTransactionId,
+                                      @Param("limit") int limit);
+
+    /**
+     * Streams every transaction touching the account in the window, oldest first. As in
+     * {@link #findHistoryPage}, the two sides of the account are separate index range scans; with
+     * no per-branch ordering or limit Postgres merges them in index order, so rows flow without
+     * sorting the whole window first. The fetch size makes the driver read through a server-side
+     * cursor; callers must consume the stream inside a transaction and close it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+            SELECT * FROM transactions
+            WHERE from_account_number = :accountNumber
+              AND created_at >= :from AND created_at < :to
+            UNION ALL
+            SELECT * FROM transactions
+            WHERE to_account_number = :accountNumber
+              AND from_account_number IS DISTINCT FROM :accountNumber
+              AND created_at >= :from AND created_at < :to
+            ORDER BY created_at, transaction_id
+            """, nativeQuery = true)
+    Stream<Transaction> streamStatement(@Param("accountNumber") Long accountNumber,
+                                        @Param("from") Instant from,
+                                        @Param("to") Instant to);
 }
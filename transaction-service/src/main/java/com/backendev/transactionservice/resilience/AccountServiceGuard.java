@@ -0,0 +1,91 @@
+package com.backendev.transactionservice.resilience;
+
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every account-service call in a bulkhead and a circuit breaker. Validation calls and
+ * balance-sync calls draw from separate bulkheads, so a backlog of syncs cannot starve request
+ * validation; each Feign method gets its own breaker. Rejected calls fail immediately with a
+ * {@link ServiceUnavailableException} that carries a Retry-After hint, and are counted in
+ * {@code account.service.calls.rejected} by method and reason.
+ *
+ * <p>Only signs of an unhealthy dependency count against a breaker: 5xx responses, I/O errors
+ * and timeouts, and calls slower than the slow-call threshold. 4xx answers are regular results.
+ */
+@Slf4j
+public class AccountServiceGuard {
+
+    private final Bulkhead validationBulkhead;
+    private final Bulkhead balanceSyncBulkhead;
+    private final CircuitBreaker.Settings breakerSettings;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public AccountServiceGuard(Bulkhead validationBulkhead, Bulkhead balanceSyncBulkhead,
+                               CircuitBreaker.Settings breakerSettings, MeterRegistry meterRegistry) {
+        this.validationBulkhead = validationBulkhead;
+        this.balanceSyncBulkhead = balanceSyncBulkhead;
+        this.breakerSettings = breakerSettings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T validation(String method, Supplier<T> call) {
+        return call(method, validationBulkhead, call);
+    }
+
+    public <T> T balanceSync(String method, Supplier<T> call) {
+        return call(method, balanceSyncBulkhead, call);
+    }
+
+    public CircuitBreaker breaker(String method) {
+        return breakers.computeIfAbsent(method,
+                name -> new CircuitBreaker("account-service." + name, breakerSettings, System::nanoTime, meterRegistry));
+    }
+
+    private <T> T call(String method, Bulkhead bulkhead, Supplier<T> call) {
+        if (!bulkhead.tryAcquire()) {
+            throw reject(method, "bulkhead-full", Duration.ofSeconds(1));
+        }
+        try {
+            CircuitBreaker breaker = breaker(method);
+            if (!breaker.tryAcquire()) {
+                throw reject(method, "circuit-open", breaker.getRemainingOpenTime());
+            }
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                failed = isDependencyFailure(e);
+                throw e;
+            } finally {
+                breaker.onResult(System.nanoTime() - start, failed);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private ServiceUnavailableException reject(String method, String reason, Duration retryAfter) {
+        meterRegistry.counter("account.service.calls.rejected", "method", method, "reason", reason).increment();
+        log.warn("Rejected account-service call {}: {}", method, reason);
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return new ServiceUnavailableException("Account service is currently unavailable. Please try again later.",
+                retryAfterSeconds);
+    }
+
+    private static boolean isDependencyFailure(RuntimeException e) {
+        return e instanceof ServiceUnavailableException
+                || e instanceof RetryableException
+                || e instanceof FeignException.FeignServerException;
+    }
+}
@@ -0,0 +1,146 @@
+package com.backendev.transactionservice.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. While CLOSED it records the outcome of the last
+ * {@code windowSize} calls; once at least {@code minimumCalls} are recorded and the share of
+ * failed or slow calls reaches the threshold it OPENs and rejects calls for the open duration.
+ * After that it lets {@code halfOpenCalls} trial calls through (HALF_OPEN): all of them must
+ * succeed to close again, any failure reopens it.
+ *
+ * <p>Exports {@code account.service.circuit.state} (0 closed, 1 open, 2 half-open) and counts
+ * transitions in {@code account.service.circuit.transitions}, both tagged with the breaker name.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public record Settings(int windowSize, int minimumCalls, int failureRateThreshold,
+                           Duration slowCallThreshold, Duration openDuration, int halfOpenCalls) {
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, Settings settings, LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+        this.outcomes = new boolean[settings.windowSize()];
+        meterRegistry.gauge("account.service.circuit.state", Tags.of("name", name),
+                this, breaker -> breaker.getState().ordinal());
+    }
+
+    /**
+     * Returns whether a call may go ahead. Every permitted call must be followed by exactly one
+     * {@link #onResult}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < settings.openDuration().toNanos()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(long durationNanos, boolean failed) {
+        boolean failure = failed || durationNanos >= settings.slowCallThreshold().toNanos();
+        switch (state) {
+            case CLOSED -> {
+                record(failure);
+                if (recorded >= settings.minimumCalls()
+                        && failures * 100 >= settings.failureRateThreshold() * recorded) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (failure) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses == settings.halfOpenCalls()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // Result of a call that started before the breaker opened
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Time until the breaker will let a trial call through; zero unless OPEN. */
+    public synchronized Duration getRemainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        long remaining = settings.openDuration().toNanos() - (nanoClock.getAsLong() - openedAt);
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State target) {
+        log.warn("Circuit breaker {} changed from {} to {}", name, state, target);
+        meterRegistry.counter("account.service.circuit.transitions",
+                "name", name, "from", state.name(), "to", target.name()).increment();
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = settings.halfOpenCalls();
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                next = 0;
+                failures = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.backendev.transactionservice.routing;
+
+/**
+ * Read-your-writes tokens. Writes answer with the primary's WAL position in
+ * {@value #HEADER}; a read sending it back is only served by the replica once the replica has
+ * replayed up to that position. Positions use PostgreSQL's LSN notation, e.g. {@code 16/B374D848}.
+ */
+public final class ConsistencyToken {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private ConsistencyToken() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The LSN as one comparable number.
+     *
+     * @throws IllegalArgumentException if the text is not an LSN
+     */
+    public static long parse(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1) {
+            throw new IllegalArgumentException("Not an LSN: " + lsn);
+        }
+        try {
+            long high = Long.parseLong(lsn.substring(0, slash).trim(), 16);
+            long low = Long.parseLong(lsn.substring(slash + 1).trim(), 16);
+            if (high < 0 || high > 0x7FFFFFFFL || low < 0 || low > 0xFFFFFFFFL) {
+                throw new IllegalArgumentException("Not an LSN: " + lsn);
+            }
+            return (high << 32) | low;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an LSN: " + lsn, e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.backendev.transactionservice.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out {@link ConsistencyToken}s: responses to writes carry the primary's WAL position,
+ * read after the write's transaction has committed.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnProperty(name = "transaction.datasource.replica.enabled", havingValue = "true")
+public class ConsistencyTokenAdvice implements ResponseBodyAdvice<Object> {
+
+    private final JdbcTemplate primary;
+    private final String positionQuery;
+
+    public ConsistencyTokenAdvice(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                  @Value("${transaction.datasource.primary.position-query:SELECT pg_current_wal_lsn()}")
+                                  String positionQuery) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.positionQuery = positionQuery;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpMethod method = request.getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+            return body;
+        }
+        try {
+            String lsn = primary.queryForObject(positionQuery, String.class);
+            if (lsn != null) {
+                response.getHeaders().set(ConsistencyToken.HEADER, lsn);
+            }
+        } catch (DataAccessException e) {
+            // The write went through; without a token the client just reads without the guarantee
+            log.warn("Could not read the primary's WAL position: {}", e.getMessage());
+        }
+        return body;
+    }
+}
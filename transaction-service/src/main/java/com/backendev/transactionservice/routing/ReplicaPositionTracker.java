@@ -0,0 +1,51 @@
+package com.backendev.transactionservice.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls how far the replica has replayed the primary's WAL, so routing decisions never wait on
+ * the replica. A replica that cannot be queried, or reports no position, counts as unavailable
+ * until the next successful poll.
+ */
+@Slf4j
+public class ReplicaPositionTracker {
+
+    private static final long UNKNOWN = -1L;
+
+    private final JdbcTemplate replica;
+    private final String positionQuery;
+    private volatile long replayedPosition = UNKNOWN;
+
+    public ReplicaPositionTracker(DataSource replicaDataSource, String positionQuery, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.positionQuery = positionQuery;
+        meterRegistry.gauge("datasource.replica.available", this, tracker -> tracker.isAvailable() ? 1 : 0);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.datasource.replica.poll-interval-ms:200}")
+    public void refresh() {
+        try {
+            String lsn = replica.queryForObject(positionQuery, String.class);
+            replayedPosition = lsn == null ? UNKNOWN : ConsistencyToken.parse(lsn);
+        } catch (DataAccessException | IllegalArgumentException e) {
+            if (replayedPosition != UNKNOWN) {
+                log.warn("Replica position unavailable, routing reads to the primary: {}", e.getMessage());
+            }
+            replayedPosition = UNKNOWN;
+        }
+    }
+
+    public boolean isAvailable() {
+        return replayedPosition != UNKNOWN;
+    }
+
+    public boolean hasReplayed(long position) {
+        return replayedPosition >= position;
+    }
+}
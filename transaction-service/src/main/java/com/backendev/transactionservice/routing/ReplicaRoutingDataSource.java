@@ -0,0 +1,81 @@
+package com.backendev.transactionservice.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions that serve GET requests to the replica and everything else to
+ * the primary. Background work (balance syncs, reconciliation, snapshots) stays on the primary
+ * even when read-only, since it acts on what it reads. A request carrying a
+ * {@link ConsistencyToken} ahead of the replica is served by the primary.
+ *
+ * <p>Must sit behind a {@code LazyConnectionDataSourceProxy}: the connection has to be taken
+ * after the transaction is marked read-only, not when it begins. With open-in-view a request
+ * keeps the connection its first transaction took, so GET handlers must not write. Decisions
+ * are counted in {@code datasource.routing} by target and reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaPositionTracker replicaPositionTracker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> decisions = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaPositionTracker replicaPositionTracker, MeterRegistry meterRegistry) {
+        this.replicaPositionTracker = replicaPositionTracker;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return decide(Target.PRIMARY, "read-write");
+        }
+        HttpServletRequest request = currentRequest();
+        if (request == null || !"GET".equals(request.getMethod())) {
+            return decide(Target.PRIMARY, "not-a-read-request");
+        }
+        if (!replicaPositionTracker.isAvailable()) {
+            return decide(Target.PRIMARY, "replica-unavailable");
+        }
+        String token = request.getHeader(ConsistencyToken.HEADER);
+        if (token != null && !token.isBlank()) {
+            long position;
+            try {
+                position = ConsistencyToken.parse(token.trim());
+            } catch (IllegalArgumentException e) {
+                return decide(Target.PRIMARY, "invalid-token");
+            }
+            if (!replicaPositionTracker.hasReplayed(position)) {
+                return decide(Target.PRIMARY, "replica-behind");
+            }
+        }
+        return decide(Target.REPLICA, "read-only");
+    }
+
+    private Target decide(Target target, String reason) {
+        decisions.computeIfAbsent(target + ":" + reason, key -> meterRegistry.counter("datasource.routing",
+                "target", target.name().toLowerCase(), "reason", reason)).increment();
+        return target;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
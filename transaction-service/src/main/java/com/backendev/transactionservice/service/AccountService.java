@@ -1,18 +1,23 @@
 package com.backendev.transactionservice.service;
 
+import com.backendev.transactionservice.cache.AccountValidationCache;
 import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.dto.AccountBalanceEntry;
 import com.backendev.transactionservice.dto.AccountResponse;
 import com.backendev.transactionservice.dto.TransferValidationResponse;
-import com.backendev.transactionservice.dto.UpdateAccountBalanceRequest;
 import com.backendev.transactionservice.exception.InvalidAccountException;
 import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
 import feign.FeignException;
 import feign.RetryableException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -22,9 +27,31 @@ public class AccountService {
     private static final String ACCOUNT_ACTIVE = "ACTIVE";
 
     private final AccountServiceClient accountServiceClient;
+    private final AccountValidationCache accountValidationCache;
+    private final AccountServiceGuard accountServiceGuard;
 
-    public AccountService(AccountServiceClient accountServiceClient) {
+    @Value("${transaction.account-service.fallback.stale-reads:false}")
+    private boolean staleReads;
+
+    @Value("${transaction.account-service.internal-token:}")
+    private String internalToken;
+
+    public AccountService(AccountServiceClient accountServiceClient, AccountValidationCache accountValidationCache,
+                          AccountServiceGuard accountServiceGuard) {
         this.accountServiceClient = accountServiceClient;
+        this.accountValidationCache = accountValidationCache;
+        this.accountServiceGuard = accountServiceGuard;
+    }
+
+    /**
+     * Balance syncs and reconciliation authenticate with the internal token; without it every one
+     * of them would be rejected by account-service and dropped after its retries.
+     */
+    @PostConstruct
+    public void requireInternalToken() {
+        if (internalToken == null || internalToken.isBlank()) {
+            throw new IllegalStateException("transaction.account-service.internal-token (INTERNAL_API_TOKEN) must be set");
+        }
     }
 
     public void validateAccountAndOwnership(Long accountNumber, String currentUserId) {
@@ -38,20 +65,49 @@ public class AccountService {
     }
 
     public AccountResponse validateAccount(Long accountNumber) {
-        try {
-            log.info("Validating account {} via account service", accountNumber);
-            ResponseEntity<AccountResponse> response = accountServiceClient.getAccount(accountNumber);
+        return lookupAccount(accountNumber)
+                .filter(acc -> ACCOUNT_ACTIVE.equals(acc.getStatus()))
+                .orElseThrow(() -> new InvalidAccountException("Account not found or inactive"));
+    }
 
-            return Optional.ofNullable(response.getBody())
-                    .filter(acc -> ACCOUNT_ACTIVE.equals(acc.getStatus()))
-                    .orElseThrow(() -> new InvalidAccountException("Account not found or inactive"));
+    private Optional<AccountResponse> lookupAccount(Long accountNumber) {
+        try {
+            return accountValidationCache.get(accountNumber, this::fetchAccount);
+        } catch (ServiceUnavailableException e) {
+            // Frozen or closed accounts are invalidated from account-events, so the last known state is safe to use
+            Optional<AccountResponse> stale = staleReads ? accountValidationCache.getStale(accountNumber) : Optional.empty();
+            if (stale.isEmpty()) {
+                throw e;
+            }
+            log.warn("Account service unavailable, using last known state of account {}", accountNumber);
+            return stale;
+        }
+    }
 
+    private Optional<AccountResponse> fetchAccount(Long accountNumber) {
+        try {
+            log.info("Validating account {} via account service", accountNumber);
+            ResponseEntity<AccountResponse> response = accountServiceGuard.validation("getAccount",
+                    () -> accountServiceClient.getAccount(accountNumber));
+            return Optional.ofNullable(response.getBody());
+
+        } catch (InvalidAccountException e) {
+            // 404 from account-service: remember that the account does not exist
+            return Optional.empty();
+        } catch (RetryableException e) {
+            log.error("Account service is unavailable", e);
+            throw new ServiceUnavailableException("Account service is currently unavailable. Please try again later.");
         } catch (FeignException e) {
             log.error("Feign exception", e);
             throw new InvalidAccountException("Account validation failed", e);
         }
     }
 
+    /**
+     * Pushes the balance through account-service's internal endpoint. Syncs run on background
+     * workers with no user request to take a JWT from, so they authenticate with the internal
+     * token instead.
+     */
     public void syncBalanceWithAccountService(Long accountNumber, BigDecimal newBalance) {
         try {
             log.info("Updating account {} with balance: {}", accountNumber, newBalance);
@@ -60,12 +116,13 @@ public class AccountService {
                 throw new IllegalArgumentException("Balance cannot be null");
             }
 
-            UpdateAccountBalanceRequest updateRequest = new UpdateAccountBalanceRequest(accountNumber, newBalance);
-            ResponseEntity<AccountResponse> response = accountServiceClient.updateAccountBalance(accountNumber, updateRequest);
+            List<AccountBalanceEntry> update = List.of(new AccountBalanceEntry(accountNumber, newBalance));
+            ResponseEntity<Integer> response = accountServiceGuard.balanceSync("updateBalances",
+                    () -> accountServiceClient.updateBalances(internalToken, update));
 
             Optional.ofNullable(response.getBody())
-                    .filter(acc -> ACCOUNT_ACTIVE.equals(acc.getStatus()))
-                    .orElseThrow(() -> new InvalidAccountException("Account not found or inactive"));
+                    .filter(updated -> updated > 0)
+                    .orElseThrow(() -> new InvalidAccountException("Account not found"));
 
         } catch (FeignException e) {
             log.error("Unexpected error calling account service", e);
@@ -79,8 +136,8 @@ public class AccountService {
             log.info("Validating transfer from account {} to account {} for user {}",
                     fromAccount, toAccount, currentUserId);
 
-            ResponseEntity<TransferValidationResponse> response =
-                    accountServiceClient.validateTransfer(fromAccount, toAccount, currentUserId);
+            ResponseEntity<TransferValidationResponse> response = accountServiceGuard.validation("validateTransfer",
+                    () -> accountServiceClient.validateTransfer(fromAccount, toAccount, currentUserId));
 
             Optional.ofNullable(response.getBody())
                     .orElseThrow(() -> new InvalidAccountException(
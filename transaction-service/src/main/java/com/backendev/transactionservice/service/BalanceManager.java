@@ -2,48 +2,235 @@ package com.backendev.transactionservice.service;
 
 import com.backendev.transactionservice.entity.AccountBalance;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
-import com.backendev.transactionservice.mapper.AccountBalanceMapper;
+import com.backendev.transactionservice.hotaccount.HotAccountBalances;
+import com.backendev.transactionservice.ledger.LedgerEngine;
 import com.backendev.transactionservice.repository.AccountBalanceRepository;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
-@AllArgsConstructor
 public class BalanceManager {
 
     private final AccountBalanceRepository accountBalanceRepository;
-    private final AccountBalanceMapper accountBalanceMapper;
+    private final LedgerEngine ledgerEngine;
+    private final HotAccountBalances hotAccountBalances;
+    private final Timer transferLockWait;
+    private final Counter transferLockFailures;
+    private final TransactionTemplate transactionTemplate;
 
+    public BalanceManager(AccountBalanceRepository accountBalanceRepository, LedgerEngine ledgerEngine,
+                          HotAccountBalances hotAccountBalances, MeterRegistry meterRegistry,
+                          PlatformTransactionManager transactionManager) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.ledgerEngine = ledgerEngine;
+        this.hotAccountBalances = hotAccountBalances;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transferLockWait = meterRegistry.timer("balance.transfer.lock.wait");
+        this.transferLockFailures = meterRegistry.counter("balance.transfer.lock.failures");
+    }
+
+    /**
+     * Whether credits and debits are committed by the ledger's shard threads rather than in the
+     * caller's transaction.
+     */
+    public boolean isLedgerEnabled() {
+        return ledgerEngine.isEnabled();
+    }
+
+    /**
+     * Credits the account. With the ledger enabled the change is committed by a shard thread and
+     * no transaction is opened here, so the caller does not hold a pooled connection while the
+     * shard waits for one of its own.
+     */
+    public BigDecimal credit(Long accountNumber, BigDecimal amount) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.apply(accountNumber, amount, false);
+        }
+        return transactionTemplate.execute(status -> hotAccountBalances.isHot(accountNumber)
+                ? hotAccountBalances.credit(accountNumber, amount)
+                : accountBalanceRepository.creditBalance(accountNumber, amount));
+    }
+
+    /**
+     * Debits the account if it has sufficient funds, without a transaction of its own in ledger
+     * mode, like {@link #credit}.
+     */
+    public BigDecimal debit(Long accountNumber, BigDecimal amount) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.apply(accountNumber, amount.negate(), true);
+        }
+        Optional<BigDecimal> newBalance = transactionTemplate.execute(status -> hotAccountBalances.isHot(accountNumber)
+                ? hotAccountBalances.debitIfSufficient(accountNumber, amount)
+                : accountBalanceRepository.debitBalanceIfSufficient(accountNumber, amount));
+        return newBalance
+                .orElseThrow(() -> insufficientFunds(accountNumber, amount, getBalance(accountNumber)));
+    }
+
+    /**
+     * Moves the amount between two accounts. Both balance rows are locked with one
+     * SELECT ... FOR UPDATE in ascending account order, so opposite transfers between the same
+     * accounts queue behind each other instead of deadlocking. Transfers touching a hot account
+     * are a debit and a credit on its slots instead. With the ledger enabled, both legs are
+     * written by the ledger in this transaction.
+     */
     @Transactional
-    public void updateAccountBalance(Long accountNumber, BigDecimal amount) {
-        AccountBalance accountBalance = accountBalanceRepository.findById(accountNumber)
-                .orElse(accountBalanceMapper.createAccountBalance(accountNumber, BigDecimal.ZERO));
+    public TransferBalances transfer(Long fromAccountNumber, Long toAccountNumber, BigDecimal amount) {
+        if (ledgerEngine.isEnabled()) {
+            Map<Long, BigDecimal> balances = ledgerEngine.transfer(fromAccountNumber, toAccountNumber, amount);
+            return new TransferBalances(balances.get(fromAccountNumber), balances.get(toAccountNumber));
+        }
+        if (hotAccountBalances.isHot(fromAccountNumber) || hotAccountBalances.isHot(toAccountNumber)) {
+            return new TransferBalances(debit(fromAccountNumber, amount), credit(toAccountNumber, amount));
+        }
+        Map<Long, AccountBalance> locked = lockBalances(fromAccountNumber, toAccountNumber);
+        if (!locked.containsKey(toAccountNumber)) {
+            // First money into this account: create its row, then lock it. The source row is
+            // already held, which is safe because no one else can be holding a row that did not exist.
+            accountBalanceRepository.createIfMissing(toAccountNumber);
+            locked.putAll(lockBalances(toAccountNumber));
+        }
+
+        AccountBalance from = locked.get(fromAccountNumber);
+        BigDecimal available = from == null ? BigDecimal.ZERO : from.getBalance();
+        if (available.compareTo(amount) < 0) {
+            throw insufficientFunds(fromAccountNumber, amount, available);
+        }
+        AccountBalance to = Objects.requireNonNull(locked.get(toAccountNumber));
+        from.setBalance(from.getBalance().subtract(amount));
+        to.setBalance(to.getBalance().add(amount));
+        return new TransferBalances(from.getBalance(), to.getBalance());
+    }
+
+    /**
+     * Applies signed amounts (credits positive, debits negative) to each account in list order.
+     * A debit that would overdraw the account is skipped and leaves a {@code null} in its slot of
+     * the returned list; every other slot holds the balance right after that amount was applied.
+     * Balance rows are locked up front and each account is then written once with its net change;
+     * hot accounts take their amounts one at a time on their slots.
+     */
+    @Transactional
+    public Map<Long, List<BigDecimal>> applyBatch(Map<Long, List<BigDecimal>> deltasByAccount) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.applyAll(deltasByAccount);
+        }
+        List<Long> regularAccounts = deltasByAccount.keySet().stream()
+                .filter(accountNumber -> !hotAccountBalances.isHot(accountNumber))
+                .toList();
+        Map<Long, BigDecimal> currentBalances = new HashMap<>();
+        if (!regularAccounts.isEmpty()) {
+            accountBalanceRepository.findAllForUpdate(regularAccounts)
+                    .forEach(accountBalance -> currentBalances.put(accountBalance.getAccountNumber(), accountBalance.getBalance()));
+        }
 
-        accountBalance.setBalance(accountBalance.getBalance().add(amount));
-        accountBalance.setLastUpdated(Instant.now());
+        Map<Long, List<BigDecimal>> results = new LinkedHashMap<>();
+        deltasByAccount.forEach((accountNumber, deltas) -> {
+            if (hotAccountBalances.isHot(accountNumber)) {
+                results.put(accountNumber, applyToHotAccount(accountNumber, deltas));
+                return;
+            }
+            BigDecimal balance = currentBalances.getOrDefault(accountNumber, BigDecimal.ZERO);
+            BigDecimal netChange = BigDecimal.ZERO;
+            List<BigDecimal> balances = new ArrayList<>(deltas.size());
+            for (BigDecimal delta : deltas) {
+                BigDecimal next = balance.add(delta);
+                if (delta.signum() < 0 && next.signum() < 0) {
+                    balances.add(null);
+                    continue;
+                }
+                balance = next;
+                netChange = netChange.add(delta);
+                balances.add(balance);
+            }
+            if (netChange.signum() != 0) {
+                accountBalanceRepository.creditBalance(accountNumber, netChange);
+            }
+            results.put(accountNumber, balances);
+        });
+        return results;
+    }
 
-        accountBalanceRepository.save(accountBalance);
+    @Transactional
+    public void updateAccountBalance(Long accountNumber, BigDecimal amount) {
+        accountBalanceRepository.creditBalance(accountNumber, amount);
     }
 
     @Transactional(readOnly = true)
     public void validateSufficientFunds(Long accountNumber, BigDecimal amount) {
         BigDecimal currentBalance = getBalance(accountNumber);
         if (currentBalance.compareTo(amount) < 0) {
-            log.warn("Insufficient funds for account {}: required={}, available={}",
-                    accountNumber, amount, currentBalance);
-            throw new InsufficientFundsException("Insufficient balance. Required: " + amount + ", Available: " + currentBalance);
+            throw insufficientFunds(accountNumber, amount, currentBalance);
         }
     }
 
     public BigDecimal getBalance(Long accountNumber) {
-        return accountBalanceRepository.findById(accountNumber)
+        return findAccountBalance(accountNumber)
                 .map(AccountBalance::getBalance)
                 .orElse(BigDecimal.ZERO);
     }
+
+    /**
+     * The account's balance as kept by whichever store the ledger writes to; empty if the
+     * account has never had a balance change.
+     */
+    public Optional<AccountBalance> findAccountBalance(Long accountNumber) {
+        if (ledgerEngine.isEnabled()) {
+            return ledgerEngine.findBalance(accountNumber);
+        }
+        if (hotAccountBalances.isHot(accountNumber)) {
+            return hotAccountBalances.find(accountNumber);
+        }
+        return accountBalanceRepository.findById(accountNumber);
+    }
+
+    private Map<Long, AccountBalance> lockBalances(Long... accountNumbers) {
+        long start = System.nanoTime();
+        try {
+            Map<Long, AccountBalance> locked = new HashMap<>();
+            accountBalanceRepository.findAllForUpdate(List.of(accountNumbers))
+                    .forEach(accountBalance -> locked.put(accountBalance.getAccountNumber(), accountBalance));
+            return locked;
+        } catch (PessimisticLockingFailureException e) {
+            transferLockFailures.increment();
+            throw e;
+        } finally {
+            transferLockWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private List<BigDecimal> applyToHotAccount(Long accountNumber, List<BigDecimal> deltas) {
+        List<BigDecimal> balances = new ArrayList<>(deltas.size());
+        for (BigDecimal delta : deltas) {
+            balances.add(delta.signum() < 0
+                    ? hotAccountBalances.debitIfSufficient(accountNumber, delta.negate()).orElse(null)
+                    : hotAccountBalances.credit(accountNumber, delta));
+        }
+        return balances;
+    }
+
+    private InsufficientFundsException insufficientFunds(Long accountNumber, BigDecimal amount, BigDecimal currentBalance) {
+        log.warn("Insufficient funds for account {}: required={}, available={}",
+                accountNumber, amount, currentBalance);
+        return new InsufficientFundsException("Insufficient balance. Required: " + amount + ", Available: " + currentBalance);
+    }
+
+    public record TransferBalances(BigDecimal fromBalance, BigDecimal toBalance) {
+    }
 }
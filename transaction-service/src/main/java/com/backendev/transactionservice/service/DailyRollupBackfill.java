@@ -0,0 +1,73 @@
+package com.backendev.transactionservice.service;
+
+import com.backendev.transactionservice.repository.DailyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Fills {@code daily_rollups} for transactions created before {@link DailyRollupRecorder} was
+ * deployed. {@code transaction.summary.backfill.before} is set to that cut-over instant: the
+ * recorder counts everything created from then on, and the backfill recomputes everything created
+ * before it from the transactions table, one UTC day per database transaction. Its totals go to a
+ * stripe of their own and are overwritten rather than added to, so a backfill that stopped halfway
+ * can simply be run again.
+ *
+ * <p>Runs once at startup when {@code transaction.summary.backfill.before} is set. Transactions
+ * already moved to cold segments are not in the table and are not counted.
+ */
+@Slf4j
+@Component
+public class DailyRollupBackfill implements ApplicationRunner {
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.summary.backfill.before:}")
+    private String before;
+
+    public DailyRollupBackfill(DailyRollupRepository dailyRollupRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!before.isBlank()) {
+            backfill(Instant.parse(before));
+        }
+    }
+
+    /**
+     * Recomputes the backfilled rollups of every day up to {@code cutover} and returns how many
+     * rows were written.
+     */
+    public long backfill(Instant cutover) {
+        Optional<Instant> first = dailyRollupRepository.findFirstTransactionBefore(cutover);
+        if (first.isEmpty()) {
+            log.info("No transactions before {} to backfill rollups from", cutover);
+            return 0;
+        }
+        long rows = 0;
+        Instant from = first.get().atZone(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).toInstant();
+        while (from.isBefore(cutover)) {
+            Instant dayStart = from;
+            Instant dayEnd = from.plus(1, ChronoUnit.DAYS).isBefore(cutover) ? from.plus(1, ChronoUnit.DAYS) : cutover;
+            Integer written = transactionTemplate.execute(status -> dailyRollupRepository.backfill(dayStart, dayEnd));
+            rows += written == null ? 0 : written;
+            from = dayEnd;
+        }
+        log.info("Backfilled {} rollup rows for transactions before {}", rows, cutover);
+        return rows;
+    }
+}
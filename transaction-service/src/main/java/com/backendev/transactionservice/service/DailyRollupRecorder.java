@@ -0,0 +1,98 @@
+package com.backendev.transactionservice.service;
+
+import com.backendev.transactionservice.entity.DailyRollupId;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.hotaccount.HotAccountBalances;
+import com.backendev.transactionservice.repository.DailyRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps {@code daily_rollups} up to date as transactions complete, in the same database
+ * transaction, so the rollups never count a transaction that rolled back. Only COMPLETED
+ * transactions are counted.
+ *
+ * <p>Every transaction of an account updates the same row for the day, which would serialize the
+ * completions of a hot account on that row lock. Hot accounts therefore write to a random one of
+ * {@code transaction.hot-accounts.slots} stripes per call, like their balances do.
+ */
+@Component
+public class DailyRollupRecorder {
+
+    // Rows are upserted in key order so concurrent batches cannot deadlock on each other
+    private static final Comparator<DailyRollupId> KEY_ORDER = Comparator
+            .comparing(DailyRollupId::getAccountNumber)
+            .thenComparing(DailyRollupId::getRollupDate)
+            .thenComparing(DailyRollupId::getTransactionType)
+            .thenComparing(DailyRollupId::getStripe);
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final HotAccountBalances hotAccountBalances;
+    private final int stripes;
+
+    public DailyRollupRecorder(DailyRollupRepository dailyRollupRepository,
+                               HotAccountBalances hotAccountBalances,
+                               @Value("${transaction.hot-accounts.slots:8}") int stripes) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.hotAccountBalances = hotAccountBalances;
+        this.stripes = stripes;
+    }
+
+    @Transactional
+    public void record(Transaction transaction) {
+        recordAll(List.of(transaction));
+    }
+
+    /**
+     * Folds the transactions into one change per rollup row before writing, so a batch of
+     * deposits to one account costs one statement.
+     */
+    @Transactional
+    public void recordAll(List<Transaction> transactions) {
+        Map<DailyRollupId, Change> changes = new TreeMap<>(KEY_ORDER);
+        int hotStripe = ThreadLocalRandom.current().nextInt(stripes);
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() != TransactionStatus.COMPLETED) {
+                continue;
+            }
+            LocalDate day = LocalDate.ofInstant(transaction.getCreatedAt(), ZoneOffset.UTC);
+            TransactionType type = transaction.getType();
+            BigDecimal amount = transaction.getAmount();
+            switch (type) {
+                case DEPOSIT -> add(changes, transaction.getFromAccountNumber(), day, type, hotStripe, amount, BigDecimal.ZERO);
+                case WITHDRAWAL -> add(changes, transaction.getFromAccountNumber(), day, type, hotStripe, BigDecimal.ZERO, amount);
+                case TRANSFER -> {
+                    add(changes, transaction.getFromAccountNumber(), day, type, hotStripe, BigDecimal.ZERO, amount);
+                    add(changes, transaction.getToAccountNumber(), day, type, hotStripe, amount, BigDecimal.ZERO);
+                }
+            }
+        }
+        changes.forEach((id, change) -> dailyRollupRepository.addToRollup(id.getAccountNumber(), id.getRollupDate(),
+                id.getTransactionType().name(), id.getStripe(), change.count(), change.amountIn(), change.amountOut()));
+    }
+
+    private void add(Map<DailyRollupId, Change> changes, Long accountNumber, LocalDate day, TransactionType type,
+                     int hotStripe, BigDecimal amountIn, BigDecimal amountOut) {
+        int stripe = hotAccountBalances.isHot(accountNumber) ? hotStripe : 0;
+        changes.merge(new DailyRollupId(accountNumber, day, type, stripe), new Change(1, amountIn, amountOut), Change::plus);
+    }
+
+    private record Change(long count, BigDecimal amountIn, BigDecimal amountOut) {
+
+        Change plus(Change other) {
+            return new Change(count + other.count, amountIn.add(other.amountIn), amountOut.add(other.amountOut));
+        }
+    }
+}
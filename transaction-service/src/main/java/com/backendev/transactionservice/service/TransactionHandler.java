@@ -1,19 +1,30 @@
 package com.backendev.transactionservice.service;
 
+import com.backendev.transactionservice.dto.BatchItemResult;
+import com.backendev.transactionservice.dto.BatchTransactionItem;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
 import com.backendev.transactionservice.dto.TransferRequest;
 import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
 import com.backendev.transactionservice.exception.InvalidAccountException;
 import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.groupcommit.GroupCommitWriter;
+import com.backendev.transactionservice.ledger.Journal;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 @Slf4j
@@ -24,18 +35,35 @@ public class TransactionHandler {
     private final TransactionProcessor transactionProcessor;
     private final AccountService accountService;
     private final BalanceManager balanceManager;
+    private final Journal journal;
+    private final GroupCommitWriter groupCommitWriter;
 
     public TransactionResponse processTransaction(TransactionRequest request,
                                                    TransactionType type,
                                                    BalanceOperation operation) {
+        return processTransaction(request, type, operation, response -> { });
+    }
+
+    public TransactionResponse processTransaction(TransactionRequest request,
+                                                   TransactionType type,
+                                                   BalanceOperation operation,
+                                                   Consumer<TransactionResponse> onCompleted) {
         String currentUserId = securityService.getCurrentUserId();
         accountService.validateAccountAndOwnership(request.getAccountNumber(), currentUserId);
+        return recordTransaction(request, type, operation, onCompleted);
+    }
 
+    /**
+     * Records a transaction whose account has already been validated by the caller.
+     */
+    public TransactionResponse recordTransaction(TransactionRequest request,
+                                                 TransactionType type,
+                                                 BalanceOperation operation,
+                                                 Consumer<TransactionResponse> onCompleted) {
         Transaction transaction = transactionProcessor.createAndSaveTransaction(request, type);
 
-
         BigDecimal newBalance = operation.processBalanceChange();
-        TransactionResponse response = transactionProcessor.completeTransaction(transaction, newBalance);
+        TransactionResponse response = transactionProcessor.completeTransaction(transaction, newBalance, onCompleted);
 
         //Sync after transaction commits
         transactionProcessor.syncBalanceToAccountService(request.getAccountNumber(), newBalance);
@@ -43,18 +71,39 @@ public class TransactionHandler {
         return response;
     }
 
+    /**
+     * Validates the deposit here, then has the group-commit writer record it together with other
+     * deposits arriving at the same time. Returns once the group has committed.
+     */
+    public TransactionResponse processGroupCommitDeposit(TransactionRequest request,
+                                                         Consumer<TransactionResponse> onCompleted) {
+        String currentUserId = securityService.getCurrentUserId();
+        accountService.validateAccountAndOwnership(request.getAccountNumber(), currentUserId);
+
+        TransactionResponse response = groupCommitWriter.deposit(request, onCompleted);
+
+        transactionProcessor.syncBalanceToAccountService(request.getAccountNumber(), response.getAccountBalance());
+        return response;
+    }
+
     @Transactional(rollbackFor = Exception.class)
     public TransactionResponse processTransferTransaction(TransferRequest request) {
-        Transaction transaction = transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER);
+        return processTransferTransaction(request, response -> { });
+    }
 
-        balanceManager.validateSufficientFunds(request.getFromAccountNumber(), request.getAmount());
-        balanceManager.updateAccountBalance(request.getFromAccountNumber(), request.getAmount().negate());
-        balanceManager.updateAccountBalance(request.getToAccountNumber(), request.getAmount());
+    @Transactional(rollbackFor = Exception.class)
+    public TransactionResponse processTransferTransaction(TransferRequest request,
+                                                          Consumer<TransactionResponse> onCompleted) {
+        Transaction transaction = transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER);
 
-        BigDecimal fromBalance = balanceManager.getBalance(request.getFromAccountNumber());
-        BigDecimal toBalance = balanceManager.getBalance(request.getToAccountNumber());
+        BalanceManager.TransferBalances balances = balanceManager.transfer(
+                request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount());
+        BigDecimal fromBalance = balances.fromBalance();
+        BigDecimal toBalance = balances.toBalance();
+        journal.postTransfer(transaction.getTransactionId(), request.getFromAccountNumber(), fromBalance,
+                request.getToAccountNumber(), toBalance, request.getAmount());
 
-        TransactionResponse response = transactionProcessor.completeTransaction(transaction, fromBalance);
+        TransactionResponse response = transactionProcessor.completeTransaction(transaction, fromBalance, onCompleted);
 
         // Sync both accounts after transaction commits
         transactionProcessor.syncBalanceToAccountService(request.getFromAccountNumber(), fromBalance);
@@ -63,6 +112,63 @@ public class TransactionHandler {
         return response;
     }
 
+    /**
+     * Applies a batch of deposits and withdrawals in one database transaction. Items for accounts
+     * in {@code rejectedAccounts} fail without being recorded; overdrawing withdrawals are recorded
+     * as FAILED. Results come back in item order.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<BatchItemResult> processBatch(List<BatchTransactionItem> items, Map<Long, String> rejectedAccounts) {
+        Map<Long, List<BigDecimal>> deltasByAccount = new LinkedHashMap<>();
+        for (BatchTransactionItem item : items) {
+            if (!rejectedAccounts.containsKey(item.getAccountNumber())) {
+                BigDecimal delta = item.getType() == TransactionType.WITHDRAWAL ? item.getAmount().negate() : item.getAmount();
+                deltasByAccount.computeIfAbsent(item.getAccountNumber(), key -> new ArrayList<>()).add(delta);
+            }
+        }
+        Map<Long, List<BigDecimal>> balancesByAccount = balanceManager.applyBatch(deltasByAccount);
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<Transaction> transactions = new ArrayList<>(items.size());
+        Map<Long, Integer> positions = new HashMap<>();
+        Map<Long, BigDecimal> finalBalances = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransactionItem item = items.get(i);
+            Long accountNumber = item.getAccountNumber();
+            BatchItemResult.BatchItemResultBuilder result = BatchItemResult.builder()
+                    .index(i)
+                    .accountNumber(accountNumber)
+                    .type(item.getType())
+                    .amount(item.getAmount());
+
+            String rejection = rejectedAccounts.get(accountNumber);
+            if (rejection != null) {
+                results.add(result.status(TransactionStatus.FAILED).error(rejection).build());
+                continue;
+            }
+
+            int position = positions.merge(accountNumber, 1, Integer::sum) - 1;
+            BigDecimal balance = balancesByAccount.get(accountNumber).get(position);
+            TransactionStatus status = balance != null ? TransactionStatus.COMPLETED : TransactionStatus.FAILED;
+            Transaction transaction = transactionProcessor.createBatchTransaction(item, status);
+            transactions.add(transaction);
+            if (balance != null) {
+                finalBalances.put(accountNumber, balance);
+            }
+
+            results.add(result.transactionId(transaction.getTransactionId())
+                    .status(status)
+                    .accountBalance(balance)
+                    .error(balance == null ? "Insufficient balance" : null)
+                    .build());
+        }
+        transactionProcessor.saveBatchTransactions(transactions);
+
+        // Sync every touched account after the batch commits
+        finalBalances.forEach(transactionProcessor::syncBalanceToAccountService);
+        return results;
+    }
+
     @FunctionalInterface
     public interface BalanceOperation {
         BigDecimal processBalanceChange() throws InsufficientFundsException, InvalidAccountException, TransactionProcessingException;
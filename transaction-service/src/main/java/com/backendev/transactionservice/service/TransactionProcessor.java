@@ -1,5 +1,6 @@
 package com.backendev.transactionservice.service;
 
+import com.backendev.transactionservice.dto.BatchTransactionItem;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
 import com.backendev.transactionservice.dto.TransferRequest;
@@ -7,8 +8,10 @@ import com.backendev.transactionservice.entity.Transaction;
 import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.id.TransactionIdGenerator;
 import com.backendev.transactionservice.mapper.TransactionMapper;
 import com.backendev.transactionservice.repository.TransactionRepository;
+import com.backendev.transactionservice.sync.BalanceSyncQueue;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -16,50 +19,98 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.Random;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 @Slf4j
 @AllArgsConstructor
 public class TransactionProcessor {
 
-    private static final Random random = new Random();
-
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
-    private final AccountService accountService;
+    private final BalanceSyncQueue balanceSyncQueue;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final DailyRollupRecorder dailyRollupRecorder;
 
     @Transactional(rollbackFor = Exception.class)
     public Transaction createAndSaveTransaction(Object request, TransactionType type) {
         Transaction transaction = mapRequestToTransaction(request, type);
-        transaction.setTransactionId(generateTransactionId());
+        transaction.setTransactionId(transactionIdGenerator.nextId());
         transaction.setStatus(TransactionStatus.PENDING);
-        transaction.setCreatedAt(Instant.now());
-        return transactionRepository.save(transaction);
+        // Postgres keeps microseconds; truncating keeps (id, created_at) lookups exact
+        transaction.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        // A plain insert: save would first look the new id up, in every monthly partition
+        transactionRepository.persistAll(List.of(transaction));
+        return transaction;
+    }
+
+    /**
+     * Builds a batch transaction that already carries its final status, so it is inserted once
+     * and never updated.
+     */
+    public Transaction createBatchTransaction(BatchTransactionItem item, TransactionStatus status) {
+        Transaction transaction = transactionMapper.fromBatchItem(item);
+        transaction.setTransactionId(transactionIdGenerator.nextId());
+        transaction.setStatus(status);
+        transaction.setUpdatedAt(transaction.getCreatedAt());
+        return transaction;
+    }
+
+    /**
+     * Builds a deposit or withdrawal that is recorded already COMPLETED, for callers that insert
+     * it together with its balance change.
+     */
+    public Transaction createCompletedTransaction(TransactionRequest request, TransactionType type) {
+        Transaction transaction = mapRequestToTransaction(request, type);
+        transaction.setTransactionId(transactionIdGenerator.nextId());
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setUpdatedAt(transaction.getCreatedAt());
+        return transaction;
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public void saveBatchTransactions(List<Transaction> transactions) {
+        transactionRepository.persistAll(transactions);
+        dailyRollupRecorder.recordAll(transactions);
     }
 
     @Transactional(rollbackFor = Exception.class)
     public TransactionResponse completeTransaction(Transaction transaction, BigDecimal newBalance) {
+        return completeTransaction(transaction, newBalance, response -> { });
+    }
+
+    /**
+     * Marks the transaction completed, adds it to the daily rollups and runs {@code onCompleted}
+     * in the same database transaction, so anything it writes (such as outbox events) commits or
+     * rolls back with it.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public TransactionResponse completeTransaction(Transaction transaction, BigDecimal newBalance,
+                                                   Consumer<TransactionResponse> onCompleted) {
         transaction.setStatus(TransactionStatus.COMPLETED);
         transaction.setUpdatedAt(Instant.now());
-        transaction = transactionRepository.save(transaction);
-        return transactionMapper.toResponseWithBalance(transaction, newBalance);
+        transactionRepository.updateStatus(transaction);
+        dailyRollupRecorder.record(transaction);
+        TransactionResponse response = transactionMapper.toResponseWithBalance(transaction, newBalance);
+        onCompleted.accept(response);
+        return response;
     }
 
+    /**
+     * Queues the balance for a background push to account-service; the request thread
+     * no longer waits on the remote call.
+     */
     public void syncBalanceToAccountService(Long accountNumber, BigDecimal balance) {
-        try {
-            log.info("Syncing balance for account {}: {}", accountNumber, balance);
-            accountService.syncBalanceWithAccountService(accountNumber, balance);
-            log.info("Successfully synced balance for account {}", accountNumber);
-        } catch (Exception e) {
-            log.error("Failed to sync balance for account {} Balance: {}",
-                    accountNumber, balance, e);
-        }
+        log.debug("Queueing balance sync for account {}: {}", accountNumber, balance);
+        balanceSyncQueue.enqueue(accountNumber, balance);
     }
+
     public void failTransaction(Transaction transaction, String errorMessage, Exception cause) {
         transaction.setStatus(TransactionStatus.FAILED);
         transaction.setUpdatedAt(Instant.now());
-        transactionRepository.save(transaction);
+        transactionRepository.updateStatus(transaction);
 
         log.error("Transaction {} failed: {}", transaction.getTransactionId(), cause.getMessage(), cause);
         throw new TransactionProcessingException(errorMessage, cause);
@@ -72,9 +123,4 @@ public class TransactionProcessor {
             case TRANSFER -> transactionMapper.fromTransferRequest((TransferRequest) request);
         };
     }
-
-    private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() +
-                String.format("%04d", random.nextInt(10000));
-    }
 }
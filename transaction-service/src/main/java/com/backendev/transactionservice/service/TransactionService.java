@@ -1,82 +1,228 @@
 package com.backendev.transactionservice.service;
 
+import com.backendev.transactionservice.archive.ColdSegmentStore;
 import com.backendev.transactionservice.dto.AccountBalanceInfo;
+import com.backendev.transactionservice.dto.BatchItemResult;
+import com.backendev.transactionservice.dto.BatchTransactionItem;
+import com.backendev.transactionservice.dto.BatchTransactionRequest;
+import com.backendev.transactionservice.dto.BatchTransactionResponse;
+import com.backendev.transactionservice.dto.HistoryCursor;
 import com.backendev.transactionservice.dto.NotificationEvent;
+import com.backendev.transactionservice.dto.TransactionHistoryPage;
 import com.backendev.transactionservice.dto.TransactionInfo;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.dto.TransactionSummary;
+import com.backendev.transactionservice.dto.TransactionTypeTotals;
 import com.backendev.transactionservice.dto.TransferRequest;
 import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.StatementFormat;
+import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.InvalidAccountException;
+import com.backendev.transactionservice.exception.InvalidDateRangeException;
+import com.backendev.transactionservice.exception.InvalidIdempotencyKeyException;
+import com.backendev.transactionservice.export.StatementExporter;
+import com.backendev.transactionservice.groupcommit.GroupCommitWriter;
+import com.backendev.transactionservice.idempotency.IdempotencyStore;
 import com.backendev.transactionservice.mapper.AccountBalanceMapper;
 import com.backendev.transactionservice.mapper.TransactionMapper;
 import com.backendev.transactionservice.messaging.TransactionEventPublisher;
-import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import com.backendev.transactionservice.preflight.PreflightRunner;
+import com.backendev.transactionservice.repository.DailyRollupRepository;
 import com.backendev.transactionservice.repository.TransactionRepository;
 import jakarta.validation.Valid;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class TransactionService {
 
+    private static final List<String> ALL_TYPES = Arrays.stream(TransactionType.values())
+            .map(Enum::name)
+            .toList();
+
     private final AccountService accountService;
     private final BalanceManager balanceManager;
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
-    private final AccountBalanceRepository accountBalanceRepository;
     private final AccountBalanceMapper accountBalanceMapper;
     private final TransactionHandler transactionHandler;
     private final TransactionEventPublisher eventPublisher;
     private final SecurityService securityService;
+    private final StatementExporter statementExporter;
+    private final IdempotencyStore idempotencyStore;
+    private final PreflightRunner preflightRunner;
+    private final DailyRollupRepository dailyRollupRepository;
+    private final GroupCommitWriter groupCommitWriter;
+    private final ColdSegmentStore coldSegmentStore;
+
+    @Value("${transaction.history.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${transaction.history.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${transaction.history.recent-months:2}")
+    private int historyRecentMonths;
+
+    @Value("${transaction.summary.max-days:366}")
+    private long maxSummaryDays;
+
+    /**
+     * Deposits with an optional Idempotency-Key. Keyed deposits are rejected while the ledger or
+     * group commit is enabled: those commit the balance change on another thread, outside the
+     * transaction that stores the key's response.
+     */
+    public TransactionResponse deposit(TransactionRequest request, String idempotencyKey) {
+        if (isBlank(idempotencyKey)) {
+            return deposit(request);
+        }
+        rejectKeyIf(groupCommitWriter.isEnabled() || balanceManager.isLedgerEnabled(), "deposits");
+        String userId = securityService.getCurrentUserId();
+        String userEmail = securityService.getCurrentUserEmail();
+        return idempotencyStore.execute(userId, idempotencyKey, "deposit", request, TransactionResponse.class,
+                () -> accountService.validateAccountAndOwnership(request.getAccountNumber(), userId),
+                () -> transactionHandler.recordTransaction(request, TransactionType.DEPOSIT,
+                        () -> balanceManager.credit(request.getAccountNumber(), request.getAmount()),
+                        depositNotification(userId, userEmail)));
+    }
+
+    /**
+     * Withdraws with an optional Idempotency-Key. Keyed withdrawals are rejected while the ledger
+     * is enabled, for the same reason as keyed deposits.
+     */
+    public TransactionResponse withdraw(TransactionRequest request, String idempotencyKey) {
+        if (isBlank(idempotencyKey)) {
+            return withdraw(request);
+        }
+        rejectKeyIf(balanceManager.isLedgerEnabled(), "withdrawals");
+        String userId = securityService.getCurrentUserId();
+        String userEmail = securityService.getCurrentUserEmail();
+        return idempotencyStore.execute(userId, idempotencyKey, "withdraw", request, TransactionResponse.class,
+                () -> accountService.validateAccountAndOwnership(request.getAccountNumber(), userId),
+                () -> transactionHandler.recordTransaction(request, TransactionType.WITHDRAWAL,
+                        () -> balanceManager.debit(request.getAccountNumber(), request.getAmount()),
+                        withdrawalNotification(userId, userEmail)));
+    }
+
+    public TransactionResponse transfer(TransferRequest request, String idempotencyKey) {
+        String userId = securityService.getCurrentUserId();
+        String userEmail = securityService.getCurrentUserEmail();
+        return idempotencyStore.execute(userId, idempotencyKey, "transfer", request, TransactionResponse.class,
+                () -> transferPreflight(request, userId),
+                () -> transactionHandler.processTransferTransaction(request, transferNotification(userId, userEmail)));
+    }
 
     public TransactionResponse deposit(@Valid TransactionRequest request) {
         String userId = securityService.getCurrentUserId();
         String userEmail = securityService.getCurrentUserEmail();
-        TransactionResponse transactionResponse = transactionHandler.processTransaction(request, TransactionType.DEPOSIT,
-                () -> {
-                    balanceManager.updateAccountBalance(request.getAccountNumber(), request.getAmount());
-                    return balanceManager.getBalance(request.getAccountNumber());
-                });
-        publishNotificationEvent("TRANSACTION_DEPOSITED", transactionResponse, userId, userEmail, "Transaction Alert - Deposit", "Your account has been debited with $");
-        return transactionResponse;
+        Consumer<TransactionResponse> notify = depositNotification(userId, userEmail);
+        if (groupCommitWriter.isEnabled()) {
+            return transactionHandler.processGroupCommitDeposit(request, notify);
+        }
+        return transactionHandler.processTransaction(request, TransactionType.DEPOSIT,
+                () -> balanceManager.credit(request.getAccountNumber(), request.getAmount()),
+                notify);
     }
 
     public TransactionResponse withdraw(TransactionRequest request) {
         String userId = securityService.getCurrentUserId();
         String userEmail = securityService.getCurrentUserEmail();
-        TransactionResponse transactionResponse = transactionHandler.processTransaction(request, TransactionType.WITHDRAWAL, () -> {
-            balanceManager.validateSufficientFunds(request.getAccountNumber(), request.getAmount());
-            balanceManager.updateAccountBalance(request.getAccountNumber(), request.getAmount().negate());
-            return balanceManager.getBalance(request.getAccountNumber());
-        });
-        publishNotificationEvent("TRANSACTION_WITHDRAWAL", transactionResponse, userId, userEmail, "Transaction Alert - Withdrawal", "Your account has been credited with $");
-        return transactionResponse;
+        return transactionHandler.processTransaction(request, TransactionType.WITHDRAWAL,
+                () -> balanceManager.debit(request.getAccountNumber(), request.getAmount()),
+                withdrawalNotification(userId, userEmail));
     }
 
     public TransactionResponse transfer(TransferRequest request) {
         String userId = securityService.getCurrentUserId();
         String userEmail = securityService.getCurrentUserEmail();
-        accountService.validateTransferAccounts(request.getFromAccountNumber(), request.getToAccountNumber(), userId);
-        TransactionResponse transactionResponse = transactionHandler.processTransferTransaction(request);
-        publishNotificationEvent("TRANSACTION_TRANSFER", transactionResponse, userId, userEmail, "Transaction Alert - Transfer", "Your account has been credited with $");
+        transferPreflight(request, userId);
+        return transactionHandler.processTransferTransaction(request, transferNotification(userId, userEmail));
+    }
+
+    private void transferPreflight(TransferRequest request, String userId) {
+        // The remote account check and the local balance read are independent; run them together.
+        // The funds check only fails fast here, the authoritative one happens under the row locks.
+        preflightRunner.run("transfer", Map.of(
+                "accounts", () -> accountService.validateTransferAccounts(request.getFromAccountNumber(), request.getToAccountNumber(), userId),
+                "funds", () -> balanceManager.validateSufficientFunds(request.getFromAccountNumber(), request.getAmount())));
+    }
 
-        return transactionResponse;
+    private Consumer<TransactionResponse> depositNotification(String userId, String userEmail) {
+        return response -> publishNotificationEvent("TRANSACTION_DEPOSITED", response, userId, userEmail, "Transaction Alert - Deposit", "Your account has been debited with $");
+    }
+
+    private Consumer<TransactionResponse> withdrawalNotification(String userId, String userEmail) {
+        return response -> publishNotificationEvent("TRANSACTION_WITHDRAWAL", response, userId, userEmail, "Transaction Alert - Withdrawal", "Your account has been credited with $");
+    }
+
+    private Consumer<TransactionResponse> transferNotification(String userId, String userEmail) {
+        return response -> publishNotificationEvent("TRANSACTION_TRANSFER", response, userId, userEmail, "Transaction Alert - Transfer", "Your account has been credited with $");
+    }
+
+    private static boolean isBlank(String idempotencyKey) {
+        return idempotencyKey == null || idempotencyKey.isBlank();
+    }
+
+    private static void rejectKeyIf(boolean committedOffThread, String operation) {
+        if (committedOffThread) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key is not supported for " + operation + " while the ledger or group commit is enabled");
+        }
+    }
+
+    /**
+     * Processes a settlement batch. Each distinct account is validated once up front, outside the
+     * database transaction; items for accounts that fail validation are reported, not thrown.
+     */
+    public BatchTransactionResponse submitBatch(BatchTransactionRequest request) {
+        String userId = securityService.getCurrentUserId();
+        List<BatchTransactionItem> items = request.getItems();
+        Map<Long, String> rejectedAccounts = validateBatchAccounts(items, userId);
+
+        List<BatchItemResult> results = transactionHandler.processBatch(items, rejectedAccounts);
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() == TransactionStatus.COMPLETED)
+                .count();
+        log.info("Processed batch of {} items for user {}: {} succeeded", results.size(), userId, succeeded);
+        return new BatchTransactionResponse(results.size(), succeeded, results.size() - succeeded, results);
     }
 
     @Transactional(readOnly = true)
     public List<TransactionInfo> fetchTransactionsByAccount(Long accountNumber) {
         log.debug("Fetching transactions for account: {}", accountNumber);
 
-        List<Transaction> transactions = transactionRepository.findAllByFromAccountNumberOrderByCreatedAtDesc(accountNumber);
+        List<Transaction> transactions = new ArrayList<>(
+                transactionRepository.findAllByFromAccountNumberOrderByCreatedAtDesc(accountNumber));
+        transactions.removeIf(transaction -> coldSegmentStore.isArchived(transaction.getCreatedAt()));
+        coldSegmentStore.findHistory(accountNumber, ALL_TYPES, Instant.EPOCH, HistoryCursor.START.getCreatedAt(),
+                        HistoryCursor.START, Integer.MAX_VALUE).stream()
+                .filter(transaction -> accountNumber.equals(transaction.getFromAccountNumber()))
+                .forEach(transactions::add);
 
         if (transactions.isEmpty()) {
             throw new InvalidAccountException("Account number does not exists: " + accountNumber);
@@ -85,16 +231,132 @@ public class TransactionService {
         return transactionMapper.toTransactionInfoList(transactions);
     }
 
+    /**
+     * Returns one page of the account's history, newest first, including incoming transfers.
+     * Pass the previous page's {@code nextCursor} to continue; filters must stay the same
+     * between pages.
+     */
+    @Transactional(readOnly = true)
+    public TransactionHistoryPage fetchTransactionHistory(Long accountNumber, String cursor, Integer limit,
+                                                          Set<TransactionType> types, Instant from, Instant to) {
+        HistoryCursor position = HistoryCursor.decode(cursor);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        List<String> typeNames = types == null || types.isEmpty()
+                ? ALL_TYPES
+                : types.stream().map(Enum::name).collect(Collectors.toList());
+
+        // Fetch one extra row to learn whether another page exists
+        List<Transaction> rows = findHistoryRows(accountNumber, typeNames,
+                from != null ? from : Instant.EPOCH,
+                to != null ? to : HistoryCursor.START.getCreatedAt(),
+                position, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Transaction> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getTransactionId()).encode();
+        }
+        log.debug("Fetched {} history rows for account {}", page.size(), accountNumber);
+        return new TransactionHistoryPage(transactionMapper.toTransactionInfoList(page), nextCursor, hasMore);
+    }
+
+    /**
+     * Reads the newest {@code limit} rows in [from, to) below the cursor, starting with the
+     * {@code recent-months} calendar months up to the cursor. A page of an active account is
+     * usually filled there, reading only those months' partitions; only when it is not are the
+     * older months searched as well, and after them the archived months.
+     */
+    private List<Transaction> findHistoryRows(Long accountNumber, List<String> typeNames, Instant from, Instant to,
+                                              HistoryCursor position, int limit) {
+        Instant newest = Collections.min(List.of(to, position.getCreatedAt(), Instant.now()));
+        Instant recentStart = TransactionPartitions.start(
+                TransactionPartitions.monthOf(newest).minusMonths(historyRecentMonths - 1L));
+        if (!recentStart.isAfter(from)) {
+            List<Transaction> rows = new ArrayList<>(transactionRepository.findHistoryPage(accountNumber, typeNames,
+                    from, to, position.getCreatedAt(), position.getTransactionId(), limit));
+            return withArchived(rows, accountNumber, typeNames, from, to, position, limit);
+        }
+        List<Transaction> rows = new ArrayList<>(transactionRepository.findHistoryPage(accountNumber, typeNames,
+                recentStart, to, position.getCreatedAt(), position.getTransactionId(), limit));
+        if (rows.size() < limit) {
+            // Everything older is below the recent rows, so the same cursor still applies
+            rows.addAll(transactionRepository.findHistoryPage(accountNumber, typeNames, from, recentStart,
+                    position.getCreatedAt(), position.getTransactionId(), limit - rows.size()));
+        }
+        return withArchived(rows, accountNumber, typeNames, from, to, position, limit);
+    }
+
+    // Archived months are older than every month still in the database, so their rows go after the database's
+    private List<Transaction> withArchived(List<Transaction> rows, Long accountNumber, List<String> typeNames,
+                                           Instant from, Instant to, HistoryCursor position, int limit) {
+        // A month being archived can briefly be in both places; its segment wins
+        rows.removeIf(transaction -> coldSegmentStore.isArchived(transaction.getCreatedAt()));
+        if (rows.size() < limit) {
+            rows.addAll(coldSegmentStore.findHistory(accountNumber, typeNames, from, to, position, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    /**
+     * Counts and sums the account's completed transactions per type over whole UTC days, from the
+     * first of the current month to today unless given. Reads the daily rollups, never the
+     * transactions themselves.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSummary fetchTransactionSummary(Long accountNumber, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate end = to != null ? to : today;
+        LocalDate start = from != null ? from : end.withDayOfMonth(1);
+        if (start.isAfter(end)) {
+            throw new InvalidDateRangeException("Summary range starts after it ends: " + start + " > " + end);
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxSummaryDays) {
+            throw new InvalidDateRangeException("Summary range cannot exceed " + maxSummaryDays + " days");
+        }
+
+        List<TransactionTypeTotals> totals = dailyRollupRepository.sumByType(accountNumber, start, end).stream()
+                .map(row -> new TransactionTypeTotals(row.getTransactionType(), row.getTransactionCount(),
+                        row.getAmountIn(), row.getAmountOut()))
+                .toList();
+        return new TransactionSummary(accountNumber, start, end, totals);
+    }
+
+    public void exportStatement(Long accountNumber, StatementFormat format, Instant from, Instant to,
+                                OutputStream out) throws IOException {
+        log.debug("Exporting {} statement for account: {}", format, accountNumber);
+        statementExporter.export(accountNumber,
+                from != null ? from : Instant.EPOCH,
+                to != null ? to : HistoryCursor.START.getCreatedAt(),
+                format, out);
+    }
+
     @Transactional(readOnly = true)
     public AccountBalanceInfo fetchAccountBalance(Long accountNumber) {
         log.debug("Fetching account balance for account: {}", accountNumber);
 
-        return accountBalanceRepository.findByAccountNumber(accountNumber)
+        return balanceManager.findAccountBalance(accountNumber)
                 .map(accountBalanceMapper::toAccountBalanceInfo)
                 .orElseThrow(() -> new InvalidAccountException(
                         "Account number does not exist: " + accountNumber));
     }
 
+    private Map<Long, String> validateBatchAccounts(List<BatchTransactionItem> items, String userId) {
+        Map<Long, String> rejectedAccounts = new HashMap<>();
+        items.stream()
+                .map(BatchTransactionItem::getAccountNumber)
+                .distinct()
+                .forEach(accountNumber -> {
+                    try {
+                        accountService.validateAccountAndOwnership(accountNumber, userId);
+                    } catch (InvalidAccountException | SecurityException e) {
+                        rejectedAccounts.put(accountNumber, e.getMessage());
+                    }
+                });
+        return rejectedAccounts;
+    }
+
     private void publishNotificationEvent(String transactionType, TransactionResponse transactionResponse, String userId, String email, String subject, String message) {
         String accountMessage = transactionResponse.getAmount() + ". The account balance is $" + transactionResponse.getAccountBalance();
         NotificationEvent event = NotificationEvent.builder()
@@ -0,0 +1,203 @@
+package com.backendev.transactionservice.sync;
+
+import com.backendev.transactionservice.service.AccountService;
+import com.backendev.transactionservice.service.BalanceManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes balances to account-service in the background. Pending syncs are coalesced per
+ * account, so a burst of updates to one account produces a single PUT carrying whatever
+ * balance is committed when the worker gets to it. Failed syncs are retried with
+ * exponential backoff.
+ */
+@Component
+@Slf4j
+public class BalanceSyncQueue {
+
+    private final AccountService accountService;
+    private final BalanceManager balanceManager;
+    private final ConcurrentMap<Long, PendingSync> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> ready = new LinkedBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter coalesced;
+    private final Counter failures;
+    private final Timer syncLag;
+
+    @Value("${transaction.balance-sync.workers:2}")
+    private int workerCount;
+
+    @Value("${transaction.balance-sync.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${transaction.balance-sync.backoff-ms:200}")
+    private long backoffMillis;
+
+    @Value("${transaction.balance-sync.max-backoff-ms:10000}")
+    private long maxBackoffMillis;
+
+    private ScheduledExecutorService retryScheduler;
+    private Thread[] workers;
+    private volatile boolean running;
+
+    public BalanceSyncQueue(AccountService accountService, BalanceManager balanceManager, MeterRegistry meterRegistry) {
+        this.accountService = accountService;
+        this.balanceManager = balanceManager;
+        this.coalesced = meterRegistry.counter("balance.sync.coalesced");
+        this.failures = meterRegistry.counter("balance.sync.failures");
+        this.syncLag = meterRegistry.timer("balance.sync.lag");
+        Gauge.builder("balance.sync.queue.depth", pending, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-sync-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Thread(this::runWorker, "balance-sync-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Schedules a sync for the account. Inside a transaction the sync is only queued after
+     * commit, so account-service never sees a balance that was rolled back.
+     */
+    public void enqueue(Long accountNumber, BigDecimal balance) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markDirty(accountNumber);
+                }
+            });
+            return;
+        }
+        markDirty(accountNumber);
+    }
+
+    public int depth() {
+        return pending.size();
+    }
+
+    /**
+     * Whether a sync for the account is queued, waiting for a retry or in flight.
+     */
+    public boolean isPending(Long accountNumber) {
+        return pending.containsKey(accountNumber);
+    }
+
+    private void markDirty(Long accountNumber) {
+        long next = sequence.incrementAndGet();
+        boolean[] queued = {false};
+        pending.compute(accountNumber, (key, current) -> {
+            if (current == null) {
+                queued[0] = true;
+                return new PendingSync(next, System.nanoTime(), 0);
+            }
+            return current.withSequence(next);
+        });
+        if (queued[0]) {
+            ready.offer(accountNumber);
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                Long accountNumber = ready.poll(500, TimeUnit.MILLISECONDS);
+                if (accountNumber != null) {
+                    flush(accountNumber);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void flush(Long accountNumber) {
+        PendingSync entry = pending.get(accountNumber);
+        if (entry == null) {
+            return;
+        }
+        try {
+            BigDecimal balance = balanceManager.getBalance(accountNumber);
+            accountService.syncBalanceWithAccountService(accountNumber, balance);
+            // Keep the entry if a newer update arrived while this one was in flight
+            if (pending.remove(accountNumber, entry)) {
+                syncLag.record(Duration.ofNanos(System.nanoTime() - entry.firstQueuedAt()));
+            } else {
+                ready.offer(accountNumber);
+            }
+        } catch (Exception e) {
+            failures.increment();
+            scheduleRetry(accountNumber, entry, e);
+        }
+    }
+
+    private void scheduleRetry(Long accountNumber, PendingSync entry, Exception cause) {
+        int attempts = entry.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up syncing balance for account {} after {} attempts", accountNumber, attempts, cause);
+            if (!pending.remove(accountNumber, entry)) {
+                ready.offer(accountNumber);
+            }
+            return;
+        }
+        pending.computeIfPresent(accountNumber, (key, current) -> current.withAttempts(attempts));
+        long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempts - 1, 20));
+        log.warn("Failed to sync balance for account {} (attempt {}), retrying in {} ms: {}",
+                accountNumber, attempts, delay, cause.getMessage());
+        retryScheduler.schedule(() -> ready.offer(accountNumber), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private record PendingSync(long sequence, long firstQueuedAt, int attempts) {
+
+        PendingSync withSequence(long newSequence) {
+            return newSequence > sequence ? new PendingSync(newSequence, firstQueuedAt, attempts) : this;
+        }
+
+        PendingSync withAttempts(int newAttempts) {
+            return new PendingSync(sequence, firstQueuedAt, newAttempts);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.backendev.transactionservice.integration;
+
+import com.backendev.transactionservice.partition.TransactionPartitionManager;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Base of the integration tests that need real Postgres: partitioning, native queries and
+ * statements such as {@code CREATE INDEX CONCURRENTLY} that H2 cannot run. One container serves
+ * every subclass. Tests run without a surrounding transaction, like the code under test does, so
+ * each test sets up the {@code transactions} table it needs itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public abstract class AbstractPostgresIT {
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    private static final String COLUMNS = """
+            transaction_id VARCHAR(255) NOT NULL,
+            from_account_number BIGINT,
+            to_account_number BIGINT,
+            amount NUMERIC(38, 2),
+            type VARCHAR(255),
+            status VARCHAR(255),
+            description VARCHAR(255),
+            created_at TIMESTAMP(6) WITH TIME ZONE,
+            updated_at TIMESTAMP(6) WITH TIME ZONE
+            """;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    protected final TransactionPartitionManager partitionManager() {
+        return new TransactionPartitionManager(jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Replaces whatever an earlier test left with a plain {@code transactions} table, as the
+     * entity maps it.
+     */
+    protected final void createPlainTransactionsTable() {
+        dropTransactionsTables();
+        jdbcTemplate.execute("CREATE TABLE transactions (" + COLUMNS + ", PRIMARY KEY (transaction_id))");
+        createHistoryIndexes();
+    }
+
+    /**
+     * Replaces whatever an earlier test left with a {@code transactions} table partitioned by
+     * month, with partitions for every month in [from, to].
+     */
+    protected final void createPartitionedTransactionsTable(YearMonth from, YearMonth to) {
+        dropTransactionsTables();
+        jdbcTemplate.execute("CREATE TABLE transactions (" + COLUMNS + ", PRIMARY KEY (transaction_id, created_at))"
+                + " PARTITION BY RANGE (created_at)");
+        createHistoryIndexes();
+        partitionManager().createPartitions(TransactionPartitions.TABLE, from, to);
+    }
+
+    protected final void insert(String transactionId, Long from, Long to, String amount, String type, Instant createdAt) {
+        jdbcTemplate.update("""
+                        INSERT INTO transactions (transaction_id, from_account_number, to_account_number, amount,
+                                                  type, status, description, created_at, updated_at)
+                        VALUES (?, ?, ?, ?::numeric, ?, 'SUCCESS', ?, ?, ?)
+                        """,
+                transactionId, from, to, amount, type, type + " " + transactionId,
+                Timestamp.from(createdAt), Timestamp.from(createdAt));
+    }
+
+    protected final long countRows(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    protected final boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private void createHistoryIndexes() {
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_from_created"
+                + " ON transactions (from_account_number, created_at, transaction_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_to_created"
+                + " ON transactions (to_account_number, created_at, transaction_id)");
+    }
+
+    private void dropTransactionsTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transactions, transactions_legacy, transactions_partitioned CASCADE");
+    }
+}
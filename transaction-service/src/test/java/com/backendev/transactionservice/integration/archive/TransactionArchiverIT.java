@@ -0,0 +1,116 @@
+package com.backendev.transactionservice.integration.archive;
+
+import com.backendev.transactionservice.archive.ColdSegmentStore;
+import com.backendev.transactionservice.archive.TransactionArchiver;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.integration.AbstractPostgresIT;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionArchiverIT extends AbstractPostgresIT {
+
+    private static final Long ACC_NUM_1 = 1234567890L;
+    private static final Long ACC_NUM_2 = 9876543210L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private ColdSegmentStore coldSegmentStore;
+    private TransactionArchiver archiver;
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+    private final YearMonth expired = current.minusMonths(3);
+    private final String partition = TransactionPartitions.name(expired);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        createPartitionedTransactionsTable(expired, current);
+        coldSegmentStore = new ColdSegmentStore();
+        ReflectionTestUtils.setField(coldSegmentStore, "enabled", true);
+        ReflectionTestUtils.setField(coldSegmentStore, "directory", directory.toString());
+        coldSegmentStore.load();
+        archiver = new TransactionArchiver(dataSource, transactionManager, partitionManager(), coldSegmentStore,
+                new SimpleMeterRegistry(), 100);
+        ReflectionTestUtils.setField(archiver, "archiveAfterMonths", 2);
+        ReflectionTestUtils.setField(archiver, "blockRows", 2);
+        ReflectionTestUtils.setField(archiver, "dropDelayMillis", 300_000L);
+
+        Instant monthStart = TransactionPartitions.start(expired);
+        insert("TXN-001", ACC_NUM_1, null, "100.00", "DEPOSIT", monthStart.plus(1, ChronoUnit.DAYS));
+        insert("TXN-002", ACC_NUM_1, ACC_NUM_2, "20.00", "TRANSFER", monthStart.plus(2, ChronoUnit.DAYS));
+        insert("TXN-003", ACC_NUM_2, null, "5.00", "WITHDRAWAL", monthStart.plus(3, ChronoUnit.DAYS));
+        insert("TXN-004", ACC_NUM_1, null, "8.00", "DEPOSIT", TransactionPartitions.start(current.minusMonths(1)));
+    }
+
+    @Test
+    void archiveExpired_PublishesSegmentAndKeepsPartitionUntilTheDropDelay() {
+        assertEquals(0, archiver.archiveExpired());
+        assertEquals(0, archiver.archiveExpired());
+
+        assertTrue(Files.exists(coldSegmentStore.pathOf(expired)));
+        assertFalse(Files.exists(coldSegmentStore.pathOf(current.minusMonths(1))));
+        assertTrue(tableExists(partition));
+        assertTrue(coldSegmentStore.isArchived(TransactionPartitions.start(expired).plus(1, ChronoUnit.DAYS)));
+    }
+
+    @Test
+    void archiveExpired_DropsPartitionOnceTheSegmentIsPublished() {
+        ReflectionTestUtils.setField(archiver, "dropDelayMillis", 0L);
+
+        assertEquals(0, archiver.archiveExpired());
+        assertEquals(1, archiver.archiveExpired());
+
+        assertFalse(tableExists(partition));
+        assertEquals(1, countRows("transactions"));
+        // Both legs of the transfer are served from the segment
+        List<String> ids = coldSegmentStore.streamStatement(ACC_NUM_1, TransactionPartitions.start(expired),
+                        TransactionPartitions.start(expired.plusMonths(1)))
+                .map(Transaction::getTransactionId)
+                .toList();
+        assertEquals(List.of("TXN-001", "TXN-002"), ids);
+        assertEquals(List.of("TXN-002", "TXN-003"), coldSegmentStore.streamStatement(ACC_NUM_2,
+                        TransactionPartitions.start(expired), TransactionPartitions.start(expired.plusMonths(1)))
+                .map(Transaction::getTransactionId)
+                .toList());
+    }
+
+    @Test
+    void archiveExpired_ArchivesAgainWhenThePartitionChangedSinceTheSegment() {
+        ReflectionTestUtils.setField(archiver, "dropDelayMillis", 0L);
+        archiver.archiveExpired();
+        insert("TXN-005", ACC_NUM_2, null, "3.00", "DEPOSIT", TransactionPartitions.start(expired).plus(4, ChronoUnit.DAYS));
+
+        assertEquals(0, archiver.archiveExpired());
+        assertTrue(tableExists(partition));
+        assertEquals(3, coldSegmentStore.streamStatement(ACC_NUM_2, TransactionPartitions.start(expired),
+                TransactionPartitions.start(expired.plusMonths(1))).count());
+
+        assertEquals(1, archiver.archiveExpired());
+        assertFalse(tableExists(partition));
+    }
+}
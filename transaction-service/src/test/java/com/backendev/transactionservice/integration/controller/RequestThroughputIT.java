@@ -0,0 +1,135 @@
+package com.backendev.transactionservice.integration.controller;
+
+import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.dto.AccountResponse;
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.UpdateAccountBalanceRequest;
+import com.backendev.transactionservice.integration.config.TestSecurityConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput benchmark for the deposit endpoint with 2,000 concurrent clients while every
+ * account-service call takes 50 ms. Run it once as is and once with
+ * {@code -Dbenchmark.virtual-threads=true} (on Java 21+) and compare the logged requests/s:
+ * with platform threads Tomcat's 200 workers cap the number of requests waiting on the remote
+ * call, with virtual threads they don't.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=${benchmark.virtual-threads:false}")
+@Import({TestSecurityConfig.class, RequestThroughputIT.SlowAccountServiceConfig.class})
+@ActiveProfiles("test")
+class RequestThroughputIT {
+
+    private static final int CLIENTS = 2000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final long REMOTE_LATENCY_MILLIS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Test
+    void deposits_2000ConcurrentClients_AllSucceed() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int c = 0; c < CLIENTS; c++) {
+            long accountNumber = 5_000_000L + c;
+            clients.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    HttpResponse<Void> response = httpClient.send(depositRequest(accountNumber),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 201) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        clients.shutdown();
+        assertThat(clients.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+
+        log.info("{} threads: {} deposits from {} clients in {} ms ({} requests/s), {} failed",
+                virtualThreads ? "Virtual" : "Platform", succeeded.get(), CLIENTS, elapsedMillis,
+                succeeded.get() * 1000L / elapsedMillis, failed.get());
+
+        assertThat(failed).hasValue(0);
+        assertThat(succeeded).hasValue(CLIENTS * REQUESTS_PER_CLIENT);
+    }
+
+    private HttpRequest depositRequest(long accountNumber) throws Exception {
+        TransactionRequest body = new TransactionRequest(accountNumber, new BigDecimal("10.00"), "Benchmark");
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/transactions/deposit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    @TestConfiguration
+    static class SlowAccountServiceConfig {
+
+        @Bean(name = "accountServiceClient")
+        public AccountServiceClient slowAccountServiceClient() {
+            AccountServiceClient mock = Mockito.mock(AccountServiceClient.class);
+
+            AccountResponse response = new AccountResponse();
+            response.setUserId("user-123");
+            response.setAccountType("SAVINGS");
+            response.setStatus("ACTIVE");
+            response.setCreatedAt(Instant.now());
+
+            when(mock.getAccount(anyLong())).thenAnswer(invocation -> {
+                Thread.sleep(REMOTE_LATENCY_MILLIS);
+                return ResponseEntity.ok(response);
+            });
+            when(mock.updateAccountBalance(anyLong(), any(UpdateAccountBalanceRequest.class)))
+                    .thenReturn(ResponseEntity.ok(response));
+            return mock;
+        }
+    }
+}
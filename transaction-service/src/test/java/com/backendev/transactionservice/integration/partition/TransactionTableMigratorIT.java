@@ -0,0 +1,154 @@
+package com.backendev.transactionservice.integration.partition;
+
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.integration.AbstractPostgresIT;
+import com.backendev.transactionservice.partition.TransactionPartitionManager;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import com.backendev.transactionservice.partition.TransactionTableMigrator;
+import com.backendev.transactionservice.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionTableMigratorIT extends AbstractPostgresIT {
+
+    private static final Long ACC_NUM_1 = 1234567890L;
+    private static final Long ACC_NUM_2 = 9876543210L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    private TransactionPartitionManager partitionManager;
+    private TransactionTableMigrator migrator;
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        createPlainTransactionsTable();
+        partitionManager = partitionManager();
+        migrator = new TransactionTableMigrator(jdbcTemplate, transactionManager, partitionManager);
+        ReflectionTestUtils.setField(migrator, "chunkSize", 2);
+        ReflectionTestUtils.setField(migrator, "catchUpMarginMs", 0L);
+        ReflectionTestUtils.setField(migrator, "lockTimeoutMs", 500L);
+        ReflectionTestUtils.setField(migrator, "premakeMonths", 1);
+
+        insert("TXN-001", ACC_NUM_1, null, "100.00", "DEPOSIT", monthStart(2).plus(1, ChronoUnit.DAYS));
+        insert("TXN-002", ACC_NUM_1, ACC_NUM_2, "20.00", "TRANSFER", monthStart(2).plus(3, ChronoUnit.DAYS));
+        insert("TXN-003", ACC_NUM_2, null, "5.00", "WITHDRAWAL", monthStart(1).plus(1, ChronoUnit.DAYS));
+        insert("TXN-004", ACC_NUM_1, null, "7.00", "WITHDRAWAL", monthStart(1).plus(1, ChronoUnit.DAYS));
+        insert("TXN-005", ACC_NUM_2, ACC_NUM_1, "9.00", "TRANSFER", monthStart(1).plus(2, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void migrate_CopiesInChunksAndSwapsTables() {
+        assertEquals(5, migrator.migrate());
+
+        assertTrue(partitionManager.isPartitioned(TransactionPartitions.TABLE));
+        assertTrue(partitionManager.attachedMonths(TransactionPartitions.TABLE)
+                .containsAll(List.of(current.minusMonths(2), current.minusMonths(1), current, current.plusMonths(1))));
+        assertEquals(5, countRows("transactions"));
+        assertEquals(1, countRows(TransactionPartitions.name(current.minusMonths(2)) + " WHERE transaction_id = 'TXN-002'"));
+        assertEquals(5, countRows("transactions_legacy"));
+        assertFalse(tableExists("transactions_partitioned"));
+        assertEquals(List.of("idx_transactions_from_created", "idx_transactions_to_created", "transactions_pkey"),
+                indexesOf("transactions"));
+        assertEquals(List.of("idx_transactions_legacy_from_created", "idx_transactions_legacy_to_created",
+                "idx_transactions_migration_created", "transactions_legacy_pkey"), indexesOf("transactions_legacy"));
+    }
+
+    @Test
+    void migrate_KeepsTheOriginalWhenTheLockIsNotGranted() throws Exception {
+        try (Connection reader = dataSource.getConnection(); Statement statement = reader.createStatement()) {
+            reader.setAutoCommit(false);
+            statement.execute("LOCK TABLE transactions IN ACCESS SHARE MODE");
+
+            assertThrows(DataAccessException.class, migrator::migrate);
+
+            reader.rollback();
+        }
+
+        assertFalse(partitionManager.isPartitioned(TransactionPartitions.TABLE));
+        assertEquals(5, countRows("transactions"));
+        assertEquals(5, countRows("transactions_partitioned"));
+    }
+
+    @Test
+    void migrate_ResumesAndCatchesUpOnWritesSinceTheFirstRun() throws Exception {
+        try (Connection reader = dataSource.getConnection(); Statement statement = reader.createStatement()) {
+            reader.setAutoCommit(false);
+            statement.execute("LOCK TABLE transactions IN ACCESS SHARE MODE");
+            assertThrows(DataAccessException.class, migrator::migrate);
+            reader.rollback();
+        }
+        insert("TXN-006", ACC_NUM_1, null, "50.00", "DEPOSIT", monthStart(2).plus(2, ChronoUnit.DAYS));
+        jdbcTemplate.update("UPDATE transactions SET updated_at = now() WHERE transaction_id = 'TXN-006'");
+        jdbcTemplate.update("UPDATE transactions SET status = 'FAILED', updated_at = now() WHERE transaction_id = 'TXN-003'");
+
+        migrator.migrate();
+
+        assertTrue(partitionManager.isPartitioned(TransactionPartitions.TABLE));
+        assertEquals(6, countRows("transactions"));
+        assertEquals("FAILED", jdbcTemplate.queryForObject(
+                "SELECT status FROM transactions WHERE transaction_id = 'TXN-003'", String.class));
+    }
+
+    @Test
+    void migrate_ReturnsZeroWhenAlreadyPartitioned() {
+        migrator.migrate();
+
+        assertEquals(0, migrator.migrate());
+        assertEquals(5, countRows("transactions"));
+    }
+
+    @Test
+    void updateStatus_UpdatesOnlyTheRowCreatedAtTheGivenTime() {
+        migrator.migrate();
+        Instant createdAt = monthStart(1).plus(1, ChronoUnit.DAYS);
+        // Same id in another month: the (transaction_id, created_at) key allows it
+        insert("TXN-003", ACC_NUM_2, null, "5.00", "WITHDRAWAL", monthStart(2).plus(1, ChronoUnit.DAYS));
+
+        Transaction transaction = new Transaction("TXN-003", ACC_NUM_2, null, new BigDecimal("5.00"),
+                TransactionType.WITHDRAWAL, TransactionStatus.FAILED, "WITHDRAWAL TXN-003", createdAt, Instant.now());
+        repository.updateStatus(transaction);
+
+        assertEquals(List.of("FAILED", "SUCCESS"), jdbcTemplate.queryForList(
+                "SELECT status FROM transactions WHERE transaction_id = 'TXN-003' ORDER BY created_at DESC",
+                String.class));
+    }
+
+    private Instant monthStart(int monthsAgo) {
+        return TransactionPartitions.start(current.minusMonths(monthsAgo));
+    }
+
+    private List<String> indexesOf(String table) {
+        return jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = ? ORDER BY indexname",
+                String.class, table);
+    }
+}
@@ -0,0 +1,93 @@
+package com.backendev.transactionservice.integration.repository;
+
+import com.backendev.transactionservice.entity.BalanceSnapshot;
+import com.backendev.transactionservice.entity.LedgerEntry;
+import com.backendev.transactionservice.repository.BalanceSnapshotRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository.LedgerHead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class LedgerEntryRepositoryIT {
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    private static final Long ACC_NUM_1 = 1234567890L;
+    private static final Long ACC_NUM_2 = 9876543210L;
+
+    @BeforeEach
+    void setUp() {
+        ledgerEntryRepository.deleteAll();
+        balanceSnapshotRepository.deleteAll();
+    }
+
+    @Test
+    void testFindHeadsAddsEntriesAfterSnapshot() {
+        balanceSnapshotRepository.save(new BalanceSnapshot(ACC_NUM_1, 2L, BigDecimal.valueOf(150), Instant.now(), BigDecimal.ZERO));
+        append(ACC_NUM_1, 1L, 100);
+        append(ACC_NUM_1, 2L, 50);
+        append(ACC_NUM_1, 3L, -30);
+        append(ACC_NUM_1, 4L, 5);
+
+        List<LedgerHead> heads = ledgerEntryRepository.findHeads(List.of(ACC_NUM_1));
+
+        assertEquals(1, heads.size());
+        assertEquals(0, BigDecimal.valueOf(125).compareTo(heads.get(0).getBalance()));
+        assertEquals(4L, heads.get(0).getSequenceNumber());
+        assertEquals(2L, heads.get(0).getSnapshotSequenceNumber());
+    }
+
+    @Test
+    void testFindHeadsWithoutNewEntriesReturnsSnapshot() {
+        balanceSnapshotRepository.save(new BalanceSnapshot(ACC_NUM_1, 2L, BigDecimal.valueOf(150), Instant.now(), BigDecimal.ZERO));
+        append(ACC_NUM_1, 1L, 100);
+        append(ACC_NUM_1, 2L, 50);
+
+        LedgerHead head = ledgerEntryRepository.findHeads(List.of(ACC_NUM_1)).get(0);
+
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(head.getBalance()));
+        assertEquals(2L, head.getSequenceNumber());
+    }
+
+    @Test
+    void testFindHeadsSkipsAccountsWithoutSnapshot() {
+        append(ACC_NUM_2, 1L, 100);
+
+        assertTrue(ledgerEntryRepository.findHeads(List.of(ACC_NUM_2)).isEmpty());
+    }
+
+    @Test
+    void testEntriesArePagedInSequenceOrder() {
+        append(ACC_NUM_1, 2L, 20);
+        append(ACC_NUM_1, 1L, 10);
+        append(ACC_NUM_1, 3L, 30);
+        append(ACC_NUM_2, 1L, 99);
+
+        List<LedgerEntry> page = ledgerEntryRepository
+                .findByAccountNumberAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(ACC_NUM_1, 1L, Limit.of(10));
+
+        assertEquals(List.of(2L, 3L), page.stream().map(LedgerEntry::getSequenceNumber).toList());
+        assertEquals(2, ledgerEntryRepository.findAllAccountNumbers().size());
+    }
+
+    private void append(Long accountNumber, Long sequenceNumber, long amount) {
+        ledgerEntryRepository.save(new LedgerEntry(null, accountNumber, sequenceNumber, BigDecimal.valueOf(amount), Instant.now()));
+    }
+}
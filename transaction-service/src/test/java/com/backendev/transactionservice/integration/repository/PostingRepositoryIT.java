@@ -0,0 +1,76 @@
+package com.backendev.transactionservice.integration.repository;
+
+import com.backendev.transactionservice.entity.Posting;
+import com.backendev.transactionservice.repository.PostingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class PostingRepositoryIT {
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    private static final Long ACC_NUM_1 = 1234567890L;
+    private static final Long ACC_NUM_2 = 9876543210L;
+
+    @BeforeEach
+    void setUp() {
+        postingRepository.deleteAll();
+    }
+
+    @Test
+    void testTrialBalanceOfBalancedTransfersIsZero() {
+        postingRepository.saveAll(transfer("TXN001", ACC_NUM_1, ACC_NUM_2, "250.00"));
+        postingRepository.saveAll(transfer("TXN002", ACC_NUM_2, ACC_NUM_1, "75.50"));
+
+        assertEquals(0, sumOfAllPostings().signum());
+        assertEquals(2, postingRepository.findByTransactionIdOrderById("TXN001").size());
+    }
+
+    @Test
+    void testTrialBalanceShowsMissingLeg() {
+        postingRepository.saveAll(transfer("TXN001", ACC_NUM_1, ACC_NUM_2, "250.00"));
+        postingRepository.delete(postingRepository.findByTransactionIdOrderById("TXN001").get(1));
+
+        assertEquals(0, new BigDecimal("-250.00").compareTo(sumOfAllPostings()));
+    }
+
+    @Test
+    void testTrialBalanceOfEmptyJournalIsZero() {
+        assertEquals(0, sumOfAllPostings().signum());
+    }
+
+    @Test
+    void testSumCreatedBetweenOnlyCountsTheWindow() {
+        Instant before = Instant.now();
+        postingRepository.saveAll(transfer("TXN001", ACC_NUM_1, ACC_NUM_2, "250.00"));
+        postingRepository.delete(postingRepository.findByTransactionIdOrderById("TXN001").get(1));
+
+        assertEquals(0, postingRepository.sumCreatedBetween(Instant.EPOCH, before).signum());
+        assertEquals(0, new BigDecimal("-250.00").compareTo(
+                postingRepository.sumCreatedBetween(before, Instant.now().plusSeconds(1))));
+    }
+
+    private BigDecimal sumOfAllPostings() {
+        return postingRepository.sumCreatedBetween(Instant.EPOCH, Instant.now().plusSeconds(1));
+    }
+
+    private static List<Posting> transfer(String transactionId, Long from, Long to, String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        Instant now = Instant.now();
+        return List.of(
+                new Posting(null, transactionId, from, value.negate(), BigDecimal.ZERO, now),
+                new Posting(null, transactionId, to, value, value, now));
+    }
+}
@@ -1,36 +1,54 @@
 package com.backendev.transactionservice.integration.repository;
 
+import com.backendev.transactionservice.dto.HistoryCursor;
 import com.backendev.transactionservice.entity.Transaction;
 import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.integration.AbstractPostgresIT;
+import com.backendev.transactionservice.partition.TransactionPartitions;
 import com.backendev.transactionservice.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@DataJpaTest
-@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
-class TransactionRepositoryIT {
+class TransactionRepositoryIT extends AbstractPostgresIT {
 
     @Autowired
     private TransactionRepository repository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private static final Long ACC_NUM_1 = 1234567890L;
     private static final Long ACC_NUM_2 = 9876543210L;
+    private static final List<String> ALL_TYPES = List.of("DEPOSIT", "WITHDRAWAL", "TRANSFER");
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
 
     @BeforeEach
     void setUp() {
-        repository.deleteAll();
+        createPartitionedTransactionsTable(current.minusMonths(3), current.plusMonths(1));
     }
 
     @Test
@@ -106,4 +124,121 @@ class TransactionRepositoryIT {
         assertEquals(1, acc1.size());
         assertEquals(1, acc2.size());
     }
+
+    @Test
+    void findHistoryPage_ContinuesAcrossEqualCreatedAt() {
+        Instant createdAt = TransactionPartitions.start(current).plus(1, ChronoUnit.HOURS);
+        insert("TXN-A", ACC_NUM_1, null, "1.00", "DEPOSIT", createdAt);
+        insert("TXN-B", ACC_NUM_1, null, "2.00", "DEPOSIT", createdAt);
+        insert("TXN-C", ACC_NUM_1, null, "3.00", "DEPOSIT", createdAt);
+
+        List<Transaction> first = findHistoryPage(ACC_NUM_1, Instant.EPOCH, HistoryCursor.START.getCreatedAt(),
+                HistoryCursor.START, 2);
+        Transaction last = first.get(first.size() - 1);
+        List<Transaction> second = findHistoryPage(ACC_NUM_1, Instant.EPOCH, HistoryCursor.START.getCreatedAt(),
+                new HistoryCursor(last.getCreatedAt(), last.getTransactionId()), 2);
+
+        assertEquals(List.of("TXN-C", "TXN-B"), ids(first));
+        assertEquals(List.of("TXN-A"), ids(second));
+    }
+
+    @Test
+    void findHistoryPage_IncludesTransfersToTheAccount() {
+        Instant start = TransactionPartitions.start(current);
+        insert("TXN-001", ACC_NUM_2, null, "10.00", "DEPOSIT", start.plus(1, ChronoUnit.HOURS));
+        insert("TXN-002", ACC_NUM_1, ACC_NUM_2, "20.00", "TRANSFER", start.plus(2, ChronoUnit.HOURS));
+        insert("TXN-003", ACC_NUM_2, ACC_NUM_1, "5.00", "TRANSFER", start.plus(3, ChronoUnit.HOURS));
+        // Transfers to itself appear once, not once per leg
+        insert("TXN-004", ACC_NUM_2, ACC_NUM_2, "1.00", "TRANSFER", start.plus(4, ChronoUnit.HOURS));
+
+        assertEquals(List.of("TXN-004", "TXN-003", "TXN-002", "TXN-001"), ids(findHistoryPage(ACC_NUM_2,
+                Instant.EPOCH, HistoryCursor.START.getCreatedAt(), HistoryCursor.START, 10)));
+        assertEquals(List.of("TXN-003", "TXN-002"), ids(findHistoryPage(ACC_NUM_1,
+                Instant.EPOCH, HistoryCursor.START.getCreatedAt(), HistoryCursor.START, 10)));
+        assertEquals(List.of("TXN-002"), ids(repository.findHistoryPage(ACC_NUM_2, List.of("TRANSFER"),
+                start, start.plus(3, ChronoUnit.HOURS), HistoryCursor.START.getCreatedAt(), "", 10)));
+    }
+
+    @Test
+    void streamStatement_IncludesTransfersToTheAccountOldestFirst() {
+        Instant start = TransactionPartitions.start(current.minusMonths(1));
+        insert("TXN-001", ACC_NUM_2, null, "10.00", "DEPOSIT", start.plus(1, ChronoUnit.DAYS));
+        insert("TXN-002", ACC_NUM_1, ACC_NUM_2, "20.00", "TRANSFER", start.plus(40, ChronoUnit.DAYS));
+        insert("TXN-003", ACC_NUM_2, ACC_NUM_1, "5.00", "TRANSFER", start.plus(41, ChronoUnit.DAYS));
+        insert("TXN-004", ACC_NUM_2, ACC_NUM_2, "1.00", "TRANSFER", start.plus(42, ChronoUnit.DAYS));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<String> statement = readOnly.execute(status -> {
+            try (Stream<Transaction> rows = repository.streamStatement(ACC_NUM_2, start,
+                    TransactionPartitions.start(current.plusMonths(1)))) {
+                return rows.map(Transaction::getTransactionId).toList();
+            }
+        });
+
+        assertEquals(List.of("TXN-001", "TXN-002", "TXN-003", "TXN-004"), statement);
+    }
+
+    @Test
+    void findHistoryPage_SplitAtTheMonthBoundaryReturnsEveryRowOnce() {
+        // How the service splits a page: the recent months first, then everything older
+        Instant recentStart = TransactionPartitions.start(current.minusMonths(1));
+        Instant from = TransactionPartitions.start(current.minusMonths(3));
+        Instant to = HistoryCursor.START.getCreatedAt();
+        insert("TXN-001", ACC_NUM_1, null, "1.00", "DEPOSIT", recentStart.minus(1, ChronoUnit.DAYS));
+        insert("TXN-002", ACC_NUM_1, null, "2.00", "DEPOSIT", recentStart.minus(1, ChronoUnit.MICROS));
+        insert("TXN-003", ACC_NUM_2, ACC_NUM_1, "3.00", "TRANSFER", recentStart);
+        insert("TXN-004", ACC_NUM_1, null, "4.00", "DEPOSIT", recentStart.plus(1, ChronoUnit.DAYS));
+
+        List<Transaction> rows = new ArrayList<>(findHistoryPage(ACC_NUM_1, recentStart, to, HistoryCursor.START, 3));
+        rows.addAll(findHistoryPage(ACC_NUM_1, from, recentStart, HistoryCursor.START, 3 - rows.size()));
+        Transaction last = rows.get(rows.size() - 1);
+        HistoryCursor next = new HistoryCursor(last.getCreatedAt(), last.getTransactionId());
+        List<Transaction> rest = new ArrayList<>(findHistoryPage(ACC_NUM_1, recentStart, to, next, 3));
+        rest.addAll(findHistoryPage(ACC_NUM_1, from, recentStart, next, 3 - rest.size()));
+
+        assertEquals(List.of("TXN-004", "TXN-003", "TXN-002"), ids(rows));
+        assertEquals(List.of("TXN-001"), ids(rest));
+    }
+
+    @Test
+    void findHistoryPage_ScansOnlyThePartitionsOfItsWindow() throws Exception {
+        Instant recentStart = TransactionPartitions.start(current.minusMonths(1));
+
+        String recent = explainHistoryPage(recentStart, TransactionPartitions.start(current.plusMonths(1)));
+        String older = explainHistoryPage(TransactionPartitions.start(current.minusMonths(3)), recentStart);
+
+        assertTrue(recent.contains(TransactionPartitions.name(current)));
+        assertTrue(recent.contains(TransactionPartitions.name(current.minusMonths(1))));
+        assertFalse(recent.contains(TransactionPartitions.name(current.minusMonths(2))));
+        assertFalse(recent.contains(TransactionPartitions.name(current.plusMonths(1))));
+        assertTrue(older.contains(TransactionPartitions.name(current.minusMonths(2))));
+        assertFalse(older.contains(TransactionPartitions.name(current.minusMonths(1))));
+    }
+
+    private List<Transaction> findHistoryPage(Long accountNumber, Instant from, Instant to, HistoryCursor position,
+                                              int limit) {
+        return repository.findHistoryPage(accountNumber, ALL_TYPES, from, to, position.getCreatedAt(),
+                position.getTransactionId(), limit);
+    }
+
+    // Plans the repository's own query text, bound like the repository binds it
+    private String explainHistoryPage(Instant from, Instant to) throws NoSuchMethodException {
+        String query = TransactionRepository.class.getMethod("findHistoryPage", Long.class, Collection.class,
+                Instant.class, Instant.class, Instant.class, String.class, int.class).getAnnotation(Query.class).value();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountNumber", ACC_NUM_1)
+                .addValue("types", ALL_TYPES)
+                .addValue("from", Timestamp.from(from))
+                .addValue("to", Timestamp.from(to))
+                .addValue("cursorCreatedAt", Timestamp.from(HistoryCursor.START.getCreatedAt()))
+                .addValue("cursorTransactionId", HistoryCursor.START.getTransactionId())
+                .addValue("limit", 20);
+        return String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate)
+                .queryForList("EXPLAIN " + query, params, String.class));
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionId).toList();
+    }
 }
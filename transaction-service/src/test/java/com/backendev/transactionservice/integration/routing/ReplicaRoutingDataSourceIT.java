@@ -0,0 +1,157 @@
+package com.backendev.transactionservice.integration.routing;
+
+import com.backendev.transactionservice.routing.ConsistencyToken;
+import com.backendev.transactionservice.routing.ReplicaPositionTracker;
+import com.backendev.transactionservice.routing.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes real transactions across two embedded databases, each of which names itself in a
+ * {@code server_role} table. The replica also reports a replay position, as a standby would.
+ */
+class ReplicaRoutingDataSourceIT {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaPositionTracker tracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replay_position (lsn VARCHAR(32))");
+        new JdbcTemplate(replica).update("INSERT INTO replay_position VALUES ('0/1000')");
+
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new ReplicaPositionTracker(replica, "SELECT lsn FROM replay_position", meterRegistry);
+        tracker.refresh();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, tracker, meterRegistry));
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionServingGet_GoesToReplica() {
+        bindRequest("GET", null);
+
+        assertEquals("replica", readOnly.execute(status -> role()));
+        assertEquals(1.0, decisions("replica", "read-only"));
+    }
+
+    @Test
+    void readWriteTransaction_GoesToPrimary() {
+        bindRequest("GET", null);
+
+        assertEquals("primary", readWrite.execute(status -> role()));
+        assertEquals(1.0, decisions("primary", "read-write"));
+    }
+
+    @Test
+    void readOnlyTransactionOutsideGetRequest_GoesToPrimary() {
+        assertEquals("primary", readOnly.execute(status -> role()));
+
+        bindRequest("POST", null);
+        assertEquals("primary", readOnly.execute(status -> role()));
+        assertEquals(2.0, decisions("primary", "not-a-read-request"));
+    }
+
+    @Test
+    void consistencyToken_ReplicaBehind_FallsBackToPrimaryUntilCaughtUp() {
+        bindRequest("GET", "0/2000");
+        assertEquals("primary", readOnly.execute(status -> role()));
+        assertEquals(1.0, decisions("primary", "replica-behind"));
+
+        new JdbcTemplate(replica).update("UPDATE replay_position SET lsn = '0/2000'");
+        tracker.refresh();
+        assertEquals("replica", readOnly.execute(status -> role()));
+
+        bindRequest("GET", "0/800");
+        assertEquals("replica", readOnly.execute(status -> role()));
+    }
+
+    @Test
+    void replicaWithoutPosition_IsTreatedAsUnavailable() {
+        new JdbcTemplate(replica).update("UPDATE replay_position SET lsn = NULL");
+        tracker.refresh();
+        bindRequest("GET", null);
+
+        assertEquals("primary", readOnly.execute(status -> role()));
+        assertEquals(1.0, decisions("primary", "replica-unavailable"));
+    }
+
+    @Test
+    void invalidToken_GoesToPrimary() {
+        bindRequest("GET", "not-an-lsn");
+
+        assertEquals("primary", readOnly.execute(status -> role()));
+        assertEquals(1.0, decisions("primary", "invalid-token"));
+    }
+
+    @Test
+    void parse_OrdersPositionsAcrossSegments() {
+        assertEquals(0x16B374D848L, ConsistencyToken.parse("16/B374D848"));
+        assertTrue(ConsistencyToken.parse("1/0") > ConsistencyToken.parse("0/FFFFFFFF"));
+    }
+
+    private String role() {
+        return jdbcTemplate.queryForObject("SELECT name FROM server_role", String.class);
+    }
+
+    private double decisions(String target, String reason) {
+        return meterRegistry.counter("datasource.routing", "target", target, "reason", reason).count();
+    }
+
+    private static void bindRequest(String method, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/transactions/account/12345");
+        if (token != null) {
+            request.addHeader(ConsistencyToken.HEADER, token);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE server_role (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO server_role VALUES (?)", name);
+        return database;
+    }
+}
@@ -1,14 +1,19 @@
 package com.backendev.transactionservice.integration.service;
 
+import com.backendev.transactionservice.cache.AccountValidationCache;
 import com.backendev.transactionservice.client.AccountServiceClient;
 import com.backendev.transactionservice.dto.AccountResponse;
 import com.backendev.transactionservice.dto.TransferValidationResponse;
 import com.backendev.transactionservice.dto.UpdateAccountBalanceRequest;
 import com.backendev.transactionservice.exception.InvalidAccountException;
 import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
+import com.backendev.transactionservice.resilience.Bulkhead;
+import com.backendev.transactionservice.resilience.CircuitBreaker;
 import com.backendev.transactionservice.service.AccountService;
 import feign.FeignException;
 import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -19,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -42,7 +48,14 @@ class AccountServiceIT {
 
     @BeforeEach
     void setUp() {
-        accountService = new AccountService(accountServiceClient);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        accountService = new AccountService(accountServiceClient,
+                new AccountValidationCache(meterRegistry, 100, 60_000, 5_000, 300_000),
+                new AccountServiceGuard(
+                        new Bulkhead("validation", 10, Duration.ofMillis(100), meterRegistry),
+                        new Bulkhead("balance-sync", 10, Duration.ofMillis(100), meterRegistry),
+                        new CircuitBreaker.Settings(50, 20, 50, Duration.ofSeconds(2), Duration.ofSeconds(10), 5),
+                        meterRegistry));
     }
 
     private AccountResponse createAccountResponse(Long accountNumber, String userId) {
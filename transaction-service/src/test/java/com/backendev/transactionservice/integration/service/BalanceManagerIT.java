@@ -2,15 +2,18 @@ package com.backendev.transactionservice.integration.service;
 
 import com.backendev.transactionservice.entity.AccountBalance;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
-import com.backendev.transactionservice.mapper.AccountBalanceMapper;
+import com.backendev.transactionservice.hotaccount.HotAccountBalances;
+import com.backendev.transactionservice.ledger.LedgerEngine;
 import com.backendev.transactionservice.repository.AccountBalanceRepository;
 import com.backendev.transactionservice.service.BalanceManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -20,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,7 +34,13 @@ class BalanceManagerIT {
     private AccountBalanceRepository accountBalanceRepository;
 
     @Mock
-    private AccountBalanceMapper accountBalanceMapper;
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private HotAccountBalances hotAccountBalances;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     private BalanceManager balanceManager;
 
@@ -38,7 +48,8 @@ class BalanceManagerIT {
 
     @BeforeEach
     void setUp() {
-        balanceManager = new BalanceManager(accountBalanceRepository, accountBalanceMapper);
+        balanceManager = new BalanceManager(accountBalanceRepository, ledgerEngine, hotAccountBalances, new SimpleMeterRegistry(),
+                transactionManager);
     }
 
     private AccountBalance createAccountBalance(BigDecimal balance) {
@@ -54,89 +65,66 @@ class BalanceManagerIT {
     class UpdateAccountBalance{
 
         @Test
-        void shouldUpdateExistingAccountBalance() {
-            AccountBalance existing = createAccountBalance(BigDecimal.valueOf(1000));
-            when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                    .thenReturn(Optional.of(existing));
-            when(accountBalanceRepository.save(any(AccountBalance.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
-
+        void shouldIncrementBalance() {
             balanceManager.updateAccountBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(500));
 
-            verify(accountBalanceRepository).findById(ACCOUNT_NUMBER);
-            verify(accountBalanceRepository).save(any(AccountBalance.class));
+            verify(accountBalanceRepository).creditBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(500));
         }
 
         @Test
-        void shouldCreateNewAccountBalanceIfNotExists() {
-            AccountBalance newBalance = createAccountBalance(BigDecimal.ZERO);
-            when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                    .thenReturn(Optional.empty());
-            when(accountBalanceMapper.createAccountBalance(ACCOUNT_NUMBER, BigDecimal.ZERO))
-                    .thenReturn(newBalance);
-            when(accountBalanceRepository.save(any(AccountBalance.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
-
-            balanceManager.updateAccountBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(500));
+        void shouldDecrementBalance() {
+            balanceManager.updateAccountBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(-500));
 
-            verify(accountBalanceRepository).findById(ACCOUNT_NUMBER);
-            verify(accountBalanceMapper).createAccountBalance(ACCOUNT_NUMBER, BigDecimal.ZERO);
-            verify(accountBalanceRepository).save(any(AccountBalance.class));
+            verify(accountBalanceRepository).creditBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(-500));
         }
 
         @Test
-        void shouldIncrementBalance() {
-            AccountBalance existing = createAccountBalance(BigDecimal.valueOf(1000));
-            when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                    .thenReturn(Optional.of(existing));
-            when(accountBalanceRepository.save(any(AccountBalance.class)))
-                    .thenAnswer(invocation -> {
-                        AccountBalance ab = invocation.getArgument(0);
-                        assertThat(ab.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
-                        return ab;
-                    });
-
+        void shouldNotReadBeforeWriting() {
             balanceManager.updateAccountBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(500));
 
-            verify(accountBalanceRepository).save(any(AccountBalance.class));
+            verify(accountBalanceRepository, never()).findById(any());
+            verify(accountBalanceRepository, never()).save(any(AccountBalance.class));
         }
+    }
+
+
+    @Nested
+    class CreditAndDebit{
 
         @Test
-        void shouldDecrementBalance() {
-            AccountBalance existing = createAccountBalance(BigDecimal.valueOf(1000));
-            when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                    .thenReturn(Optional.of(existing));
-            when(accountBalanceRepository.save(any(AccountBalance.class)))
-                    .thenAnswer(invocation -> {
-                        AccountBalance ab = invocation.getArgument(0);
-                        assertThat(ab.getBalance()).isEqualTo(BigDecimal.valueOf(500));
-                        return ab;
-                    });
+        void shouldReturnBalanceAfterCredit() {
+            when(accountBalanceRepository.creditBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(500)))
+                    .thenReturn(BigDecimal.valueOf(1500));
 
-            balanceManager.updateAccountBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(-500));
+            assertThat(balanceManager.credit(ACCOUNT_NUMBER, BigDecimal.valueOf(500)))
+                    .isEqualTo(BigDecimal.valueOf(1500));
+        }
+
+        @Test
+        void shouldReturnBalanceAfterDebit() {
+            when(accountBalanceRepository.debitBalanceIfSufficient(ACCOUNT_NUMBER, BigDecimal.valueOf(500)))
+                    .thenReturn(Optional.of(BigDecimal.valueOf(500)));
 
-            verify(accountBalanceRepository).save(any(AccountBalance.class));
+            assertThat(balanceManager.debit(ACCOUNT_NUMBER, BigDecimal.valueOf(500)))
+                    .isEqualTo(BigDecimal.valueOf(500));
         }
 
         @Test
-        void shouldUpdateLastUpdatedTimestamp() {
-            AccountBalance existing = createAccountBalance(BigDecimal.valueOf(1000));
+        void shouldRejectDebitWhenGuardFails() {
+            when(accountBalanceRepository.debitBalanceIfSufficient(ACCOUNT_NUMBER, BigDecimal.valueOf(500)))
+                    .thenReturn(Optional.empty());
             when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                    .thenReturn(Optional.of(existing));
-            when(accountBalanceRepository.save(any(AccountBalance.class)))
-                    .thenAnswer(invocation -> {
-                        AccountBalance ab = invocation.getArgument(0);
-                        assertThat(ab.getLastUpdated()).isNotNull();
-                        return ab;
-                    });
+                    .thenReturn(Optional.of(createAccountBalance(BigDecimal.valueOf(100))));
 
-            balanceManager.updateAccountBalance(ACCOUNT_NUMBER, BigDecimal.valueOf(500));
+            BigDecimal amount = BigDecimal.valueOf(500);
 
-            verify(accountBalanceRepository).save(any(AccountBalance.class));
+            assertThatThrownBy(() -> balanceManager.debit(ACCOUNT_NUMBER, amount))
+                    .isInstanceOf(InsufficientFundsException.class)
+                    .hasMessageContaining("Insufficient balance");
         }
     }
-    
-    
+
+
     @Nested
     class GetBalance{
 
@@ -9,6 +9,8 @@ import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
 import com.backendev.transactionservice.exception.InvalidAccountException;
 import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.groupcommit.GroupCommitWriter;
+import com.backendev.transactionservice.ledger.Journal;
 import com.backendev.transactionservice.service.AccountService;
 import com.backendev.transactionservice.service.BalanceManager;
 import com.backendev.transactionservice.service.SecurityService;
@@ -27,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
@@ -48,6 +51,12 @@ class TransactionHandlerIT {
     @Mock
     private BalanceManager balanceManager;
 
+    @Mock
+    private Journal journal;
+
+    @Mock
+    private GroupCommitWriter groupCommitWriter;
+
     private TransactionHandler transactionHandler;
 
     private static final Long ACCOUNT_NUMBER = 1234567890L;
@@ -57,7 +66,7 @@ class TransactionHandlerIT {
 
     @BeforeEach
     void setUp() {
-        transactionHandler = new TransactionHandler(securityService, transactionProcessor, accountService, balanceManager);
+        transactionHandler = new TransactionHandler(securityService, transactionProcessor, accountService, balanceManager, journal, groupCommitWriter);
     }
 
     private TransactionRequest createTransactionRequest() {
@@ -109,7 +118,7 @@ class TransactionHandlerIT {
             doNothing().when(accountService).validateAccountAndOwnership(ACCOUNT_NUMBER, USER_ID);
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.DEPOSIT))
                     .thenReturn(transaction);
-            when(transactionProcessor.completeTransaction(transaction, AMOUNT))
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(AMOUNT), any()))
                     .thenReturn(response);
             doNothing().when(transactionProcessor).syncBalanceToAccountService(ACCOUNT_NUMBER, AMOUNT);
 
@@ -144,7 +153,7 @@ class TransactionHandlerIT {
                     .hasMessage("Balance update failed");
 
             verify(transactionProcessor, never()).failTransaction(any(), any(), any());
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
         }
 
         @Test
@@ -180,7 +189,7 @@ class TransactionHandlerIT {
             doNothing().when(accountService).validateAccountAndOwnership(ACCOUNT_NUMBER, USER_ID);
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.WITHDRAWAL))
                     .thenReturn(transaction);
-            when(transactionProcessor.completeTransaction(transaction, balanceAfterWithdrawal))
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(balanceAfterWithdrawal), any()))
                     .thenReturn(response);
             doNothing().when(transactionProcessor).syncBalanceToAccountService(ACCOUNT_NUMBER, balanceAfterWithdrawal);
 
@@ -212,7 +221,7 @@ class TransactionHandlerIT {
                     .isInstanceOf(InsufficientFundsException.class)
                     .hasMessage("Insufficient funds");
 
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
             verify(transactionProcessor, never()).syncBalanceToAccountService(any(), any());
         }
     }
@@ -231,12 +240,9 @@ class TransactionHandlerIT {
 
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doNothing().when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            doNothing().when(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
-            doNothing().when(balanceManager).updateAccountBalance(TO_ACCOUNT_NUMBER, AMOUNT);
-            when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(fromBalance);
-            when(balanceManager.getBalance(TO_ACCOUNT_NUMBER)).thenReturn(toBalance);
-            when(transactionProcessor.completeTransaction(transaction, fromBalance))
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT))
+                    .thenReturn(new BalanceManager.TransferBalances(fromBalance, toBalance));
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(fromBalance), any()))
                     .thenReturn(response);
             doNothing().when(transactionProcessor).syncBalanceToAccountService(anyLong(), any(BigDecimal.class));
 
@@ -244,9 +250,8 @@ class TransactionHandlerIT {
 
             assertThat(result).isNotNull();
             assertThat(result.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
-            verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            verify(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
-            verify(balanceManager).updateAccountBalance(TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(journal).postTransfer("TXN003", ACCOUNT_NUMBER, fromBalance, TO_ACCOUNT_NUMBER, toBalance, AMOUNT);
             verify(transactionProcessor).syncBalanceToAccountService(ACCOUNT_NUMBER, fromBalance);
             verify(transactionProcessor).syncBalanceToAccountService(TO_ACCOUNT_NUMBER, toBalance);
         }
@@ -259,14 +264,14 @@ class TransactionHandlerIT {
 
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doThrow(exception).when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
+            doThrow(exception).when(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
 
             assertThatThrownBy(() -> transactionHandler.processTransferTransaction(request))
                     .isInstanceOf(InsufficientFundsException.class);
 
-            verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            verify(balanceManager, never()).updateAccountBalance(anyLong(), any(BigDecimal.class));
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
+            verify(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceManager, never()).credit(anyLong(), any(BigDecimal.class));
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
         }
 
         @Test
@@ -277,37 +282,14 @@ class TransactionHandlerIT {
 
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doNothing().when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            doThrow(exception).when(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
+            doThrow(exception).when(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
 
             assertThatThrownBy(() -> transactionHandler.processTransferTransaction(request))
                     .isInstanceOf(InvalidAccountException.class);
 
-            verify(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
-            verify(balanceManager, never()).updateAccountBalance(TO_ACCOUNT_NUMBER, AMOUNT);
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
-        }
-
-        @Test
-        void processTransferTransaction_BothAccountsUpdated() {
-            TransferRequest request = createTransferRequest();
-            Transaction transaction = createTransaction("TXN003", TransactionType.TRANSFER);
-            TransactionResponse response = createTransactionResponse("TXN003");
-
-            when(transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER))
-                    .thenReturn(transaction);
-            doNothing().when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            doNothing().when(balanceManager).updateAccountBalance(anyLong(), any(BigDecimal.class));
-            when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(BigDecimal.valueOf(4500));
-            when(balanceManager.getBalance(TO_ACCOUNT_NUMBER)).thenReturn(BigDecimal.valueOf(5500));
-            when(transactionProcessor.completeTransaction(any(Transaction.class), any(BigDecimal.class)))
-                    .thenReturn(response);
-            doNothing().when(transactionProcessor).syncBalanceToAccountService(anyLong(), any(BigDecimal.class));
-
-            transactionHandler.processTransferTransaction(request);
-
-            verify(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
-            verify(balanceManager).updateAccountBalance(TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceManager, never()).credit(TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
         }
 
         @Test
@@ -320,11 +302,9 @@ class TransactionHandlerIT {
 
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doNothing().when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            doNothing().when(balanceManager).updateAccountBalance(anyLong(), any(BigDecimal.class));
-            when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(fromBalance);
-            when(balanceManager.getBalance(TO_ACCOUNT_NUMBER)).thenReturn(toBalance);
-            when(transactionProcessor.completeTransaction(any(Transaction.class), any(BigDecimal.class)))
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT))
+                    .thenReturn(new BalanceManager.TransferBalances(fromBalance, toBalance));
+            when(transactionProcessor.completeTransaction(any(Transaction.class), any(BigDecimal.class), any()))
                     .thenReturn(response);
             doNothing().when(transactionProcessor).syncBalanceToAccountService(anyLong(), any(BigDecimal.class));
 
@@ -342,9 +322,7 @@ class TransactionHandlerIT {
 
             when(transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doNothing().when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            doNothing().when(balanceManager).updateAccountBalance(anyLong(), any(BigDecimal.class));
-            when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenThrow(exception);
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT)).thenThrow(exception);
 
             assertThatThrownBy(() -> transactionHandler.processTransferTransaction(request))
                     .isInstanceOf(TransactionProcessingException.class);
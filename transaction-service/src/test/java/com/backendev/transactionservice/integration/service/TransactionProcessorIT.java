@@ -7,10 +7,12 @@ import com.backendev.transactionservice.entity.Transaction;
 import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.id.TransactionIdGenerator;
 import com.backendev.transactionservice.mapper.TransactionMapper;
 import com.backendev.transactionservice.repository.TransactionRepository;
-import com.backendev.transactionservice.service.AccountService;
+import com.backendev.transactionservice.service.DailyRollupRecorder;
 import com.backendev.transactionservice.service.TransactionProcessor;
+import com.backendev.transactionservice.sync.BalanceSyncQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -19,14 +21,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,7 +42,10 @@ class TransactionProcessorIT {
     private TransactionMapper transactionMapper;
 
     @Mock
-    private AccountService accountService;
+    private BalanceSyncQueue balanceSyncQueue;
+
+    @Mock
+    private DailyRollupRecorder dailyRollupRecorder;
 
     private TransactionProcessor transactionProcessor;
 
@@ -49,7 +54,8 @@ class TransactionProcessorIT {
 
     @BeforeEach
     void setUp() {
-        transactionProcessor = new TransactionProcessor(transactionRepository, transactionMapper, accountService);
+        transactionProcessor = new TransactionProcessor(transactionRepository, transactionMapper, balanceSyncQueue,
+                new TransactionIdGenerator(1, System::currentTimeMillis), dailyRollupRecorder);
     }
 
     private Transaction createTransaction(String txnId, TransactionType type) {
@@ -81,14 +87,13 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN123", TransactionType.DEPOSIT);
 
             when(transactionMapper.fromDepositRequest(request)).thenReturn(transaction);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
             Transaction result = transactionProcessor.createAndSaveTransaction(request, TransactionType.DEPOSIT);
 
             assertThat(result).isNotNull();
             assertThat(result.getStatus()).isEqualTo(TransactionStatus.PENDING);
             assertThat(result.getCreatedAt()).isNotNull();
-            verify(transactionRepository).save(any(Transaction.class));
+            verify(transactionRepository).persistAll(List.of(transaction));
         }
 
         @Test
@@ -97,7 +102,6 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN124", TransactionType.WITHDRAWAL);
 
             when(transactionMapper.fromWithdrawalRequest(request)).thenReturn(transaction);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
             Transaction result = transactionProcessor.createAndSaveTransaction(request, TransactionType.WITHDRAWAL);
 
@@ -116,7 +120,6 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN125", TransactionType.TRANSFER);
 
             when(transactionMapper.fromTransferRequest(request)).thenReturn(transaction);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
             Transaction result = transactionProcessor.createAndSaveTransaction(request, TransactionType.TRANSFER);
 
@@ -130,7 +133,6 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN123", TransactionType.DEPOSIT);
 
             when(transactionMapper.fromDepositRequest(request)).thenReturn(transaction);
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArgument(0));
 
             Transaction result = transactionProcessor.createAndSaveTransaction(request, TransactionType.DEPOSIT);
 
@@ -150,7 +152,6 @@ class TransactionProcessorIT {
             response.setTransactionId("TXN123");
             response.setStatus(TransactionStatus.COMPLETED);
 
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
             when(transactionMapper.toResponseWithBalance(any(Transaction.class), eq(AMOUNT)))
                     .thenReturn(response);
 
@@ -158,7 +159,7 @@ class TransactionProcessorIT {
 
             assertThat(result).isNotNull();
             assertThat(result.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
-            verify(transactionRepository).save(any(Transaction.class));
+            verify(transactionRepository).updateStatus(any(Transaction.class));
         }
 
         @Test
@@ -166,17 +167,17 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN123", TransactionType.DEPOSIT);
             TransactionResponse response = new TransactionResponse();
 
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            doAnswer(invocation -> {
                 Transaction txn = invocation.getArgument(0);
                 assertThat(txn.getUpdatedAt()).isNotNull();
-                return txn;
-            });
+                return null;
+            }).when(transactionRepository).updateStatus(any(Transaction.class));
             when(transactionMapper.toResponseWithBalance(any(Transaction.class), any(BigDecimal.class)))
                     .thenReturn(response);
 
             transactionProcessor.completeTransaction(transaction, AMOUNT);
 
-            verify(transactionRepository).save(any(Transaction.class));
+            verify(transactionRepository).updateStatus(any(Transaction.class));
         }
     }
     
@@ -185,24 +186,11 @@ class TransactionProcessorIT {
     class SyncBalance{
 
         @Test
-        void shouldSyncBalanceSuccessfully() {
-            doNothing().when(accountService).syncBalanceWithAccountService(ACCOUNT_NUMBER, AMOUNT);
-
-            assertThatCode(() -> transactionProcessor.syncBalanceToAccountService(ACCOUNT_NUMBER, AMOUNT))
-                    .doesNotThrowAnyException();
-
-            verify(accountService).syncBalanceWithAccountService(ACCOUNT_NUMBER, AMOUNT);
-        }
-
-        @Test
-        void shouldHandleSyncBalanceException() {
-            doThrow(new RuntimeException("Sync failed")).when(accountService)
-                    .syncBalanceWithAccountService(ACCOUNT_NUMBER, AMOUNT);
-
+        void shouldQueueBalanceSync() {
             assertThatCode(() -> transactionProcessor.syncBalanceToAccountService(ACCOUNT_NUMBER, AMOUNT))
                     .doesNotThrowAnyException();
 
-            verify(accountService).syncBalanceWithAccountService(ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceSyncQueue).enqueue(ACCOUNT_NUMBER, AMOUNT);
         }
     }
     
@@ -215,13 +203,12 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN123", TransactionType.DEPOSIT);
             Exception cause = new RuntimeException("Insufficient funds");
 
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
             assertThatThrownBy(() -> transactionProcessor.failTransaction(transaction, "Deposit failed", cause))
                     .isInstanceOf(TransactionProcessingException.class)
                     .hasMessage("Deposit failed");
 
-            verify(transactionRepository).save(any(Transaction.class));
+            verify(transactionRepository).updateStatus(any(Transaction.class));
         }
 
         @Test
@@ -229,17 +216,17 @@ class TransactionProcessorIT {
             Transaction transaction = createTransaction("TXN123", TransactionType.DEPOSIT);
             Exception cause = new RuntimeException("Error");
 
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            doAnswer(invocation -> {
                 Transaction txn = invocation.getArgument(0);
                 assertThat(txn.getStatus()).isEqualTo(TransactionStatus.FAILED);
                 assertThat(txn.getUpdatedAt()).isNotNull();
-                return txn;
-            });
+                return null;
+            }).when(transactionRepository).updateStatus(any(Transaction.class));
 
             assertThatThrownBy(() -> transactionProcessor.failTransaction(transaction, "Failed", cause))
                     .isInstanceOf(TransactionProcessingException.class);
 
-            verify(transactionRepository).save(any(Transaction.class));
+            verify(transactionRepository).updateStatus(any(Transaction.class));
         }
     }
     
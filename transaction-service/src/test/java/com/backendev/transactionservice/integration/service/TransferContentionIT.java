@@ -0,0 +1,108 @@
+package com.backendev.transactionservice.integration.service;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.exception.InsufficientFundsException;
+import com.backendev.transactionservice.integration.config.TestFeignConfig;
+import com.backendev.transactionservice.integration.config.TestSecurityConfig;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.service.BalanceManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for the transfer path: 64 threads move money back and forth between a handful of
+ * accounts, so opposite transfers on the same pair happen constantly. With ordered locking no
+ * transfer may fail with a deadlock and the total across all accounts must not change.
+ */
+@Slf4j
+@SpringBootTest
+@Import({TestSecurityConfig.class, TestFeignConfig.class})
+@ActiveProfiles("test")
+class TransferContentionIT {
+
+    private static final int THREADS = 64;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final List<Long> ACCOUNTS = List.of(910001L, 910002L, 910003L, 910004L);
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private BalanceManager balanceManager;
+
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        accountBalanceRepository.deleteAllById(ACCOUNTS);
+        ACCOUNTS.forEach(account -> balanceManager.updateAccountBalance(account, OPENING_BALANCE));
+    }
+
+    @Test
+    void concurrentOppositeTransfers_CompleteWithoutDeadlockAndConserveMoney() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(ACCOUNTS.size());
+                    int to = (from + 1 + random.nextInt(ACCOUNTS.size() - 1)) % ACCOUNTS.size();
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 50));
+                    try {
+                        balanceManager.transfer(ACCOUNTS.get(from), ACCOUNTS.get(to), amount);
+                        completed.incrementAndGet();
+                    } catch (InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+
+        log.info("{} transfers ({} rejected) across {} threads in {} ms: {} transfers/s, mean lock wait {} ms",
+                completed.get(), rejected.get(), THREADS, elapsedMillis, completed.get() * 1000L / elapsedMillis,
+                meterRegistry.timer("balance.transfer.lock.wait").mean(TimeUnit.MILLISECONDS));
+
+        assertThat(failures).isEmpty();
+        assertThat(completed.get() + rejected.get()).isEqualTo(THREADS * TRANSFERS_PER_THREAD);
+        BigDecimal total = accountBalanceRepository.findAllById(ACCOUNTS).stream()
+                .map(AccountBalance::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS.size())));
+    }
+}
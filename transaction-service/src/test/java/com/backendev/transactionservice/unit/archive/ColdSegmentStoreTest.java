@@ -0,0 +1,126 @@
+package com.backendev.transactionservice.unit.archive;
+
+import com.backendev.transactionservice.archive.ColdSegmentStore;
+import com.backendev.transactionservice.archive.Segment;
+import com.backendev.transactionservice.archive.SegmentWriter;
+import com.backendev.transactionservice.dto.HistoryCursor;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColdSegmentStoreTest {
+
+    private static final List<String> ALL_TYPES = List.of("DEPOSIT", "WITHDRAWAL", "TRANSFER");
+
+    @TempDir
+    Path directory;
+
+    private ColdSegmentStore store;
+
+    private final Transaction deposit = transaction("TXN-3", 100L, null, TransactionType.DEPOSIT, "2024-01-20T10:00:00Z");
+    private final Transaction transfer = transaction("TXN-2", 100L, 200L, TransactionType.TRANSFER, "2024-01-10T10:00:00.123456Z");
+    private final Transaction withdrawal = transaction("TXN-1", 100L, null, TransactionType.WITHDRAWAL, "2024-01-05T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        store = new ColdSegmentStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+    }
+
+    @Test
+    void segment_RoundTripsRowsAcrossBlocks() throws Exception {
+        transfer.setDescription(null);
+        transfer.setUpdatedAt(null);
+        Path file = writeJanuary();
+
+        Segment segment = Segment.open(file);
+
+        assertEquals(4, segment.rows());
+        assertEquals(List.of(deposit, transfer, withdrawal), segment.read(100L));
+        assertEquals(List.of(transfer), segment.read(200L));
+        assertTrue(segment.read(150L).isEmpty());
+        assertNull(segment.read(200L).get(0).getDescription());
+    }
+
+    @Test
+    void findHistory_ResumesBelowCursorAndFiltersTypes() throws Exception {
+        writeJanuary();
+        store.load();
+
+        List<Transaction> page = store.findHistory(100L, ALL_TYPES, Instant.EPOCH, HistoryCursor.START.getCreatedAt(),
+                new HistoryCursor(deposit.getCreatedAt(), deposit.getTransactionId()), 10);
+        List<Transaction> transfers = store.findHistory(100L, List.of("TRANSFER"), Instant.EPOCH,
+                HistoryCursor.START.getCreatedAt(), HistoryCursor.START, 10);
+
+        assertEquals(List.of(transfer, withdrawal), page);
+        assertEquals(List.of(transfer), transfers);
+    }
+
+    @Test
+    void streamStatement_ReturnsOldestFirstWithinRange() throws Exception {
+        writeJanuary();
+        store.load();
+
+        List<Transaction> statement = store.streamStatement(100L, Instant.parse("2024-01-06T00:00:00Z"),
+                Instant.parse("2024-02-01T00:00:00Z")).toList();
+
+        assertEquals(List.of(transfer, deposit), statement);
+        assertTrue(store.isArchived(Instant.parse("2024-01-31T23:59:59Z")));
+        assertFalse(store.isArchived(Instant.parse("2024-02-01T00:00:00Z")));
+    }
+
+    @Test
+    void rescan_PicksUpSegmentsPublishedAfterStartupAndReplacedOnes() throws Exception {
+        store.load();
+        assertFalse(store.isArchived(deposit.getCreatedAt()));
+
+        Path file = writeJanuary();
+        store.rescan();
+        assertTrue(store.isArchived(deposit.getCreatedAt()));
+
+        try (SegmentWriter writer = new SegmentWriter(file, 2)) {
+            writer.append(100L, deposit);
+            writer.finish();
+        }
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        store.rescan();
+
+        assertEquals(List.of(deposit), store.findHistory(100L, ALL_TYPES, Instant.EPOCH,
+                HistoryCursor.START.getCreatedAt(), HistoryCursor.START, 10));
+    }
+
+    private Path writeJanuary() throws Exception {
+        Path file = store.pathOf(YearMonth.of(2024, 1));
+        try (SegmentWriter writer = new SegmentWriter(file, 2)) {
+            writer.append(100L, deposit);
+            writer.append(100L, transfer);
+            writer.append(100L, withdrawal);
+            writer.append(200L, transfer);
+            writer.finish();
+        }
+        return file;
+    }
+
+    private static Transaction transaction(String id, Long from, Long to, TransactionType type, String createdAt) {
+        return new Transaction(id, from, to, new BigDecimal("25.50"), type, TransactionStatus.COMPLETED, "Archived",
+                Instant.parse(createdAt), Instant.parse(createdAt));
+    }
+}
@@ -0,0 +1,142 @@
+package com.backendev.transactionservice.unit.cache;
+
+import com.backendev.transactionservice.cache.AccountValidationCache;
+import com.backendev.transactionservice.dto.AccountResponse;
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountValidationCacheTest {
+
+    private static final Long ACCOUNT_NUMBER = 12345L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountValidationCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AccountValidationCache(meterRegistry, 100, 60_000, 60_000, 300_000);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_RepeatedLookup_LoadsOnceAndCountsHits() {
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+        Optional<AccountResponse> result = cache.get(ACCOUNT_NUMBER, this::loadActive);
+
+        assertThat(result).get().extracting(AccountResponse::getUserId).isEqualTo("user123");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("account.validation.cache.requests", "result", "hit").count()).isEqualTo(2.0);
+        assertThat(cache.hitRatio()).isEqualTo(2.0 / 3.0);
+    }
+
+    @Test
+    void get_UnknownAccount_CachesNegativeResult() {
+        Function<Long, Optional<AccountResponse>> missing = accountNumber -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(cache.get(ACCOUNT_NUMBER, missing)).isEmpty();
+        assertThat(cache.get(ACCOUNT_NUMBER, missing)).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_NegativeEntryExpires_LoadsAgain() throws Exception {
+        cache = new AccountValidationCache(meterRegistry, 100, 60_000, 1, 300_000);
+        Function<Long, Optional<AccountResponse>> missing = accountNumber -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        cache.get(ACCOUNT_NUMBER, missing);
+        Thread.sleep(5);
+        cache.get(ACCOUNT_NUMBER, missing);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_LoaderFails_CachesNothing() {
+        assertThatThrownBy(() -> cache.get(ACCOUNT_NUMBER, accountNumber -> {
+            throw new ServiceUnavailableException("Account service temporarily unavailable");
+        })).isInstanceOf(ServiceUnavailableException.class);
+
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidate_DropsEntry() {
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+
+        cache.invalidate(ACCOUNT_NUMBER);
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidate_DuringLoad_LoadedValueIsNotCached() {
+        cache.get(ACCOUNT_NUMBER, accountNumber -> {
+            cache.invalidate(ACCOUNT_NUMBER);
+            return loadActive(accountNumber);
+        });
+
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getStale_ExpiredEntry_ReturnedWithinMaxStale() throws Exception {
+        cache = new AccountValidationCache(meterRegistry, 100, 1, 60_000, 60_000);
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+        Thread.sleep(5);
+
+        assertThat(cache.getStale(ACCOUNT_NUMBER)).get().extracting(AccountResponse::getUserId).isEqualTo("user123");
+    }
+
+    @Test
+    void getStale_EntryOlderThanMaxStale_ReturnsEmpty() throws Exception {
+        cache = new AccountValidationCache(meterRegistry, 100, 1, 60_000, 3);
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+        Thread.sleep(5);
+
+        assertThat(cache.getStale(ACCOUNT_NUMBER)).isEmpty();
+    }
+
+    @Test
+    void get_ScanOfOneOffAccounts_KeepsFrequentlyUsedAccount() {
+        cache = new AccountValidationCache(meterRegistry, 1_000, 60_000, 60_000, 300_000);
+        for (int i = 0; i < 20; i++) {
+            cache.get(ACCOUNT_NUMBER, this::loadActive);
+        }
+        for (long account = 1; account <= 5_000; account++) {
+            cache.get(account, this::loadActive);
+        }
+        int loadsBefore = loads.get();
+
+        cache.get(ACCOUNT_NUMBER, this::loadActive);
+
+        assertThat(loads).hasValue(loadsBefore);
+        assertThat(cache.size()).isLessThanOrEqualTo(1_000);
+    }
+
+    private Optional<AccountResponse> loadActive(Long accountNumber) {
+        loads.incrementAndGet();
+        return Optional.of(new AccountResponse(accountNumber, "user123", "CHECKING", "ACTIVE", Instant.now()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.backendev.transactionservice.unit.client;
+
+import com.backendev.transactionservice.client.PooledFeignClient;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledFeignClientTest {
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, false);
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch releaseSlowCall;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        releaseSlowCall = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("X-Method", exchange.getRequestMethod());
+            exchange.sendResponseHeaders(201, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                releaseSlowCall.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowCall.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void execute_RoundTripsStatusHeadersAndBody() throws IOException {
+        PooledFeignClient client = new PooledFeignClient(meterRegistry, HttpClient.Version.HTTP_1_1, 4, 100);
+        Map<String, Collection<String>> headers = Map.of(
+                "Content-Type", List.of("application/json"),
+                "Content-Length", List.of("13"));
+
+        Response response = client.execute(Request.create(Request.HttpMethod.PUT, baseUrl + "/echo", headers,
+                "{\"id\":12345}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, null), OPTIONS);
+
+        assertThat(response.status()).isEqualTo(201);
+        assertThat(response.headers().get("x-method")).containsExactly("PUT");
+        assertThat(new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":12345}");
+        String route = "localhost:" + server.getAddress().getPort();
+        assertThat(meterRegistry.timer("feign.client.requests", "method", "PUT", "route", route, "status", "201")
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("feign.client.inflight").tag("route", route).gauge().value()).isZero();
+    }
+
+    @Test
+    void execute_ReadTimeoutExceeded_ThrowsIOException() {
+        PooledFeignClient client = new PooledFeignClient(meterRegistry, HttpClient.Version.HTTP_1_1, 4, 100);
+        Request.Options shortRead = new Request.Options(1, TimeUnit.SECONDS, 100, TimeUnit.MILLISECONDS, false);
+
+        assertThatThrownBy(() -> client.execute(get("/slow"), shortRead))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void execute_RouteAtCapacity_FailsAfterLeaseTimeout() throws Exception {
+        PooledFeignClient client = new PooledFeignClient(meterRegistry, HttpClient.Version.HTTP_1_1, 1, 50);
+        CompletableFuture<Response> slowCall = CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.execute(get("/slow"), OPTIONS);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        String route = "localhost:" + server.getAddress().getPort();
+        while (meterRegistry.find("feign.client.inflight").tag("route", route).gauge() == null
+                || meterRegistry.get("feign.client.inflight").tag("route", route).gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> client.execute(get("/echo"), OPTIONS))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("exhausted");
+        assertThat(meterRegistry.timer("feign.client.lease", "route", route, "outcome", "timeout").count())
+                .isEqualTo(1);
+
+        releaseSlowCall.countDown();
+        assertThat(slowCall.get(5, TimeUnit.SECONDS).status()).isEqualTo(204);
+        assertThat(client.execute(get("/echo"), OPTIONS).status()).isEqualTo(201);
+    }
+
+    private Request get(String path) {
+        return Request.create(Request.HttpMethod.GET, baseUrl + path, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
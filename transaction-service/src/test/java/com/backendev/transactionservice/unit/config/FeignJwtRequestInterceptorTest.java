@@ -0,0 +1,85 @@
+package com.backendev.transactionservice.unit.config;
+
+import com.backendev.transactionservice.config.FeignJwtRequestInterceptor;
+import com.backendev.transactionservice.config.RequestContextTaskDecorator;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeignJwtRequestInterceptorTest {
+
+    private final FeignJwtRequestInterceptor interceptor = new FeignJwtRequestInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void apply_RequestBound_ForwardsIncomingHeader() {
+        bindRequest("Bearer incoming");
+        RequestTemplate template = new RequestTemplate();
+
+        interceptor.apply(template);
+
+        assertThat(template.headers().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer incoming");
+    }
+
+    @Test
+    void apply_NoRequestBound_UsesTokenFromSecurityContext() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user-123", "stored-token", List.of()));
+        RequestTemplate template = new RequestTemplate();
+
+        interceptor.apply(template);
+
+        assertThat(template.headers().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer stored-token");
+    }
+
+    @Test
+    void apply_NoCaller_AddsNoHeader() {
+        RequestTemplate template = new RequestTemplate();
+
+        interceptor.apply(template);
+
+        assertThat(template.headers()).doesNotContainKey(HttpHeaders.AUTHORIZATION);
+    }
+
+    @Test
+    void decoratedTask_OnAnotherThread_SeesCallerContextAndCleansUp() throws Exception {
+        bindRequest("Bearer incoming");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user-123", "stored-token", List.of()));
+        RequestTemplate template = new RequestTemplate();
+        AtomicReference<Object> leftoverAttributes = new AtomicReference<>("not checked");
+
+        Runnable task = new RequestContextTaskDecorator().decorate(() -> interceptor.apply(template));
+        Thread worker = new Thread(() -> {
+            task.run();
+            leftoverAttributes.set(RequestContextHolder.getRequestAttributes());
+        });
+        worker.start();
+        worker.join();
+
+        assertThat(template.headers().get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer incoming");
+        assertThat(leftoverAttributes.get()).isNull();
+    }
+
+    private static void bindRequest(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
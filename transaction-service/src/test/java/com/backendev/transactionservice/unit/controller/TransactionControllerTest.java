@@ -2,15 +2,25 @@ package com.backendev.transactionservice.unit.controller;
 
 import com.backendev.transactionservice.controller.TransactionController;
 import com.backendev.transactionservice.dto.AccountBalanceInfo;
+import com.backendev.transactionservice.dto.BatchItemResult;
+import com.backendev.transactionservice.dto.BatchTransactionItem;
+import com.backendev.transactionservice.dto.BatchTransactionRequest;
+import com.backendev.transactionservice.dto.BatchTransactionResponse;
+import com.backendev.transactionservice.dto.TransactionHistoryPage;
 import com.backendev.transactionservice.dto.TransactionInfo;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.dto.TransactionSummary;
+import com.backendev.transactionservice.dto.TransactionTypeTotals;
 import com.backendev.transactionservice.dto.TransferRequest;
+import com.backendev.transactionservice.enums.StatementFormat;
 import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.GlobalExceptionHandler;
+import com.backendev.transactionservice.exception.IdempotencyConflictException;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
 import com.backendev.transactionservice.exception.InvalidAccountException;
+import com.backendev.transactionservice.exception.InvalidDateRangeException;
 import com.backendev.transactionservice.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -22,20 +32,32 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -78,7 +100,7 @@ class TransactionControllerTest {
                 new BigDecimal("5000.00")
         );
 
-        when(transactionService.deposit(any(TransactionRequest.class))).thenReturn(response);
+        when(transactionService.deposit(any(TransactionRequest.class), any())).thenReturn(response);
 
         mockMvc.perform(post("/api/v1/transactions/deposit")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -91,7 +113,7 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"))
                 .andExpect(jsonPath("$.accountBalance").value(5000.00));
 
-        verify(transactionService).deposit(any(TransactionRequest.class));
+        verify(transactionService).deposit(any(TransactionRequest.class), any());
     }
 
     @Test
@@ -113,7 +135,7 @@ class TransactionControllerTest {
                 new BigDecimal("4500.00")
         );
 
-        when(transactionService.withdraw(any(TransactionRequest.class))).thenReturn(response);
+        when(transactionService.withdraw(any(TransactionRequest.class), any())).thenReturn(response);
 
         mockMvc.perform(post("/api/v1/transactions/withdraw")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -126,7 +148,7 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"))
                 .andExpect(jsonPath("$.accountBalance").value(4500.00));
 
-        verify(transactionService).withdraw(any(TransactionRequest.class));
+        verify(transactionService).withdraw(any(TransactionRequest.class), any());
     }
 
     @Test
@@ -149,7 +171,7 @@ class TransactionControllerTest {
                 new BigDecimal("2500.00")
         );
 
-        when(transactionService.transfer(any(TransferRequest.class))).thenReturn(response);
+        when(transactionService.transfer(any(TransferRequest.class), any())).thenReturn(response);
 
         mockMvc.perform(post("/api/v1/transactions/transfer")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -162,7 +184,78 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.type").value("TRANSFER"))
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
 
-        verify(transactionService).transfer(any(TransferRequest.class));
+        verify(transactionService).transfer(any(TransferRequest.class), any());
+    }
+
+    @Test
+    void should_pass_idempotency_key_to_service() throws Exception {
+        TransactionRequest request = new TransactionRequest(123456L, new BigDecimal("1000.00"), "Deposit");
+        TransactionResponse response = new TransactionResponse("TXN-001", null, 123456L, new BigDecimal("1000.00"),
+                TransactionType.DEPOSIT, TransactionStatus.COMPLETED, "Deposit", Instant.now(), new BigDecimal("5000.00"));
+
+        when(transactionService.deposit(any(TransactionRequest.class), eq("retry-key-1"))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/transactions/deposit")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactionId").value("TXN-001"));
+
+        verify(transactionService).deposit(any(TransactionRequest.class), eq("retry-key-1"));
+    }
+
+    @Test
+    void should_return_conflict_when_idempotency_key_reused_with_different_request() throws Exception {
+        TransferRequest request = new TransferRequest(123456L, 789012L, new BigDecimal("10.00"), "Rent");
+
+        when(transactionService.transfer(any(TransferRequest.class), eq("retry-key-2")))
+                .thenThrow(new IdempotencyConflictException("Idempotency-Key was already used with a different request"));
+
+        mockMvc.perform(post("/api/v1/transactions/transfer")
+                        .header("Idempotency-Key", "retry-key-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void should_submit_batch_successfully() throws Exception {
+        BatchTransactionRequest request = new BatchTransactionRequest(List.of(
+                new BatchTransactionItem(TransactionType.DEPOSIT, 123456L, new BigDecimal("100.00"), "Settlement"),
+                new BatchTransactionItem(TransactionType.WITHDRAWAL, 123456L, new BigDecimal("40.00"), "Settlement")));
+
+        BatchTransactionResponse response = new BatchTransactionResponse(2, 2, 0, List.of(
+                BatchItemResult.builder().index(0).transactionId("TXN-001").status(TransactionStatus.COMPLETED)
+                        .accountBalance(new BigDecimal("100.00")).build(),
+                BatchItemResult.builder().index(1).transactionId("TXN-002").status(TransactionStatus.COMPLETED)
+                        .accountBalance(new BigDecimal("60.00")).build()));
+
+        when(transactionService.submitBatch(any(BatchTransactionRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results[1].transactionId").value("TXN-002"))
+                .andExpect(jsonPath("$.results[1].accountBalance").value(60.00));
+
+        verify(transactionService).submitBatch(any(BatchTransactionRequest.class));
+    }
+
+    @Test
+    void should_reject_batch_with_transfer_item() throws Exception {
+        BatchTransactionRequest request = new BatchTransactionRequest(List.of(
+                new BatchTransactionItem(TransactionType.TRANSFER, 123456L, new BigDecimal("100.00"), "Settlement")));
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).submitBatch(any());
     }
 
     @Test
@@ -206,6 +299,77 @@ class TransactionControllerTest {
         verify(transactionService).fetchTransactionsByAccount(accountNumber);
     }
 
+    @Test
+    void should_fetch_transaction_history_page() throws Exception {
+        TransactionInfo info = new TransactionInfo("TXN-001", 789012L, 123456L, new BigDecimal("100.00"),
+                TransactionType.TRANSFER, TransactionStatus.COMPLETED, "Rent", "01 Oct 2025, 10:30 AM", null);
+        TransactionHistoryPage page = new TransactionHistoryPage(List.of(info), "next-cursor", true);
+
+        when(transactionService.fetchTransactionHistory(eq(123456L), eq("cursor-1"), eq(1),
+                eq(Set.of(TransactionType.TRANSFER)), eq(Instant.parse("2025-10-01T00:00:00Z")), isNull()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/transactions/account/123456/history")
+                        .param("cursor", "cursor-1")
+                        .param("limit", "1")
+                        .param("type", "TRANSFER")
+                        .param("from", "2025-10-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].transactionId").value("TXN-001"))
+                .andExpect(jsonPath("$.items[0].toAccountNumber").value(123456L))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void should_fetch_transaction_summary() throws Exception {
+        LocalDate from = LocalDate.parse("2025-10-01");
+        LocalDate to = LocalDate.parse("2025-10-31");
+        TransactionSummary summary = new TransactionSummary(123456L, from, to, List.of(
+                new TransactionTypeTotals(TransactionType.DEPOSIT, 3, new BigDecimal("900.00"), BigDecimal.ZERO)));
+
+        when(transactionService.fetchTransactionSummary(123456L, from, to)).thenReturn(summary);
+
+        mockMvc.perform(get("/api/v1/transactions/account/123456/summary")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value(123456L))
+                .andExpect(jsonPath("$.totals[0].type").value("DEPOSIT"))
+                .andExpect(jsonPath("$.totals[0].count").value(3))
+                .andExpect(jsonPath("$.totals[0].amountIn").value(900.00));
+    }
+
+    @Test
+    void should_reject_inverted_summary_range() throws Exception {
+        when(transactionService.fetchTransactionSummary(eq(123456L), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new InvalidDateRangeException("Summary range starts after it ends"));
+
+        mockMvc.perform(get("/api/v1/transactions/account/123456/summary")
+                        .param("from", "2025-10-31")
+                        .param("to", "2025-10-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_stream_statement_as_csv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("transactionId\nTXN-001\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionService).exportStatement(eq(123456L), eq(StatementFormat.CSV), isNull(), isNull(), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/transactions/account/123456/export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"statement-123456.csv\""))
+                .andExpect(content().string("transactionId\nTXN-001\n"));
+    }
+
     @Test
     void should_fetch_account_balance() throws Exception {
         Long accountNumber = 123456L;
@@ -246,7 +410,7 @@ class TransactionControllerTest {
         request.setAmount(new BigDecimal("10000.00"));
         request.setDescription("Withdrawal");
 
-        when(transactionService.withdraw(any(TransactionRequest.class)))
+        when(transactionService.withdraw(any(TransactionRequest.class), any()))
                 .thenThrow(new InsufficientFundsException("Insufficient balance for withdrawal"));
 
         mockMvc.perform(post("/api/v1/transactions/withdraw")
@@ -256,7 +420,7 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.errorMessage").value("Insufficient balance for withdrawal"))
                 .andExpect(jsonPath("$.errorDetails").value("Insufficient Balance."));
 
-        verify(transactionService).withdraw(any(TransactionRequest.class));
+        verify(transactionService).withdraw(any(TransactionRequest.class), any());
     }
 
     @Test
@@ -266,7 +430,7 @@ class TransactionControllerTest {
         request.setAmount(new BigDecimal("1000.00"));
         request.setDescription("Deposit");
 
-        when(transactionService.deposit(any(TransactionRequest.class)))
+        when(transactionService.deposit(any(TransactionRequest.class), any()))
                 .thenThrow(new InvalidAccountException("Account not found"));
 
         mockMvc.perform(post("/api/v1/transactions/deposit")
@@ -276,7 +440,7 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.errorMessage").value("Account not found"))
                 .andExpect(jsonPath("$.errorDetails").value("Account not found. Invalid Account."));
 
-        verify(transactionService).deposit(any(TransactionRequest.class));
+        verify(transactionService).deposit(any(TransactionRequest.class), any());
     }
 
     @Test
@@ -286,7 +450,7 @@ class TransactionControllerTest {
         request.setAmount(new BigDecimal("1000.00"));
         request.setDescription("Deposit");
 
-        when(transactionService.deposit(any(TransactionRequest.class)))
+        when(transactionService.deposit(any(TransactionRequest.class), any()))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         mockMvc.perform(post("/api/v1/transactions/deposit")
@@ -296,7 +460,7 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.errorMessage").value("Database connection failed"))
                 .andExpect(jsonPath("$.errorDetails").value("An unexpected error occurred."));
 
-        verify(transactionService).deposit(any(TransactionRequest.class));
+        verify(transactionService).deposit(any(TransactionRequest.class), any());
     }
 
     @Test
@@ -308,7 +472,7 @@ class TransactionControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
 
-        verify(transactionService, never()).deposit(any(TransactionRequest.class));
+        verify(transactionService, never()).deposit(any(TransactionRequest.class), any());
     }
 
     @Test
@@ -320,6 +484,6 @@ class TransactionControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
 
-        verify(transactionService, never()).transfer(any(TransferRequest.class));
+        verify(transactionService, never()).transfer(any(TransferRequest.class), any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.backendev.transactionservice.unit.export;
+
+import com.backendev.transactionservice.archive.ColdSegmentStore;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.StatementFormat;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.export.StatementExporter;
+import com.backendev.transactionservice.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatementExporterTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ColdSegmentStore coldSegmentStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StatementExporter statementExporter;
+
+    private static final Long ACCOUNT_NUMBER = 123456L;
+    private static final Instant FROM = Instant.EPOCH;
+    private static final Instant TO = Instant.parse("2026-01-01T00:00:00Z");
+
+    private Transaction deposit;
+    private Transaction transfer;
+
+    @BeforeEach
+    void setUp() {
+        statementExporter = new StatementExporter(transactionRepository, coldSegmentStore, entityManager, objectMapper);
+        ReflectionTestUtils.setField(statementExporter, "flushEvery", 1000);
+
+        deposit = new Transaction("TXN-001", ACCOUNT_NUMBER, ACCOUNT_NUMBER, new BigDecimal("100.00"),
+                TransactionType.DEPOSIT, TransactionStatus.COMPLETED, "Salary",
+                Instant.parse("2025-10-01T10:00:00Z"), Instant.parse("2025-10-01T10:00:00Z"));
+        transfer = new Transaction("TXN-002", 789012L, ACCOUNT_NUMBER, new BigDecimal("25.50"),
+                TransactionType.TRANSFER, TransactionStatus.COMPLETED, "Rent, \"October\"",
+                Instant.parse("2025-10-02T10:00:00Z"), null);
+    }
+
+    @Test
+    void export_Ndjson_WritesOneJsonObjectPerLine() throws Exception {
+        when(transactionRepository.streamStatement(ACCOUNT_NUMBER, FROM, TO)).thenReturn(Stream.of(deposit, transfer));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = statementExporter.export(ACCOUNT_NUMBER, FROM, TO, StatementFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("transactionId").asText()).isEqualTo("TXN-002");
+        assertThat(second.get("fromAccountNumber").asLong()).isEqualTo(789012L);
+        assertThat(second.get("amount").decimalValue()).isEqualByComparingTo("25.50");
+        assertThat(second.get("updatedAt").isNull()).isTrue();
+        verify(entityManager).detach(deposit);
+        verify(entityManager).detach(transfer);
+    }
+
+    @Test
+    void export_Csv_WritesHeaderAndEscapesDescriptions() throws Exception {
+        when(transactionRepository.streamStatement(ACCOUNT_NUMBER, FROM, TO)).thenReturn(Stream.of(deposit, transfer));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        statementExporter.export(ACCOUNT_NUMBER, FROM, TO, StatementFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("transactionId,fromAccountNumber");
+        assertThat(lines[1]).isEqualTo("TXN-001,123456,123456,100.00,DEPOSIT,COMPLETED,Salary,2025-10-01T10:00:00Z,2025-10-01T10:00:00Z");
+        assertThat(lines[2]).isEqualTo("TXN-002,789012,123456,25.50,TRANSFER,COMPLETED,\"Rent, \"\"October\"\"\",2025-10-02T10:00:00Z,");
+    }
+
+    @Test
+    void export_Csv_NeutralizesFormulaDescriptions() throws Exception {
+        deposit.setDescription("=HYPERLINK(\"http://example.com\")");
+        transfer.setDescription("-10+20");
+        when(transactionRepository.streamStatement(ACCOUNT_NUMBER, FROM, TO)).thenReturn(Stream.of(deposit, transfer));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        statementExporter.export(ACCOUNT_NUMBER, FROM, TO, StatementFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[1]).contains(",\"'=HYPERLINK(\"\"http://example.com\"\")\",");
+        assertThat(lines[2]).contains(",'-10+20,");
+    }
+
+    @Test
+    void export_NoRows_WritesNothingForNdjson() throws Exception {
+        when(transactionRepository.streamStatement(ACCOUNT_NUMBER, FROM, TO)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = statementExporter.export(ACCOUNT_NUMBER, FROM, TO, StatementFormat.NDJSON, out);
+
+        assertThat(written).isZero();
+        assertThat(out.size()).isZero();
+    }
+}
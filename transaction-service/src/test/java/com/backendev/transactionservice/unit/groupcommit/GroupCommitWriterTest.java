@@ -0,0 +1,187 @@
+package com.backendev.transactionservice.unit.groupcommit;
+
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.groupcommit.GroupCommitWriter;
+import com.backendev.transactionservice.mapper.TransactionMapper;
+import com.backendev.transactionservice.service.BalanceManager;
+import com.backendev.transactionservice.service.TransactionProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitWriterTest {
+
+    @Mock
+    private TransactionProcessor transactionProcessor;
+
+    @Mock
+    private BalanceManager balanceManager;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCommitWriter writer;
+
+    private static final Long ACCOUNT_NUMBER = 12345L;
+    private static final Long OTHER_ACCOUNT_NUMBER = 67890L;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new GroupCommitWriter(transactionProcessor, balanceManager, transactionMapper, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "writerCount", 1);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 16);
+        ReflectionTestUtils.setField(writer, "windowMillis", 2000L);
+        ReflectionTestUtils.setField(writer, "timeoutMillis", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void deposit_ConcurrentDeposits_CommitTogetherWithOneDeltaListPerAccount() throws Exception {
+        ReflectionTestUtils.setField(writer, "maxItems", 2);
+        writer.start();
+        stubCreateCompletedTransaction();
+        when(balanceManager.applyBatch(any())).thenAnswer(invocation -> {
+            Map<Long, List<BigDecimal>> deltas = invocation.getArgument(0);
+            BigDecimal first = new BigDecimal("1000.00").add(deltas.get(ACCOUNT_NUMBER).get(0));
+            return Map.of(ACCOUNT_NUMBER, List.of(first, first.add(deltas.get(ACCOUNT_NUMBER).get(1))));
+        });
+        when(transactionMapper.toResponseWithBalance(any(Transaction.class), any(BigDecimal.class)))
+                .thenAnswer(invocation -> {
+                    TransactionResponse response = new TransactionResponse();
+                    response.setAmount(((Transaction) invocation.getArgument(0)).getAmount());
+                    response.setAccountBalance(invocation.getArgument(1));
+                    return response;
+                });
+        List<TransactionResponse> notified = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<TransactionResponse> first = CompletableFuture.supplyAsync(() -> writer.deposit(request("100.00"), notified::add));
+        CompletableFuture<TransactionResponse> second = CompletableFuture.supplyAsync(() -> writer.deposit(request("50.00"), notified::add));
+
+        BigDecimal total = first.get(5, TimeUnit.SECONDS).getAmount().add(second.get(5, TimeUnit.SECONDS).getAmount());
+        assertEquals(new BigDecimal("150.00"), total);
+        assertEquals(new BigDecimal("1150.00"), first.get().getAccountBalance().max(second.get().getAccountBalance()));
+        assertEquals(2, notified.size());
+        verify(balanceManager).applyBatch(any());
+        verify(transactionProcessor).saveBatchTransactions(anyList());
+        assertEquals(1, meterRegistry.summary("deposit.group.commit.size").count());
+        assertEquals(2.0, meterRegistry.summary("deposit.group.commit.size").totalAmount());
+    }
+
+    @Test
+    void deposit_CommitFails_FailsEveryDepositInGroup() {
+        ReflectionTestUtils.setField(writer, "maxItems", 1);
+        writer.start();
+        stubCreateCompletedTransaction();
+        when(balanceManager.applyBatch(any())).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(TransactionProcessingException.class, () -> writer.deposit(request("100.00"), response -> { }));
+        verify(transactionProcessor, never()).saveBatchTransactions(anyList());
+    }
+
+    @Test
+    void deposit_GroupCommitFails_RetriesEachDepositOnItsOwn() throws Exception {
+        ReflectionTestUtils.setField(writer, "maxItems", 2);
+        writer.start();
+        stubCreateCompletedTransaction();
+        when(balanceManager.applyBatch(any())).thenAnswer(invocation -> {
+            Map<Long, List<BigDecimal>> deltas = invocation.getArgument(0);
+            if (deltas.containsKey(OTHER_ACCOUNT_NUMBER)) {
+                throw new IllegalStateException("account row missing");
+            }
+            return Map.of(ACCOUNT_NUMBER, List.of(new BigDecimal("1100.00")));
+        });
+        when(transactionMapper.toResponseWithBalance(any(Transaction.class), any(BigDecimal.class)))
+                .thenAnswer(invocation -> {
+                    TransactionResponse response = new TransactionResponse();
+                    response.setAccountBalance(invocation.getArgument(1));
+                    return response;
+                });
+
+        CompletableFuture<TransactionResponse> good = CompletableFuture.supplyAsync(() -> writer.deposit(request("100.00"), response -> { }));
+        CompletableFuture<TransactionResponse> bad = CompletableFuture.supplyAsync(
+                () -> writer.deposit(request(OTHER_ACCOUNT_NUMBER, "50.00"), response -> { }));
+
+        assertEquals(new BigDecimal("1100.00"), good.get(5, TimeUnit.SECONDS).getAccountBalance());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TransactionProcessingException.class, failure.getCause());
+        verify(balanceManager, times(3)).applyBatch(any());
+        assertEquals(1, meterRegistry.summary("deposit.group.commit.size").count());
+    }
+
+    @Test
+    void deposit_TimesOutWhileQueued_IsDroppedByTheWriter() {
+        ReflectionTestUtils.setField(writer, "maxItems", 2);
+        ReflectionTestUtils.setField(writer, "timeoutMillis", 100L);
+        writer.start();
+
+        assertThrows(TransactionProcessingException.class, () -> writer.deposit(request("100.00"), response -> { }));
+        writer.stop();
+
+        verify(transactionProcessor, never()).createCompletedTransaction(any(TransactionRequest.class), any(TransactionType.class));
+        verify(balanceManager, never()).applyBatch(any());
+    }
+
+    @Test
+    void deposit_NotStarted_Throws() {
+        assertThrows(IllegalStateException.class, () -> writer.deposit(request("100.00"), response -> { }));
+    }
+
+    private void stubCreateCompletedTransaction() {
+        when(transactionProcessor.createCompletedTransaction(any(TransactionRequest.class), any(TransactionType.class)))
+                .thenAnswer(invocation -> {
+                    Transaction transaction = new Transaction();
+                    transaction.setAmount(((TransactionRequest) invocation.getArgument(0)).getAmount());
+                    return transaction;
+                });
+    }
+
+    private static TransactionRequest request(String amount) {
+        return request(ACCOUNT_NUMBER, amount);
+    }
+
+    private static TransactionRequest request(Long accountNumber, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountNumber(accountNumber);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
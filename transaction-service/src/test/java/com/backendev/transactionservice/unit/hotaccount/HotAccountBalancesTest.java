@@ -0,0 +1,131 @@
+package com.backendev.transactionservice.unit.hotaccount;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.entity.BalanceSlot;
+import com.backendev.transactionservice.entity.BalanceSlotId;
+import com.backendev.transactionservice.hotaccount.HotAccountBalances;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.repository.BalanceSlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountBalancesTest {
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private BalanceSlotRepository balanceSlotRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private HotAccountBalances hotAccountBalances;
+
+    private static final Long HOT_ACCOUNT = 12345L;
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hotAccountBalances = new HotAccountBalances(accountBalanceRepository, balanceSlotRepository, meterRegistry,
+                Set.of(HOT_ACCOUNT), 4);
+    }
+
+    @Test
+    void isHot_OnlyListedAccounts() {
+        assertTrue(hotAccountBalances.isHot(HOT_ACCOUNT));
+        assertFalse(hotAccountBalances.isHot(67890L));
+    }
+
+    @Test
+    void credit_AddsToOneSlotAndReturnsTotal() {
+        when(balanceSlotRepository.sumByAccountNumber(HOT_ACCOUNT)).thenReturn(new BigDecimal("300.00"));
+        when(accountBalanceRepository.findById(HOT_ACCOUNT))
+                .thenReturn(Optional.of(new AccountBalance(HOT_ACCOUNT, new BigDecimal("1000.00"), Instant.now())));
+
+        BigDecimal balance = hotAccountBalances.credit(HOT_ACCOUNT, AMOUNT);
+
+        assertEquals(new BigDecimal("1300.00"), balance);
+        verify(balanceSlotRepository).creditSlot(eq(HOT_ACCOUNT), anyInt(), eq(AMOUNT));
+        verify(accountBalanceRepository, never()).creditBalance(any(), any());
+    }
+
+    @Test
+    void debitIfSufficient_SlotCoversAmount_DoesNotLockEverything() {
+        when(accountBalanceRepository.debitBalanceIfSufficient(HOT_ACCOUNT, AMOUNT)).thenReturn(Optional.empty());
+        when(balanceSlotRepository.debitAnySlotIfSufficient(HOT_ACCOUNT, AMOUNT)).thenReturn(Optional.of(BigDecimal.ZERO));
+        when(balanceSlotRepository.sumByAccountNumber(HOT_ACCOUNT)).thenReturn(new BigDecimal("50.00"));
+        when(accountBalanceRepository.findById(HOT_ACCOUNT)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.of(new BigDecimal("50.00")), hotAccountBalances.debitIfSufficient(HOT_ACCOUNT, AMOUNT));
+        verify(balanceSlotRepository, never()).findAllForUpdate(any());
+        assertEquals(0, meterRegistry.counter("balance.hot.aggregate.debits").count());
+    }
+
+    @Test
+    void debitIfSufficient_SpreadAcrossSlots_FoldsThenDebitsMainRow() {
+        when(accountBalanceRepository.debitBalanceIfSufficient(HOT_ACCOUNT, AMOUNT))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new BigDecimal("20.00")));
+        when(balanceSlotRepository.debitAnySlotIfSufficient(HOT_ACCOUNT, AMOUNT)).thenReturn(Optional.empty());
+        BalanceSlot first = slot(0, "60.00");
+        BalanceSlot second = slot(1, "50.00");
+        when(balanceSlotRepository.findAllForUpdate(HOT_ACCOUNT)).thenReturn(List.of(first, second));
+        when(accountBalanceRepository.creditBalance(HOT_ACCOUNT, new BigDecimal("110.00"))).thenReturn(new BigDecimal("120.00"));
+
+        assertEquals(Optional.of(new BigDecimal("20.00")), hotAccountBalances.debitIfSufficient(HOT_ACCOUNT, AMOUNT));
+        assertEquals(0, first.getBalance().signum());
+        assertEquals(0, second.getBalance().signum());
+        assertEquals(1, meterRegistry.counter("balance.hot.aggregate.debits").count());
+    }
+
+    @Test
+    void debitIfSufficient_TotalTooLow_ReturnsEmpty() {
+        when(accountBalanceRepository.debitBalanceIfSufficient(HOT_ACCOUNT, AMOUNT)).thenReturn(Optional.empty());
+        when(balanceSlotRepository.debitAnySlotIfSufficient(HOT_ACCOUNT, AMOUNT)).thenReturn(Optional.empty());
+        when(balanceSlotRepository.findAllForUpdate(HOT_ACCOUNT)).thenReturn(List.of(slot(0, "30.00")));
+        when(accountBalanceRepository.creditBalance(HOT_ACCOUNT, new BigDecimal("30.00"))).thenReturn(new BigDecimal("40.00"));
+
+        assertTrue(hotAccountBalances.debitIfSufficient(HOT_ACCOUNT, AMOUNT).isEmpty());
+    }
+
+    @Test
+    void consolidate_MovesSlotsIntoMainRow() {
+        when(balanceSlotRepository.findAllForUpdate(HOT_ACCOUNT)).thenReturn(List.of(slot(0, "10.00"), slot(3, "15.00")));
+
+        assertEquals(new BigDecimal("25.00"), hotAccountBalances.consolidate(HOT_ACCOUNT));
+        verify(accountBalanceRepository).creditBalance(HOT_ACCOUNT, new BigDecimal("25.00"));
+    }
+
+    @Test
+    void consolidate_EmptySlots_LeavesMainRowAlone() {
+        when(balanceSlotRepository.findAllForUpdate(HOT_ACCOUNT)).thenReturn(List.of(slot(0, "0.00")));
+
+        assertEquals(0, hotAccountBalances.consolidate(HOT_ACCOUNT).signum());
+        verify(accountBalanceRepository, never()).creditBalance(any(), any());
+    }
+
+    private static BalanceSlot slot(int slot, String balance) {
+        return new BalanceSlot(new BalanceSlotId(HOT_ACCOUNT, slot), new BigDecimal(balance));
+    }
+}
@@ -0,0 +1,84 @@
+package com.backendev.transactionservice.unit.id;
+
+import com.backendev.transactionservice.id.NodeIdLease;
+import com.backendev.transactionservice.repository.NodeLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NodeIdLeaseTest {
+
+    @Mock
+    private NodeLeaseRepository nodeLeaseRepository;
+
+    private NodeIdLease nodeIdLease;
+
+    @BeforeEach
+    void setUp() {
+        nodeIdLease = new NodeIdLease(nodeLeaseRepository);
+        ReflectionTestUtils.setField(nodeIdLease, "leaseMillis", 60000L);
+    }
+
+    @Test
+    void acquire_ReturnsTheLeasedNodeIdAndIssuesIdsForHalfTheLease() {
+        when(nodeLeaseRepository.claimFree(anyString(), any(), any(), eq(1023L))).thenReturn(Optional.of(7));
+        long before = System.currentTimeMillis();
+
+        assertThat(nodeIdLease.acquire(1023)).isEqualTo(7);
+
+        assertThat(nodeIdLease.validUntil()).isBetween(before + 30000, System.currentTimeMillis() + 30000);
+    }
+
+    @Test
+    void acquire_LosingARaceRetries() {
+        when(nodeLeaseRepository.claimFree(anyString(), any(), any(), eq(1023L)))
+                .thenReturn(Optional.empty(), Optional.of(3));
+
+        assertThat(nodeIdLease.acquire(1023)).isEqualTo(3);
+    }
+
+    @Test
+    void acquire_EveryNodeIdLeased_FailsStartup() {
+        when(nodeLeaseRepository.claimFree(anyString(), any(), any(), eq(1023L))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> nodeIdLease.acquire(1023)).isInstanceOf(IllegalStateException.class);
+        verify(nodeLeaseRepository, times(5)).claimFree(anyString(), any(), any(), eq(1023L));
+    }
+
+    @Test
+    void renew_LeaseTakenOver_StopsIssuingIds() {
+        when(nodeLeaseRepository.claimFree(anyString(), any(), any(), eq(1023L))).thenReturn(Optional.of(7));
+        when(nodeLeaseRepository.renew(eq(7), anyString(), any())).thenReturn(0);
+        nodeIdLease.acquire(1023);
+
+        nodeIdLease.renew();
+
+        assertThat(nodeIdLease.validUntil()).isZero();
+    }
+
+    @Test
+    void release_GivesTheNodeIdBack() {
+        when(nodeLeaseRepository.claimFree(anyString(), any(), any(), eq(1023L))).thenReturn(Optional.of(7));
+        nodeIdLease.acquire(1023);
+
+        nodeIdLease.release();
+
+        verify(nodeLeaseRepository).release(eq(7), anyString());
+        assertThat(nodeIdLease.validUntil()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package com.backendev.transactionservice.unit.id;
+
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.id.TransactionIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionIdGeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void nextId_FixedWidthWithPrefix() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(7, () -> NOW);
+
+        String id = generator.nextId();
+
+        assertThat(id).startsWith("TXN").hasSize(22);
+        assertThat(id.substring(3)).containsOnlyDigits();
+    }
+
+    @Test
+    void nextId_SameMillisecond_IdsAreStrictlyIncreasingAsStrings() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(7, () -> NOW);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void nextValue_ClockMovesBackwards_StaysMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TransactionIdGenerator generator = new TransactionIdGenerator(3, clock::get);
+
+        long first = generator.nextValue();
+        clock.set(NOW - 5_000);
+        long second = generator.nextValue();
+
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void nextValue_EmbedsNodeId() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(513, () -> NOW);
+
+        long value = generator.nextValue();
+
+        assertThat((value >>> 12) & 1023).isEqualTo(513);
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_NeverCollide() throws Exception {
+        TransactionIdGenerator generator = new TransactionIdGenerator(1, System::currentTimeMillis);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    void nextId_LeaseNoLongerValid_RefusesToIssueIds() {
+        AtomicLong validUntil = new AtomicLong(NOW + 1);
+        TransactionIdGenerator generator = new TransactionIdGenerator(5, () -> NOW, validUntil::get);
+
+        generator.nextId();
+        validUntil.set(NOW);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void constructor_NodeIdOutOfRange_Throws() {
+        assertThatThrownBy(() -> new TransactionIdGenerator(1024, () -> NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,267 @@
+package com.backendev.transactionservice.unit.idempotency;
+
+import com.backendev.transactionservice.dto.TransactionRequest;
+import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.entity.IdempotencyRecord;
+import com.backendev.transactionservice.enums.IdempotencyStatus;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.exception.IdempotencyConflictException;
+import com.backendev.transactionservice.exception.InsufficientFundsException;
+import com.backendev.transactionservice.exception.InvalidIdempotencyKeyException;
+import com.backendev.transactionservice.idempotency.IdempotencyStore;
+import com.backendev.transactionservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyStore idempotencyStore;
+
+    private static final String USER_ID = "user123";
+    private static final String KEY = "retry-key";
+    private static final String RECORD_ID = USER_ID + ":" + KEY;
+
+    private final TransactionRequest request = new TransactionRequest(12345L, new BigDecimal("100.00"), "Deposit");
+    private final TransactionResponse response = new TransactionResponse();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, objectMapper, transactionManager, 100);
+        ReflectionTestUtils.setField(idempotencyStore, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyStore, "waitTimeoutMillis", 2000L);
+        ReflectionTestUtils.setField(idempotencyStore, "pollIntervalMillis", 5L);
+        ReflectionTestUtils.setField(idempotencyStore, "purgeBatchSize", 2);
+        ReflectionTestUtils.setField(idempotencyStore, "leaseMillis", 30000L);
+        ReflectionTestUtils.setField(idempotencyStore, "maxKeyLength", 128);
+
+        response.setTransactionId("TXN-001");
+        response.setStatus(TransactionStatus.COMPLETED);
+        response.setAccountBalance(new BigDecimal("1100.00"));
+    }
+
+    @Test
+    void execute_NoKey_RunsActionWithoutStore() {
+        TransactionResponse result = idempotencyStore.execute(USER_ID, null, "deposit", request,
+                TransactionResponse.class, () -> response);
+
+        assertThat(result).isSameAs(response);
+        verify(idempotencyRecordRepository, never()).claim(anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void execute_ReplayedKey_ReturnsCachedResponseWithoutRunningAgain() {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.complete(eq(RECORD_ID), anyString(), anyString())).thenReturn(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class,
+                () -> { runs.incrementAndGet(); return response; });
+        TransactionResponse replay = idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class,
+                () -> { runs.incrementAndGet(); return response; });
+
+        assertThat(runs).hasValue(1);
+        assertThat(replay.getTransactionId()).isEqualTo("TXN-001");
+        verify(idempotencyRecordRepository).complete(eq(RECORD_ID), anyString(), anyString());
+        verify(idempotencyRecordRepository, times(1)).claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void execute_KeyCompletedOnAnotherInstance_ReturnsStoredResponse() throws Exception {
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), hash.capture(), anyString(), any(), any(), any())).thenReturn(0);
+        when(idempotencyRecordRepository.findById(RECORD_ID)).thenAnswer(invocation -> Optional.of(new IdempotencyRecord(
+                RECORD_ID, hash.getValue(), IdempotencyStatus.COMPLETED,
+                new ObjectMapper().writeValueAsString(response), Instant.now(), Instant.now().plusSeconds(60), null, null)));
+
+        TransactionResponse result = idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class,
+                () -> { throw new AssertionError("must not run twice"); });
+
+        assertThat(result.getTransactionId()).isEqualTo("TXN-001");
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_ThrowsConflict() {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.complete(eq(RECORD_ID), anyString(), anyString())).thenReturn(1);
+        idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class, () -> response);
+
+        TransactionRequest other = new TransactionRequest(12345L, new BigDecimal("999.00"), "Deposit");
+
+        assertThatThrownBy(() -> idempotencyStore.execute(USER_ID, KEY, "deposit", other, TransactionResponse.class,
+                () -> response))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void execute_ActionFails_ReleasesKey() {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> idempotencyStore.execute(USER_ID, KEY, "withdraw", request, TransactionResponse.class,
+                () -> { throw new InsufficientFundsException("Insufficient balance"); }))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        verify(idempotencyRecordRepository).release(eq(RECORD_ID), anyString());
+        verify(idempotencyRecordRepository, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void execute_PrepareRunsBeforeTheTransactionOpens() {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.complete(eq(RECORD_ID), anyString(), anyString())).thenReturn(1);
+        List<String> calls = new ArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            calls.add("begin");
+            return null;
+        });
+
+        idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class,
+                () -> calls.add("prepare"), () -> { calls.add("action"); return response; });
+
+        assertThat(calls).containsExactly("prepare", "begin", "action");
+    }
+
+    @Test
+    void execute_PrepareFails_ReleasesKeyWithoutOpeningATransaction() {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class,
+                () -> { throw new InsufficientFundsException("Insufficient balance"); },
+                () -> { throw new AssertionError("must not run"); }))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        verify(idempotencyRecordRepository).release(eq(RECORD_ID), anyString());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicate_WaitsForInFlightResult() throws Exception {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.complete(eq(RECORD_ID), anyString(), anyString())).thenReturn(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<TransactionResponse> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class, () -> {
+                    runs.incrementAndGet();
+                    running.countDown();
+                    await(release);
+                    return response;
+                }));
+        assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<TransactionResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class, () -> {
+                    runs.incrementAndGet();
+                    return response;
+                }));
+        release.countDown();
+
+        assertThat(first.get(2, TimeUnit.SECONDS).getTransactionId()).isEqualTo("TXN-001");
+        assertThat(duplicate.get(2, TimeUnit.SECONDS).getTransactionId()).isEqualTo("TXN-001");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void execute_LeaseTakenOver_RollsBackTheRun() {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.complete(eq(RECORD_ID), anyString(), anyString())).thenReturn(0);
+
+        assertThatThrownBy(() -> idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class,
+                () -> response))
+                .isInstanceOf(IdempotencyConflictException.class);
+
+        verify(transactionManager).rollback(any());
+        // The release only matches this run's own lease, so the instance that took over keeps the key
+        verify(idempotencyRecordRepository).release(eq(RECORD_ID), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void renewLeases_ExtendsLeasesOfRunningRequests() throws Exception {
+        when(idempotencyRecordRepository.claim(eq(RECORD_ID), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        when(idempotencyRecordRepository.complete(eq(RECORD_ID), anyString(), anyString())).thenReturn(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<TransactionResponse> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute(USER_ID, KEY, "deposit", request, TransactionResponse.class, () -> {
+                    running.countDown();
+                    await(release);
+                    return response;
+                }));
+        assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+        idempotencyStore.renewLeases();
+        release.countDown();
+        first.get(2, TimeUnit.SECONDS);
+        idempotencyStore.renewLeases();
+
+        ArgumentCaptor<Collection<String>> owners = ArgumentCaptor.forClass(Collection.class);
+        verify(idempotencyRecordRepository, times(1)).renewLeases(owners.capture(), any(Instant.class));
+        assertThat(owners.getValue()).hasSize(1);
+    }
+
+    @Test
+    void execute_KeyTooLong_IsRejected() {
+        String key = "k".repeat(129);
+
+        assertThatThrownBy(() -> idempotencyStore.execute(USER_ID, key, "deposit", request, TransactionResponse.class,
+                () -> response))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        verify(idempotencyRecordRepository, never()).claim(anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void purgeExpired_DeletesInBatchesUntilDrained() {
+        when(idempotencyRecordRepository.deleteExpired(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
+
+        idempotencyStore.purgeExpired();
+
+        verify(idempotencyRecordRepository, times(3)).deleteExpired(any(Instant.class), eq(2));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.backendev.transactionservice.unit.ledger;
+
+import com.backendev.transactionservice.entity.Posting;
+import com.backendev.transactionservice.ledger.Journal;
+import com.backendev.transactionservice.repository.PostingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JournalTest {
+
+    @Mock
+    private PostingRepository postingRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Journal journal;
+
+    private static final String TRANSACTION_ID = "TXN001";
+    private static final Long FROM_ACCOUNT_NUMBER = 12345L;
+    private static final Long TO_ACCOUNT_NUMBER = 67890L;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        journal = new Journal(postingRepository, meterRegistry);
+    }
+
+    @Test
+    void postTransfer_SavesDebitAndCreditTogether() {
+        journal.postTransfer(TRANSACTION_ID, FROM_ACCOUNT_NUMBER, new BigDecimal("400.00"),
+                TO_ACCOUNT_NUMBER, new BigDecimal("600.00"), new BigDecimal("100.00"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Posting>> saved = ArgumentCaptor.forClass(List.class);
+        verify(postingRepository).saveAll(saved.capture());
+        Posting debit = saved.getValue().get(0);
+        Posting credit = saved.getValue().get(1);
+        assertEquals(FROM_ACCOUNT_NUMBER, debit.getAccountNumber());
+        assertEquals(new BigDecimal("-100.00"), debit.getAmount());
+        assertEquals(new BigDecimal("400.00"), debit.getBalanceAfter());
+        assertEquals(TO_ACCOUNT_NUMBER, credit.getAccountNumber());
+        assertEquals(new BigDecimal("100.00"), credit.getAmount());
+        assertEquals(new BigDecimal("600.00"), credit.getBalanceAfter());
+    }
+
+    @Test
+    void post_UnbalancedLegs_ThrowsWithoutSaving() {
+        List<Posting> legs = List.of(
+                new Posting(null, TRANSACTION_ID, FROM_ACCOUNT_NUMBER, new BigDecimal("-100.00"), BigDecimal.ZERO, Instant.now()),
+                new Posting(null, TRANSACTION_ID, TO_ACCOUNT_NUMBER, new BigDecimal("99.99"), BigDecimal.ZERO, Instant.now()));
+
+        assertThrows(IllegalArgumentException.class, () -> journal.post(TRANSACTION_ID, legs));
+        verify(postingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void checkTrialBalance_ExportsImbalance() {
+        when(postingRepository.sumCreatedBetween(eq(Instant.EPOCH), any(Instant.class))).thenReturn(new BigDecimal("-0.01"));
+
+        journal.checkTrialBalance();
+
+        assertEquals(-0.01, meterRegistry.get("journal.trial.balance").gauge().value());
+    }
+
+    @Test
+    void checkTrialBalance_OnlySumsPostingsSinceTheLastCheck() {
+        when(postingRepository.sumCreatedBetween(any(Instant.class), any(Instant.class)))
+                .thenReturn(new BigDecimal("-0.01"), new BigDecimal("0.01"));
+
+        journal.checkTrialBalance();
+        journal.checkTrialBalance();
+
+        ArgumentCaptor<Instant> from = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> before = ArgumentCaptor.forClass(Instant.class);
+        verify(postingRepository, times(2)).sumCreatedBetween(from.capture(), before.capture());
+        assertEquals(Instant.EPOCH, from.getAllValues().get(0));
+        assertEquals(before.getAllValues().get(0), from.getAllValues().get(1));
+        assertEquals(0, journal.trialBalance().signum());
+    }
+}
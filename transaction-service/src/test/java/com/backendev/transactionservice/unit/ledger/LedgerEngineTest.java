@@ -0,0 +1,230 @@
+package com.backendev.transactionservice.unit.ledger;
+
+import com.backendev.transactionservice.entity.AccountBalance;
+import com.backendev.transactionservice.exception.InsufficientFundsException;
+import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.ledger.LedgerEngine;
+import com.backendev.transactionservice.ledger.LedgerEntryStore;
+import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerEngineTest {
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private LedgerEntryStore ledgerEntryStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerEngine ledgerEngine;
+
+    private final Map<Long, AccountBalance> store = new ConcurrentHashMap<>();
+
+    // When set, shard writes block until it is released
+    private volatile CountDownLatch gate;
+    private final CountDownLatch persisting = new CountDownLatch(1);
+
+    private static final Long ACCOUNT_NUMBER = 12345L;
+    private static final Long TO_ACCOUNT_NUMBER = 67890L;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accountBalanceRepository.findAllForUpdate(any())).thenAnswer(invocation -> {
+            List<AccountBalance> found = new ArrayList<>();
+            Iterable<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> {
+                AccountBalance stored = store.get(id);
+                if (stored != null) {
+                    found.add(new AccountBalance(stored.getAccountNumber(), stored.getBalance(), stored.getLastUpdated()));
+                }
+            });
+            return found;
+        });
+        lenient().when(accountBalanceRepository.createIfMissing(any())).thenAnswer(invocation -> {
+            Long accountNumber = invocation.getArgument(0);
+            return store.putIfAbsent(accountNumber, new AccountBalance(accountNumber, BigDecimal.ZERO, Instant.now())) == null ? 1 : 0;
+        });
+        lenient().when(accountBalanceRepository.saveAll(any())).thenAnswer(invocation -> {
+            CountDownLatch held = gate;
+            if (held != null) {
+                persisting.countDown();
+                held.await();
+            }
+            List<AccountBalance> saved = new ArrayList<>();
+            Iterable<AccountBalance> balances = invocation.getArgument(0);
+            balances.forEach(balance -> {
+                store.put(balance.getAccountNumber(), balance);
+                saved.add(balance);
+            });
+            return saved;
+        });
+
+        ledgerEngine = new LedgerEngine(accountBalanceRepository, ledgerEntryStore, transactionManager);
+        ReflectionTestUtils.setField(ledgerEngine, "enabled", true);
+        ReflectionTestUtils.setField(ledgerEngine, "shardCount", 2);
+        ReflectionTestUtils.setField(ledgerEngine, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(ledgerEngine, "batchSize", 32);
+        ReflectionTestUtils.setField(ledgerEngine, "timeoutMillis", 5000L);
+        ReflectionTestUtils.setField(ledgerEngine, "startedTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(ledgerEngine, "poolSize", 10);
+        ReflectionTestUtils.setField(ledgerEngine, "requestConnections", 4);
+        ledgerEngine.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerEngine.stop();
+    }
+
+    @Test
+    void apply_NewAccount_StartsFromZero() {
+        BigDecimal result = ledgerEngine.apply(ACCOUNT_NUMBER, new BigDecimal("100.00"), false);
+
+        assertEquals(new BigDecimal("100.00"), result);
+    }
+
+    @Test
+    void apply_ConcurrentCredits_NoLostUpdates() {
+        List<CompletableFuture<BigDecimal>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(ledgerEngine.submit(ACCOUNT_NUMBER, BigDecimal.ONE, false));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(new BigDecimal("500"), store.get(ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    void apply_GuardedDebitExceedingBalance_ThrowsInsufficientFunds() {
+        store.put(ACCOUNT_NUMBER, new AccountBalance(ACCOUNT_NUMBER, new BigDecimal("50.00"), Instant.now()));
+        BigDecimal debit = new BigDecimal("-100.00");
+
+        assertThrows(InsufficientFundsException.class,
+                () -> ledgerEngine.apply(ACCOUNT_NUMBER, debit, true));
+        assertEquals(new BigDecimal("50.00"), store.get(ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    void transfer_MovesBothLegsTogether() {
+        store.put(ACCOUNT_NUMBER, new AccountBalance(ACCOUNT_NUMBER, new BigDecimal("100.00"), Instant.now()));
+
+        Map<Long, BigDecimal> balances = ledgerEngine.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, new BigDecimal("40.00"));
+
+        assertEquals(Map.of(ACCOUNT_NUMBER, new BigDecimal("60.00"), TO_ACCOUNT_NUMBER, new BigDecimal("40.00")), balances);
+        assertEquals(new BigDecimal("60.00"), store.get(ACCOUNT_NUMBER).getBalance());
+        assertEquals(new BigDecimal("40.00"), store.get(TO_ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    void transfer_InsufficientFunds_WritesNeitherLeg() {
+        store.put(ACCOUNT_NUMBER, new AccountBalance(ACCOUNT_NUMBER, new BigDecimal("10.00"), Instant.now()));
+        BigDecimal amount = new BigDecimal("40.00");
+
+        assertThrows(InsufficientFundsException.class,
+                () -> ledgerEngine.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, amount));
+        verify(accountBalanceRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void applyAll_AppliesChangesInOrderAndSkipsOverdrafts() {
+        store.put(ACCOUNT_NUMBER, new AccountBalance(ACCOUNT_NUMBER, new BigDecimal("100.00"), Instant.now()));
+
+        Map<Long, List<BigDecimal>> balances = ledgerEngine.applyAll(Map.of(
+                ACCOUNT_NUMBER, List.of(new BigDecimal("-30.00"), new BigDecimal("-80.00"), new BigDecimal("5.00")),
+                TO_ACCOUNT_NUMBER, List.of(new BigDecimal("20.00"))));
+
+        assertEquals(Arrays.asList(new BigDecimal("70.00"), null, new BigDecimal("75.00")), balances.get(ACCOUNT_NUMBER));
+        assertEquals(List.of(new BigDecimal("20.00")), balances.get(TO_ACCOUNT_NUMBER));
+        assertEquals(new BigDecimal("75.00"), store.get(ACCOUNT_NUMBER).getBalance());
+        assertEquals(new BigDecimal("20.00"), store.get(TO_ACCOUNT_NUMBER).getBalance());
+        verify(accountBalanceRepository).saveAll(any());
+    }
+
+    @Test
+    void await_TimedOutWhileQueued_CancelsTheChange() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        gate = release;
+        CompletableFuture<BigDecimal> running = ledgerEngine.submit(ACCOUNT_NUMBER, new BigDecimal("10.00"), false);
+        persisting.await();
+        CompletableFuture<BigDecimal> queued = ledgerEngine.submit(ACCOUNT_NUMBER, new BigDecimal("5.00"), false);
+
+        ReflectionTestUtils.setField(ledgerEngine, "timeoutMillis", 50L);
+        assertThrows(TransactionProcessingException.class, () -> ledgerEngine.await(queued));
+        release.countDown();
+        ReflectionTestUtils.setField(ledgerEngine, "timeoutMillis", 5000L);
+
+        assertEquals(new BigDecimal("10.00"), ledgerEngine.await(running));
+        // The cancelled change was skipped: the next one lands on 10.00, not 15.00
+        assertEquals(new BigDecimal("11.00"), ledgerEngine.apply(ACCOUNT_NUMBER, new BigDecimal("1.00"), false));
+    }
+
+    @Test
+    void await_TimedOutWhilePersisting_ReturnsTheRealOutcome() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        gate = release;
+        CompletableFuture<BigDecimal> running = ledgerEngine.submit(ACCOUNT_NUMBER, new BigDecimal("10.00"), false);
+        persisting.await();
+
+        ReflectionTestUtils.setField(ledgerEngine, "timeoutMillis", 50L);
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(release::countDown);
+
+        assertEquals(new BigDecimal("10.00"), ledgerEngine.await(running));
+        assertEquals(new BigDecimal("10.00"), store.get(ACCOUNT_NUMBER).getBalance());
+    }
+
+    @Test
+    void await_StillPersistingAfterTheStartedTimeout_GivesUp() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        gate = release;
+        CompletableFuture<BigDecimal> running = ledgerEngine.submit(ACCOUNT_NUMBER, new BigDecimal("10.00"), false);
+        persisting.await();
+
+        ReflectionTestUtils.setField(ledgerEngine, "timeoutMillis", 50L);
+        ReflectionTestUtils.setField(ledgerEngine, "startedTimeoutMillis", 50L);
+        try {
+            assertThrows(TransactionProcessingException.class, () -> ledgerEngine.await(running));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void start_PoolTooSmallForShards_FailsFast() {
+        LedgerEngine engine = new LedgerEngine(accountBalanceRepository, ledgerEntryStore, transactionManager);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "shardCount", 8);
+        ReflectionTestUtils.setField(engine, "poolSize", 10);
+        ReflectionTestUtils.setField(engine, "requestConnections", 4);
+
+        assertThrows(IllegalStateException.class, engine::start);
+    }
+}
@@ -0,0 +1,134 @@
+package com.backendev.transactionservice.unit.ledger;
+
+import com.backendev.transactionservice.entity.LedgerEntry;
+import com.backendev.transactionservice.ledger.LedgerEntryStore;
+import com.backendev.transactionservice.repository.BalanceSnapshotRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository.LedgerHead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerEntryStoreTest {
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    private LedgerEntryStore store;
+
+    private static final Long ACCOUNT_NUMBER = 12345L;
+
+    @BeforeEach
+    void setUp() {
+        store = new LedgerEntryStore(ledgerEntryRepository, balanceSnapshotRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void batch_AppendsEntriesNumberedAfterHead() {
+        when(balanceSnapshotRepository.lockAll(anyCollection())).thenReturn(List.of(ACCOUNT_NUMBER));
+        when(ledgerEntryRepository.findHeads(anyCollection()))
+                .thenReturn(List.of(head(ACCOUNT_NUMBER, "100.00", 7L, 5L)));
+
+        var batch = store.begin(Set.of(ACCOUNT_NUMBER));
+        assertEquals(new BigDecimal("100.00"), batch.balance(ACCOUNT_NUMBER));
+        batch.apply(ACCOUNT_NUMBER, new BigDecimal("25.00"), new BigDecimal("125.00"));
+        batch.apply(ACCOUNT_NUMBER, new BigDecimal("-50.00"), new BigDecimal("75.00"));
+        batch.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(ledgerEntryRepository).saveAll(saved.capture());
+        assertEquals(List.of(8L, 9L), saved.getValue().stream().map(LedgerEntry::getSequenceNumber).toList());
+        assertEquals(new BigDecimal("75.00"), batch.balance(ACCOUNT_NUMBER));
+    }
+
+    @Test
+    void batch_NewAccount_StartsLedgerFromEmptySnapshot() {
+        when(balanceSnapshotRepository.lockAll(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(ACCOUNT_NUMBER));
+        when(ledgerEntryRepository.findHeads(anyCollection()))
+                .thenReturn(List.of(head(ACCOUNT_NUMBER, "0", 0L, 0L)));
+
+        var batch = store.begin(Set.of(ACCOUNT_NUMBER));
+
+        InOrder inOrder = inOrder(balanceSnapshotRepository, ledgerEntryRepository);
+        inOrder.verify(balanceSnapshotRepository).createIfMissing(ACCOUNT_NUMBER);
+        inOrder.verify(balanceSnapshotRepository).lockAll(List.of(ACCOUNT_NUMBER));
+        inOrder.verify(ledgerEntryRepository).findHeads(Set.of(ACCOUNT_NUMBER));
+        assertEquals(0, BigDecimal.ZERO.compareTo(batch.balance(ACCOUNT_NUMBER)));
+    }
+
+    @Test
+    void dueForSnapshot_AfterEnoughEntries_SnapshotsAndStopsTracking() {
+        when(balanceSnapshotRepository.lockAll(anyCollection())).thenReturn(List.of(ACCOUNT_NUMBER));
+        when(ledgerEntryRepository.findHeads(anyCollection()))
+                .thenReturn(List.of(head(ACCOUNT_NUMBER, "0", 0L, 0L)))
+                .thenReturn(List.of(head(ACCOUNT_NUMBER, "3.00", 3L, 0L)));
+        var batch = store.begin(Set.of(ACCOUNT_NUMBER));
+        for (int i = 1; i <= 3; i++) {
+            batch.apply(ACCOUNT_NUMBER, BigDecimal.ONE, new BigDecimal(i));
+        }
+        batch.flush();
+
+        assertTrue(store.dueForSnapshot(4, Duration.ofHours(1)).isEmpty());
+        assertEquals(List.of(ACCOUNT_NUMBER), store.dueForSnapshot(3, Duration.ofHours(1)));
+
+        when(balanceSnapshotRepository.upsert(ACCOUNT_NUMBER, 3L, new BigDecimal("3.00"))).thenReturn(1);
+        assertEquals(1, store.snapshot(List.of(ACCOUNT_NUMBER)));
+        verify(balanceSnapshotRepository).upsert(eq(ACCOUNT_NUMBER), eq(3L), eq(new BigDecimal("3.00")));
+        assertTrue(store.dueForSnapshot(1, Duration.ZERO).isEmpty());
+    }
+
+    private static LedgerHead head(Long accountNumber, String balance, Long sequenceNumber, Long snapshotSequenceNumber) {
+        return new LedgerHead() {
+            @Override
+            public Long getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return new BigDecimal(balance);
+            }
+
+            @Override
+            public Long getSequenceNumber() {
+                return sequenceNumber;
+            }
+
+            @Override
+            public Long getSnapshotSequenceNumber() {
+                return snapshotSequenceNumber;
+            }
+
+            @Override
+            public Instant getLastUpdated() {
+                return Instant.now();
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.backendev.transactionservice.unit.ledger;
+
+import com.backendev.transactionservice.entity.BalanceSnapshot;
+import com.backendev.transactionservice.entity.LedgerEntry;
+import com.backendev.transactionservice.ledger.LedgerRebuilder;
+import com.backendev.transactionservice.repository.BalanceSnapshotRepository;
+import com.backendev.transactionservice.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerRebuilderTest {
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerRebuilder rebuilder;
+
+    private final List<LedgerEntry> entries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        rebuilder = new LedgerRebuilder(ledgerEntryRepository, balanceSnapshotRepository, transactionManager);
+        ReflectionTestUtils.setField(rebuilder, "pageSize", 2);
+        lenient().when(ledgerEntryRepository.findByAccountNumberAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(
+                anyLong(), anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            Long accountNumber = invocation.getArgument(0);
+            long after = invocation.getArgument(1);
+            Limit limit = invocation.getArgument(2);
+            return entries.stream()
+                    .filter(entry -> entry.getAccountNumber().equals(accountNumber) && entry.getSequenceNumber() > after)
+                    .limit(limit.max())
+                    .toList();
+        });
+    }
+
+    @Test
+    void rebuild_ReplaysAllPagesIntoSnapshot() {
+        append(1L, 1L, "100.00");
+        append(1L, 2L, "-40.00");
+        append(1L, 3L, "15.00");
+        when(balanceSnapshotRepository.findById(1L)).thenReturn(Optional.empty());
+
+        LedgerRebuilder.AccountReplay replay = rebuilder.rebuild(1L);
+
+        assertEquals(3, replay.entries());
+        assertFalse(replay.gap());
+        verify(balanceSnapshotRepository).upsert(1L, 3L, new BigDecimal("75.00"));
+    }
+
+    @Test
+    void rebuild_FlagsGapsAndWrongSnapshots() {
+        append(1L, 1L, "100.00");
+        append(1L, 3L, "20.00");
+        when(balanceSnapshotRepository.findById(1L))
+                .thenReturn(Optional.of(new BalanceSnapshot(1L, 1L, new BigDecimal("90.00"), Instant.now(), BigDecimal.ZERO)));
+
+        LedgerRebuilder.AccountReplay replay = rebuilder.rebuild(1L);
+
+        assertTrue(replay.gap());
+        assertTrue(replay.snapshotMismatch());
+        verify(balanceSnapshotRepository).upsert(1L, 3L, new BigDecimal("120.00"));
+    }
+
+    @Test
+    void rebuild_StartsFromTheSeededOpeningBalance() {
+        append(1L, 1L, "100.00");
+        append(1L, 2L, "-40.00");
+        when(balanceSnapshotRepository.findById(1L))
+                .thenReturn(Optional.of(new BalanceSnapshot(1L, 2L, new BigDecimal("560.00"), Instant.now(),
+                        new BigDecimal("500.00"))));
+
+        LedgerRebuilder.AccountReplay replay = rebuilder.rebuild(1L);
+
+        assertFalse(replay.snapshotMismatch());
+        verify(balanceSnapshotRepository).upsert(1L, 2L, new BigDecimal("560.00"));
+    }
+
+    @Test
+    void rebuildAll_ReplaysEveryAccount() {
+        append(1L, 1L, "10.00");
+        append(2L, 1L, "20.00");
+        append(2L, 2L, "5.00");
+        when(ledgerEntryRepository.findAllAccountNumbers()).thenReturn(List.of(1L, 2L));
+
+        LedgerRebuilder.RebuildResult result = rebuilder.rebuildAll(2);
+
+        assertEquals(2, result.accounts());
+        assertEquals(3, result.entries());
+        assertEquals(0, result.failures());
+        verify(balanceSnapshotRepository).upsert(eq(2L), eq(2L), eq(new BigDecimal("25.00")));
+    }
+
+    private void append(Long accountNumber, Long sequenceNumber, String amount) {
+        entries.add(new LedgerEntry(null, accountNumber, sequenceNumber, new BigDecimal(amount), Instant.now()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.backendev.transactionservice.unit.messaging;
+
+import com.backendev.transactionservice.cache.AccountValidationCache;
+import com.backendev.transactionservice.messaging.AccountEventListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountEventListenerTest {
+
+    @Mock
+    private AccountValidationCache accountValidationCache;
+
+    private AccountEventListener accountEventListener;
+
+    @BeforeEach
+    void setUp() {
+        accountEventListener = new AccountEventListener(accountValidationCache, new ObjectMapper());
+    }
+
+    @Test
+    void onAccountEvent_FrozenAccount_InvalidatesCacheEntry() {
+        accountEventListener.onAccountEvent(
+                "{\"eventId\":\"e-1\",\"eventType\":\"ACCOUNT STATUS CHANGED\",\"status\":\"FROZEN\",\"accountNumber\":12345}");
+
+        verify(accountValidationCache).invalidate(12345L);
+    }
+
+    @Test
+    void onAccountEvent_WithoutAccountNumber_IsIgnored() {
+        accountEventListener.onAccountEvent("{\"eventType\":\"ACCOUNT DELETED\"}");
+
+        verify(accountValidationCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void onAccountEvent_MalformedMessage_IsIgnored() {
+        accountEventListener.onAccountEvent("not json");
+
+        verify(accountValidationCache, never()).invalidate(anyLong());
+    }
+}
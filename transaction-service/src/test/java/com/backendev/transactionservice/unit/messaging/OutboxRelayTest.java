@@ -0,0 +1,100 @@
+package com.backendev.transactionservice.unit.messaging;
+
+import com.backendev.transactionservice.entity.OutboxEvent;
+import com.backendev.transactionservice.messaging.OutboxRelay;
+import com.backendev.transactionservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    private static final String TOPIC = "transaction-events";
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, transactionManager);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMillis", 1000L);
+    }
+
+    @Test
+    void relay_EmptyOutbox_SendsNothing() {
+        when(outboxEventRepository.claimBatch(2)).thenReturn(Collections.emptyList());
+
+        outboxRelay.relay();
+
+        verify(kafkaTemplate, never()).send(any(String.class), any(String.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_AllAcknowledged_DeletesEachBatchInItsOwnTransaction() {
+        OutboxEvent first = new OutboxEvent(1L, TOPIC, "{\"eventId\":\"1\"}", Instant.now());
+        OutboxEvent second = new OutboxEvent(2L, TOPIC, "{\"eventId\":\"2\"}", Instant.now());
+        when(outboxEventRepository.claimBatch(2))
+                .thenReturn(List.of(first, second))
+                .thenReturn(Collections.emptyList());
+        when(kafkaTemplate.send(eq(TOPIC), any(String.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        outboxRelay.relay();
+
+        InOrder inOrder = inOrder(outboxEventRepository, transactionManager);
+        inOrder.verify(outboxEventRepository).claimBatch(2);
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(outboxEventRepository).claimBatch(2);
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_SendFails_KeepsFailedEventForRetry() {
+        OutboxEvent first = new OutboxEvent(1L, TOPIC, "{\"eventId\":\"1\"}", Instant.now());
+        OutboxEvent second = new OutboxEvent(2L, TOPIC, "{\"eventId\":\"2\"}", Instant.now());
+        when(outboxEventRepository.claimBatch(2)).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(TOPIC, first.getPayload()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(TOPIC, second.getPayload()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository, times(1)).claimBatch(2);
+    }
+}
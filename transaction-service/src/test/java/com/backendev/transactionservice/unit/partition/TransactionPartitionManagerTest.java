@@ -0,0 +1,110 @@
+package com.backendev.transactionservice.unit.partition;
+
+import com.backendev.transactionservice.partition.TransactionPartitionManager;
+import com.backendev.transactionservice.partition.TransactionPartitions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionPartitionManager manager;
+    private YearMonth current;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new TransactionPartitionManager(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(manager, "premakeMonths", 2);
+        ReflectionTestUtils.setField(manager, "retentionMonths", 0);
+        ReflectionTestUtils.setField(manager, "expiry", "detach");
+        current = YearMonth.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    void partitionNames_RoundTripToTheirMonth() {
+        assertEquals("transactions_p2026_03", TransactionPartitions.name(YearMonth.of(2026, 3)));
+        assertEquals(Optional.of(YearMonth.of(2026, 3)), TransactionPartitions.monthOf("transactions_p2026_03"));
+        assertEquals(Optional.empty(), TransactionPartitions.monthOf("transactions_legacy"));
+        assertEquals("FROM ('2026-12-01T00:00:00Z') TO ('2027-01-01T00:00:00Z')",
+                TransactionPartitions.bounds(YearMonth.of(2026, 12)));
+        assertEquals(YearMonth.of(2026, 2), TransactionPartitions.monthOf(Instant.parse("2026-02-28T23:59:59Z")));
+    }
+
+    @Test
+    void maintain_TableNotPartitioned_DoesNothing() {
+        stubPartitioned(false);
+
+        manager.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintain_CreatesOnlyMissingMonths() {
+        stubPartitioned(true);
+        stubAttached(current);
+
+        manager.maintain();
+
+        verify(jdbcTemplate, never()).execute("CREATE TABLE IF NOT EXISTS " + TransactionPartitions.name(current)
+                + " PARTITION OF transactions FOR VALUES " + TransactionPartitions.bounds(current));
+        for (YearMonth month : List.of(current.plusMonths(1), current.plusMonths(2))) {
+            verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS " + TransactionPartitions.name(month)
+                    + " PARTITION OF transactions FOR VALUES " + TransactionPartitions.bounds(month));
+        }
+        assertEquals(2, meterRegistry.counter("transactions.partitions", "action", "created").count());
+    }
+
+    @Test
+    void maintain_DropExpiry_DetachesAndDropsMonthsPastRetention() {
+        ReflectionTestUtils.setField(manager, "retentionMonths", 12);
+        ReflectionTestUtils.setField(manager, "expiry", "drop");
+        YearMonth expired = current.minusMonths(13);
+        YearMonth kept = current.minusMonths(12);
+        stubPartitioned(true);
+        stubAttached(expired, kept, current, current.plusMonths(1), current.plusMonths(2));
+
+        manager.maintain();
+
+        String expiredName = TransactionPartitions.name(expired);
+        verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION " + expiredName + " CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE " + expiredName);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE transactions DETACH PARTITION "
+                + TransactionPartitions.name(kept) + " CONCURRENTLY");
+        assertEquals(1, meterRegistry.counter("transactions.partitions", "action", "dropped").count());
+    }
+
+    private void stubPartitioned(boolean partitioned) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("transactions"))).thenReturn(partitioned);
+    }
+
+    private void stubAttached(YearMonth... months) {
+        List<String> names = Arrays.stream(months).map(TransactionPartitions::name).toList();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("transactions"))).thenReturn(names);
+    }
+}
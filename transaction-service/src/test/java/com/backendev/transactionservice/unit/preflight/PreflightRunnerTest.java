@@ -0,0 +1,92 @@
+package com.backendev.transactionservice.unit.preflight;
+
+import com.backendev.transactionservice.exception.InvalidAccountException;
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.preflight.PreflightRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PreflightRunnerTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private PreflightRunner preflightRunner;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+        preflightRunner = new PreflightRunner(executor, meterRegistry, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_IndependentChecks_TakesAboutAsLongAsTheSlowest() {
+        Map<String, Runnable> checks = new LinkedHashMap<>();
+        checks.put("accounts", () -> sleep(200));
+        checks.put("funds", () -> sleep(200));
+        checks.put("limits", () -> sleep(200));
+
+        long start = System.nanoTime();
+        preflightRunner.run("transfer", checks);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(meterRegistry.get("transaction.preflight.check")
+                .tag("operation", "transfer").tag("check", "funds").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_FirstFailure_IsRethrownAndCancelsSiblings() throws Exception {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        Map<String, Runnable> checks = new LinkedHashMap<>();
+        checks.put("slow", () -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                siblingInterrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+        });
+        checks.put("accounts", () -> {
+            throw new InvalidAccountException("Account not found or inactive");
+        });
+
+        assertThatThrownBy(() -> preflightRunner.run("transfer", checks))
+                .isInstanceOf(InvalidAccountException.class);
+        assertThat(siblingInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void run_DeadlinePasses_ThrowsServiceUnavailable() {
+        PreflightRunner impatient = new PreflightRunner(executor, meterRegistry, 50);
+
+        assertThatThrownBy(() -> impatient.run("transfer", Map.of("accounts", () -> sleep(2000))))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
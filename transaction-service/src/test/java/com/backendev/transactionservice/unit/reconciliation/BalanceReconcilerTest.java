@@ -0,0 +1,135 @@
+package com.backendev.transactionservice.unit.reconciliation;
+
+import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.dto.AccountBalanceEntry;
+import com.backendev.transactionservice.dto.AccountRange;
+import com.backendev.transactionservice.dto.RangeDigest;
+import com.backendev.transactionservice.reconciliation.BalanceReconciler;
+import com.backendev.transactionservice.reconciliation.LocalBalanceReader;
+import com.backendev.transactionservice.reconciliation.ReconciliationReport;
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
+import com.backendev.transactionservice.sync.BalanceSyncQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconcilerTest {
+
+    private static final String TOKEN = "internal-token";
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    @Mock
+    private AccountServiceGuard accountServiceGuard;
+
+    @Mock
+    private LocalBalanceReader localBalanceReader;
+
+    @Mock
+    private BalanceSyncQueue balanceSyncQueue;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BalanceReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new BalanceReconciler(accountServiceClient, accountServiceGuard, localBalanceReader,
+                balanceSyncQueue, meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "rangeStart", 0L);
+        ReflectionTestUtils.setField(reconciler, "rangeEnd", 256L);
+        ReflectionTestUtils.setField(reconciler, "fanout", 4);
+        ReflectionTestUtils.setField(reconciler, "leafSize", 2);
+        ReflectionTestUtils.setField(reconciler, "rangesPerCall", 16);
+        ReflectionTestUtils.setField(reconciler, "repairBatchSize", 100);
+        ReflectionTestUtils.setField(reconciler, "internalToken", TOKEN);
+        when(accountServiceGuard.balanceSync(anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void reconcile_AllDigestsMatch_ComparesNothingFurther() {
+        List<AccountRange> root = List.of(new AccountRange(0L, 256L));
+        List<RangeDigest> digests = List.of(new RangeDigest(0L, 64L, 3, "123"), new RangeDigest(128L, 192L, 1, "456"));
+        when(accountServiceClient.digestBalances(TOKEN, 64L, root)).thenReturn(ResponseEntity.ok(digests));
+        when(localBalanceReader.digest(root, 64L)).thenReturn(digests);
+
+        ReconciliationReport report = reconciler.reconcile();
+
+        assertEquals(new ReconciliationReport(2, 0, 0, 0), report);
+        verify(accountServiceClient, never()).findBalances(anyString(), anyList());
+        verify(accountServiceClient, never()).updateBalances(anyString(), anyList());
+    }
+
+    @Test
+    void reconcile_DigestsDiffer_DescendsIntoDifferingRangesAndRepairsMismatches() {
+        List<AccountRange> root = List.of(new AccountRange(0L, 256L));
+        when(accountServiceClient.digestBalances(TOKEN, 64L, root)).thenReturn(ResponseEntity.ok(List.of(
+                new RangeDigest(0L, 64L, 3, "111"), new RangeDigest(64L, 128L, 1, "222"))));
+        when(localBalanceReader.digest(root, 64L)).thenReturn(List.of(
+                new RangeDigest(0L, 64L, 3, "111"), new RangeDigest(64L, 128L, 3, "999")));
+
+        List<AccountRange> secondLevel = List.of(new AccountRange(64L, 128L));
+        when(accountServiceClient.digestBalances(TOKEN, 16L, secondLevel)).thenReturn(ResponseEntity.ok(List.of(
+                new RangeDigest(64L, 80L, 1, "333"))));
+        when(localBalanceReader.digest(secondLevel, 16L)).thenReturn(List.of(
+                new RangeDigest(64L, 80L, 1, "444"), new RangeDigest(96L, 112L, 2, "555")));
+
+        List<AccountRange> leaves = List.of(new AccountRange(64L, 80L), new AccountRange(96L, 112L));
+        when(accountServiceClient.findBalances(TOKEN, leaves)).thenReturn(ResponseEntity.ok(List.of(
+                new AccountBalanceEntry(70L, new BigDecimal("10.00")))));
+        when(localBalanceReader.findBalances(leaves)).thenReturn(Map.of(
+                70L, new BigDecimal("15.00"),
+                100L, new BigDecimal("5.00"),
+                101L, new BigDecimal("7.00")));
+        when(balanceSyncQueue.isPending(anyLong())).thenAnswer(invocation -> invocation.getArgument(0).equals(101L));
+        List<AccountBalanceEntry> repairs = List.of(
+                new AccountBalanceEntry(70L, new BigDecimal("15.00"), new BigDecimal("10.00")),
+                new AccountBalanceEntry(100L, new BigDecimal("5.00"), BigDecimal.ZERO));
+        when(accountServiceClient.updateBalances(TOKEN, repairs)).thenReturn(ResponseEntity.ok(2));
+
+        ReconciliationReport report = reconciler.reconcile();
+
+        assertEquals(new ReconciliationReport(4, 3, 3, 2), report);
+        assertEquals(3.0, meterRegistry.counter("balance.reconciliation.mismatches").count());
+        assertEquals(2.0, meterRegistry.counter("balance.reconciliation.repaired").count());
+    }
+
+    @Test
+    void reconcile_EqualBalancesWithDifferentScale_AreNotMismatches() {
+        List<AccountRange> root = List.of(new AccountRange(0L, 256L));
+        when(accountServiceClient.digestBalances(TOKEN, 64L, root)).thenReturn(ResponseEntity.ok(List.of(
+                new RangeDigest(0L, 64L, 1, "111"))));
+        when(localBalanceReader.digest(root, 64L)).thenReturn(List.of(new RangeDigest(0L, 64L, 1, "112")));
+        List<AccountRange> leaves = List.of(new AccountRange(0L, 64L));
+        when(accountServiceClient.findBalances(TOKEN, leaves)).thenReturn(ResponseEntity.ok(List.of(
+                new AccountBalanceEntry(5L, new BigDecimal("10")))));
+        when(localBalanceReader.findBalances(leaves)).thenReturn(Map.of(5L, new BigDecimal("10.00")));
+
+        ReconciliationReport report = reconciler.reconcile();
+
+        assertEquals(new ReconciliationReport(1, 1, 0, 0), report);
+        verify(accountServiceClient, never()).updateBalances(anyString(), anyList());
+    }
+}
@@ -0,0 +1,99 @@
+package com.backendev.transactionservice.unit.resilience;
+
+import com.backendev.transactionservice.exception.InvalidAccountException;
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
+import com.backendev.transactionservice.resilience.Bulkhead;
+import com.backendev.transactionservice.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountServiceGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountServiceGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new AccountServiceGuard(
+                new Bulkhead("validation", 1, Duration.ZERO, meterRegistry),
+                new Bulkhead("balance-sync", 1, Duration.ZERO, meterRegistry),
+                new CircuitBreaker.Settings(4, 2, 50, Duration.ofSeconds(5), Duration.ofSeconds(30), 1),
+                meterRegistry);
+    }
+
+    @Test
+    void dependencyFailures_OpenBreaker_AndRejectWithRetryAfter() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.validation("getAccount", () -> {
+                throw new ServiceUnavailableException("Account service temporarily unavailable");
+            })).isInstanceOf(ServiceUnavailableException.class);
+        }
+
+        assertThatThrownBy(() -> guard.validation("getAccount", () -> "unreached"))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(30L));
+        assertThat(meterRegistry.counter("account.service.calls.rejected",
+                "method", "getAccount", "reason", "circuit-open").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void openBreaker_OnlyAffectsItsOwnMethod() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.validation("getAccount", () -> {
+                throw new ServiceUnavailableException("Account service temporarily unavailable");
+            })).isInstanceOf(ServiceUnavailableException.class);
+        }
+
+        assertThat(guard.validation("validateTransfer", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void businessErrors_DoNotOpenBreaker() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.validation("getAccount", () -> {
+                throw new InvalidAccountException("One or more accounts not found");
+            })).isInstanceOf(InvalidAccountException.class);
+        }
+
+        assertThat(guard.breaker("getAccount").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void fullBulkhead_RejectsWithoutCallingAndLeavesOtherBudgetAlone() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> guard.balanceSync("updateAccountBalance", () -> {
+            inCall.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        holder.start();
+        assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> guard.balanceSync("updateAccountBalance", () -> "unreached"))
+                    .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                            e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1L));
+            assertThat(guard.validation("getAccount", () -> "ok")).isEqualTo("ok");
+            assertThat(meterRegistry.counter("account.service.calls.rejected",
+                    "method", "updateAccountBalance", "reason", "bulkhead-full").count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.backendev.transactionservice.unit.resilience;
+
+import com.backendev.transactionservice.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new CircuitBreaker("account-service.getAccount",
+                new CircuitBreaker.Settings(10, 4, 50, Duration.ofSeconds(1), Duration.ofSeconds(10), 2),
+                clock::get, meterRegistry);
+    }
+
+    @Test
+    void failuresBelowMinimumCalls_StayClosed() {
+        call(true);
+        call(true);
+        call(true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failureRateReachesThreshold_OpensAndRejects() {
+        call(false);
+        call(false);
+        call(true);
+        call(true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getRemainingOpenTime()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(meterRegistry.counter("account.service.circuit.transitions",
+                "name", "account-service.getAccount", "from", "CLOSED", "to", "OPEN").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void slowCalls_CountAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onResult(TimeUnit.SECONDS.toNanos(2), false);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void afterOpenDuration_TrialCallsSucceed_Closes() {
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onResult(FAST_CALL, false);
+        breaker.onResult(FAST_CALL, false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void afterOpenDuration_TrialCallFails_Reopens() {
+        open();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onResult(FAST_CALL, true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void stateGauge_TracksState() {
+        open();
+
+        assertThat(meterRegistry.get("account.service.circuit.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean failed) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onResult(FAST_CALL, failed);
+    }
+}
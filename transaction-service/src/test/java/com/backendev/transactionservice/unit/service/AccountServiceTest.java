@@ -1,26 +1,44 @@
 package com.backendev.transactionservice.unit.service;
 
+import com.backendev.transactionservice.cache.AccountValidationCache;
 import com.backendev.transactionservice.client.AccountServiceClient;
+import com.backendev.transactionservice.config.FeignJwtRequestInterceptor;
+import com.backendev.transactionservice.dto.AccountBalanceEntry;
 import com.backendev.transactionservice.dto.AccountResponse;
-import com.backendev.transactionservice.dto.UpdateAccountBalanceRequest;
 import com.backendev.transactionservice.exception.InvalidAccountException;
+import com.backendev.transactionservice.exception.ServiceUnavailableException;
+import com.backendev.transactionservice.resilience.AccountServiceGuard;
+import com.backendev.transactionservice.resilience.Bulkhead;
+import com.backendev.transactionservice.resilience.CircuitBreaker;
 import com.backendev.transactionservice.service.AccountService;
+import feign.Feign;
 import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -31,16 +49,30 @@ class AccountServiceTest {
     @Mock
     private AccountServiceClient accountServiceClient;
 
+    @Spy
+    private AccountValidationCache accountValidationCache =
+            new AccountValidationCache(new SimpleMeterRegistry(), 100, 60_000, 5_000, 300_000);
+
+    @Spy
+    private AccountServiceGuard accountServiceGuard = new AccountServiceGuard(
+            new Bulkhead("validation", 10, Duration.ZERO, new SimpleMeterRegistry()),
+            new Bulkhead("balance-sync", 10, Duration.ZERO, new SimpleMeterRegistry()),
+            new CircuitBreaker.Settings(10, 5, 50, Duration.ofSeconds(5), Duration.ofSeconds(30), 1),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private AccountService accountService;
 
     private AccountResponse activeAccount;
 
     private static final BigDecimal TEST_BALANCE = new BigDecimal("500.00");
+    private static final String INTERNAL_TOKEN = "internal-token";
 
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(accountService, "staleReads", true);
+        ReflectionTestUtils.setField(accountService, "internalToken", INTERNAL_TOKEN);
         activeAccount = new AccountResponse(12345L, "user123", "CHECKING", "ACTIVE", Instant.now());
     }
 
@@ -93,6 +125,41 @@ class AccountServiceTest {
                 () -> accountService.validateAccount(12345L));
     }
 
+    @Test
+    void validateAccount_RepeatedLookups_CallAccountServiceOnce() {
+        when(accountServiceClient.getAccount(12345L))
+                .thenReturn(ResponseEntity.ok(activeAccount));
+
+        accountService.validateAccountAndOwnership(12345L, "user123");
+        accountService.validateAccountAndOwnership(12345L, "user123");
+        accountService.validateAccount(12345L);
+
+        verify(accountServiceClient, times(1)).getAccount(12345L);
+    }
+
+    @Test
+    void validateAccount_UnknownAccount_IsCachedAsMissing() {
+        when(accountServiceClient.getAccount(12345L))
+                .thenThrow(new InvalidAccountException("One or more accounts not found"));
+
+        assertThrows(InvalidAccountException.class, () -> accountService.validateAccount(12345L));
+        assertThrows(InvalidAccountException.class, () -> accountService.validateAccount(12345L));
+
+        verify(accountServiceClient, times(1)).getAccount(12345L);
+    }
+
+    @Test
+    void validateAccount_AfterInvalidation_CallsAccountServiceAgain() {
+        when(accountServiceClient.getAccount(12345L))
+                .thenReturn(ResponseEntity.ok(activeAccount));
+
+        accountService.validateAccount(12345L);
+        accountValidationCache.invalidate(12345L);
+        accountService.validateAccount(12345L);
+
+        verify(accountServiceClient, times(2)).getAccount(12345L);
+    }
+
     @Test
     void validateAccount_FeignException_ThrowsInvalidAccountException() {
         when(accountServiceClient.getAccount(12345L))
@@ -102,15 +169,62 @@ class AccountServiceTest {
                 () -> accountService.validateAccount(12345L));
     }
 
+    @Test
+    void validateAccount_AccountServiceDown_UsesLastKnownState() {
+        AccountValidationCache expiring = new AccountValidationCache(new SimpleMeterRegistry(), 100, 0, 0, 60_000);
+        accountService = new AccountService(accountServiceClient, expiring, accountServiceGuard);
+        ReflectionTestUtils.setField(accountService, "staleReads", true);
+        ReflectionTestUtils.setField(accountService, "internalToken", INTERNAL_TOKEN);
+        when(accountServiceClient.getAccount(12345L))
+                .thenReturn(ResponseEntity.ok(activeAccount))
+                .thenThrow(new ServiceUnavailableException("Account service temporarily unavailable"));
+
+        accountService.validateAccount(12345L);
+        AccountResponse result = accountService.validateAccount(12345L);
+
+        assertEquals("user123", result.getUserId());
+        verify(accountServiceClient, times(2)).getAccount(12345L);
+    }
+
+    @Test
+    void validateAccount_AccountServiceDownAndStaleReadsDisabled_ThrowsServiceUnavailableException() {
+        AccountValidationCache expiring = new AccountValidationCache(new SimpleMeterRegistry(), 100, 0, 0, 60_000);
+        accountService = new AccountService(accountServiceClient, expiring, accountServiceGuard);
+        when(accountServiceClient.getAccount(12345L))
+                .thenReturn(ResponseEntity.ok(activeAccount))
+                .thenThrow(new ServiceUnavailableException("Account service temporarily unavailable"));
+
+        accountService.validateAccount(12345L);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> accountService.validateAccount(12345L));
+    }
+
+    @Test
+    void validateAccount_AccountServiceDownWithoutCachedState_ThrowsServiceUnavailableException() {
+        when(accountServiceClient.getAccount(12345L))
+                .thenThrow(new ServiceUnavailableException("Account service temporarily unavailable"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> accountService.validateAccount(12345L));
+    }
+
+    @Test
+    void requireInternalToken_Blank_FailsStartup() {
+        ReflectionTestUtils.setField(accountService, "internalToken", "");
+
+        assertThrows(IllegalStateException.class, () -> accountService.requireInternalToken());
+    }
 
     @Test
     void syncBalanceWithAccountService_Success() {
-        when(accountServiceClient.updateAccountBalance(eq(12345L), any()))
-                .thenReturn(ResponseEntity.ok(activeAccount));
+        when(accountServiceClient.updateBalances(eq(INTERNAL_TOKEN), any()))
+                .thenReturn(ResponseEntity.ok(1));
 
         accountService.syncBalanceWithAccountService(12345L, new BigDecimal("1000.00"));
 
-        verify(accountServiceClient).updateAccountBalance(eq(12345L), any(UpdateAccountBalanceRequest.class));
+        verify(accountServiceClient).updateBalances(INTERNAL_TOKEN,
+                List.of(new AccountBalanceEntry(12345L, new BigDecimal("1000.00"))));
     }
 
     @Test
@@ -123,7 +237,7 @@ class AccountServiceTest {
 
     @Test
     void syncBalanceWithAccountService_NullResponse_ThrowsInvalidAccountException() {
-        when(accountServiceClient.updateAccountBalance(eq(12345L), any()))
+        when(accountServiceClient.updateBalances(eq(INTERNAL_TOKEN), any()))
                 .thenReturn(ResponseEntity.ok(null));
 
         assertThrows(InvalidAccountException.class,
@@ -131,10 +245,9 @@ class AccountServiceTest {
     }
 
     @Test
-    void syncBalanceWithAccountService_InactiveAccount_ThrowsInvalidAccountException() {
-        activeAccount.setStatus("CLOSED");
-        when(accountServiceClient.updateAccountBalance(eq(12345L), any()))
-                .thenReturn(ResponseEntity.ok(activeAccount));
+    void syncBalanceWithAccountService_UnknownAccount_ThrowsInvalidAccountException() {
+        when(accountServiceClient.updateBalances(eq(INTERNAL_TOKEN), any()))
+                .thenReturn(ResponseEntity.ok(0));
 
         assertThrows(InvalidAccountException.class,
                 () -> accountService.syncBalanceWithAccountService(12345L, TEST_BALANCE));
@@ -142,11 +255,43 @@ class AccountServiceTest {
 
     @Test
     void syncBalanceWithAccountService_FeignException_ThrowsInvalidAccountException() {
-        when(accountServiceClient.updateAccountBalance(eq(12345L), any()))
+        when(accountServiceClient.updateBalances(eq(INTERNAL_TOKEN), any()))
                 .thenThrow(mock(FeignException.class));
 
         assertThrows(InvalidAccountException.class,
                 () -> accountService.syncBalanceWithAccountService(12345L, TEST_BALANCE));
     }
 
-}
\ No newline at end of file
+    @Test
+    void syncBalanceWithAccountService_OnWorkerThread_SendsInternalToken() throws Exception {
+        AtomicReference<Request> sent = new AtomicReference<>();
+        AccountServiceClient feignClient = Feign.builder()
+                .contract(new SpringMvcContract())
+                .requestInterceptor(new FeignJwtRequestInterceptor())
+                .encoder((body, bodyType, template) -> template.body("[]"))
+                .decoder((response, type) -> ResponseEntity.ok(1))
+                .client((request, options) -> {
+                    sent.set(request);
+                    return Response.builder().status(200).request(request).headers(Map.of()).build();
+                })
+                .target(AccountServiceClient.class, "http://account-service");
+        AccountService workerService = new AccountService(feignClient, accountValidationCache, accountServiceGuard);
+        ReflectionTestUtils.setField(workerService, "internalToken", INTERNAL_TOKEN);
+
+        // Like a balance-sync worker: no request attributes and no security context
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            try {
+                workerService.syncBalanceWithAccountService(12345L, TEST_BALANCE);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, "balance-sync-0");
+        worker.start();
+        worker.join();
+
+        assertNull(failure.get());
+        assertTrue(sent.get().url().endsWith("/internal/accounts/balances"));
+        assertEquals(List.of(INTERNAL_TOKEN), List.copyOf(sent.get().headers().get(AccountServiceClient.INTERNAL_TOKEN_HEADER)));
+    }
+}
@@ -2,22 +2,31 @@ package com.backendev.transactionservice.unit.service;
 
 import com.backendev.transactionservice.entity.AccountBalance;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
-import com.backendev.transactionservice.mapper.AccountBalanceMapper;
+import com.backendev.transactionservice.hotaccount.HotAccountBalances;
+import com.backendev.transactionservice.ledger.LedgerEngine;
 import com.backendev.transactionservice.repository.AccountBalanceRepository;
 import com.backendev.transactionservice.service.BalanceManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,12 +37,20 @@ class BalanceManagerTest {
     private AccountBalanceRepository accountBalanceRepository;
 
     @Mock
-    private AccountBalanceMapper accountBalanceMapper;
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private HotAccountBalances hotAccountBalances;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     private BalanceManager balanceManager;
 
     private static final Long ACCOUNT_NUMBER = 12345L;
+    private static final Long TO_ACCOUNT_NUMBER = 67890L;
     private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
     private static final BigDecimal AMOUNT = new BigDecimal("250.00");
 
@@ -41,55 +58,62 @@ class BalanceManagerTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        balanceManager = new BalanceManager(accountBalanceRepository, ledgerEngine, hotAccountBalances, meterRegistry, transactionManager);
         accountBalance = new AccountBalance(ACCOUNT_NUMBER, INITIAL_BALANCE, Instant.now());
     }
 
     @Test
-    void updateAccountBalance_ExistingAccount_UpdatesBalance() {
-        when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                .thenReturn(Optional.of(accountBalance));
-        when(accountBalanceRepository.save(any(AccountBalance.class)))
-                .thenReturn(accountBalance);
-
+    void updateAccountBalance_AppliesDeltaInSingleStatement() {
         balanceManager.updateAccountBalance(ACCOUNT_NUMBER, AMOUNT);
 
-        verify(accountBalanceRepository).findById(ACCOUNT_NUMBER);
-        verify(accountBalanceRepository).save(accountBalance);
-        assertEquals(new BigDecimal("1250.00"), accountBalance.getBalance());
-        assertNotNull(accountBalance.getLastUpdated());
+        verify(accountBalanceRepository).creditBalance(ACCOUNT_NUMBER, AMOUNT);
+        verify(accountBalanceRepository, never()).findById(ACCOUNT_NUMBER);
     }
 
     @Test
-    void updateAccountBalance_NewAccount_CreatesAndUpdatesBalance() {
-        AccountBalance newAccountBalance = new AccountBalance(ACCOUNT_NUMBER, BigDecimal.ZERO, Instant.now());
+    void updateAccountBalance_NegativeAmount_AppliesNegativeDelta() {
+        BigDecimal negativeAmount = new BigDecimal("-100.00");
 
-        when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
-                .thenReturn(Optional.empty());
-        when(accountBalanceMapper.createAccountBalance(ACCOUNT_NUMBER, BigDecimal.ZERO))
-                .thenReturn(newAccountBalance);
-        when(accountBalanceRepository.save(any(AccountBalance.class)))
-                .thenReturn(newAccountBalance);
+        balanceManager.updateAccountBalance(ACCOUNT_NUMBER, negativeAmount);
 
-        balanceManager.updateAccountBalance(ACCOUNT_NUMBER, AMOUNT);
+        verify(accountBalanceRepository).creditBalance(ACCOUNT_NUMBER, negativeAmount);
+    }
 
-        verify(accountBalanceRepository).findById(ACCOUNT_NUMBER);
-        verify(accountBalanceMapper).createAccountBalance(ACCOUNT_NUMBER, BigDecimal.ZERO);
-        verify(accountBalanceRepository).save(newAccountBalance);
-        assertEquals(AMOUNT, newAccountBalance.getBalance());
+    @Test
+    void credit_ReturnsBalanceFromStatement() {
+        when(accountBalanceRepository.creditBalance(ACCOUNT_NUMBER, AMOUNT))
+                .thenReturn(new BigDecimal("1250.00"));
+
+        BigDecimal result = balanceManager.credit(ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("1250.00"), result);
+        verify(accountBalanceRepository, never()).save(any(AccountBalance.class));
     }
 
     @Test
-    void updateAccountBalance_NegativeAmount_DecreasesBalance() {
-        BigDecimal negativeAmount = new BigDecimal("-100.00");
+    void debit_SufficientFunds_ReturnsBalanceFromStatement() {
+        when(accountBalanceRepository.debitBalanceIfSufficient(ACCOUNT_NUMBER, AMOUNT))
+                .thenReturn(Optional.of(new BigDecimal("750.00")));
+
+        BigDecimal result = balanceManager.debit(ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("750.00"), result);
+        verify(accountBalanceRepository, never()).findById(ACCOUNT_NUMBER);
+    }
+
+    @Test
+    void debit_InsufficientFunds_ThrowsException() {
+        BigDecimal largeAmount = new BigDecimal("2000.00");
+        when(accountBalanceRepository.debitBalanceIfSufficient(ACCOUNT_NUMBER, largeAmount))
+                .thenReturn(Optional.empty());
         when(accountBalanceRepository.findById(ACCOUNT_NUMBER))
                 .thenReturn(Optional.of(accountBalance));
-        when(accountBalanceRepository.save(any(AccountBalance.class)))
-                .thenReturn(accountBalance);
 
-        balanceManager.updateAccountBalance(ACCOUNT_NUMBER, negativeAmount);
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+                () -> balanceManager.debit(ACCOUNT_NUMBER, largeAmount));
 
-        verify(accountBalanceRepository).save(accountBalance);
-        assertEquals(new BigDecimal("900.00"), accountBalance.getBalance());
+        assertTrue(exception.getMessage().contains("Available: 1000.00"));
     }
 
     @Test
@@ -155,4 +179,191 @@ class BalanceManagerTest {
         assertEquals(BigDecimal.ZERO, result);
         verify(accountBalanceRepository).findById(ACCOUNT_NUMBER);
     }
-}
\ No newline at end of file
+
+    @Test
+    void credit_LedgerEnabled_DelegatesToLedger() {
+        when(ledgerEngine.isEnabled()).thenReturn(true);
+        when(ledgerEngine.apply(ACCOUNT_NUMBER, AMOUNT, false)).thenReturn(new BigDecimal("1250.00"));
+
+        BigDecimal result = balanceManager.credit(ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("1250.00"), result);
+        verify(accountBalanceRepository, never()).save(any(AccountBalance.class));
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void debit_LedgerEnabled_DelegatesGuardedDebitToLedger() {
+        when(ledgerEngine.isEnabled()).thenReturn(true);
+        when(ledgerEngine.apply(ACCOUNT_NUMBER, AMOUNT.negate(), true)).thenReturn(new BigDecimal("750.00"));
+
+        BigDecimal result = balanceManager.debit(ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("750.00"), result);
+        verify(accountBalanceRepository, never()).findById(ACCOUNT_NUMBER);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void applyBatch_SkipsOverdraftAndWritesNetChangeOnce() {
+        when(accountBalanceRepository.findAllForUpdate(any())).thenReturn(List.of(accountBalance));
+
+        Map<Long, List<BigDecimal>> result = balanceManager.applyBatch(Map.of(ACCOUNT_NUMBER, List.of(
+                new BigDecimal("-600.00"), new BigDecimal("-600.00"), AMOUNT)));
+
+        assertEquals(Arrays.asList(new BigDecimal("400.00"), null, new BigDecimal("650.00")), result.get(ACCOUNT_NUMBER));
+        verify(accountBalanceRepository).creditBalance(ACCOUNT_NUMBER, new BigDecimal("-350.00"));
+    }
+
+    @Test
+    void applyBatch_NewAccount_StartsFromZero() {
+        when(accountBalanceRepository.findAllForUpdate(any())).thenReturn(List.of());
+
+        Map<Long, List<BigDecimal>> result = balanceManager.applyBatch(Map.of(ACCOUNT_NUMBER, List.of(AMOUNT.negate(), AMOUNT)));
+
+        assertEquals(Arrays.asList(null, AMOUNT), result.get(ACCOUNT_NUMBER));
+        verify(accountBalanceRepository).creditBalance(ACCOUNT_NUMBER, AMOUNT);
+    }
+
+    @Test
+    void applyBatch_LedgerEnabled_AppliesTheWholeBatchInOneLedgerCall() {
+        Map<Long, List<BigDecimal>> deltas = Map.of(ACCOUNT_NUMBER, List.of(AMOUNT, new BigDecimal("-5000.00")));
+        Map<Long, List<BigDecimal>> applied = Map.of(ACCOUNT_NUMBER, Arrays.asList(new BigDecimal("1250.00"), null));
+        when(ledgerEngine.isEnabled()).thenReturn(true);
+        when(ledgerEngine.applyAll(deltas)).thenReturn(applied);
+
+        Map<Long, List<BigDecimal>> result = balanceManager.applyBatch(deltas);
+
+        assertEquals(applied, result);
+        verify(ledgerEngine, never()).submit(anyLong(), any(), anyBoolean());
+        verify(accountBalanceRepository, never()).creditBalance(anyLong(), any());
+    }
+
+    @Test
+    void transfer_LocksBothRowsOnceAndMovesAmount() {
+        AccountBalance destination = new AccountBalance(TO_ACCOUNT_NUMBER, INITIAL_BALANCE, Instant.now());
+        when(accountBalanceRepository.findAllForUpdate(List.of(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER)))
+                .thenReturn(List.of(accountBalance, destination));
+
+        BalanceManager.TransferBalances result = balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("750.00"), result.fromBalance());
+        assertEquals(new BigDecimal("1250.00"), result.toBalance());
+        assertEquals(new BigDecimal("750.00"), accountBalance.getBalance());
+        assertEquals(new BigDecimal("1250.00"), destination.getBalance());
+        verify(accountBalanceRepository, never()).createIfMissing(anyLong());
+        assertEquals(1, meterRegistry.timer("balance.transfer.lock.wait").count());
+    }
+
+    @Test
+    void transfer_InsufficientFunds_ThrowsWithoutChangingBalances() {
+        AccountBalance destination = new AccountBalance(TO_ACCOUNT_NUMBER, INITIAL_BALANCE, Instant.now());
+        when(accountBalanceRepository.findAllForUpdate(List.of(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER)))
+                .thenReturn(List.of(accountBalance, destination));
+
+        assertThrows(InsufficientFundsException.class, () ->
+                balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, new BigDecimal("5000.00")));
+
+        assertEquals(INITIAL_BALANCE, accountBalance.getBalance());
+        assertEquals(INITIAL_BALANCE, destination.getBalance());
+    }
+
+    @Test
+    void transfer_NewDestination_CreatesRowThenLocksIt() {
+        AccountBalance destination = new AccountBalance(TO_ACCOUNT_NUMBER, BigDecimal.ZERO, Instant.now());
+        when(accountBalanceRepository.findAllForUpdate(List.of(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER)))
+                .thenReturn(List.of(accountBalance));
+        when(accountBalanceRepository.findAllForUpdate(List.of(TO_ACCOUNT_NUMBER))).thenReturn(List.of(destination));
+
+        BalanceManager.TransferBalances result = balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("750.00"), result.fromBalance());
+        assertEquals(AMOUNT, result.toBalance());
+        verify(accountBalanceRepository).createIfMissing(TO_ACCOUNT_NUMBER);
+    }
+
+    @Test
+    void transfer_LockTimeout_CountsFailure() {
+        when(accountBalanceRepository.findAllForUpdate(any()))
+                .thenThrow(new PessimisticLockingFailureException("lock timeout"));
+
+        assertThrows(PessimisticLockingFailureException.class, () ->
+                balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT));
+
+        assertEquals(1.0, meterRegistry.counter("balance.transfer.lock.failures").count());
+    }
+
+    @Test
+    void transfer_LedgerEnabled_MovesBothLegsInOneLedgerCall() {
+        when(ledgerEngine.isEnabled()).thenReturn(true);
+        when(ledgerEngine.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT))
+                .thenReturn(Map.of(ACCOUNT_NUMBER, new BigDecimal("750.00"), TO_ACCOUNT_NUMBER, new BigDecimal("1250.00")));
+
+        BalanceManager.TransferBalances result = balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("750.00"), result.fromBalance());
+        assertEquals(new BigDecimal("1250.00"), result.toBalance());
+        verify(ledgerEngine, never()).apply(any(), any(), anyBoolean());
+        verify(accountBalanceRepository, never()).findAllForUpdate(any());
+    }
+
+    @Test
+    void credit_HotAccount_GoesToSlots() {
+        when(hotAccountBalances.isHot(ACCOUNT_NUMBER)).thenReturn(true);
+        when(hotAccountBalances.credit(ACCOUNT_NUMBER, AMOUNT)).thenReturn(new BigDecimal("1250.00"));
+
+        assertEquals(new BigDecimal("1250.00"), balanceManager.credit(ACCOUNT_NUMBER, AMOUNT));
+        verify(accountBalanceRepository, never()).creditBalance(any(), any());
+    }
+
+    @Test
+    void debit_HotAccountInsufficient_ThrowsWithTotalBalance() {
+        when(hotAccountBalances.isHot(ACCOUNT_NUMBER)).thenReturn(true);
+        when(hotAccountBalances.debitIfSufficient(ACCOUNT_NUMBER, AMOUNT)).thenReturn(Optional.empty());
+        when(hotAccountBalances.find(ACCOUNT_NUMBER))
+                .thenReturn(Optional.of(new AccountBalance(ACCOUNT_NUMBER, new BigDecimal("100.00"), Instant.now())));
+
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+                () -> balanceManager.debit(ACCOUNT_NUMBER, AMOUNT));
+
+        assertTrue(exception.getMessage().contains("Available: 100.00"));
+        verify(accountBalanceRepository, never()).debitBalanceIfSufficient(any(), any());
+    }
+
+    @Test
+    void transfer_ToHotAccount_DebitsThenCreditsSlotsWithoutRowLocks() {
+        when(hotAccountBalances.isHot(TO_ACCOUNT_NUMBER)).thenReturn(true);
+        when(accountBalanceRepository.debitBalanceIfSufficient(ACCOUNT_NUMBER, AMOUNT))
+                .thenReturn(Optional.of(new BigDecimal("750.00")));
+        when(hotAccountBalances.credit(TO_ACCOUNT_NUMBER, AMOUNT)).thenReturn(new BigDecimal("5250.00"));
+
+        BalanceManager.TransferBalances result = balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+
+        assertEquals(new BigDecimal("750.00"), result.fromBalance());
+        assertEquals(new BigDecimal("5250.00"), result.toBalance());
+        verify(accountBalanceRepository, never()).findAllForUpdate(any());
+    }
+
+    @Test
+    void applyBatch_HotAccount_AppliesEachAmountToSlots() {
+        when(hotAccountBalances.isHot(ACCOUNT_NUMBER)).thenReturn(true);
+        when(hotAccountBalances.credit(ACCOUNT_NUMBER, AMOUNT)).thenReturn(new BigDecimal("250.00"));
+        when(hotAccountBalances.debitIfSufficient(ACCOUNT_NUMBER, new BigDecimal("500.00"))).thenReturn(Optional.empty());
+
+        Map<Long, List<BigDecimal>> result = balanceManager.applyBatch(Map.of(ACCOUNT_NUMBER, List.of(
+                AMOUNT, new BigDecimal("-500.00"))));
+
+        assertEquals(Arrays.asList(new BigDecimal("250.00"), null), result.get(ACCOUNT_NUMBER));
+        verify(accountBalanceRepository, never()).findAllForUpdate(any());
+    }
+
+    @Test
+    void getBalance_HotAccount_AddsSlotsToMainRow() {
+        when(hotAccountBalances.isHot(ACCOUNT_NUMBER)).thenReturn(true);
+        when(hotAccountBalances.find(ACCOUNT_NUMBER))
+                .thenReturn(Optional.of(new AccountBalance(ACCOUNT_NUMBER, new BigDecimal("1800.00"), Instant.now())));
+
+        assertEquals(new BigDecimal("1800.00"), balanceManager.getBalance(ACCOUNT_NUMBER));
+        verify(accountBalanceRepository, never()).findById(any());
+    }
+}
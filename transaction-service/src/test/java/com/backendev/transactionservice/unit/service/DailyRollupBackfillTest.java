@@ -0,0 +1,63 @@
+package com.backendev.transactionservice.unit.service;
+
+import com.backendev.transactionservice.repository.DailyRollupRepository;
+import com.backendev.transactionservice.service.DailyRollupBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRollupBackfillTest {
+
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DailyRollupBackfill backfill;
+
+    private static final Instant CUTOVER = Instant.parse("2025-10-03T09:15:00Z");
+
+    @BeforeEach
+    void setUp() {
+        backfill = new DailyRollupBackfill(dailyRollupRepository, transactionManager);
+    }
+
+    @Test
+    void backfill_RecomputesOneDayAtATimeUpToTheCutover() {
+        when(dailyRollupRepository.findFirstTransactionBefore(CUTOVER))
+                .thenReturn(Optional.of(Instant.parse("2025-10-01T17:40:00Z")));
+        when(dailyRollupRepository.backfill(any(), any())).thenReturn(4, 6, 1);
+
+        long rows = backfill.backfill(CUTOVER);
+
+        assertEquals(11, rows);
+        InOrder order = inOrder(dailyRollupRepository);
+        order.verify(dailyRollupRepository).backfill(Instant.parse("2025-10-01T00:00:00Z"), Instant.parse("2025-10-02T00:00:00Z"));
+        order.verify(dailyRollupRepository).backfill(Instant.parse("2025-10-02T00:00:00Z"), Instant.parse("2025-10-03T00:00:00Z"));
+        order.verify(dailyRollupRepository).backfill(Instant.parse("2025-10-03T00:00:00Z"), CUTOVER);
+    }
+
+    @Test
+    void backfill_NoOlderTransactions_WritesNothing() {
+        when(dailyRollupRepository.findFirstTransactionBefore(CUTOVER)).thenReturn(Optional.empty());
+
+        assertEquals(0, backfill.backfill(CUTOVER));
+        verify(dailyRollupRepository, never()).backfill(any(), any());
+    }
+}
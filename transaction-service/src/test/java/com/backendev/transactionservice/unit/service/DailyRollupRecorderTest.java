@@ -0,0 +1,108 @@
+package com.backendev.transactionservice.unit.service;
+
+import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.TransactionStatus;
+import com.backendev.transactionservice.enums.TransactionType;
+import com.backendev.transactionservice.hotaccount.HotAccountBalances;
+import com.backendev.transactionservice.repository.DailyRollupRepository;
+import com.backendev.transactionservice.service.DailyRollupRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRollupRecorderTest {
+
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
+
+    @Mock
+    private HotAccountBalances hotAccountBalances;
+
+    private DailyRollupRecorder dailyRollupRecorder;
+
+    private static final Long ACCOUNT_NUMBER = 12345L;
+    private static final Long TO_ACCOUNT_NUMBER = 67890L;
+    private static final Instant CREATED_AT = Instant.parse("2025-10-01T23:30:00Z");
+    private static final LocalDate DAY = LocalDate.parse("2025-10-01");
+    private static final int STRIPES = 8;
+
+    @BeforeEach
+    void setUp() {
+        dailyRollupRecorder = new DailyRollupRecorder(dailyRollupRepository, hotAccountBalances, STRIPES);
+    }
+
+    @Test
+    void record_Transfer_AddsToBothAccounts() {
+        dailyRollupRecorder.record(transaction(TransactionType.TRANSFER, TO_ACCOUNT_NUMBER, "250.00", TransactionStatus.COMPLETED));
+
+        verify(dailyRollupRepository).addToRollup(ACCOUNT_NUMBER, DAY, "TRANSFER", 0, 1, BigDecimal.ZERO, new BigDecimal("250.00"));
+        verify(dailyRollupRepository).addToRollup(TO_ACCOUNT_NUMBER, DAY, "TRANSFER", 0, 1, new BigDecimal("250.00"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void recordAll_FoldsSameDayAndTypeIntoOneWriteInKeyOrder() {
+        dailyRollupRecorder.recordAll(List.of(
+                transaction(TransactionType.WITHDRAWAL, null, "40.00", TransactionStatus.COMPLETED),
+                transaction(TransactionType.DEPOSIT, null, "100.00", TransactionStatus.COMPLETED),
+                transaction(TransactionType.DEPOSIT, null, "25.50", TransactionStatus.COMPLETED)));
+
+        InOrder order = inOrder(dailyRollupRepository);
+        order.verify(dailyRollupRepository).addToRollup(ACCOUNT_NUMBER, DAY, "DEPOSIT", 0, 2, new BigDecimal("125.50"), BigDecimal.ZERO);
+        order.verify(dailyRollupRepository).addToRollup(ACCOUNT_NUMBER, DAY, "WITHDRAWAL", 0, 1, BigDecimal.ZERO, new BigDecimal("40.00"));
+        verifyNoMoreInteractions(dailyRollupRepository);
+    }
+
+    @Test
+    void recordAll_HotAccount_FoldsTheBatchIntoOneRandomStripe() {
+        when(hotAccountBalances.isHot(ACCOUNT_NUMBER)).thenReturn(true);
+
+        dailyRollupRecorder.recordAll(List.of(
+                transaction(TransactionType.DEPOSIT, null, "100.00", TransactionStatus.COMPLETED),
+                transaction(TransactionType.DEPOSIT, null, "25.50", TransactionStatus.COMPLETED)));
+
+        ArgumentCaptor<Integer> stripe = ArgumentCaptor.forClass(Integer.class);
+        verify(dailyRollupRepository).addToRollup(eq(ACCOUNT_NUMBER), eq(DAY), eq("DEPOSIT"), stripe.capture(), eq(2L),
+                eq(new BigDecimal("125.50")), eq(BigDecimal.ZERO));
+        assertTrue(stripe.getValue() >= 0 && stripe.getValue() < STRIPES);
+        verifyNoMoreInteractions(dailyRollupRepository);
+    }
+
+    @Test
+    void recordAll_SkipsTransactionsThatDidNotComplete() {
+        dailyRollupRecorder.recordAll(List.of(transaction(TransactionType.WITHDRAWAL, null, "40.00", TransactionStatus.FAILED)));
+
+        verify(dailyRollupRepository, never()).addToRollup(any(), any(), any(), anyInt(), anyLong(), any(), any());
+    }
+
+    private static Transaction transaction(TransactionType type, Long toAccountNumber, String amount, TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setFromAccountNumber(ACCOUNT_NUMBER);
+        transaction.setToAccountNumber(toAccountNumber);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(type);
+        transaction.setStatus(status);
+        transaction.setCreatedAt(CREATED_AT);
+        return transaction;
+    }
+}
@@ -1,5 +1,7 @@
 package com.backendev.transactionservice.unit.service;
 
+import com.backendev.transactionservice.dto.BatchItemResult;
+import com.backendev.transactionservice.dto.BatchTransactionItem;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
 import com.backendev.transactionservice.dto.TransferRequest;
@@ -9,6 +11,8 @@ import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
 import com.backendev.transactionservice.exception.InvalidAccountException;
 import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.groupcommit.GroupCommitWriter;
+import com.backendev.transactionservice.ledger.Journal;
 import com.backendev.transactionservice.service.AccountService;
 import com.backendev.transactionservice.service.BalanceManager;
 import com.backendev.transactionservice.service.SecurityService;
@@ -23,15 +27,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +55,12 @@ class TransactionHandlerTest {
     @Mock
     private BalanceManager balanceManager;
 
+    @Mock
+    private Journal journal;
+
+    @Mock
+    private GroupCommitWriter groupCommitWriter;
+
     @InjectMocks
     private TransactionHandler transactionHandler;
 
@@ -98,7 +110,7 @@ class TransactionHandlerTest {
             when(securityService.getCurrentUserId()).thenReturn(USER_ID);
             when(transactionProcessor.createAndSaveTransaction(transactionRequest, TransactionType.DEPOSIT))
                     .thenReturn(transaction);
-            when(transactionProcessor.completeTransaction(transaction, NEW_BALANCE))
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(NEW_BALANCE), any()))
                     .thenReturn(transactionResponse);
 
             TransactionResponse result = transactionHandler.processTransaction(
@@ -109,7 +121,20 @@ class TransactionHandlerTest {
             verify(securityService).getCurrentUserId();
             verify(accountService).validateAccountAndOwnership(ACCOUNT_NUMBER, USER_ID);
             verify(transactionProcessor).createAndSaveTransaction(transactionRequest, TransactionType.DEPOSIT);
-            verify(transactionProcessor).completeTransaction(transaction, NEW_BALANCE);
+            verify(transactionProcessor).completeTransaction(eq(transaction), eq(NEW_BALANCE), any());
+        }
+
+        @Test
+        void processGroupCommitDeposit_ValidatesThenWaitsForGroupAndSyncs() {
+            when(securityService.getCurrentUserId()).thenReturn(USER_ID);
+            when(groupCommitWriter.deposit(eq(transactionRequest), any())).thenReturn(transactionResponse);
+
+            TransactionResponse result = transactionHandler.processGroupCommitDeposit(transactionRequest, response -> { });
+
+            assertEquals(TRANSACTION_ID, result.getTransactionId());
+            verify(accountService).validateAccountAndOwnership(ACCOUNT_NUMBER, USER_ID);
+            verify(transactionProcessor, never()).createAndSaveTransaction(any(), any());
+            verify(transactionProcessor).syncBalanceToAccountService(ACCOUNT_NUMBER, NEW_BALANCE);
         }
 
         @Test
@@ -119,7 +144,7 @@ class TransactionHandlerTest {
             when(securityService.getCurrentUserId()).thenReturn(USER_ID);
             when(transactionProcessor.createAndSaveTransaction(transactionRequest, TransactionType.DEPOSIT))
                     .thenReturn(transaction);
-            when(transactionProcessor.completeTransaction(transaction, NEW_BALANCE))
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(NEW_BALANCE), any()))
                     .thenReturn(transactionResponse);
 
             TransactionResponse result = transactionHandler.processTransaction(
@@ -146,7 +171,7 @@ class TransactionHandlerTest {
                             transactionRequest, TransactionType.DEPOSIT, operation));
 
             verify(transactionProcessor, never()).failTransaction(any(), any(), any());
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
         }
     }
     
@@ -161,7 +186,7 @@ class TransactionHandlerTest {
             when(securityService.getCurrentUserId()).thenReturn(USER_ID);
             when(transactionProcessor.createAndSaveTransaction(transactionRequest, TransactionType.WITHDRAWAL))
                     .thenReturn(transaction);
-            when(transactionProcessor.completeTransaction(transaction, NEW_BALANCE))
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(NEW_BALANCE), any()))
                     .thenReturn(transactionResponse);
 
             TransactionResponse result = transactionHandler.processTransaction(
@@ -171,7 +196,7 @@ class TransactionHandlerTest {
             assertEquals(TransactionStatus.COMPLETED, result.getStatus());
             verify(accountService).validateAccountAndOwnership(ACCOUNT_NUMBER, USER_ID);
             verify(transactionProcessor).createAndSaveTransaction(transactionRequest, TransactionType.WITHDRAWAL);
-            verify(transactionProcessor).completeTransaction(transaction, NEW_BALANCE);
+            verify(transactionProcessor).completeTransaction(eq(transaction), eq(NEW_BALANCE), any());
         }
 
         @Test
@@ -200,19 +225,20 @@ class TransactionHandlerTest {
         void processTransferTransaction_Success() {
             when(transactionProcessor.createAndSaveTransaction(transferRequest, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            when(balanceManager.getBalance(anyLong())).thenReturn(NEW_BALANCE);
-            when(transactionProcessor.completeTransaction(transaction, NEW_BALANCE))
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT))
+                    .thenReturn(new BalanceManager.TransferBalances(NEW_BALANCE, NEW_BALANCE));
+            when(transactionProcessor.completeTransaction(eq(transaction), eq(NEW_BALANCE), any()))
                     .thenReturn(transactionResponse);
 
             TransactionResponse result = transactionHandler.processTransferTransaction(transferRequest);
 
             assertNotNull(result);
             assertEquals(TransactionStatus.COMPLETED, result.getStatus());
-            verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            verify(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
-            verify(balanceManager).updateAccountBalance(TO_ACCOUNT_NUMBER, AMOUNT);
-            verify(balanceManager, times(2)).getBalance(anyLong());
-            verify(transactionProcessor).completeTransaction(transaction, NEW_BALANCE);
+            verify(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceManager, never()).getBalance(anyLong());
+            verify(journal).postTransfer(transaction.getTransactionId(), ACCOUNT_NUMBER, NEW_BALANCE,
+                    TO_ACCOUNT_NUMBER, NEW_BALANCE, AMOUNT);
+            verify(transactionProcessor).completeTransaction(eq(transaction), eq(NEW_BALANCE), any());
             verify(transactionProcessor).syncBalanceToAccountService(ACCOUNT_NUMBER, NEW_BALANCE);
             verify(transactionProcessor).syncBalanceToAccountService(TO_ACCOUNT_NUMBER, NEW_BALANCE);
         }
@@ -223,14 +249,14 @@ class TransactionHandlerTest {
 
             when(transactionProcessor.createAndSaveTransaction(transferRequest, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doThrow(exception).when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT)).thenThrow(exception);
 
             assertThrows(InsufficientFundsException.class, () ->
                     transactionHandler.processTransferTransaction(transferRequest));
 
-            verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            verify(balanceManager, never()).updateAccountBalance(any(), any());
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
+            verify(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(balanceManager, never()).credit(any(), any());
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
         }
 
         @Test
@@ -239,13 +265,13 @@ class TransactionHandlerTest {
 
             when(transactionProcessor.createAndSaveTransaction(transferRequest, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doThrow(exception).when(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT)).thenThrow(exception);
 
             assertThrows(InvalidAccountException.class, () ->
                     transactionHandler.processTransferTransaction(transferRequest));
 
-            verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-            verify(transactionProcessor, never()).completeTransaction(any(), any());
+            verify(balanceManager).transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT);
+            verify(transactionProcessor, never()).completeTransaction(any(), any(), any());
         }
 
         @Test
@@ -254,7 +280,7 @@ class TransactionHandlerTest {
 
             when(transactionProcessor.createAndSaveTransaction(transferRequest, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenThrow(exception);
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT)).thenThrow(exception);
 
             assertThrows(TransactionProcessingException.class, () ->
                     transactionHandler.processTransferTransaction(transferRequest));
@@ -263,18 +289,49 @@ class TransactionHandlerTest {
         }
 
         @Test
-        void processTransferTransaction_ValidationFails_DoesNotUpdateBalance() {
+        void processTransferTransaction_ValidationFails_DoesNotCreditDestination() {
             InsufficientFundsException exception = new InsufficientFundsException("Insufficient funds");
 
             when(transactionProcessor.createAndSaveTransaction(transferRequest, TransactionType.TRANSFER))
                     .thenReturn(transaction);
-            doThrow(exception).when(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
+            when(balanceManager.transfer(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, AMOUNT)).thenThrow(exception);
 
             assertThrows(InsufficientFundsException.class, () ->
                     transactionHandler.processTransferTransaction(transferRequest));
 
-            verify(balanceManager, never()).updateAccountBalance(anyLong(), any(BigDecimal.class));
+            verify(balanceManager, never()).credit(anyLong(), any(BigDecimal.class));
         }
     }
-    
-}
\ No newline at end of file
+
+    @Nested
+    class BatchTransactions{
+
+        @Test
+        void processBatch_MixedOutcomes_ReturnsResultPerItemInOrder() {
+            BatchTransactionItem deposit = new BatchTransactionItem(TransactionType.DEPOSIT, ACCOUNT_NUMBER, AMOUNT, "Settlement");
+            BatchTransactionItem overdraft = new BatchTransactionItem(TransactionType.WITHDRAWAL, ACCOUNT_NUMBER, new BigDecimal("9000.00"), "Settlement");
+            BatchTransactionItem rejected = new BatchTransactionItem(TransactionType.DEPOSIT, TO_ACCOUNT_NUMBER, AMOUNT, "Settlement");
+
+            when(balanceManager.applyBatch(Map.of(ACCOUNT_NUMBER, List.of(AMOUNT, new BigDecimal("-9000.00")))))
+                    .thenReturn(Map.of(ACCOUNT_NUMBER, Arrays.asList(NEW_BALANCE, null)));
+            when(transactionProcessor.createBatchTransaction(any(BatchTransactionItem.class), any(TransactionStatus.class)))
+                    .thenReturn(transaction);
+
+            List<BatchItemResult> results = transactionHandler.processBatch(List.of(deposit, overdraft, rejected),
+                    Map.of(TO_ACCOUNT_NUMBER, "Account not found or inactive"));
+
+            assertEquals(3, results.size());
+            assertEquals(TransactionStatus.COMPLETED, results.get(0).getStatus());
+            assertEquals(NEW_BALANCE, results.get(0).getAccountBalance());
+            assertEquals(TransactionStatus.FAILED, results.get(1).getStatus());
+            assertEquals("Insufficient balance", results.get(1).getError());
+            assertEquals(TransactionStatus.FAILED, results.get(2).getStatus());
+            assertEquals("Account not found or inactive", results.get(2).getError());
+            verify(transactionProcessor).createBatchTransaction(deposit, TransactionStatus.COMPLETED);
+            verify(transactionProcessor).createBatchTransaction(overdraft, TransactionStatus.FAILED);
+            verify(transactionProcessor, never()).createBatchTransaction(eq(rejected), any());
+            verify(transactionProcessor).saveBatchTransactions(List.of(transaction, transaction));
+            verify(transactionProcessor).syncBalanceToAccountService(ACCOUNT_NUMBER, NEW_BALANCE);
+        }
+    }
+}
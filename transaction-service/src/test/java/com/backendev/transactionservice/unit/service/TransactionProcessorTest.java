@@ -8,10 +8,12 @@ import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.InsufficientFundsException;
 import com.backendev.transactionservice.exception.TransactionProcessingException;
+import com.backendev.transactionservice.id.TransactionIdGenerator;
 import com.backendev.transactionservice.mapper.TransactionMapper;
 import com.backendev.transactionservice.repository.TransactionRepository;
-import com.backendev.transactionservice.service.AccountService;
+import com.backendev.transactionservice.service.DailyRollupRecorder;
 import com.backendev.transactionservice.service.TransactionProcessor;
+import com.backendev.transactionservice.sync.BalanceSyncQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,12 +23,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,7 +41,13 @@ class TransactionProcessorTest {
     private TransactionMapper transactionMapper;
 
     @Mock
-    private AccountService accountService;
+    private BalanceSyncQueue balanceSyncQueue;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private DailyRollupRecorder dailyRollupRecorder;
 
     @InjectMocks
     private TransactionProcessor transactionProcessor;
@@ -83,66 +90,63 @@ class TransactionProcessorTest {
     @Test
     void createAndSaveTransaction_Deposit_Success() {
         when(transactionMapper.fromDepositRequest(transactionRequest)).thenReturn(transaction);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+        when(transactionIdGenerator.nextId()).thenReturn(TRANSACTION_ID);
 
         Transaction result = transactionProcessor.createAndSaveTransaction(transactionRequest, TransactionType.DEPOSIT);
 
         assertNotNull(result);
-        assertNotNull(result.getTransactionId());
+        assertEquals(TRANSACTION_ID, result.getTransactionId());
         assertEquals(TransactionStatus.PENDING, result.getStatus());
         assertNotNull(result.getCreatedAt());
         verify(transactionMapper).fromDepositRequest(transactionRequest);
-        verify(transactionRepository).save(transaction);
+        verify(transactionRepository).persistAll(List.of(transaction));
     }
 
     @Test
     void createAndSaveTransaction_Withdrawal_Success() {
         when(transactionMapper.fromWithdrawalRequest(transactionRequest)).thenReturn(transaction);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         Transaction result = transactionProcessor.createAndSaveTransaction(transactionRequest, TransactionType.WITHDRAWAL);
 
         assertNotNull(result);
         assertEquals(TransactionStatus.PENDING, result.getStatus());
         verify(transactionMapper).fromWithdrawalRequest(transactionRequest);
-        verify(transactionRepository).save(transaction);
+        verify(transactionRepository).persistAll(List.of(transaction));
     }
 
     @Test
     void createAndSaveTransaction_Transfer_Success() {
         when(transactionMapper.fromTransferRequest(transferRequest)).thenReturn(transaction);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         Transaction result = transactionProcessor.createAndSaveTransaction(transferRequest, TransactionType.TRANSFER);
 
         assertNotNull(result);
         assertEquals(TransactionStatus.PENDING, result.getStatus());
         verify(transactionMapper).fromTransferRequest(transferRequest);
-        verify(transactionRepository).save(transaction);
+        verify(transactionRepository).persistAll(List.of(transaction));
     }
 
     @Test
     void completeTransaction_Success() {
-        when(transactionRepository.save(transaction)).thenReturn(transaction);
         when(transactionMapper.toResponseWithBalance(transaction, NEW_BALANCE)).thenReturn(transactionResponse);
 
         transactionProcessor.completeTransaction(transaction, NEW_BALANCE);
 
         assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
         assertNotNull(transaction.getUpdatedAt());
-        verify(transactionRepository).save(transaction);
+        verify(transactionRepository).updateStatus(transaction);
+        verify(dailyRollupRecorder).record(transaction);
         verify(transactionMapper).toResponseWithBalance(transaction, NEW_BALANCE);
     }
 
     @Test
     void syncBalanceToAccountService_Success() {
         transactionProcessor.syncBalanceToAccountService(ACCOUNT_NUMBER, NEW_BALANCE);
-        verify(accountService).syncBalanceWithAccountService(ACCOUNT_NUMBER, NEW_BALANCE);
+        verify(balanceSyncQueue).enqueue(ACCOUNT_NUMBER, NEW_BALANCE);
     }
 
     @Test
     void completeTransaction_UpdatesTransactionStatus() {
-        when(transactionRepository.save(transaction)).thenReturn(transaction);
         when(transactionMapper.toResponseWithBalance(transaction, NEW_BALANCE)).thenReturn(transactionResponse);
 
         transactionProcessor.completeTransaction(transaction, NEW_BALANCE);
@@ -161,7 +165,7 @@ class TransactionProcessorTest {
 
         assertEquals(TransactionStatus.FAILED, transaction.getStatus());
         assertNotNull(transaction.getUpdatedAt());
-        verify(transactionRepository).save(transaction);
+        verify(transactionRepository).updateStatus(transaction);
     }
 
     @Test
@@ -176,7 +180,7 @@ class TransactionProcessorTest {
         }
 
         assertEquals(TransactionStatus.FAILED, transaction.getStatus());
-        verify(transactionRepository).save(transaction);
+        verify(transactionRepository).updateStatus(transaction);
     }
 
     @Test
@@ -192,13 +196,12 @@ class TransactionProcessorTest {
     }
 
     @Test
-    void generateTransactionId_StartsWithTXN() {
+    void generateTransactionId_UsesGeneratedId() {
+        when(transactionIdGenerator.nextId()).thenReturn("TXN0000000000000000042");
         when(transactionMapper.fromDepositRequest(transactionRequest)).thenReturn(transaction);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         Transaction result = transactionProcessor.createAndSaveTransaction(transactionRequest, TransactionType.DEPOSIT);
 
-        assertNotNull(result.getTransactionId());
-        assertTrue(result.getTransactionId().startsWith("TXN"));
+        assertEquals("TXN0000000000000000042", result.getTransactionId());
     }
 }
\ No newline at end of file
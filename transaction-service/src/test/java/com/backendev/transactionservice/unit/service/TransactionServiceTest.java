@@ -1,49 +1,83 @@
 package com.backendev.transactionservice.unit.service;
 
+import com.backendev.transactionservice.archive.ColdSegmentStore;
 import com.backendev.transactionservice.dto.AccountBalanceInfo;
+import com.backendev.transactionservice.dto.BatchItemResult;
+import com.backendev.transactionservice.dto.BatchTransactionItem;
+import com.backendev.transactionservice.dto.BatchTransactionRequest;
+import com.backendev.transactionservice.dto.BatchTransactionResponse;
+import com.backendev.transactionservice.dto.HistoryCursor;
 import com.backendev.transactionservice.dto.NotificationEvent;
+import com.backendev.transactionservice.dto.TransactionHistoryPage;
 import com.backendev.transactionservice.dto.TransactionInfo;
 import com.backendev.transactionservice.dto.TransactionRequest;
 import com.backendev.transactionservice.dto.TransactionResponse;
+import com.backendev.transactionservice.dto.TransactionSummary;
 import com.backendev.transactionservice.dto.TransferRequest;
 import com.backendev.transactionservice.entity.AccountBalance;
 import com.backendev.transactionservice.entity.Transaction;
+import com.backendev.transactionservice.enums.StatementFormat;
 import com.backendev.transactionservice.enums.TransactionStatus;
 import com.backendev.transactionservice.enums.TransactionType;
 import com.backendev.transactionservice.exception.InvalidAccountException;
+import com.backendev.transactionservice.exception.InvalidCursorException;
+import com.backendev.transactionservice.exception.InvalidDateRangeException;
+import com.backendev.transactionservice.exception.InvalidIdempotencyKeyException;
+import com.backendev.transactionservice.export.StatementExporter;
+import com.backendev.transactionservice.groupcommit.GroupCommitWriter;
+import com.backendev.transactionservice.idempotency.IdempotencyStore;
 import com.backendev.transactionservice.mapper.AccountBalanceMapper;
 import com.backendev.transactionservice.mapper.TransactionMapper;
 import com.backendev.transactionservice.messaging.TransactionEventPublisher;
-import com.backendev.transactionservice.repository.AccountBalanceRepository;
+import com.backendev.transactionservice.preflight.PreflightRunner;
+import com.backendev.transactionservice.repository.DailyRollupRepository;
 import com.backendev.transactionservice.repository.TransactionRepository;
 import com.backendev.transactionservice.service.AccountService;
 import com.backendev.transactionservice.service.BalanceManager;
 import com.backendev.transactionservice.service.SecurityService;
 import com.backendev.transactionservice.service.TransactionHandler;
 import com.backendev.transactionservice.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -64,9 +98,6 @@ class TransactionServiceTest {
     @Mock
     private TransactionMapper transactionMapper;
 
-    @Mock
-    private AccountBalanceRepository accountBalanceRepository;
-
     @Mock
     private AccountBalanceMapper accountBalanceMapper;
 
@@ -76,6 +107,24 @@ class TransactionServiceTest {
     @Mock
     private TransactionEventPublisher eventPublisher;
 
+    @Mock
+    private StatementExporter statementExporter;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private DailyRollupRepository dailyRollupRepository;
+
+    @Mock
+    private GroupCommitWriter groupCommitWriter;
+
+    @Mock
+    private ColdSegmentStore coldSegmentStore;
+
+    @Spy
+    private PreflightRunner preflightRunner = new PreflightRunner(Runnable::run, new SimpleMeterRegistry(), 1000);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -95,6 +144,11 @@ class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(transactionService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(transactionService, "maxPageSize", 5);
+        ReflectionTestUtils.setField(transactionService, "historyRecentMonths", 2);
+        ReflectionTestUtils.setField(transactionService, "maxSummaryDays", 366L);
+
         transactionRequest = new TransactionRequest();
         transactionRequest.setAccountNumber(ACCOUNT_NUMBER);
         transactionRequest.setAmount(AMOUNT);
@@ -134,20 +188,32 @@ class TransactionServiceTest {
 
     @Test
     void deposit_Success() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any()))
-                .thenReturn(transactionResponse);
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any(), any()))
+                .thenAnswer(this::completeWithResponse);
 
         TransactionResponse result = transactionService.deposit(transactionRequest);
 
         assertNotNull(result);
         assertEquals(TransactionStatus.COMPLETED, result.getStatus());
-        verify(transactionHandler).processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any());
+        verify(transactionHandler).processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any(), any());
+    }
+
+    @Test
+    void deposit_GroupCommitEnabled_GoesThroughGroupCommit() {
+        when(groupCommitWriter.isEnabled()).thenReturn(true);
+        when(transactionHandler.processGroupCommitDeposit(eq(transactionRequest), any())).thenAnswer(this::completeWithResponse);
+
+        TransactionResponse result = transactionService.deposit(transactionRequest);
+
+        assertEquals(TransactionStatus.COMPLETED, result.getStatus());
+        verify(transactionHandler, never()).processTransaction(any(), any(), any(), any());
+        verify(eventPublisher).publishTransactionEvent(any(NotificationEvent.class));
     }
 
     @Test
     void deposit_shouldPublishKafkaEvent_onSuccess() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any()))
-                .thenReturn(transactionResponse);
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any(), any()))
+                .thenAnswer(this::completeWithResponse);
 
         transactionService.deposit(transactionRequest);
 
@@ -156,8 +222,8 @@ class TransactionServiceTest {
 
     @Test
     void deposit_shouldPublishEventWithCorrectType_onSuccess() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any()))
-                .thenReturn(transactionResponse);
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any(), any()))
+                .thenAnswer(this::completeWithResponse);
 
         transactionService.deposit(transactionRequest);
 
@@ -169,36 +235,79 @@ class TransactionServiceTest {
 
     @Test
     void deposit_UpdatesBalanceCorrectly() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any()))
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.DEPOSIT), any(), any()))
                 .thenAnswer(invocation -> {
                     TransactionHandler.BalanceOperation operation = invocation.getArgument(2);
                     operation.processBalanceChange();
                     return transactionResponse;
                 });
-        when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(BALANCE);
+        when(balanceManager.credit(ACCOUNT_NUMBER, AMOUNT)).thenReturn(BALANCE);
 
         transactionService.deposit(transactionRequest);
 
-        verify(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT);
-        verify(balanceManager).getBalance(ACCOUNT_NUMBER);
+        verify(balanceManager).credit(ACCOUNT_NUMBER, AMOUNT);
     }
 
     @Test
-    void withdraw_Success() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any()))
+    @SuppressWarnings("unchecked")
+    void deposit_WithIdempotencyKey_RunsThroughIdempotencyStore() {
+        when(securityService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyStore.execute(eq(USER_ID), eq("retry-key"), eq("deposit"), eq(transactionRequest),
+                eq(TransactionResponse.class), any(Runnable.class), any(Supplier.class)))
                 .thenReturn(transactionResponse);
 
+        TransactionResponse result = transactionService.deposit(transactionRequest, "retry-key");
+
+        assertEquals(transactionResponse, result);
+        verify(transactionHandler, never()).processTransaction(any(), any(), any(), any());
+    }
+
+    @Test
+    void deposit_WithIdempotencyKeyAndLedgerEnabled_RejectsKey() {
+        when(balanceManager.isLedgerEnabled()).thenReturn(true);
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> transactionService.deposit(transactionRequest, "retry-key"));
+
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void deposit_WithIdempotencyKeyAndGroupCommitEnabled_RejectsKey() {
+        when(groupCommitWriter.isEnabled()).thenReturn(true);
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> transactionService.deposit(transactionRequest, "retry-key"));
+
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void withdraw_WithIdempotencyKeyAndLedgerEnabled_RejectsKey() {
+        when(balanceManager.isLedgerEnabled()).thenReturn(true);
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> transactionService.withdraw(transactionRequest, "retry-key"));
+
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void withdraw_Success() {
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any(), any()))
+                .thenAnswer(this::completeWithResponse);
+
         TransactionResponse result = transactionService.withdraw(transactionRequest);
 
         assertNotNull(result);
         assertEquals(TransactionStatus.COMPLETED, result.getStatus());
-        verify(transactionHandler).processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any());
+        verify(transactionHandler).processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any(), any());
     }
 
     @Test
     void withdraw_shouldPublishKafkaEvent_onSuccess() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any()))
-                .thenReturn(transactionResponse);
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any(), any()))
+                .thenAnswer(this::completeWithResponse);
 
         transactionService.withdraw(transactionRequest);
 
@@ -207,8 +316,8 @@ class TransactionServiceTest {
 
     @Test
     void withdraw_shouldPublishEventWithCorrectType_onSuccess() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any()))
-                .thenReturn(transactionResponse);
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any(), any()))
+                .thenAnswer(this::completeWithResponse);
 
         transactionService.withdraw(transactionRequest);
 
@@ -220,25 +329,23 @@ class TransactionServiceTest {
 
     @Test
     void withdraw_ValidatesAndUpdatesBalanceCorrectly() {
-        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any()))
+        when(transactionHandler.processTransaction(eq(transactionRequest), eq(TransactionType.WITHDRAWAL), any(), any()))
                 .thenAnswer(invocation -> {
                     TransactionHandler.BalanceOperation operation = invocation.getArgument(2);
                     operation.processBalanceChange();
                     return transactionResponse;
                 });
-        when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(BALANCE);
+        when(balanceManager.debit(ACCOUNT_NUMBER, AMOUNT)).thenReturn(BALANCE);
 
         transactionService.withdraw(transactionRequest);
 
-        verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
-        verify(balanceManager).updateAccountBalance(ACCOUNT_NUMBER, AMOUNT.negate());
-        verify(balanceManager).getBalance(ACCOUNT_NUMBER);
+        verify(balanceManager).debit(ACCOUNT_NUMBER, AMOUNT);
     }
 
     @Test
     void transfer_Success() {
         when(securityService.getCurrentUserId()).thenReturn(USER_ID);
-        when(transactionHandler.processTransferTransaction(transferRequest)).thenReturn(transactionResponse);
+        when(transactionHandler.processTransferTransaction(eq(transferRequest), any())).thenAnswer(this::completeWithResponse);
 
         TransactionResponse result = transactionService.transfer(transferRequest);
 
@@ -246,7 +353,19 @@ class TransactionServiceTest {
         assertEquals(TransactionStatus.COMPLETED, result.getStatus());
         verify(securityService).getCurrentUserId();
         verify(accountService).validateTransferAccounts(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, USER_ID);
-        verify(transactionHandler).processTransferTransaction(transferRequest);
+        verify(balanceManager).validateSufficientFunds(ACCOUNT_NUMBER, AMOUNT);
+        verify(transactionHandler).processTransferTransaction(eq(transferRequest), any());
+    }
+
+    @Test
+    void transfer_PreflightCheckFails_DoesNotStartTransaction() {
+        when(securityService.getCurrentUserId()).thenReturn(USER_ID);
+        doThrow(new InvalidAccountException("Account not found or inactive"))
+                .when(accountService).validateTransferAccounts(ACCOUNT_NUMBER, TO_ACCOUNT_NUMBER, USER_ID);
+
+        assertThrows(InvalidAccountException.class, () -> transactionService.transfer(transferRequest));
+
+        verify(transactionHandler, never()).processTransferTransaction(any(), any());
     }
 
     @Test
@@ -305,9 +424,149 @@ class TransactionServiceTest {
         verify(transactionMapper).toTransactionInfoList(transactions);
     }
 
+    @Test
+    void fetchTransactionHistory_MoreRowsThanPage_ReturnsCursorForLastRow() {
+        Transaction second = new Transaction();
+        second.setTransactionId("TXN000002");
+        second.setCreatedAt(Instant.parse("2025-10-01T10:00:00Z"));
+        Transaction third = new Transaction();
+        third.setTransactionId("TXN000001");
+        third.setCreatedAt(Instant.parse("2025-09-30T10:00:00Z"));
+        List<Transaction> rows = List.of(transaction, second, third);
+
+        when(transactionRepository.findHistoryPage(eq(ACCOUNT_NUMBER), anyList(), any(Instant.class), any(Instant.class),
+                eq(HistoryCursor.START.getCreatedAt()), eq(""), eq(3)))
+                .thenReturn(rows);
+        when(transactionMapper.toTransactionInfoList(rows.subList(0, 2))).thenReturn(List.of(transactionInfo, transactionInfo));
+
+        TransactionHistoryPage page = transactionService.fetchTransactionHistory(ACCOUNT_NUMBER, null, null, null, null, null);
+
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getItems().size());
+        HistoryCursor cursor = HistoryCursor.decode(page.getNextCursor());
+        assertEquals(second.getCreatedAt(), cursor.getCreatedAt());
+        assertEquals("TXN000002", cursor.getTransactionId());
+    }
+
+    @Test
+    void fetchTransactionHistory_WithCursorAndTypeFilter_ResumesAfterCursor() {
+        Instant createdAt = Instant.parse("2025-10-01T10:00:00.123456Z");
+        String cursor = new HistoryCursor(createdAt, "TXN000002").encode();
+        Instant recentStart = Instant.parse("2025-09-01T00:00:00Z");
+
+        when(transactionRepository.findHistoryPage(eq(ACCOUNT_NUMBER), eq(List.of("TRANSFER")), eq(recentStart), any(Instant.class),
+                eq(createdAt), eq("TXN000002"), eq(6)))
+                .thenReturn(List.of(transaction));
+        when(transactionRepository.findHistoryPage(ACCOUNT_NUMBER, List.of("TRANSFER"), Instant.EPOCH, recentStart,
+                createdAt, "TXN000002", 5))
+                .thenReturn(List.of());
+        when(transactionMapper.toTransactionInfoList(List.of(transaction))).thenReturn(List.of(transactionInfo));
+
+        TransactionHistoryPage page = transactionService.fetchTransactionHistory(ACCOUNT_NUMBER, cursor, 50,
+                Set.of(TransactionType.TRANSFER), null, null);
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertEquals(1, page.getItems().size());
+    }
+
+    @Test
+    void fetchTransactionHistory_RecentMonthsFillPage_SkipsOlderMonths() {
+        Instant createdAt = Instant.parse("2025-10-01T10:00:00Z");
+        String cursor = new HistoryCursor(createdAt, "TXN000009").encode();
+        List<Transaction> rows = List.of(transaction, transaction, transaction);
+
+        when(transactionRepository.findHistoryPage(eq(ACCOUNT_NUMBER), anyList(), eq(Instant.parse("2025-09-01T00:00:00Z")),
+                eq(HistoryCursor.START.getCreatedAt()), eq(createdAt), eq("TXN000009"), eq(3)))
+                .thenReturn(rows);
+        when(transactionMapper.toTransactionInfoList(rows.subList(0, 2))).thenReturn(List.of(transactionInfo, transactionInfo));
+
+        TransactionHistoryPage page = transactionService.fetchTransactionHistory(ACCOUNT_NUMBER, cursor, null, null, null, null);
+
+        assertTrue(page.isHasMore());
+        verify(transactionRepository, times(1)).findHistoryPage(any(), anyList(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void fetchTransactionHistory_DatabaseRunsOut_ContinuesInArchivedMonths() {
+        Transaction archived = new Transaction();
+        archived.setTransactionId("TXN000001");
+        archived.setCreatedAt(Instant.parse("2024-01-10T10:00:00Z"));
+        List<Transaction> page = List.of(transaction, archived);
+
+        when(transactionRepository.findHistoryPage(eq(ACCOUNT_NUMBER), anyList(), any(Instant.class), any(Instant.class),
+                any(Instant.class), anyString(), anyInt()))
+                .thenReturn(List.of(transaction), List.of());
+        when(coldSegmentStore.findHistory(eq(ACCOUNT_NUMBER), anyList(), eq(Instant.EPOCH),
+                eq(HistoryCursor.START.getCreatedAt()), eq(HistoryCursor.START), eq(2)))
+                .thenReturn(List.of(archived));
+        when(transactionMapper.toTransactionInfoList(page)).thenReturn(List.of(transactionInfo, transactionInfo));
+
+        TransactionHistoryPage result = transactionService.fetchTransactionHistory(ACCOUNT_NUMBER, null, null, null, null, null);
+
+        assertFalse(result.isHasMore());
+        assertEquals(2, result.getItems().size());
+    }
+
+    @Test
+    void fetchTransactionHistory_MalformedCursor_ThrowsException() {
+        assertThrows(InvalidCursorException.class,
+                () -> transactionService.fetchTransactionHistory(ACCOUNT_NUMBER, "not-a-cursor", null, null, null, null));
+
+        verify(transactionRepository, never()).findHistoryPage(any(), anyList(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void fetchTransactionSummary_SumsRollupsPerType() {
+        LocalDate from = LocalDate.parse("2025-10-01");
+        LocalDate to = LocalDate.parse("2025-10-31");
+        when(dailyRollupRepository.sumByType(ACCOUNT_NUMBER, from, to)).thenReturn(List.of(
+                rollupTotals(TransactionType.DEPOSIT, 3, "900.00", "0"),
+                rollupTotals(TransactionType.TRANSFER, 2, "100.00", "250.00")));
+
+        TransactionSummary summary = transactionService.fetchTransactionSummary(ACCOUNT_NUMBER, from, to);
+
+        assertEquals(from, summary.getFrom());
+        assertEquals(to, summary.getTo());
+        assertEquals(2, summary.getTotals().size());
+        assertEquals(TransactionType.DEPOSIT, summary.getTotals().get(0).getType());
+        assertEquals(3, summary.getTotals().get(0).getCount());
+        assertEquals(new BigDecimal("250.00"), summary.getTotals().get(1).getAmountOut());
+    }
+
+    @Test
+    void fetchTransactionSummary_NoRange_CoversCurrentMonth() {
+        TransactionSummary summary = transactionService.fetchTransactionSummary(ACCOUNT_NUMBER, null, null);
+
+        assertEquals(1, summary.getFrom().getDayOfMonth());
+        assertEquals(summary.getFrom().getMonth(), summary.getTo().getMonth());
+        assertTrue(summary.getTotals().isEmpty());
+    }
+
+    @Test
+    void fetchTransactionSummary_InvalidRange_ThrowsException() {
+        LocalDate day = LocalDate.parse("2025-10-01");
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> transactionService.fetchTransactionSummary(ACCOUNT_NUMBER, day, day.minusDays(1)));
+        assertThrows(InvalidDateRangeException.class,
+                () -> transactionService.fetchTransactionSummary(ACCOUNT_NUMBER, day, day.plusDays(366)));
+        verify(dailyRollupRepository, never()).sumByType(any(), any(), any());
+    }
+
+    @Test
+    void exportStatement_NoWindow_ExportsWholeHistory() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        transactionService.exportStatement(ACCOUNT_NUMBER, StatementFormat.CSV, null, null, out);
+
+        verify(statementExporter).export(ACCOUNT_NUMBER, Instant.EPOCH, HistoryCursor.START.getCreatedAt(),
+                StatementFormat.CSV, out);
+    }
+
     @Test
     void fetchAccountBalance_Success() {
-        when(accountBalanceRepository.findByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(accountBalance));
+        when(balanceManager.findAccountBalance(ACCOUNT_NUMBER)).thenReturn(Optional.of(accountBalance));
         when(accountBalanceMapper.toAccountBalanceInfo(accountBalance)).thenReturn(accountBalanceInfo);
 
         AccountBalanceInfo result = transactionService.fetchAccountBalance(ACCOUNT_NUMBER);
@@ -316,7 +575,7 @@ class TransactionServiceTest {
         assertEquals(ACCOUNT_NUMBER, result.getAccountNumber());
         assertEquals(BALANCE, result.getBalance());
         assertEquals("01 Oct 2025, 10:30 AM", result.getLastUpdated());
-        verify(accountBalanceRepository).findByAccountNumber(ACCOUNT_NUMBER);
+        verify(balanceManager).findAccountBalance(ACCOUNT_NUMBER);
         verify(accountBalanceMapper).toAccountBalanceInfo(accountBalance);
         verify(eventPublisher, never()).publishTransactionEvent(any());
 
@@ -324,15 +583,84 @@ class TransactionServiceTest {
 
     @Test
     void fetchAccountBalance_AccountNotFound_ThrowsException() {
-        when(accountBalanceRepository.findByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.empty());
+        when(balanceManager.findAccountBalance(ACCOUNT_NUMBER)).thenReturn(Optional.empty());
 
         assertThrows(InvalidAccountException.class,
                 () -> transactionService.fetchAccountBalance(ACCOUNT_NUMBER));
 
-        verify(accountBalanceRepository).findByAccountNumber(ACCOUNT_NUMBER);
+        verify(balanceManager).findAccountBalance(ACCOUNT_NUMBER);
         verify(accountBalanceMapper, never()).toAccountBalanceInfo(any());
 
         verify(eventPublisher, never()).publishTransactionEvent(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void transfer_shouldPublishKafkaEvent_onSuccess() {
+        when(securityService.getCurrentUserId()).thenReturn(USER_ID);
+        when(transactionHandler.processTransferTransaction(eq(transferRequest), any())).thenAnswer(this::completeWithResponse);
+
+        transactionService.transfer(transferRequest);
+
+        verify(eventPublisher).publishTransactionEvent(argThat(event ->
+                "TRANSACTION_TRANSFER".equals(event.getEventType())));
+    }
+
+    @Test
+    void submitBatch_ValidatesEachAccountOnceAndReportsRejectedAccounts() {
+        BatchTransactionItem first = new BatchTransactionItem(TransactionType.DEPOSIT, ACCOUNT_NUMBER, AMOUNT, "Settlement");
+        BatchTransactionItem second = new BatchTransactionItem(TransactionType.WITHDRAWAL, ACCOUNT_NUMBER, AMOUNT, "Settlement");
+        BatchTransactionItem foreign = new BatchTransactionItem(TransactionType.DEPOSIT, TO_ACCOUNT_NUMBER, AMOUNT, "Settlement");
+        List<BatchTransactionItem> items = List.of(first, second, foreign);
+        List<BatchItemResult> results = List.of(
+                BatchItemResult.builder().index(0).status(TransactionStatus.COMPLETED).build(),
+                BatchItemResult.builder().index(1).status(TransactionStatus.COMPLETED).build(),
+                BatchItemResult.builder().index(2).status(TransactionStatus.FAILED).build());
+
+        when(securityService.getCurrentUserId()).thenReturn(USER_ID);
+        doThrow(new SecurityException("Access denied: Account does not belong to current user"))
+                .when(accountService).validateAccountAndOwnership(TO_ACCOUNT_NUMBER, USER_ID);
+        when(transactionHandler.processBatch(items,
+                Map.of(TO_ACCOUNT_NUMBER, "Access denied: Account does not belong to current user")))
+                .thenReturn(results);
+
+        BatchTransactionResponse response = transactionService.submitBatch(new BatchTransactionRequest(items));
+
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        verify(accountService, times(1)).validateAccountAndOwnership(ACCOUNT_NUMBER, USER_ID);
+        verify(eventPublisher, never()).publishTransactionEvent(any());
+    }
+
+    private static DailyRollupRepository.RollupTotals rollupTotals(TransactionType type, long count,
+                                                                   String amountIn, String amountOut) {
+        return new DailyRollupRepository.RollupTotals() {
+            @Override
+            public TransactionType getTransactionType() {
+                return type;
+            }
+
+            @Override
+            public Long getTransactionCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getAmountIn() {
+                return new BigDecimal(amountIn);
+            }
+
+            @Override
+            public BigDecimal getAmountOut() {
+                return new BigDecimal(amountOut);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionResponse completeWithResponse(InvocationOnMock invocation) {
+        Object[] arguments = invocation.getArguments();
+        ((Consumer<TransactionResponse>) arguments[arguments.length - 1]).accept(transactionResponse);
+        return transactionResponse;
+    }
+}
@@ -0,0 +1,84 @@
+package com.backendev.transactionservice.unit.sync;
+
+import com.backendev.transactionservice.service.AccountService;
+import com.backendev.transactionservice.service.BalanceManager;
+import com.backendev.transactionservice.sync.BalanceSyncQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceSyncQueueTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private BalanceManager balanceManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BalanceSyncQueue balanceSyncQueue;
+
+    private static final Long ACCOUNT_NUMBER = 123456789L;
+    private static final BigDecimal BALANCE = new BigDecimal("300.00");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        balanceSyncQueue = new BalanceSyncQueue(accountService, balanceManager, meterRegistry);
+        ReflectionTestUtils.setField(balanceSyncQueue, "workerCount", 1);
+        ReflectionTestUtils.setField(balanceSyncQueue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(balanceSyncQueue, "backoffMillis", 1L);
+        ReflectionTestUtils.setField(balanceSyncQueue, "maxBackoffMillis", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ReflectionTestUtils.getField(balanceSyncQueue, "workers") != null) {
+            balanceSyncQueue.stop();
+        }
+    }
+
+    @Test
+    void enqueue_RepeatedUpdates_CoalesceIntoSingleSync() {
+        when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(BALANCE);
+
+        balanceSyncQueue.enqueue(ACCOUNT_NUMBER, new BigDecimal("100.00"));
+        balanceSyncQueue.enqueue(ACCOUNT_NUMBER, new BigDecimal("200.00"));
+        balanceSyncQueue.enqueue(ACCOUNT_NUMBER, BALANCE);
+
+        assertThat(balanceSyncQueue.depth()).isEqualTo(1);
+        assertThat(meterRegistry.counter("balance.sync.coalesced").count()).isEqualTo(2.0);
+
+        balanceSyncQueue.start();
+
+        verify(accountService, timeout(2000)).syncBalanceWithAccountService(ACCOUNT_NUMBER, BALANCE);
+    }
+
+    @Test
+    void flush_SyncFails_RetriesUntilSuccess() {
+        when(balanceManager.getBalance(ACCOUNT_NUMBER)).thenReturn(BALANCE);
+        doThrow(new RuntimeException("Account service down"))
+                .doNothing()
+                .when(accountService).syncBalanceWithAccountService(ACCOUNT_NUMBER, BALANCE);
+
+        balanceSyncQueue.start();
+        balanceSyncQueue.enqueue(ACCOUNT_NUMBER, BALANCE);
+
+        verify(accountService, timeout(2000).times(2)).syncBalanceWithAccountService(ACCOUNT_NUMBER, BALANCE);
+        assertThat(meterRegistry.counter("balance.sync.failures").count()).isEqualTo(1.0);
+    }
+}